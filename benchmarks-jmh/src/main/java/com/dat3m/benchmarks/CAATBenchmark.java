@@ -0,0 +1,118 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.solver.caat.CAATModel;
+import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
+import com.dat3m.dartagnan.solver.caat.domain.Domain;
+import com.dat3m.dartagnan.solver.caat.domain.GenericDomain;
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.misc.PredicateVisitor;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.MaterializedGraph;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.TransitiveGraph;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.UnionGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+    Measures CAAT on recorded executions with the shape hb := (po | com)+ and acyclic(hb).
+    Events are distributed round-robin over the threads, i.e. event i belongs to thread (i mod THREADS),
+    and the communication edges are drawn from a fixed seed, so that every run sees the same executions.
+    Consistent executions only have communication edges that agree with the event order,
+    inconsistent ones additionally exercise the computation of reasons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CAATBenchmark {
+
+    private static final int THREADS = 4;
+    private static final long SEED = 0;
+
+    @Param({"200", "1000"})
+    public int events;
+
+    @Param({"true", "false"})
+    public boolean consistent;
+
+    private Domain<Integer> domain;
+    private CAATModel model;
+    private TransitiveGraph hb;
+    private final CAATSolver solver = CAATSolver.create();
+
+    @Setup
+    public void setup() {
+        domain = new GenericDomain<>(IntStream.range(0, events).boxed().toList());
+
+        List<Edge> poEdges = new ArrayList<>();
+        for (int i = 0; i + THREADS < events; i++) {
+            poEdges.add(new Edge(i, i + THREADS));
+        }
+        List<Edge> comEdges = new ArrayList<>();
+        Random random = new Random(SEED);
+        for (int i = 0; i < events / 2; i++) {
+            int a = random.nextInt(events);
+            int b = random.nextInt(events);
+            if (a % THREADS == b % THREADS) {
+                continue;
+            }
+            comEdges.add(consistent && a > b ? new Edge(b, a) : new Edge(a, b));
+        }
+
+        RecordedGraph po = new RecordedGraph("po", poEdges);
+        RecordedGraph com = new RecordedGraph("com", comEdges);
+        UnionGraph union = new UnionGraph(po, com);
+        union.setName("po | com");
+        hb = new TransitiveGraph(union);
+        hb.setName("hb");
+        model = CAATModel.from(List.of(po, com, union, hb), List.of(new AcyclicityConstraint(hb, AcyclicityConstraint.DEFAULT_MAX_CYCLES_PER_SCC)));
+        model.initializeToDomain(domain);
+        model.populate();
+    }
+
+    @Benchmark
+    public CAATSolver.Result check() {
+        model.initializeToDomain(domain);
+        return solver.check(model);
+    }
+
+    @Benchmark
+    public int transitiveClosure() {
+        hb.initializeToDomain(domain);
+        hb.repopulate();
+        return hb.size();
+    }
+
+    // A base graph that contains a fixed set of edges.
+    private static final class RecordedGraph extends MaterializedGraph {
+
+        private final List<Edge> edges;
+
+        RecordedGraph(String name, List<Edge> edges) {
+            this.edges = edges;
+            setName(name);
+        }
+
+        @Override
+        public List<? extends CAATPredicate> getDependencies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void repopulate() {
+            edges.forEach(simpleGraph::add);
+        }
+
+        @Override
+        public <TRet, TData, TContext> TRet accept(PredicateVisitor<TRet, TData, TContext> visitor, TData data, TContext context) {
+            return visitor.visitBaseGraph(this, data, context);
+        }
+    }
+}
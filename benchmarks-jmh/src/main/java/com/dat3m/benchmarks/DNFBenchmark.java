@@ -0,0 +1,57 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.reasoning.CAATLiteral;
+import com.dat3m.dartagnan.solver.caat.reasoning.EdgeLiteral;
+import com.dat3m.dartagnan.utils.logic.Conjunction;
+import com.dat3m.dartagnan.utils.logic.DNF;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Measures the reduction of DNFs as it happens when combining the reasons of many violations.
+    The cubes are drawn from a small pool of literals, so that many of them subsume each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DNFBenchmark {
+
+    private static final int LITERALS = 64;
+    private static final int MIN_CUBE_SIZE = 2;
+    private static final int MAX_CUBE_SIZE = 8;
+    private static final long SEED = 0;
+
+    @Param({"100", "1000"})
+    public int cubes;
+
+    private List<Conjunction<CAATLiteral>> conjunctions;
+
+    @Setup
+    public void setup() {
+        List<CAATLiteral> literals = new ArrayList<>(LITERALS);
+        for (int i = 0; i < LITERALS; i++) {
+            literals.add(new EdgeLiteral(i % 2 == 0 ? "rf" : "co", new Edge(i, i + 1), false));
+        }
+        Random random = new Random(SEED);
+        conjunctions = new ArrayList<>(cubes);
+        for (int i = 0; i < cubes; i++) {
+            int size = MIN_CUBE_SIZE + random.nextInt(MAX_CUBE_SIZE - MIN_CUBE_SIZE + 1);
+            Set<CAATLiteral> cube = new HashSet<>();
+            while (cube.size() < size) {
+                cube.add(literals.get(random.nextInt(LITERALS)));
+            }
+            conjunctions.add(new Conjunction<>(cube));
+        }
+    }
+
+    @Benchmark
+    public DNF<CAATLiteral> reduce() {
+        return new DNF<>(conjunctions);
+    }
+}
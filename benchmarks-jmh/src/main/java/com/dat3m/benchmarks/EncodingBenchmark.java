@@ -0,0 +1,57 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.encoding.WmmEncoder;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import org.openjdk.jmh.annotations.*;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Measures the construction of the memory model encoding (without solving it).
+    The solver context is shared by all invocations, so the solver may reuse already created terms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param
+    public Workload workload;
+
+    private VerificationTask task;
+    private Context analysisContext;
+    private SolverContext solverContext;
+
+    @Setup
+    public void setup() throws Exception {
+        task = workload.createTask();
+        analysisContext = workload.prepareRelationAnalysis(task);
+        analysisContext.register(RelationAnalysis.class, RelationAnalysis.fromConfig(task, analysisContext, task.getConfig()));
+        Configuration config = Configuration.defaultConfiguration();
+        solverContext = SolverContextFactory.createSolverContext(config, BasicLogManager.create(config),
+                ShutdownManager.create().getNotifier(), SolverContextFactory.Solvers.Z3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        solverContext.close();
+    }
+
+    @Benchmark
+    public BooleanFormula encodeFullMemoryModel() throws Exception {
+        EncodingContext context = EncodingContext.of(task, analysisContext, solverContext.getFormulaManager());
+        return WmmEncoder.withContext(context).encodeFullMemoryModel();
+    }
+}
@@ -0,0 +1,31 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param
+    public Workload workload;
+
+    @Benchmark
+    public Program parseProgram() throws Exception {
+        return new ProgramParser().parse(workload.getProgramFile());
+    }
+
+    @Benchmark
+    public Wmm parseMemoryModel() throws Exception {
+        return new ParserCat().parse(workload.getModelFile());
+    }
+}
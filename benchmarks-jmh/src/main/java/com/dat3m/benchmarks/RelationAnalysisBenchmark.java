@@ -0,0 +1,34 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RelationAnalysisBenchmark {
+
+    @Param
+    public Workload workload;
+
+    private VerificationTask task;
+    private Context analysisContext;
+
+    @Setup
+    public void setup() throws Exception {
+        task = workload.createTask();
+        analysisContext = workload.prepareRelationAnalysis(task);
+    }
+
+    @Benchmark
+    public RelationAnalysis relationAnalysis() throws Exception {
+        return RelationAnalysis.fromConfig(task, analysisContext, task.getConfig());
+    }
+}
@@ -0,0 +1,81 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.wmm.analysis.WmmAnalysis;
+import org.sosy_lab.common.configuration.Configuration;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.USE_INTEGERS;
+
+/*
+    Representative inputs for the benchmarks.
+    Paths are relative to the root of the repository, which is either the working directory or DAT3M_HOME.
+    The C benchmarks use the precompiled programs of the test suite, so that no clang installation is needed.
+ */
+public enum Workload {
+
+    LITMUS_AARCH64("litmus/AARCH64/PPO/MP+dmb.sy+addr-ctrl-ctrlisb-[fr-rf]-ctrlisb.litmus", "cat/aarch64.cat", Arch.ARM8, 1),
+    LITMUS_POWER("litmus/PPC/MP+PPO363.litmus", "cat/power.cat", Arch.POWER, 1),
+    LFDS_MS("dartagnan/src/test/resources/lfds/ms.ll", "cat/aarch64.cat", Arch.ARM8, 2),
+    LFDS_TREIBER("dartagnan/src/test/resources/lfds/treiber.ll", "cat/rc11.cat", Arch.C11, 2),
+    LOCKS_TTAS("dartagnan/src/test/resources/locks/ttas.ll", "cat/aarch64.cat", Arch.ARM8, 1),
+    LOCKS_TICKETLOCK("dartagnan/src/test/resources/locks/ticketlock.ll", "cat/rc11.cat", Arch.C11, 1);
+
+    private final String programPath;
+    private final String modelPath;
+    private final Arch target;
+    private final int bound;
+
+    Workload(String programPath, String modelPath, Arch target, int bound) {
+        this.programPath = programPath;
+        this.modelPath = modelPath;
+        this.target = target;
+        this.bound = bound;
+    }
+
+    public File getProgramFile() {
+        return resolve(programPath);
+    }
+
+    public File getModelFile() {
+        return resolve(modelPath);
+    }
+
+    public Configuration getConfiguration() throws Exception {
+        return Configuration.builder()
+                .setOption(USE_INTEGERS, "true")
+                .build();
+    }
+
+    // Parses the inputs, but does not process them.
+    public VerificationTask createTask() throws Exception {
+        return VerificationTask.builder()
+                .withConfig(getConfiguration())
+                .withTarget(target)
+                .withBound(bound)
+                .build(new ProgramParser().parse(getProgramFile()), new ParserCat().parse(getModelFile()), Property.getDefault());
+    }
+
+    // Processes the task and performs all analyses that the relation analysis depends on.
+    public Context prepareRelationAnalysis(VerificationTask task) throws Exception {
+        Configuration config = task.getConfig();
+        ModelChecker.preprocessProgram(task, config);
+        ModelChecker.preprocessMemoryModel(task);
+        Context context = Context.create();
+        ModelChecker.performStaticProgramAnalyses(task, context, config);
+        context.register(WmmAnalysis.class, WmmAnalysis.fromConfig(task.getMemoryModel(), task.getProgram().getArch(), config));
+        return context;
+    }
+
+    private static File resolve(String path) {
+        return Path.of(System.getenv().getOrDefault("DAT3M_HOME", "."), path).toFile();
+    }
+}
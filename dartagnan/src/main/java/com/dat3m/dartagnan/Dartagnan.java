@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan;
 
+import com.dat3m.dartagnan.configuration.Method;
 import com.dat3m.dartagnan.configuration.OptionNames;
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.EncodingContext;
@@ -42,6 +43,7 @@ import org.sosy_lab.java_smt.api.SolverException;
 import java.io.File;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.dat3m.dartagnan.GlobalSettings.LogGlobalSettings;
 import static com.dat3m.dartagnan.GlobalSettings.getOrCreateOutputDirectory;
@@ -142,66 +144,35 @@ public class Dartagnan extends BaseOptions {
             Configuration solverConfig = Configuration.builder()
                     .setOption(PHANTOM_REFERENCES, valueOf(o.usePhantomReferences()))
                     .build();
-            try (SolverContext ctx = SolverContextFactory.createSolverContext(
-                    solverConfig,
-                    BasicLogManager.create(solverConfig),
-                    sdm.getNotifier(),
-                    o.getSolver());
-                 ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
-                ModelChecker modelChecker;
-                if (properties.contains(DATARACEFREEDOM)) {
-                    if (properties.size() > 1) {
-                        System.out.println("Data race detection cannot be combined with other properties");
-                        System.exit(1);
-                    }
-                    modelChecker = DataRaceSolver.run(ctx, prover, task);
-                } else {
-                    // Property is either PROGRAM_SPEC, LIVENESS, or CAT_SPEC
-                    switch (o.getMethod()) {
-                        case TWO:
-                            try (ProverEnvironment prover2 = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
-                                modelChecker = TwoSolvers.run(ctx, prover, prover2, task);
-                            }
-                            break;
-                        case INCREMENTAL:
-                            modelChecker = IncrementalSolver.run(ctx, prover, task);
-                            break;
-                        case ASSUME:
-                            modelChecker = AssumeSolver.run(ctx, prover, task);
-                            break;
-                        case CAAT:
-                            modelChecker = RefinementSolver.run(ctx, prover, task);
-                            break;
-                        default:
-                            throw new InvalidConfigurationException("unsupported method " + o.getMethod());
-                    }
-                }
-
-                // Verification ended, we can interrupt the timeout Thread
-                t.interrupt();
-
-                if (modelChecker.hasModel() && o.generateGraphviz()) {
-                    final ExecutionModel m = ExecutionModel.withContext(modelChecker.getEncodingContext());
-                    m.initialize(prover.getModel());
-                    final SyntacticContextAnalysis synContext = newInstance(task.getProgram());
-                    final String name = task.getProgram().getName().substring(0, task.getProgram().getName().lastIndexOf('.'));
-                    // RF edges give both ordering and data flow information, thus even when the pair is in PO
-                    // we get some data flow information by observing the edge
-                    // FR edges only give ordering information which is known if the pair is also in PO
-                    // CO edges only give ordering information which is known if the pair is also in PO
-                    generateGraphvizFile(m, 1, (x, y) -> true, (x, y) -> !x.getThread().equals(y.getThread()),
-                            (x, y) -> !x.getThread().equals(y.getThread()), getOrCreateOutputDirectory() + "/", name,
-                            synContext);
+            if (properties.contains(DATARACEFREEDOM) && properties.size() > 1) {
+                System.out.println("Data race detection cannot be combined with other properties");
+                System.exit(1);
+            }
+            if (o.getMethod() == Method.PORTFOLIO) {
+                // Each strategy of the portfolio modifies its own copy of the program and the memory model.
+                final Supplier<Wmm> model = new ParserCat().parseTemplate(fileModel);
+                final WitnessGraph portfolioWitness = witness;
+                try (PortfolioSolver portfolio = PortfolioSolver.run(config, solverConfig, o.getSolver(), sdm.getNotifier(),
+                        () -> VerificationTask.builder()
+                                .withConfig(task.getConfig())
+                                .withWitness(portfolioWitness)
+                                .build(new ProgramParser().parse(fileProgram), model.get(), properties))) {
+                    // Verification ended, we can interrupt the timeout Thread
+                    t.interrupt();
+                    reportResult(o, portfolio.getTask(), portfolio.getProver(), portfolio, startTime);
                 }
+            } else {
+                try (SolverContext ctx = SolverContextFactory.createSolverContext(
+                        solverConfig,
+                        BasicLogManager.create(solverConfig),
+                        sdm.getNotifier(),
+                        o.getSolver());
+                     ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+                    ModelChecker modelChecker = ModelChecker.runWithMethod(ctx, prover, task, o.getMethod());
 
-                long endTime = System.currentTimeMillis();
-                String summary = generateResultSummary(task, prover, modelChecker);
-                System.out.print(summary);
-                System.out.println("Total verification time(ms): " + (endTime - startTime));
-
-                if (!o.runValidator()) {
-                    // We only generate witnesses if we are not validating one.
-                    generateWitnessIfAble(task, prover, modelChecker, summary);
+                    // Verification ended, we can interrupt the timeout Thread
+                    t.interrupt();
+                    reportResult(o, task, prover, modelChecker, startTime);
                 }
             }
         } catch (InterruptedException e) {
@@ -215,7 +186,34 @@ public class Dartagnan extends BaseOptions {
         }
     }
 
-    private static void generateWitnessIfAble(VerificationTask task, ProverEnvironment prover, ModelChecker modelChecker, String summary) {
+    private static void reportResult(Dartagnan o, VerificationTask task, ProverEnvironment prover, ModelChecker modelChecker,
+            long startTime) throws Exception {
+        if (modelChecker.hasModel() && o.generateGraphviz()) {
+            final ExecutionModel m = ExecutionModel.withContext(modelChecker.getEncodingContext());
+            m.initialize(prover.getModel());
+            final SyntacticContextAnalysis synContext = newInstance(task.getProgram());
+            final String name = task.getProgram().getName().substring(0, task.getProgram().getName().lastIndexOf('.'));
+            // RF edges give both ordering and data flow information, thus even when the pair is in PO
+            // we get some data flow information by observing the edge
+            // FR edges only give ordering information which is known if the pair is also in PO
+            // CO edges only give ordering information which is known if the pair is also in PO
+            generateGraphvizFile(m, 1, (x, y) -> true, (x, y) -> !x.getThread().equals(y.getThread()),
+                    (x, y) -> !x.getThread().equals(y.getThread()), getOrCreateOutputDirectory() + "/", name,
+                    synContext);
+        }
+
+        long endTime = System.currentTimeMillis();
+        String summary = generateResultSummary(task, prover, modelChecker);
+        System.out.print(summary);
+        System.out.println("Total verification time(ms): " + (endTime - startTime));
+
+        if (!o.runValidator()) {
+            // We only generate witnesses if we are not validating one.
+            generateWitnessIfAble(task, prover, modelChecker, summary);
+        }
+    }
+
+    public static void generateWitnessIfAble(VerificationTask task, ProverEnvironment prover, ModelChecker modelChecker, String summary) {
         // ------------------ Generate Witness, if possible ------------------
         final EnumSet<Property> properties = task.getProperty();
         if (task.getProgram().getFormat().equals(SourceLanguage.LLVM) && modelChecker.hasModel() && properties.contains(PROGRAM_SPEC)) {
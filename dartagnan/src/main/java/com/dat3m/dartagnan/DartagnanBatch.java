@@ -0,0 +1,269 @@
+package com.dat3m.dartagnan;
+
+import com.dat3m.dartagnan.configuration.Method;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.options.BaseOptions;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.VerificationTask.VerificationTaskBuilder;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.dat3m.dartagnan.configuration.OptionInfo.collectOptions;
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static java.lang.String.valueOf;
+
+/*
+    Verifies many litmus tests against a single CAT model within one JVM.
+    The model is parsed once, and every worker thread keeps its own solver context across tasks
+    (a context is only recreated after one of its tasks timed out).
+    Results are streamed to stdout as soon as they are available, one line per test:
+        <path>,1            if the result is PASS
+        <path>,0            if the result is FAIL
+        <path>,-1,<reason>  if no result was obtained (UNKNOWN, TIMEOUT, ERROR)
+    The first two are in the format of the *-expected.csv files used by the test suites.
+ */
+@Options
+public class DartagnanBatch extends BaseOptions {
+
+    private static final Logger logger = LogManager.getLogger(DartagnanBatch.class);
+
+    private static final String LITMUS_EXTENSION = ".litmus";
+
+    @Option(name = BATCH_THREADS,
+            description = "Number of litmus tests that are verified concurrently (default: available processors).",
+            secure = true)
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private final Configuration config;
+    private final Supplier<Wmm> model;
+    private final PrintStream out;
+    private final List<Worker> workers = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadLocal<Worker> worker = ThreadLocal.withInitial(this::newWorker);
+
+    private DartagnanBatch(Configuration config, Supplier<Wmm> model, PrintStream out) throws InvalidConfigurationException {
+        config.recursiveInject(this);
+        if (threads < 1) {
+            throw new InvalidConfigurationException(BATCH_THREADS + " must be positive.");
+        }
+        if (getMethod() == Method.PORTFOLIO) {
+            throw new InvalidConfigurationException("The portfolio method is not supported in batch mode.");
+        }
+        if (getProperty().contains(Property.DATARACEFREEDOM) && getProperty().size() > 1) {
+            throw new InvalidConfigurationException("Data race detection cannot be combined with other properties");
+        }
+        this.config = config;
+        this.model = model;
+        this.out = out;
+    }
+
+    /*
+        Usage: <CAT file> <input>... [options]
+        where each input is either a litmus test, a directory (searched recursively for litmus tests),
+        or a text file listing one litmus test per line (only the first comma-separated column is read,
+        so *-expected.csv files can be passed directly).
+     */
+    public static void main(String[] args) throws Exception {
+
+        if (Arrays.asList(args).contains("--help")) {
+            collectOptions();
+            return;
+        }
+
+        String[] argKeyword = Arrays.stream(args)
+                .filter(s -> s.startsWith("-"))
+                .toArray(String[]::new);
+        Configuration config = Configuration.fromCmdLineArguments(argKeyword);
+        GlobalSettings.configure(config);
+
+        if (Arrays.stream(args).noneMatch(a -> a.endsWith(".cat"))) {
+            throw new IllegalArgumentException("CAT model not given or format not recognized");
+        }
+        // get() is guaranteed to succeed
+        File fileModel = new File(Arrays.stream(args).filter(a -> a.endsWith(".cat")).findFirst().get());
+        logger.info("CAT file path: " + fileModel);
+
+        List<File> inputs = Arrays.stream(args)
+                .filter(a -> !a.startsWith("-") && !a.endsWith(".cat"))
+                .map(File::new)
+                .toList();
+        run(config, fileModel, inputs, System.out);
+    }
+
+    // Verifies all litmus tests of <inputs> against the CAT model in <fileModel> and prints their results to <out>.
+    static void run(Configuration config, File fileModel, List<File> inputs, PrintStream out) throws Exception {
+        List<File> tests = new ArrayList<>();
+        for (File input : inputs) {
+            collectTests(input, tests);
+        }
+        if (tests.isEmpty()) {
+            throw new IllegalArgumentException("No litmus tests given");
+        }
+        logger.info("Number of litmus tests: " + tests.size());
+
+        DartagnanBatch batch = new DartagnanBatch(config, new ParserCat().parseTemplate(fileModel), out);
+        batch.run(tests);
+    }
+
+    private static void collectTests(File input, List<File> tests) throws IOException {
+        if (input.isDirectory()) {
+            try (Stream<Path> files = Files.walk(input.toPath())) {
+                files.filter(f -> f.toString().endsWith(LITMUS_EXTENSION)).sorted().map(Path::toFile).forEach(tests::add);
+            }
+        } else if (input.getName().endsWith(LITMUS_EXTENSION)) {
+            tests.add(input);
+        } else if (input.isFile()) {
+            for (String line : Files.readAllLines(input.toPath())) {
+                String path = line.split(",")[0].trim();
+                if (path.endsWith(LITMUS_EXTENSION)) {
+                    tests.add(new File(path));
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Input " + input + " does not exist");
+        }
+    }
+
+    private void run(List<File> tests) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        Map<String, Integer> summary = new TreeMap<>();
+        try {
+            CompletionService<String[]> completion = new ExecutorCompletionService<>(pool);
+            for (File test : tests) {
+                completion.submit(() -> verify(test, timer));
+            }
+            for (int i = 0; i < tests.size(); i++) {
+                String[] line = getLine(completion.take());
+                summary.merge(line.length > 2 ? line[2] : line[1].equals("1") ? "PASS" : "FAIL", 1, Integer::sum);
+                out.println(String.join(",", line));
+            }
+        } finally {
+            pool.shutdownNow();
+            timer.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            workers.forEach(Worker::close);
+        }
+        logger.info("Results: " + summary);
+        logger.info("Total verification time(ms): " + (System.currentTimeMillis() - startTime));
+    }
+
+    private static String[] getLine(Future<String[]> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // verify() reports failures as result lines.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String[] verify(File test, ScheduledExecutorService timer) {
+        String path = test.getPath().replace(File.separatorChar, '/');
+        Worker w = worker.get();
+        try {
+            Program program = new ProgramParser().parse(test);
+            VerificationTaskBuilder builder = VerificationTask.builder().withConfig(config);
+            // As in Dartagnan: the arch of the litmus header is used, unless a target is given explicitly.
+            if (program.getArch() != null && !config.hasProperty(TARGET)) {
+                builder = builder.withTarget(program.getArch());
+            }
+            VerificationTask task = builder.build(program, model.get(), getProperty());
+            SolverContext ctx = w.getContext();
+            ScheduledFuture<?> timeout = hasTimeout()
+                    ? timer.schedule(w::requestShutdown, getTimeout(), TimeUnit.SECONDS)
+                    : null;
+            try (ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+                Result result = ModelChecker.runWithMethod(ctx, prover, task, getMethod()).getResult();
+                return switch (result) {
+                    case PASS -> new String[]{path, "1"};
+                    case FAIL -> new String[]{path, "0"};
+                    case UNKNOWN -> new String[]{path, "-1", "UNKNOWN"};
+                };
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+            }
+        } catch (InterruptedException e) {
+            return new String[]{path, "-1", "TIMEOUT"};
+        } catch (Exception e) {
+            logger.warn("Verification of " + path + " failed: " + e.getMessage());
+            return new String[]{path, "-1", "ERROR"};
+        } finally {
+            if (w.isShutdownRequested()) {
+                w.close();
+            }
+        }
+    }
+
+    private Worker newWorker() {
+        Worker w = new Worker();
+        workers.add(w);
+        return w;
+    }
+
+    // Solver context of a single pool thread. It is (re)created lazily, since a shutdown request is permanent.
+    private final class Worker {
+        private ShutdownManager sdm;
+        private SolverContext context;
+
+        synchronized SolverContext getContext() throws InvalidConfigurationException {
+            if (context == null) {
+                sdm = ShutdownManager.create();
+                Configuration solverConfig = Configuration.builder()
+                        .setOption(PHANTOM_REFERENCES, valueOf(usePhantomReferences()))
+                        .build();
+                context = SolverContextFactory.createSolverContext(
+                        solverConfig,
+                        BasicLogManager.create(solverConfig),
+                        sdm.getNotifier(),
+                        getSolver());
+            }
+            return context;
+        }
+
+        synchronized void requestShutdown() {
+            if (sdm != null) {
+                sdm.requestShutdown("Timeout");
+            }
+        }
+
+        synchronized boolean isShutdownRequested() {
+            return sdm != null && sdm.getNotifier().shouldShutdown();
+        }
+
+        synchronized void close() {
+            if (context != null) {
+                context.close();
+                context = null;
+                sdm = null;
+            }
+        }
+    }
+}
@@ -4,7 +4,7 @@ import java.util.Arrays;
 
 public enum Alias implements OptionInterface {
 	// For comparison reasons, we might want to add a NONE method with may = true, must = false
-	FIELD_SENSITIVE, FIELD_INSENSITIVE;
+	FIELD_SENSITIVE, FIELD_SENSITIVE_BITSET, FIELD_INSENSITIVE;
 
 	public static Alias getDefault() {
 		return FIELD_SENSITIVE;
@@ -12,7 +12,7 @@ public enum Alias implements OptionInterface {
 	
 	// Used to decide the order shown by the selector in the UI
 	public static Alias[] orderedValues() {
-		Alias[] order = { FIELD_SENSITIVE, FIELD_INSENSITIVE };
+		Alias[] order = { FIELD_SENSITIVE, FIELD_SENSITIVE_BITSET, FIELD_INSENSITIVE };
 		// Be sure no element is missing
 		assert(Arrays.asList(order).containsAll(Arrays.asList(values())));
 		return order;
@@ -1,9 +1,10 @@
 package com.dat3m.dartagnan.configuration;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 
 public enum Method implements OptionInterface {
-	ASSUME, INCREMENTAL, TWO, CAAT;
+	ASSUME, INCREMENTAL, TWO, CAAT, PORTFOLIO;
 	
 	// Used for options in the console
 	@Override
@@ -17,6 +18,8 @@ public enum Method implements OptionInterface {
         		return "assume";
 			case CAAT:
 				return "caat";
+			case PORTFOLIO:
+				return "portfolio";
         }
         throw new UnsupportedOperationException("Unrecognized analysis " + this);
 	}
@@ -33,6 +36,8 @@ public enum Method implements OptionInterface {
             	return "Solver with Assumption";
             case CAAT:
             	return "CAAT Solver";
+            case PORTFOLIO:
+            	return "Portfolio";
         }
         throw new UnsupportedOperationException("Unrecognized analysis " + this);
 	}
@@ -44,8 +49,9 @@ public enum Method implements OptionInterface {
 	// Used to decide the order shown by the selector in the UI
 	public static Method[] orderedValues() {
 		Method[] order = { INCREMENTAL, ASSUME, TWO, CAAT};
-		// Be sure no element is missing
-		assert(Arrays.asList(order).containsAll(Arrays.asList(values())));
+		// Be sure no element is missing.
+		// The portfolio re-parses its inputs for each strategy, thus it is only available from the console.
+		assert(Arrays.asList(order).containsAll(EnumSet.complementOf(EnumSet.of(PORTFOLIO))));
 		return order;
 	}
 }
\ No newline at end of file
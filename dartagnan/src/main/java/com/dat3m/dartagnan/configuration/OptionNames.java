@@ -30,6 +30,8 @@ public class OptionNames {
     public static final String BREAK_SYMMETRY_ON = "encoding.symmetry.breakOn";
     public static final String BREAK_SYMMETRY_BY_SYNC_DEGREE = "encoding.symmetry.orderBySyncDegree";
     public static final String IDL_TO_SAT = "encoding.wmm.idl2sat";
+    public static final String ACYCLICITY_ELIMINATION_ORDER = "encoding.wmm.eliminationOrder";
+    public static final String CONSTRAINT_CHUNK_SIZE = "encoding.constraintChunkSize";
 
     // Program Processing Options
     public static final String DETERMINISTIC_REORDERING = "program.processing.detReordering";
@@ -39,6 +41,9 @@ public class OptionNames {
     public static final String DYNAMIC_PURE_LOOP_CUTTING = "program.processing.dplc";
     public static final String PROPAGATE_COPY_ASSIGNMENTS = "program.processing.propagateCopyAssignments";
     public static final String REMOVE_ASSERTION_OF_TYPE = "program.processing.skipAssertionsOfType";
+    public static final String PROCESSING_THREADS = "program.processing.threads";
+    public static final String PROCESSING_STATISTICS = "program.processing.statistics";
+    public static final String PROCESSING_STATISTICS_FILE = "program.processing.statisticsFile";
 
     // Program Property Options
     public static final String ALIAS_METHOD = "program.analysis.alias";
@@ -49,9 +54,21 @@ public class OptionNames {
     public static final String ENABLE_RELATION_ANALYSIS = "wmm.analysis.relationAnalysis";
     public static final String ENABLE_MUST_SETS = "wmm.analysis.mustSets";
     public static final String ENABLE_EXTENDED_RELATION_ANALYSIS = "wmm.analysis.extendedRelationAnalysis";
+    public static final String COMPACT_EVENT_GRAPHS = "wmm.analysis.compactEventGraphs";
+    public static final String RELATION_ANALYSIS_THREADS = "wmm.analysis.threads";
+    public static final String RELATION_ANALYSIS_CACHE = "wmm.analysis.cache";
+
+    // Portfolio Options
+    public static final String PORTFOLIO_METHODS = "portfolio.methods";
+    public static final String PORTFOLIO_SOLVERS = "portfolio.solvers";
 
     // Refinement Options
     public static final String BASELINE = "refinement.baseline";
+    public static final String INCREMENTAL_MODEL = "refinement.incrementalModel";
+    public static final String MAX_CYCLES_PER_SCC = "refinement.maxCyclesPerScc";
+    public static final String REASONING_THREADS = "refinement.reasoningThreads";
+    public static final String CLAUSE_LIMIT = "refinement.clauseLimit";
+    public static final String REASON_CACHE = "refinement.reasonCache";
 	
     // SMT solver Options
     public static final String PHANTOM_REFERENCES = "solver.z3.usePhantomReferences";
@@ -65,6 +82,10 @@ public class OptionNames {
     public static final String UMIN = "svcomp.umin";
     public static final String UMAX = "svcomp.umax";
     public static final String STEP = "svcomp.step";
+    public static final String IN_PROCESS = "svcomp.inProcess";
+
+    // Batch Options
+    public static final String BATCH_THREADS = "batch.threads";
 
     // Debugging Options
     public static final String PRINT_PROGRAM_BEFORE_PROCESSING = "printer.beforeProcessing";
@@ -0,0 +1,95 @@
+package com.dat3m.dartagnan.encoding;
+
+import org.sosy_lab.java_smt.api.BasicProverEnvironment;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/*
+    Forwards encoded constraints to a target in conjunctions of bounded size.
+    Encoders push their constraints one at a time, so that a full encoding never has to be materialized
+    as a single list of formulas next to the conjunction built from it.
+
+    Encoders add constraints from within lambdas, which cannot throw checked exceptions.
+    Thus, an interruption of the target is recorded and reported by the next call to flush(),
+    while constraints added in the meantime are dropped.
+ */
+public final class ConstraintStream {
+
+    @FunctionalInterface
+    public interface Target {
+        void add(BooleanFormula constraint) throws InterruptedException;
+    }
+
+    private final Target target;
+    private final BooleanFormulaManager bmgr;
+    private final int chunkSize;
+    private final List<BooleanFormula> buffer = new ArrayList<>();
+    private InterruptedException interruption;
+    private long constraintCount;
+    private long chunkCount;
+
+    ConstraintStream(Target target, BooleanFormulaManager bmgr, int chunkSize) {
+        checkArgument(chunkSize > 0, "Chunks must contain at least one constraint.");
+        this.target = target;
+        this.bmgr = bmgr;
+        this.chunkSize = chunkSize;
+    }
+
+    public static ConstraintStream toProver(BasicProverEnvironment<?> prover, EncodingContext context) {
+        return new ConstraintStream(prover::addConstraint, context.getBooleanFormulaManager(), context.getConstraintChunkSize());
+    }
+
+    // Forwards each constraint individually, without forming conjunctions.
+    public static ConstraintStream toCollection(Collection<BooleanFormula> collection) {
+        return new ConstraintStream(collection::add, null, 1);
+    }
+
+    public void add(BooleanFormula constraint) {
+        if (interruption != null) {
+            return;
+        }
+        constraintCount++;
+        buffer.add(constraint);
+        if (buffer.size() >= chunkSize) {
+            forward();
+        }
+    }
+
+    public void addAll(Collection<? extends BooleanFormula> constraints) {
+        constraints.forEach(this::add);
+    }
+
+    // Forwards all buffered constraints to the target.
+    public void flush() throws InterruptedException {
+        if (!buffer.isEmpty()) {
+            forward();
+        }
+        if (interruption != null) {
+            throw interruption;
+        }
+    }
+
+    public long getConstraintCount() {
+        return constraintCount;
+    }
+
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    private void forward() {
+        try {
+            target.add(buffer.size() == 1 ? buffer.get(0) : bmgr.and(buffer));
+            chunkCount++;
+        } catch (InterruptedException e) {
+            interruption = e;
+        }
+        buffer.clear();
+    }
+}
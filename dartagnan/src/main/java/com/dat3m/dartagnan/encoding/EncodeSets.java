@@ -52,8 +52,8 @@ final class EncodeSets implements Visitor<Map<Relation, EventGraph>> {
         if (news.isEmpty()) {
             return Map.of();
         }
-        final EventGraph set1 = new EventGraph();
-        final EventGraph set2 = new EventGraph();
+        final EventGraph set1 = ra.newGraph();
+        final EventGraph set2 = ra.newGraph();
         final RelationAnalysis.Knowledge k1 = ra.getKnowledge(r1);
         final RelationAnalysis.Knowledge k2 = ra.getKnowledge(r2);
         Map<Event, Set<Event>> out = ra.getKnowledge(r1).getMaySet().getOutMap();
@@ -76,7 +76,7 @@ final class EncodeSets implements Visitor<Map<Relation, EventGraph>> {
     public Map<Relation, EventGraph> visitDomainIdentity(Relation rel, Relation r1) {
         final RelationAnalysis.Knowledge k1 = ra.getKnowledge(r1);
         Map<Event, Set<Event>> out = k1.getMaySet().getOutMap();
-        EventGraph result = new EventGraph();
+        EventGraph result = ra.newGraph();
         news.apply((e1, e2) ->
             out.getOrDefault(e1, Set.of()).forEach(e -> {
                 if (!k1.getMustSet().contains(e1, e)) {
@@ -91,7 +91,7 @@ final class EncodeSets implements Visitor<Map<Relation, EventGraph>> {
     public Map<Relation, EventGraph> visitRangeIdentity(Relation rel, Relation r1) {
         final RelationAnalysis.Knowledge k1 = ra.getKnowledge(r1);
         Map<Event, Set<Event>> in = k1.getMaySet().getInMap();
-        EventGraph result = new EventGraph();
+        EventGraph result = ra.newGraph();
         news.apply((e1, e2) ->
             in.getOrDefault(e2, Set.of()).forEach(e -> {
                 if (!k1.getMustSet().contains(e, e2)) {
@@ -110,7 +110,7 @@ final class EncodeSets implements Visitor<Map<Relation, EventGraph>> {
 
     @Override
     public Map<Relation, EventGraph> visitTransitiveClosure(Relation rel, Relation r1) {
-        EventGraph factors = new EventGraph();
+        EventGraph factors = ra.newGraph();
         final RelationAnalysis.Knowledge k0 = ra.getKnowledge(rel);
         Map<Event, Set<Event>> out = k0.getMaySet().getOutMap();
         news.apply((e1, e2) -> {
@@ -130,7 +130,7 @@ final class EncodeSets implements Visitor<Map<Relation, EventGraph>> {
 
     @Override
     public Map<Relation, EventGraph> visitCriticalSections(Relation rscs) {
-        EventGraph queue = new EventGraph();
+        EventGraph queue = ra.newGraph();
         final RelationAnalysis.Knowledge k0 = ra.getKnowledge(rscs);
         Map<Event, Set<Event>> in = k0.getMaySet().getInMap();
         Map<Event, Set<Event>> out = k0.getMaySet().getOutMap();
@@ -12,6 +12,7 @@ import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
 import com.dat3m.dartagnan.program.event.core.*;
 import com.dat3m.dartagnan.program.event.core.utils.RegWriter;
 import com.dat3m.dartagnan.program.memory.MemoryObject;
+import com.dat3m.dartagnan.utils.collections.LongMap;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.Relation;
@@ -27,8 +28,8 @@ import org.sosy_lab.java_smt.api.*;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 
 import java.math.BigInteger;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.LongFunction;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.*;
 import static com.dat3m.dartagnan.program.event.Tag.INIT;
@@ -65,12 +66,26 @@ public final class EncodingContext {
             secure = true)
     boolean useIntegers = false;
 
+    @Option(name = CONSTRAINT_CHUNK_SIZE,
+            description = "Maximal number of constraints that are conjoined before being passed to the solver. Default: 10000.",
+            secure = true)
+    private int constraintChunkSize = 10_000;
+
     private final Map<Event, BooleanFormula> controlFlowVariables = new HashMap<>();
     private final Map<Event, BooleanFormula> executionVariables = new HashMap<>();
     private final Map<Event, Formula> addresses = new HashMap<>();
     private final Map<Event, Formula> values = new HashMap<>();
     private final Map<Event, Formula> results = new HashMap<>();
 
+    // Variables are created once and then looked up by the global ids of their events,
+    // which avoids building and hashing their names on every request.
+    private final List<VariableCache<?>> variableCaches = new ArrayList<>();
+    private final Map<String, VariableCache<BooleanFormula>> edgeVariables = new HashMap<>();
+    private final Map<String, VariableCache<IntegerFormula>> clockVariables = new HashMap<>();
+    private final VariableCache<IntegerFormula> memoryOrderClocks = newVariableCache("co");
+    private final VariableCache<BooleanFormula> dependencies = newVariableCache("idd");
+    private final VariableCache<BooleanFormula> executionPairs = newVariableCache("exec pair");
+
     private EncodingContext(VerificationTask t, Context a, FormulaManager m) {
         verificationTask = checkNotNull(t);
         analysisContext = checkNotNull(a);
@@ -87,6 +102,9 @@ public final class EncodingContext {
         task.getConfig().inject(context);
         logger.info("{}: {}", IDL_TO_SAT, context.useSATEncoding);
         logger.info("{}: {}", MERGE_CF_VARS, context.shouldMergeCFVars);
+        if (context.constraintChunkSize < 1) {
+            throw new InvalidConfigurationException(CONSTRAINT_CHUNK_SIZE + " must be positive.");
+        }
         context.initialize();
         if (logger.isInfoEnabled()) {
             logger.info("Number of encoded edges for acyclicity: {}",
@@ -102,6 +120,10 @@ public final class EncodingContext {
         return useSATEncoding;
     }
 
+    public int getConstraintChunkSize() {
+        return constraintChunkSize;
+    }
+
     public VerificationTask getTask() {
         return verificationTask;
     }
@@ -190,17 +212,20 @@ public final class EncodingContext {
         boolean b = first.getGlobalId() < second.getGlobalId();
         Event x = b ? first : second;
         Event y = b ? second : first;
-        if (executionAnalysis.isImplied(x, y)) {
-            return execution(x);
-        }
-        if (executionAnalysis.isImplied(y, x)) {
-            return execution(y);
-        }
-        return booleanFormulaManager.and(execution(x), execution(y));
+        return executionPairs.get(LongMap.pair(x.getGlobalId(), y.getGlobalId()), k -> {
+            if (executionAnalysis.isImplied(x, y)) {
+                return execution(x);
+            }
+            if (executionAnalysis.isImplied(y, x)) {
+                return execution(y);
+            }
+            return booleanFormulaManager.and(execution(x), execution(y));
+        });
     }
 
     public BooleanFormula dependency(Event first, Event second) {
-        return booleanFormulaManager.makeVariable("idd " + first.getGlobalId() + " " + second.getGlobalId());
+        return dependencies.get(LongMap.pair(first.getGlobalId(), second.getGlobalId()),
+                k -> booleanFormulaManager.makeVariable("idd " + (k >>> 32) + " " + (int) k));
     }
 
     public Formula lastValue(MemoryObject base, int offset) {
@@ -309,7 +334,9 @@ public final class EncodingContext {
     }
 
     public IntegerFormula clockVariable(String name, Event event) {
-        return formulaManager.getIntegerFormulaManager().makeVariable(formulaManager.escape(name) + " " + event.getGlobalId());
+        VariableCache<IntegerFormula> cache = clockVariables.computeIfAbsent(name, n -> newVariableCache("clock"));
+        return cache.get(event.getGlobalId(), k -> formulaManager.getIntegerFormulaManager()
+                .makeVariable(formulaManager.escape(name) + " " + k));
     }
 
     public IntegerFormula memoryOrderClock(Event write) {
@@ -317,11 +344,48 @@ public final class EncodingContext {
         if (write.hasTag(INIT)) {
             return formulaManager.getIntegerFormulaManager().makeNumber(0);
         }
-        return formulaManager.getIntegerFormulaManager().makeVariable("co " + write.getGlobalId());
+        return memoryOrderClocks.get(write.getGlobalId(),
+                k -> formulaManager.getIntegerFormulaManager().makeVariable("co " + k));
     }
 
     public BooleanFormula edgeVariable(String name, Event first, Event second) {
-        return booleanFormulaManager.makeVariable(formulaManager.escape(name) + " " + first.getGlobalId() + " " + second.getGlobalId());
+        return edgeVariables(name).encode(first, second);
+    }
+
+    /**
+     * Encoder of the edge variables of a relation.
+     * Prefer this over {@link #edgeVariable(String, Event, Event)} when encoding many edges of the same relation,
+     * as it resolves the relation name only once.
+     * @param name
+     * Name or term of the relation.
+     * @return
+     * Encoder that returns the same variable for repeated requests of the same edge.
+     */
+    public EdgeEncoder edgeVariables(String name) {
+        final VariableCache<BooleanFormula> cache = edgeVariables.computeIfAbsent(name, n -> newVariableCache("edge"));
+        final String prefix = formulaManager.escape(name) + " ";
+        final LongFunction<BooleanFormula> factory =
+                k -> booleanFormulaManager.makeVariable(prefix + (k >>> 32) + " " + (int) k);
+        return (e1, e2) -> cache.get(LongMap.pair(e1.getGlobalId(), e2.getGlobalId()), factory);
+    }
+
+    public void logVariableCacheStatistics() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        final Map<String, long[]> statistics = new LinkedHashMap<>();
+        for (VariableCache<?> cache : variableCaches) {
+            long[] s = statistics.computeIfAbsent(cache.kind, k -> new long[2]);
+            s[0] += cache.lookups;
+            s[1] += cache.formulas.size();
+        }
+        for (Map.Entry<String, long[]> entry : statistics.entrySet()) {
+            final long[] s = entry.getValue();
+            if (s[0] > 0) {
+                logger.info("Variable cache '{}': {} lookups, {} formulas, {}% hits",
+                        entry.getKey(), s[0], s[1], (100 * (s[0] - s[1])) / s[0]);
+            }
+        }
     }
 
     @FunctionalInterface
@@ -403,6 +467,27 @@ public final class EncodingContext {
         }
     }
 
+    private <F extends Formula> VariableCache<F> newVariableCache(String kind) {
+        VariableCache<F> cache = new VariableCache<>(kind);
+        variableCaches.add(cache);
+        return cache;
+    }
+
+    private static final class VariableCache<F extends Formula> {
+        private final String kind;
+        private final LongMap<F> formulas = new LongMap<>();
+        private long lookups;
+
+        private VariableCache(String kind) {
+            this.kind = kind;
+        }
+
+        private F get(long key, LongFunction<? extends F> factory) {
+            lookups++;
+            return formulas.computeIfAbsent(key, factory);
+        }
+    }
+
     Formula makeVariable(String name, Type type) {
         if (type instanceof BooleanType) {
             return booleanFormulaManager.makeVariable(name);
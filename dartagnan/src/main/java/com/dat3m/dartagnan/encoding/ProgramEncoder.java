@@ -76,6 +76,18 @@ public class ProgramEncoder implements Encoder {
                 encodeDependencies());
     }
 
+    // Streaming variant of <encodeFullProgram>, which passes the control flow and dependency constraints
+    // to the stream while they are encoded, and flushes it at the end.
+    public void encodeFullProgram(ConstraintStream stream) throws InterruptedException {
+        stream.add(encodeConstants());
+        stream.add(encodeMemory());
+        encodeControlFlow(stream);
+        stream.add(encodeFinalRegisterValues());
+        stream.add(encodeFilter());
+        encodeDependencies(stream);
+        stream.flush();
+    }
+
     public BooleanFormula encodeConstants() {
         List<BooleanFormula> enc = new ArrayList<>();
         for (INonDet constant : context.getTask().getProgram().getConstants()) {
@@ -101,20 +113,21 @@ public class ProgramEncoder implements Encoder {
     }
 
     public BooleanFormula encodeControlFlow() {
-        logger.info("Encoding program control flow");
-
-        BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         List<BooleanFormula> enc = new ArrayList<>();
+        encodeControlFlow(ConstraintStream.toCollection(enc));
+        return context.getBooleanFormulaManager().and(enc);
+    }
+
+    public void encodeControlFlow(ConstraintStream stream) {
+        logger.info("Encoding program control flow");
         for(Thread t : context.getTask().getProgram().getThreads()){
-            enc.add(encodeThreadCF(t));
+            encodeThreadCF(t, stream);
         }
-        return bmgr.and(enc);
     }
 
-    private BooleanFormula encodeThreadCF(Thread thread) {
+    private void encodeThreadCF(Thread thread, ConstraintStream enc) {
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         final ThreadStart startEvent = thread.getEntry();
-        final List<BooleanFormula> enc = new ArrayList<>();
 
         final BooleanFormula cfStart = context.controlFlow(startEvent);
         if (startEvent.getCreator() == null) {
@@ -144,7 +157,6 @@ public class ProgramEncoder implements Encoder {
             enc.add(e.encodeExec(context));
             pred = e;
         }
-        return bmgr.and(enc);
     }
 
     // Assigns each Address a fixed memory address.
@@ -179,9 +191,14 @@ public class ProgramEncoder implements Encoder {
      * Also, if no fitting writer is executed, the reader uses 0.
      */
     public BooleanFormula encodeDependencies() {
+        List<BooleanFormula> enc = new ArrayList<>();
+        encodeDependencies(ConstraintStream.toCollection(enc));
+        return context.getBooleanFormulaManager().and(enc);
+    }
+
+    public void encodeDependencies(ConstraintStream enc) {
         logger.info("Encoding dependencies");
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
-        List<BooleanFormula> enc = new ArrayList<>();
         for(Map.Entry<Event,Map<Register, Dependency.State>> e : dep.getAll()) {
             final Event reader = e.getKey();
             for(Map.Entry<Register, Dependency.State> r : e.getValue().entrySet()) {
@@ -216,7 +233,6 @@ public class ProgramEncoder implements Encoder {
                 }
             }
         }
-        return bmgr.and(enc);
     }
 
     public BooleanFormula encodeFilter() {
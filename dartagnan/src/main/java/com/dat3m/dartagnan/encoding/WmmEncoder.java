@@ -84,16 +84,34 @@ public class WmmEncoder implements Encoder {
     }
 
     public BooleanFormula encodeFullMemoryModel() {
-        return context.getBooleanFormulaManager().and(
+        BooleanFormula encoding = context.getBooleanFormulaManager().and(
                 encodeRelations(),
                 encodeConsistency()
         );
+        context.logVariableCacheStatistics();
+        return encoding;
+    }
+
+    // Streaming variant of <encodeFullMemoryModel>, which passes the constraints to the stream
+    // while the relations and axioms are encoded, and flushes it at the end.
+    public void encodeFullMemoryModel(ConstraintStream stream) throws InterruptedException {
+        encodeRelations(stream);
+        encodeConsistency(stream);
+        stream.flush();
+        logger.info("Passed {} constraints in {} chunks", stream.getConstraintCount(), stream.getChunkCount());
+        context.logVariableCacheStatistics();
     }
 
     // Initializes everything just like encodeAnarchicSemantics but also encodes all
     // relations that are needed for the axioms (but does NOT encode the axioms themselves yet)
     // NOTE: It avoids encoding relations that do NOT affect the axioms, i.e. unused relations
     public BooleanFormula encodeRelations() {
+        List<BooleanFormula> enc = new ArrayList<>();
+        encodeRelations(ConstraintStream.toCollection(enc));
+        return context.getBooleanFormulaManager().and(enc);
+    }
+
+    public void encodeRelations(ConstraintStream stream) {
         logger.info("Encoding relations");
         Wmm memoryModel = context.getTask().getMemoryModel();
         final DependencyGraph<Relation> depGraph = DependencyGraph.from(
@@ -102,30 +120,33 @@ public class WmmEncoder implements Encoder {
                         Iterables.transform(memoryModel.getAxioms(), Axiom::getRelation) // axiom relations
                 )
         );
-        RelationEncoder v = new RelationEncoder();
+        RelationEncoder v = new RelationEncoder(stream);
         for (Relation rel : depGraph.getNodeContents()) {
             logger.trace("Encoding relation '{}'", rel);
             rel.getDefinition().accept(v);
         }
-        return v.bmgr.and(v.enc);
     }
 
     // Encodes all axioms. This should be called after <encodeRelations>
     public BooleanFormula encodeConsistency() {
+        List<BooleanFormula> enc = new ArrayList<>();
+        encodeConsistency(ConstraintStream.toCollection(enc));
+        return context.getBooleanFormulaManager().and(enc);
+    }
+
+    public void encodeConsistency(ConstraintStream stream) {
         logger.info("Encoding consistency");
         Wmm memoryModel = context.getTask().getMemoryModel();
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
-        List<BooleanFormula> enc = new ArrayList<>();
         for (Axiom a : memoryModel.getAxioms()) {
             if (!a.isFlagged()) {
                 logger.trace("Encoding axiom '{}'", a);
-                enc.addAll(a.consistent(context));
+                a.consistent(context, stream);
             }
         }
         ra.getMutuallyExclusiveEdges()
-                .apply((e1, e2) -> enc.add(bmgr.not(context.execution(e1, e2))));
-        return bmgr.and(enc);
+                .apply((e1, e2) -> stream.add(bmgr.not(context.execution(e1, e2))));
     }
 
     public EventGraph getEventGraph(Relation relation, Model model) {
@@ -142,7 +163,11 @@ public class WmmEncoder implements Encoder {
         final Program program = context.getTask().getProgram();
         final RelationAnalysis ra = context.getAnalysisContext().requires(RelationAnalysis.class);
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
-        final List<BooleanFormula> enc = new ArrayList<>();
+        final ConstraintStream enc;
+
+        RelationEncoder(ConstraintStream stream) {
+            enc = stream;
+        }
 
         @Override
         public Void visitDefinition(Relation rel, List<? extends Relation> dependencies) {
@@ -657,8 +682,9 @@ public class WmmEncoder implements Encoder {
 
     private void initializeEncodeSets() {
         logger.trace("Start");
+        RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
         for (Relation r : context.getTask().getMemoryModel().getRelations()) {
-            encodeSets.put(r, new EventGraph());
+            encodeSets.put(r, ra.newGraph());
         }
         EncodeSets v = new EncodeSets(context.getAnalysisContext());
         Map<Relation, List<EventGraph>> queue = new HashMap<>();
@@ -667,11 +693,10 @@ public class WmmEncoder implements Encoder {
                 queue.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue());
             }
         }
-        RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
         RelationAnalysis.Propagator p = ra.new Propagator();
         for (Relation r : context.getTask().getMemoryModel().getRelations()) {
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = ra.newGraph();
+            EventGraph must = ra.newGraph();
             if (r.getDependencies().isEmpty()) {
                 continue;
             }
@@ -691,7 +716,7 @@ public class WmmEncoder implements Encoder {
             Relation r = queue.keySet().iterator().next();
             logger.trace("Update encode set of '{}'", r);
             EventGraph s = encodeSets.get(r);
-            EventGraph c = new EventGraph();
+            EventGraph c = ra.newGraph();
             for (EventGraph news : queue.remove(r)) {
                 news.filter(s::add).apply(c::add);
             }
@@ -12,6 +12,7 @@ import org.antlr.v4.runtime.ParserRuleContext;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.function.Supplier;
 
 public class ParserCat {
 
@@ -25,13 +26,28 @@ public class ParserCat {
         return parse(CharStreams.fromString(raw));
     }
 
+    /*
+        Parses the model only once and returns a supplier that builds a fresh Wmm from the parse tree on each call.
+        This is meant for verifying many programs against the same model,
+        since every verification task modifies its memory model during preprocessing.
+     */
+    public Supplier<Wmm> parseTemplate(File file) throws IOException {
+        try (FileInputStream stream = new FileInputStream(file)) {
+            ParserRuleContext parserEntryPoint = parseTree(CharStreams.fromStream(stream));
+            return () -> (Wmm) parserEntryPoint.accept(new VisitorBase());
+        }
+    }
+
     private Wmm parse(CharStream charStream){
+        return (Wmm) parseTree(charStream).accept(new VisitorBase());
+    }
+
+    private ParserRuleContext parseTree(CharStream charStream) {
         CatLexer lexer = new CatLexer(charStream);
         CommonTokenStream tokenStream = new CommonTokenStream(lexer);
 
         CatParser parser = new CatParser(tokenStream);
         parser.addErrorListener(new ParserErrorListener());
-        ParserRuleContext parserEntryPoint = parser.mcm();
-        return (Wmm) parserEntryPoint.accept(new VisitorBase());
+        return parser.mcm();
     }
 }
@@ -8,15 +8,30 @@ import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 
+import java.util.function.Supplier;
+
 class ParserLlvm implements ParserInterface {
 
     @Override
     public Program parse(CharStream charStream) {
+        return buildProgram(parseTree(charStream));
+    }
+
+    // Parses the module only once. Each call of the supplier builds a fresh program from the parse tree.
+    Supplier<Program> parseTemplate(CharStream charStream) {
+        ParserRuleContext parserEntryPoint = parseTree(charStream);
+        return () -> buildProgram(parserEntryPoint);
+    }
+
+    private ParserRuleContext parseTree(CharStream charStream) {
         LLVMIRLexer lexer = new LLVMIRLexer(charStream);
         CommonTokenStream tokenStream = new CommonTokenStream(lexer);
 
         LLVMIRParser parser = new LLVMIRParser(tokenStream);
-        ParserRuleContext parserEntryPoint = parser.compilationUnit();
+        return parser.compilationUnit();
+    }
+
+    private Program buildProgram(ParserRuleContext parserEntryPoint) {
         VisitorLlvm visitor = new VisitorLlvm();
 
         parserEntryPoint.accept(visitor);
@@ -6,6 +6,7 @@ import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 
 import java.io.*;
+import java.util.function.Supplier;
 
 import static com.dat3m.dartagnan.parsers.program.utils.Compilation.applyLlvmPasses;
 import static com.dat3m.dartagnan.parsers.program.utils.Compilation.compileWithClang;
@@ -38,6 +39,32 @@ public class ProgramParser {
         return program;
     }
 
+    /*
+        Parses an LLVM program (compiling C files first) only once, and returns a supplier
+        that builds a fresh program on each call. This avoids parsing the same program again
+        when it gets verified several times (e.g. with increasing bounds),
+        since every verification modifies its program during processing.
+     */
+    public Supplier<Program> parseTemplate(File file) throws Exception {
+        if (needsClang(file)) {
+            file = compileWithClang(file, "");
+            file = applyLlvmPasses(file);
+        }
+        if (!file.getName().endsWith(".ll")) {
+            throw new ParsingException("Only LLVM programs can be parsed as templates");
+        }
+        final Supplier<Program> template;
+        try (FileInputStream stream = new FileInputStream(file)) {
+            template = new ParserLlvm().parseTemplate(CharStreams.fromStream(stream));
+        }
+        final String name = file.getName();
+        return () -> {
+            Program program = template.get();
+            program.setName(name);
+            return program;
+        };
+    }
+
     private boolean needsClang(File f) {
         return f.getPath().endsWith(".c") || f.getPath().endsWith(".i");
     }
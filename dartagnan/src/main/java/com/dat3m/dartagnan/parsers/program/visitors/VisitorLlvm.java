@@ -54,7 +54,8 @@ public class VisitorLlvm extends LLVMIRBaseVisitor<Expression> {
     // Nonnull, if the visitor is inside a function body.
     private Function function;
     private final Map<String, Block> basicBlocks = new HashMap<>();
-    private final Map<BlockPair, List<Event>> phiNodes = new HashMap<>();
+    // Ordered, so that the phi nodes of a block are emitted in the order of their first use.
+    private final Map<BlockPair, List<Event>> phiNodes = new LinkedHashMap<>();
     // Nonnull, if the visitor is inside a basic block.
     private Block block;
     // Nonnull, if the visitor is inside a value instruction.  Resolve overloading, like in literals.
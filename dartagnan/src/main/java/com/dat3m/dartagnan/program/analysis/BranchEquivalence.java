@@ -48,14 +48,36 @@ public class BranchEquivalence extends AbstractEquivalence<Event> {
     private BranchClass initialClass;
     private BranchClass unreachableClass;
 
+    /*
+        Compiled form of the class relations for fast queries:
+        Each event is mapped (via its global id) to the index of its class, and the implication and exclusion
+        relations are stored as bit matrices over the class indices with <rowLength> words per row.
+        <indexedEvents> is used to detect events whose global id changed or that were not part of the program.
+     */
+    private Event[] indexedEvents;
+    private int[] eventClassIds;
+    private long[] impliedMatrix;
+    private long[] exclusiveMatrix;
+    private int rowLength;
+
     // ============================ Public methods ==============================
 
     public boolean areMutuallyExclusive(Event e1, Event e2) {
-        return getEquivalenceClass(e1).getExclusiveClasses().contains(getEquivalenceClass(e2));
+        final int c1 = getClassId(e1);
+        final int c2 = getClassId(e2);
+        if (c1 < 0 || c2 < 0) {
+            return getEquivalenceClass(e1).getExclusiveClasses().contains(getEquivalenceClass(e2));
+        }
+        return testBit(exclusiveMatrix, c1, c2);
     }
 
     public boolean isImplied(Event start, Event implied) {
-        return getEquivalenceClass(start).getImpliedClasses().contains(getEquivalenceClass(implied));
+        final int c1 = getClassId(start);
+        final int c2 = getClassId(implied);
+        if (c1 < 0 || c2 < 0) {
+            return getEquivalenceClass(start).getImpliedClasses().contains(getEquivalenceClass(implied));
+        }
+        return testBit(impliedMatrix, c1, c2);
     }
 
     public Class getInitialClass() { return initialClass; }
@@ -92,6 +114,7 @@ public class BranchEquivalence extends AbstractEquivalence<Event> {
         computeExclusiveBranches(decomposition);
         computeBranchImplications(decomposition);
         createBranchClasses(decomposition);
+        compileClassRelations();
     }
 
     // ========================== Branching ==========================
@@ -327,6 +350,57 @@ public class BranchEquivalence extends AbstractEquivalence<Event> {
 
     }
 
+    //========================== Compiled queries =========================
+
+    private void compileClassRelations() {
+        final List<BranchClass> branchClasses = new ArrayList<>(this.<BranchClass>getAllTypedEqClasses());
+        final Map<BranchClass, Integer> classIds = Maps.newIdentityHashMap();
+        int maxEventId = -1;
+        for (BranchClass branchClass : branchClasses) {
+            classIds.put(branchClass, classIds.size());
+            for (Event e : branchClass) {
+                maxEventId = Math.max(maxEventId, e.getGlobalId());
+            }
+        }
+
+        indexedEvents = new Event[maxEventId + 1];
+        eventClassIds = new int[maxEventId + 1];
+        rowLength = (branchClasses.size() + 63) >>> 6;
+        impliedMatrix = new long[branchClasses.size() * rowLength];
+        exclusiveMatrix = new long[branchClasses.size() * rowLength];
+        for (BranchClass branchClass : branchClasses) {
+            final int id = classIds.get(branchClass);
+            for (Event e : branchClass) {
+                if (e.getGlobalId() >= 0) {
+                    indexedEvents[e.getGlobalId()] = e;
+                    eventClassIds[e.getGlobalId()] = id;
+                }
+            }
+            // Empty special classes are not part of the equivalence (see NOTE above), so they have no index.
+            branchClass.impliedClasses.stream().map(classIds::get).filter(Objects::nonNull)
+                    .forEach(other -> setBit(impliedMatrix, id, other));
+            branchClass.exclusiveClasses.stream().map(classIds::get).filter(Objects::nonNull)
+                    .forEach(other -> setBit(exclusiveMatrix, id, other));
+        }
+    }
+
+    // Returns -1 if <e> was not indexed under its current global id.
+    private int getClassId(Event e) {
+        if (e == null) {
+            return -1;
+        }
+        final int id = e.getGlobalId();
+        return id >= 0 && id < indexedEvents.length && indexedEvents[id] == e ? eventClassIds[id] : -1;
+    }
+
+    private void setBit(long[] matrix, int row, int column) {
+        matrix[row * rowLength + (column >>> 6)] |= 1L << column;
+    }
+
+    private boolean testBit(long[] matrix, int row, int column) {
+        return (matrix[row * rowLength + (column >>> 6)] & (1L << column)) != 0;
+    }
+
     //========================== Internal data structures =========================
 
     public interface Class extends EquivalenceClass<Event> {
@@ -11,6 +11,9 @@ import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 
+import java.util.List;
+import java.util.function.BiConsumer;
+
 import static com.dat3m.dartagnan.configuration.OptionNames.ALIAS_METHOD;
 
 public interface AliasAnalysis {
@@ -20,6 +23,21 @@ public interface AliasAnalysis {
     boolean mustAlias(MemoryCoreEvent a, MemoryCoreEvent b);
     boolean mayAlias(MemoryCoreEvent a, MemoryCoreEvent b);
 
+    /*
+        Calls <action> exactly once for each pair of <xs> x <ys> that may alias, in no particular order.
+        Analyses that know the address sets of events override this to only visit pairs that share a location.
+     */
+    default <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachMayAliasPair(
+            List<X> xs, List<Y> ys, BiConsumer<? super X, ? super Y> action) {
+        for (X x : xs) {
+            for (Y y : ys) {
+                if (mayAlias(x, y)) {
+                    action.accept(x, y);
+                }
+            }
+        }
+    }
+
     static AliasAnalysis fromConfig(Program program, Configuration config) throws InvalidConfigurationException {
         Config c = new Config(config);
 		logger.info("Selected alias analysis: " + c.method);
@@ -29,6 +47,9 @@ public interface AliasAnalysis {
             case FIELD_SENSITIVE:
                 a = FieldSensitiveAndersen.fromConfig(program, config);
                 break;
+            case FIELD_SENSITIVE_BITSET:
+                a = FieldSensitiveBitsetAndersen.fromConfig(program, config);
+                break;
             case FIELD_INSENSITIVE:
                 a = AndersenAliasAnalysis.fromConfig(program, config);
                 break;
@@ -75,6 +96,16 @@ public interface AliasAnalysis {
         public boolean mayAlias(MemoryCoreEvent a, MemoryCoreEvent b) {
             return a1.mayAlias(a, b) && a2.mayAlias(a, b);
         }
+
+        @Override
+        public <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachMayAliasPair(
+                List<X> xs, List<Y> ys, BiConsumer<? super X, ? super Y> action) {
+            a1.forEachMayAliasPair(xs, ys, (x, y) -> {
+                if (a2.mayAlias(x, y)) {
+                    action.accept(x, y);
+                }
+            });
+        }
     }
 
 }
@@ -19,6 +19,7 @@ import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -77,6 +78,12 @@ public class AndersenAliasAnalysis implements AliasAnalysis {
         return getMaxAddressSet(x).size() == 1 && getMaxAddressSet(x).containsAll(getMaxAddressSet(y));
     }
 
+    @Override
+    public <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachMayAliasPair(
+            List<X> xs, List<Y> ys, BiConsumer<? super X, ? super Y> action) {
+        LocationJoin.forEachPair(xs, ys, this::getMaxAddressSet, maxAddressSet, action);
+    }
+
     private ImmutableSet<Location> getMaxAddressSet(MemoryEvent e) {
         return eventAddressSpaceMap.get(e);
     }
@@ -16,6 +16,7 @@ import org.sosy_lab.common.configuration.InvalidConfigurationException;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 import static com.dat3m.dartagnan.expression.op.IOpBin.*;
 import static com.dat3m.dartagnan.expression.op.IOpUn.MINUS;
@@ -86,6 +87,12 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         return a.size() == 1 && a.containsAll(getMaxAddressSet(y));
     }
 
+    @Override
+    public <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachMayAliasPair(
+            List<X> xs, List<Y> ys, BiConsumer<? super X, ? super Y> action) {
+        LocationJoin.forEachPair(xs, ys, this::getMaxAddressSet, null, action);
+    }
+
     private ImmutableSet<Location> getMaxAddressSet(MemoryEvent e) {
         return eventAddressSpaceMap.get(e);
     }
@@ -177,7 +184,7 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         eventAddressSpaceMap.put(e,addresses.build());
     }
 
-    private static final class Offset <Base> {
+    static final class Offset <Base> {
 
         final Base base;
         final int offset;
@@ -205,7 +212,7 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         }
     }
 
-    private static final class Location {
+    static final class Location {
 
         final MemoryObject base;
         final int offset;
@@ -238,7 +245,7 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         }
     }
 
-    private static List<Location> fields(Collection<Location> v, int offset, int alignment) {
+    static List<Location> fields(Collection<Location> v, int offset, int alignment) {
         final List<Location> result = new ArrayList<>();
         for (Location l : v) {
             for (int i = 0; i < div(l.base.size(), alignment); i++) {
@@ -253,7 +260,7 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
 
     }
 
-    private static int div(int p, int q) {
+    static int div(int p, int q) {
         return q==0 ? 1 : p / q + (p % q == 0 ? 0 : 1);
     }
 
@@ -276,7 +283,7 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         }
     }
 
-    private static final class Collector implements ExpressionVisitor<Result> {
+    static final class Collector implements ExpressionVisitor<Result> {
 
         final HashSet<MemoryObject> address = new HashSet<>();
         final HashSet<Register> register = new HashSet<>();
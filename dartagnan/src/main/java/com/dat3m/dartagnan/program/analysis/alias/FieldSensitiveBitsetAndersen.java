@@ -0,0 +1,455 @@
+package com.dat3m.dartagnan.program.analysis.alias;
+
+import com.dat3m.dartagnan.expression.Expression;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.Register;
+import com.dat3m.dartagnan.program.analysis.alias.FieldSensitiveAndersen.Collector;
+import com.dat3m.dartagnan.program.analysis.alias.FieldSensitiveAndersen.Location;
+import com.dat3m.dartagnan.program.analysis.alias.FieldSensitiveAndersen.Offset;
+import com.dat3m.dartagnan.program.event.core.*;
+import com.dat3m.dartagnan.program.event.core.threading.ThreadArgument;
+import com.dat3m.dartagnan.program.event.core.utils.RegWriter;
+import com.dat3m.dartagnan.program.memory.MemoryObject;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Solves the constraints of {@link FieldSensitiveAndersen} with dense integer ids and bitsets.
+ * <p>
+ * Locations and registers are numbered densely, points-to sets are {@link SparseBitSet sparse bitsets} over location ids.
+ * Each variable is enqueued at most once at a time and only propagates the locations it gained since
+ * it was processed last (difference propagation).
+ * Cycles of copy edges (edges without offset) are detected lazily: when a copy edge connects two variables with
+ * equal points-to sets, the edge is checked for a cycle once, and the variables of every found cycle are collapsed
+ * into one.
+ */
+public class FieldSensitiveBitsetAndersen implements AliasAnalysis {
+
+    // Location ids of each memory object start at objectStarts[i] and end before objectStarts[i + 1].
+    private final List<MemoryObject> objects;
+    private final Map<MemoryObject, Integer> objectIds = new HashMap<>();
+    private final int[] objectStarts;
+    // Registers get the ids following the location ids.
+    private final Map<Register, Integer> registerIds = new HashMap<>();
+    private Node[] nodes = new Node[0];
+
+    private final Queue<Integer> worklist = new ArrayDeque<>();
+    // Copy edges that were already checked for cycles, encoded as (source << 32 | target).
+    private final Set<Long> checkedEdges = new HashSet<>();
+    private final List<Long> cycleCandidates = new ArrayList<>();
+    // State of the cycle search, indexed by node id. The index is one-based, so that 0 marks unvisited nodes.
+    private int[] searchIndex = new int[0];
+    private int[] searchLowLink = new int[0];
+    private boolean[] searchOnStack = new boolean[0];
+
+    ///Result sets
+    private final Map<MemoryEvent, ImmutableSet<Location>> eventAddressSpaceMap = new HashMap<>();
+
+    // ================================ Construction ================================
+
+    public static FieldSensitiveBitsetAndersen fromConfig(Program program, Configuration config) throws InvalidConfigurationException {
+        return new FieldSensitiveBitsetAndersen(program);
+    }
+
+    private FieldSensitiveBitsetAndersen(Program program) {
+        Preconditions.checkArgument(program.isCompiled(), "The program must be compiled first.");
+        objects = List.copyOf(program.getMemory().getObjects());
+        objectStarts = new int[objects.size() + 1];
+        for (int i = 0; i < objects.size(); i++) {
+            objectIds.put(objects.get(i), i);
+            objectStarts[i + 1] = objectStarts[i] + objects.get(i).size();
+        }
+        List<MemoryCoreEvent> memEvents = program.getThreadEvents(MemoryCoreEvent.class);
+        for (MemoryCoreEvent e : memEvents) {
+            processLocs(e);
+        }
+        program.getThreadEvents().forEach(this::processRegs);
+        while (!worklist.isEmpty()) {
+            algorithm(worklist.poll());
+        }
+        for (MemoryCoreEvent e : memEvents) {
+            processResults(e);
+        }
+    }
+
+    // ================================ API ================================
+
+    @Override
+    public boolean mayAlias(MemoryCoreEvent x, MemoryCoreEvent y) {
+        return !Sets.intersection(getMaxAddressSet(x), getMaxAddressSet(y)).isEmpty();
+    }
+
+    @Override
+    public boolean mustAlias(MemoryCoreEvent x, MemoryCoreEvent y) {
+        Set<Location> a = getMaxAddressSet(x);
+        return a.size() == 1 && a.containsAll(getMaxAddressSet(y));
+    }
+
+    @Override
+    public <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachMayAliasPair(
+            List<X> xs, List<Y> ys, BiConsumer<? super X, ? super Y> action) {
+        LocationJoin.forEachPair(xs, ys, this::getMaxAddressSet, null, action);
+    }
+
+    private ImmutableSet<Location> getMaxAddressSet(MemoryEvent e) {
+        return eventAddressSpaceMap.get(e);
+    }
+
+    // ================================ Processing ================================
+
+    // The constraints are the same as in FieldSensitiveAndersen.
+    // Constraints are only attached before solving, while all points-to sets are still unprocessed.
+    private void processLocs(MemoryCoreEvent e) {
+        Collector collector = new Collector(e.getAddress());
+        if (e instanceof Load load) {
+            int result = getRegisterId(load.getResultRegister());
+            for (Offset<Register> r : collector.register()) {
+                getNode(getRegisterId(r.base)).loads.add(new Edge(result, r.offset, r.alignment));
+            }
+            for (Location f : collector.address()) {
+                addEdge(getLocationId(f), result, 0, 0);
+            }
+        } else if (e instanceof Store store) {
+            Collector value = new Collector(store.getMemValue());
+            List<Edge> sources = new ArrayList<>();
+            for (Offset<Register> r : value.register()) {
+                sources.add(new Edge(getRegisterId(r.base), r.offset, r.alignment));
+            }
+            SparseBitSet values = toLocationIds(value.address());
+            for (Offset<Register> r : collector.register()) {
+                getNode(getRegisterId(r.base)).stores.add(new StoreConstraint(sources, values, r.offset, r.alignment));
+            }
+            for (Location l : collector.address()) {
+                int location = getLocationId(l);
+                for (Edge r : sources) {
+                    addEdge(r.node, location, r.offset, r.alignment);
+                }
+                addAllAddresses(location, values);
+            }
+        }
+    }
+
+    private void processRegs(Event e) {
+        if (!(e instanceof Local || e instanceof ThreadArgument)) {
+            return;
+        }
+        assert e instanceof RegWriter;
+        final int register = getRegisterId(((RegWriter) e).getResultRegister());
+        final Expression expr;
+        if (e instanceof Local local) {
+            expr = local.getExpr();
+        } else {
+            final ThreadArgument arg = (ThreadArgument) e;
+            expr = arg.getCreator().getArguments().get(arg.getIndex());
+        }
+        final Collector collector = new Collector(expr);
+        addAllAddresses(register, toLocationIds(collector.address()));
+        for (Offset<Register> r : collector.register()) {
+            addEdge(getRegisterId(r.base), register, r.offset, r.alignment);
+        }
+    }
+
+    private void algorithm(int variable) {
+        final Node node = nodes[variable];
+        node.queued = false;
+        if (find(variable) != variable || node.delta.isEmpty()) {
+            // Collapsed variables are processed via their representative.
+            return;
+        }
+        final SparseBitSet delta = node.delta;
+        node.delta = new SparseBitSet();
+        for (Edge load : node.loads) {
+            fields(delta, load.offset, load.alignment).forEach(f -> addEdge(f, load.node, 0, 0));
+        }
+        for (StoreConstraint store : node.stores) {
+            fields(delta, store.offset, store.alignment).forEach(a -> {
+                for (Edge r : store.sources) {
+                    addEdge(r.node, a, r.offset, r.alignment);
+                }
+                addAllAddresses(a, store.addresses);
+            });
+        }
+        node.copies.forEach(successor -> {
+            final int target = find(successor);
+            if (target != variable) {
+                addAllAddresses(target, delta);
+                if (node.pointsTo.equals(nodes[target].pointsTo)) {
+                    cycleCandidates.add((long) variable << 32 | target);
+                }
+            }
+        });
+        for (Edge edge : node.edges) {
+            addAllAddresses(edge.node, fields(delta, edge.offset, edge.alignment));
+        }
+        for (long candidate : cycleCandidates) {
+            if (checkedEdges.add(candidate) && find((int) (candidate >>> 32)) != find((int) candidate)) {
+                collapseCycles((int) candidate);
+            }
+        }
+        cycleCandidates.clear();
+    }
+
+    private void processResults(MemoryCoreEvent e) {
+        ImmutableSet.Builder<Location> addresses = ImmutableSet.builder();
+        Collector collector = new Collector(e.getAddress());
+        addresses.addAll(collector.address());
+        for (Offset<Register> r : collector.register()) {
+            Integer id = registerIds.get(r.base);
+            if (id != null) {
+                fields(nodes[find(id)].pointsTo, r.offset, r.alignment).forEach(l -> addresses.add(toLocation(l)));
+            }
+        }
+        eventAddressSpaceMap.put(e, addresses.build());
+    }
+
+    // ================================ Cycle elimination ================================
+
+    // Collapses all cycles of copy edges that are reachable from <root> (Tarjan's algorithm).
+    private void collapseCycles(int root) {
+        if (searchIndex.length < nodes.length) {
+            searchIndex = new int[nodes.length];
+            searchLowLink = new int[nodes.length];
+            searchOnStack = new boolean[nodes.length];
+        }
+        final int[] index = searchIndex;
+        final int[] lowLink = searchLowLink;
+        final boolean[] onStack = searchOnStack;
+        // Nodes in order of their index. Since each visited node is pushed to <stack> once,
+        // <visited> also bounds the size of <stack> and of the search path.
+        int[] visited = new int[16];
+        int numVisited = 0;
+        int[] stack = new int[16];
+        int stackSize = 0;
+        int[] path = new int[16];
+        int[] positions = new int[16];
+        int[][] successors = new int[16][];
+        int depth = 0;
+
+        int w = find(root);
+        while (true) {
+            if (w >= 0) {
+                // Visit <w>.
+                if (numVisited == visited.length) {
+                    final int capacity = 2 * numVisited;
+                    visited = Arrays.copyOf(visited, capacity);
+                    stack = Arrays.copyOf(stack, capacity);
+                    path = Arrays.copyOf(path, capacity);
+                    positions = Arrays.copyOf(positions, capacity);
+                    successors = Arrays.copyOf(successors, capacity);
+                }
+                visited[numVisited++] = w;
+                index[w] = numVisited;
+                lowLink[w] = numVisited;
+                stack[stackSize++] = w;
+                onStack[w] = true;
+                path[depth] = w;
+                successors[depth] = getCopySuccessors(w);
+                positions[depth++] = 0;
+            }
+            w = -1;
+            final int v = path[depth - 1];
+            final int[] next = successors[depth - 1];
+            if (positions[depth - 1] < next.length) {
+                final int successor = next[positions[depth - 1]++];
+                if (index[successor] == 0) {
+                    w = successor;
+                } else if (onStack[successor]) {
+                    lowLink[v] = Math.min(lowLink[v], index[successor]);
+                }
+                continue;
+            }
+            successors[--depth] = null;
+            if (depth > 0) {
+                final int parent = path[depth - 1];
+                lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+            }
+            if (lowLink[v] == index[v]) {
+                final int end = stackSize;
+                do {
+                    onStack[stack[--stackSize]] = false;
+                } while (stack[stackSize] != v);
+                if (end - stackSize > 1) {
+                    merge(Arrays.copyOfRange(stack, stackSize, end));
+                }
+            }
+            if (depth == 0) {
+                break;
+            }
+        }
+        // Only reset the visited entries, so that the arrays can be reused by the next search.
+        for (int i = 0; i < numVisited; i++) {
+            index[visited[i]] = 0;
+        }
+    }
+
+    private int[] getCopySuccessors(int variable) {
+        final SparseBitSet targets = new SparseBitSet();
+        nodes[variable].copies.forEach(w -> {
+            final int target = find(w);
+            if (target != variable) {
+                targets.add(target);
+            }
+        });
+        return targets.toArray();
+    }
+
+    private void merge(int[] component) {
+        final int representative = component[0];
+        final Node node = nodes[representative];
+        for (int i = 1; i < component.length; i++) {
+            final Node other = nodes[component[i]];
+            other.representative = representative;
+            node.pointsTo.addAll(other.pointsTo);
+            node.copies.addAll(other.copies);
+            node.edges.addAll(other.edges);
+            node.loads.addAll(other.loads);
+            node.stores.addAll(other.stores);
+            other.pointsTo = null;
+            other.delta = null;
+            other.copies = null;
+            other.edges = null;
+            other.loads = null;
+            other.stores = null;
+        }
+        // The constraints of each member have not seen the locations of the other members yet.
+        node.delta = node.pointsTo.copy();
+        enqueue(representative);
+    }
+
+    // ================================ Graph ================================
+
+    private void addEdge(int v1, int v2, int offset, int alignment) {
+        final int source = find(v1);
+        final Node node = nodes[source];
+        if (offset == 0 && alignment == 0) {
+            final int target = find(v2);
+            if (source != target && node.copies.add(target)) {
+                addAllAddresses(target, node.pointsTo);
+            }
+        } else if (node.edges.add(new Edge(v2, offset, alignment))) {
+            addAllAddresses(v2, fields(node.pointsTo, offset, alignment));
+        }
+    }
+
+    private void addAllAddresses(int variable, SparseBitSet locations) {
+        final int representative = find(variable);
+        final Node node = nodes[representative];
+        final SparseBitSet added = node.pointsTo.addAll(locations);
+        if (added != null) {
+            node.delta.addAll(added);
+            enqueue(representative);
+        }
+    }
+
+    private void enqueue(int variable) {
+        final Node node = nodes[variable];
+        if (!node.queued) {
+            node.queued = true;
+            worklist.add(variable);
+        }
+    }
+
+    private int find(int variable) {
+        final Node node = getNode(variable);
+        if (node.representative == variable) {
+            return variable;
+        }
+        final int representative = find(node.representative);
+        node.representative = representative;
+        return representative;
+    }
+
+    private Node getNode(int variable) {
+        if (variable >= nodes.length) {
+            nodes = Arrays.copyOf(nodes, Math.max(variable + 1, 2 * nodes.length));
+        }
+        if (nodes[variable] == null) {
+            nodes[variable] = new Node(variable);
+        }
+        return nodes[variable];
+    }
+
+    // ================================ Locations ================================
+
+    private int getRegisterId(Register register) {
+        return registerIds.computeIfAbsent(register, r -> objectStarts[objects.size()] + registerIds.size());
+    }
+
+    private int getLocationId(Location location) {
+        return objectStarts[objectIds.get(location.base)] + location.offset;
+    }
+
+    private Location toLocation(int id) {
+        final int object = getObject(id);
+        return new Location(objects.get(object), id - objectStarts[object]);
+    }
+
+    private int getObject(int id) {
+        final int i = Arrays.binarySearch(objectStarts, id);
+        // Skip empty objects, which share their start with the next object.
+        int object = i >= 0 ? i : -i - 2;
+        while (objectStarts[object + 1] == id) {
+            object++;
+        }
+        return object;
+    }
+
+    private SparseBitSet toLocationIds(Collection<Location> locations) {
+        final SparseBitSet result = new SparseBitSet();
+        for (Location l : locations) {
+            result.add(getLocationId(l));
+        }
+        return result;
+    }
+
+    // Same as FieldSensitiveAndersen.fields, but on location ids.
+    private SparseBitSet fields(SparseBitSet locations, int offset, int alignment) {
+        if (offset == 0 && alignment == 0) {
+            return locations;
+        }
+        final SparseBitSet result = new SparseBitSet();
+        locations.forEach(id -> {
+            final int object = getObject(id);
+            final int start = objectStarts[object];
+            final int size = objectStarts[object + 1] - start;
+            for (int i = 0; i < FieldSensitiveAndersen.div(size, alignment); i++) {
+                int mapped = id - start + offset + i * alignment;
+                if (0 <= mapped && mapped < size) {
+                    result.add(start + mapped);
+                }
+            }
+        });
+        return result;
+    }
+
+    // ================================ Internal data structures ================================
+
+    private static final class Node {
+        int representative;
+        boolean queued;
+        SparseBitSet pointsTo = new SparseBitSet();
+        // Locations that were added to pointsTo since this variable was processed last.
+        SparseBitSet delta = new SparseBitSet();
+        // Targets of edges without offset, which are subject to cycle elimination.
+        SparseBitSet copies = new SparseBitSet();
+        Set<Edge> edges = new HashSet<>();
+        ///Result registers of loads that use this register in their address
+        List<Edge> loads = new ArrayList<>();
+        ///Value expressions of stores that use this register in their address
+        List<StoreConstraint> stores = new ArrayList<>();
+
+        Node(int id) {
+            representative = id;
+        }
+    }
+
+    private record Edge(int node, int offset, int alignment) {}
+
+    private record StoreConstraint(List<Edge> sources, SparseBitSet addresses, int offset, int alignment) {}
+}
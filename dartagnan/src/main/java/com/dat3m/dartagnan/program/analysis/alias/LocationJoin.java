@@ -0,0 +1,79 @@
+package com.dat3m.dartagnan.program.analysis.alias;
+
+import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/*
+    Enumerates the pairs of events whose address sets intersect, without testing all pairs.
+    The events of the second list are bucketed by the locations they may access,
+    so that each event of the first list only visits the events that share at least one of its locations.
+    If a <universe> containing all address sets is given (i.e., not null),
+    events that may access every location of <universe> are not bucketed,
+    but paired directly with all events that access some location.
+ */
+final class LocationJoin {
+
+    private LocationJoin() {}
+
+    static <L, X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void forEachPair(
+            List<X> xs, List<Y> ys, Function<? super MemoryCoreEvent, ? extends Set<L>> locations, Set<L> universe,
+            BiConsumer<? super X, ? super Y> action) {
+        final Map<L, List<Integer>> buckets = new HashMap<>();
+        final List<Y> unboundedYs = new ArrayList<>();
+        final List<Y> accessingYs = new ArrayList<>();
+        for (int i = 0; i < ys.size(); i++) {
+            final Y y = ys.get(i);
+            final Set<L> locs = locations.apply(y);
+            if (locs.isEmpty()) {
+                continue;
+            }
+            accessingYs.add(y);
+            if (isUnbounded(locs, universe)) {
+                unboundedYs.add(y);
+                continue;
+            }
+            for (L loc : locs) {
+                buckets.computeIfAbsent(loc, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Marks the events of <ys> already paired with the current x.
+        final int[] stamps = new int[ys.size()];
+        int stamp = 0;
+        for (X x : xs) {
+            final Set<L> locs = locations.apply(x);
+            if (locs.isEmpty()) {
+                continue;
+            }
+            if (isUnbounded(locs, universe)) {
+                for (Y y : accessingYs) {
+                    action.accept(x, y);
+                }
+                continue;
+            }
+            stamp++;
+            for (L loc : locs) {
+                final List<Integer> bucket = buckets.get(loc);
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i : bucket) {
+                    if (stamps[i] != stamp) {
+                        stamps[i] = stamp;
+                        action.accept(x, ys.get(i));
+                    }
+                }
+            }
+            for (Y y : unboundedYs) {
+                action.accept(x, y);
+            }
+        }
+    }
+
+    private static boolean isUnbounded(Set<?> locations, Set<?> universe) {
+        return universe != null && locations.size() == universe.size();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dat3m.dartagnan.program.analysis.alias;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+    Set of non-negative integers, stored as a sorted array of the non-zero 64-bit blocks.
+    Points-to sets usually contain few clusters of nearby locations, which makes this representation
+    much smaller than a dense bitset over all locations, while unions still work on whole words.
+ */
+final class SparseBitSet {
+
+    private static final int[] NO_KEYS = new int[0];
+    private static final long[] NO_WORDS = new long[0];
+
+    // Block indices (bit >>> 6) in keys[0..size), sorted, with the corresponding non-zero words.
+    private int[] keys = NO_KEYS;
+    private long[] words = NO_WORDS;
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int bit) {
+        final int i = Arrays.binarySearch(keys, 0, size, bit >>> 6);
+        return i >= 0 && (words[i] & (1L << bit)) != 0;
+    }
+
+    boolean add(int bit) {
+        final int key = bit >>> 6;
+        final long mask = 1L << bit;
+        final int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            if ((words[i] & mask) != 0) {
+                return false;
+            }
+            words[i] |= mask;
+            return true;
+        }
+        final int insert = -i - 1;
+        if (size == keys.length) {
+            final int capacity = Math.max(4, 2 * size);
+            keys = Arrays.copyOf(keys, capacity);
+            words = Arrays.copyOf(words, capacity);
+        }
+        System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+        System.arraycopy(words, insert, words, insert + 1, size - insert);
+        keys[insert] = key;
+        words[insert] = mask;
+        size++;
+        return true;
+    }
+
+    /*
+        Adds all elements of <other> and returns the elements that were not contained before,
+        or null if there were none.
+     */
+    SparseBitSet addAll(SparseBitSet other) {
+        if (other.size == 0) {
+            return null;
+        }
+        final int[] newKeys = new int[size + other.size];
+        final long[] newWords = new long[size + other.size];
+        final SparseBitSet added = new SparseBitSet();
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size || j < other.size) {
+            final int key;
+            final long word;
+            long fresh = 0;
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                key = keys[i];
+                word = words[i++];
+            } else if (i == size || other.keys[j] < keys[i]) {
+                key = other.keys[j];
+                word = fresh = other.words[j++];
+            } else {
+                key = keys[i];
+                fresh = other.words[j] & ~words[i];
+                word = words[i++] | other.words[j++];
+            }
+            newKeys[n] = key;
+            newWords[n++] = word;
+            if (fresh != 0) {
+                added.appendBlock(key, fresh);
+            }
+        }
+        if (added.size == 0) {
+            return null;
+        }
+        keys = newKeys;
+        words = newWords;
+        size = n;
+        return added;
+    }
+
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            final int base = keys[i] << 6;
+            long word = words[i];
+            while (word != 0) {
+                action.accept(base + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    // Returns the elements in ascending order.
+    int[] toArray() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        final int[] result = new int[count];
+        final int[] n = {0};
+        forEach(bit -> result[n[0]++] = bit);
+        return result;
+    }
+
+    SparseBitSet copy() {
+        final SparseBitSet copy = new SparseBitSet();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.words = Arrays.copyOf(words, size);
+        copy.size = size;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SparseBitSet other && size == other.size
+                && Arrays.equals(keys, 0, size, other.keys, 0, size)
+                && Arrays.equals(words, 0, size, other.words, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = size;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + Long.hashCode(words[i]);
+        }
+        return hash;
+    }
+
+    // <key> must be larger than all present keys.
+    private void appendBlock(int key, long word) {
+        if (size == keys.length) {
+            final int capacity = Math.max(4, 2 * size);
+            keys = Arrays.copyOf(keys, capacity);
+            words = Arrays.copyOf(words, capacity);
+        }
+        keys[size] = key;
+        words[size++] = word;
+    }
+}
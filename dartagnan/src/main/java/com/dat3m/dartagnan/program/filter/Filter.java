@@ -2,8 +2,8 @@ package com.dat3m.dartagnan.program.filter;
 
 import com.dat3m.dartagnan.program.event.core.Event;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
 TODO: Filters are currently used in two distinct settings:
@@ -31,7 +31,8 @@ public abstract class Filter {
 
     // ================================= Factory =================================
 
-    protected static final Map<Filter, Filter> canonicalizer = new HashMap<>();
+    // Concurrent, since programs and memory models of different tasks may be parsed at the same time.
+    protected static final Map<Filter, Filter> canonicalizer = new ConcurrentHashMap<>();
 
     public static TagFilter byTag(String tag) {
         return (TagFilter) canonicalizer.computeIfAbsent(new TagFilter(tag), key -> key);
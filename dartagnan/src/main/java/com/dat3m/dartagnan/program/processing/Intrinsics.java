@@ -25,6 +25,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
@@ -63,8 +64,8 @@ public class Intrinsics {
     private static final TypeFactory types = TypeFactory.getInstance();
     private static final ExpressionFactory expressions = ExpressionFactory.getInstance();
 
-    //FIXME This might have concurrency issues if processing multiple programs at the same time.
-    private BeginAtomic currentAtomicBegin;
+    // The open atomic block of each function processed by the early pass.
+    private final Map<Function, BeginAtomic> currentAtomicBegins = new HashMap<>();
 
     // TODO: This id should be part of Program
     private int constantId;
@@ -397,12 +398,14 @@ public class Intrinsics {
         return List.of(EventFactory.newAssume(assumption));
     }
 
-    private List<Event> inlineAtomicBegin(FunctionCall ignored) {
-        return List.of(currentAtomicBegin = EventFactory.Svcomp.newBeginAtomic());
+    private List<Event> inlineAtomicBegin(FunctionCall call) {
+        final BeginAtomic begin = EventFactory.Svcomp.newBeginAtomic();
+        currentAtomicBegins.put(call.getFunction(), begin);
+        return List.of(begin);
     }
 
-    private List<Event> inlineAtomicEnd(FunctionCall ignored) {
-        return List.of(EventFactory.Svcomp.newEndAtomic(checkNotNull(currentAtomicBegin)));
+    private List<Event> inlineAtomicEnd(FunctionCall call) {
+        return List.of(EventFactory.Svcomp.newEndAtomic(checkNotNull(currentAtomicBegins.get(call.getFunction()))));
     }
 
     private List<Event> inlinePthreadEqual(FunctionCall call) {
@@ -8,10 +8,13 @@ import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.*;
 
@@ -19,6 +22,9 @@ import static com.dat3m.dartagnan.configuration.OptionNames.*;
 public class ProcessingManager implements ProgramProcessor {
 
     private final List<ProgramProcessor> programProcessors = new ArrayList<>();
+    private final ProcessingStatistics statistics;
+    // Runs the function stages on <threads> threads. It only exists while <run> is active.
+    private ExecutorService executor;
 
     // =========================== Configurables ===========================
 
@@ -42,6 +48,22 @@ public class ProcessingManager implements ProgramProcessor {
             secure = true)
     private boolean dynamicPureLoopCutting = true;
 
+    @Option(name = PROCESSING_THREADS,
+            description = "Number of threads used to run function-local passes on different functions. " +
+                    "The processed program does not depend on this number.",
+            secure = true)
+    private int threads = 1;
+
+    @Option(name = PROCESSING_STATISTICS,
+            description = "Logs the time, allocated memory and event/register counts of each processing pass.",
+            secure = true)
+    private boolean logStatistics = false;
+
+    @Option(name = PROCESSING_STATISTICS_FILE,
+            description = "Writes the time, allocated memory and event/register counts of each processing pass " +
+                    "to the given file, as CSV if the file name ends with '.csv' and as JSON otherwise.")
+    private String statisticsFile = "";
+
     // =================== Debugging options ===================
 
     @Option(name = PRINT_PROGRAM_BEFORE_PROCESSING,
@@ -74,62 +96,59 @@ public class ProcessingManager implements ProgramProcessor {
 
     private ProcessingManager(Configuration config) throws InvalidConfigurationException {
         config.inject(this);
+        if (threads < 1) {
+            throw new InvalidConfigurationException(PROCESSING_THREADS + " must be positive.");
+        }
+        statistics = logStatistics || !statisticsFile.isEmpty() ? new ProcessingStatistics() : null;
         final Intrinsics intrinsics = Intrinsics.fromConfig(config);
         final FunctionProcessor sccp = constantPropagation ? SparseConditionalConstantPropagation.fromConfig(config) : null;
-        programProcessors.addAll(Arrays.asList(
-                printBeforeProcessing ? DebugPrint.withHeader("Before processing", Printer.Mode.ALL) : null,
-                intrinsics.markIntrinsicsPass(),
-                GEPToAddition.newInstance(),
-                NaiveDevirtualisation.newInstance(),
-                Inlining.fromConfig(config),
-                ProgramProcessor.fromFunctionProcessor(
-                        FunctionProcessor.chain(
-                                intrinsics.earlyInliningPass(),
-                                UnreachableCodeElimination.fromConfig(config),
-                                ComplexBlockSplitting.newInstance(),
-                                BranchReordering.fromConfig(config),
-                                Simplifier.fromConfig(config)
-                        ), Target.FUNCTIONS, true
-                ),
-                RegisterDecomposition.newInstance(),
-                RemoveDeadFunctions.newInstance(),
-                printAfterSimplification ? DebugPrint.withHeader("After simplification", Printer.Mode.ALL) : null,
-                LoopFormVerification.fromConfig(config),
-                Compilation.fromConfig(config), // We keep compilation global for now
-                printAfterCompilation ? DebugPrint.withHeader("After compilation", Printer.Mode.ALL) : null,
-                ProgramProcessor.fromFunctionProcessor(MemToReg.fromConfig(config), Target.FUNCTIONS, true),
-                ProgramProcessor.fromFunctionProcessor(
-                        SimpleSpinLoopDetection.fromConfig(config),
-                        Target.FUNCTIONS, false
-                ),
-                ProgramProcessor.fromFunctionProcessor(sccp, Target.FUNCTIONS, false),
-                LoopUnrolling.fromConfig(config), // We keep unrolling global for now
-                printAfterUnrolling ? DebugPrint.withHeader("After loop unrolling", Printer.Mode.ALL) : null,
-                dynamicPureLoopCutting ? DynamicPureLoopCutting.fromConfig(config) : null,
-                ProgramProcessor.fromFunctionProcessor(
-                        FunctionProcessor.chain(
-                                ResolveLLVMObjectSizeCalls.fromConfig(config),
-                                sccp,
-                                dce ? DeadAssignmentElimination.fromConfig(config) : null,
-                                RemoveDeadCondJumps.fromConfig(config)
-                        ), Target.FUNCTIONS, true
-                ),
-                ThreadCreation.fromConfig(config),
-                reduceSymmetry ? SymmetryReduction.fromConfig(config) : null,
-                intrinsics.lateInliningPass(),
-                RemoveUnusedMemory.newInstance(),
-                ProgramProcessor.fromFunctionProcessor(MemToReg.fromConfig(config), Target.THREADS, true),
-                MemoryAllocation.newInstance(),
-                // --- Statistics + verification ---
-                IdReassignment.newInstance(), // Normalize used Ids (remove any gaps)
-                printAfterProcessing ? DebugPrint.withHeader("After processing", Printer.Mode.THREADS) : null,
-                ProgramProcessor.fromFunctionProcessor(
-                        CoreCodeVerification.fromConfig(config),
-                        Target.THREADS, false
-                ),
-                LogThreadStatistics.newInstance()
-        ));
-        programProcessors.removeIf(Objects::isNull);
+        addPass("DebugPrint (before processing)",
+                printBeforeProcessing ? DebugPrint.withHeader("Before processing", Printer.Mode.ALL) : null);
+        addPass("MarkIntrinsics", intrinsics.markIntrinsicsPass());
+        addPass("GEPToAddition", GEPToAddition.newInstance());
+        addPass("NaiveDevirtualisation", NaiveDevirtualisation.newInstance());
+        addPass("Inlining", Inlining.fromConfig(config));
+        // The early intrinsics pass numbers the constants it creates in the order of the functions.
+        addSequentialFunctionStage(named("EarlyIntrinsics", intrinsics.earlyInliningPass()));
+        addFunctionStage(Target.FUNCTIONS, true,
+                named("UnreachableCodeElimination", UnreachableCodeElimination.fromConfig(config)),
+                named("ComplexBlockSplitting", ComplexBlockSplitting.newInstance()),
+                named("BranchReordering", BranchReordering.fromConfig(config)),
+                named("Simplifier", Simplifier.fromConfig(config))
+        );
+        addPass("RegisterDecomposition", RegisterDecomposition.newInstance());
+        addPass("RemoveDeadFunctions", RemoveDeadFunctions.newInstance());
+        addPass("DebugPrint (after simplification)",
+                printAfterSimplification ? DebugPrint.withHeader("After simplification", Printer.Mode.ALL) : null);
+        addPass("LoopFormVerification", LoopFormVerification.fromConfig(config));
+        addPass("Compilation", Compilation.fromConfig(config)); // We keep compilation global for now
+        addPass("DebugPrint (after compilation)",
+                printAfterCompilation ? DebugPrint.withHeader("After compilation", Printer.Mode.ALL) : null);
+        addFunctionStage(Target.FUNCTIONS, true, named("MemToReg", MemToReg.fromConfig(config)));
+        addFunctionStage(Target.FUNCTIONS, false, named("SimpleSpinLoopDetection", SimpleSpinLoopDetection.fromConfig(config)));
+        addFunctionStage(Target.FUNCTIONS, false, named("SparseConditionalConstantPropagation", sccp));
+        addPass("LoopUnrolling", LoopUnrolling.fromConfig(config)); // We keep unrolling global for now
+        addPass("DebugPrint (after loop unrolling)",
+                printAfterUnrolling ? DebugPrint.withHeader("After loop unrolling", Printer.Mode.ALL) : null);
+        addPass("DynamicPureLoopCutting", dynamicPureLoopCutting ? DynamicPureLoopCutting.fromConfig(config) : null);
+        addFunctionStage(Target.FUNCTIONS, true,
+                named("ResolveLLVMObjectSizeCalls", ResolveLLVMObjectSizeCalls.fromConfig(config)),
+                named("SparseConditionalConstantPropagation", sccp),
+                named("DeadAssignmentElimination", dce ? DeadAssignmentElimination.fromConfig(config) : null),
+                named("RemoveDeadCondJumps", RemoveDeadCondJumps.fromConfig(config))
+        );
+        addPass("ThreadCreation", ThreadCreation.fromConfig(config));
+        addPass("SymmetryReduction", reduceSymmetry ? SymmetryReduction.fromConfig(config) : null);
+        addPass("LateIntrinsics", intrinsics.lateInliningPass());
+        addPass("RemoveUnusedMemory", RemoveUnusedMemory.newInstance());
+        addFunctionStage(Target.THREADS, true, named("MemToReg", MemToReg.fromConfig(config)));
+        addPass("MemoryAllocation", MemoryAllocation.newInstance());
+        // --- Statistics + verification ---
+        addPass("IdReassignment", IdReassignment.newInstance()); // Normalize used Ids (remove any gaps)
+        addPass("DebugPrint (after processing)",
+                printAfterProcessing ? DebugPrint.withHeader("After processing", Printer.Mode.THREADS) : null);
+        addFunctionStage(Target.THREADS, false, named("CoreCodeVerification", CoreCodeVerification.fromConfig(config)));
+        addPass("LogThreadStatistics", LogThreadStatistics.newInstance());
     }
 
     public static ProcessingManager fromConfig(Configuration config) throws InvalidConfigurationException {
@@ -139,8 +158,63 @@ public class ProcessingManager implements ProgramProcessor {
     // ==================================================
 
     public void run(Program program) {
-        programProcessors.forEach(p -> p.run(program));
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+        try {
+            programProcessors.forEach(p -> p.run(program));
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+        if (statistics != null) {
+            if (logStatistics) {
+                statistics.log();
+            }
+            if (!statisticsFile.isEmpty()) {
+                statistics.write(Path.of(statisticsFile));
+            }
+        }
     }
 
+    // ======================== Registration ========================
+    // Passes are registered in pipeline order, under the name used by the statistics.
+
+    private record NamedFunctionPass(String name, FunctionProcessor processor) {}
+
+    private static NamedFunctionPass named(String name, FunctionProcessor processor) {
+        return new NamedFunctionPass(name, processor);
+    }
 
-}
\ No newline at end of file
+    private void addPass(String name, ProgramProcessor processor) {
+        if (processor != null) {
+            programProcessors.add(statistics == null ? processor : statistics.measure(name, processor));
+        }
+    }
+
+    private void addFunctionStage(Target target, boolean reassignIds, NamedFunctionPass... passes) {
+        addFunctionStage(target, reassignIds, threads > 1 ? command -> executor.execute(command) : null, passes);
+    }
+
+    private void addSequentialFunctionStage(NamedFunctionPass pass) {
+        addFunctionStage(Target.FUNCTIONS, false, (Executor) null, pass);
+    }
+
+    private void addFunctionStage(Target target, boolean reassignIds, Executor stageExecutor,
+            NamedFunctionPass... passes) {
+        final List<NamedFunctionPass> stage = Arrays.stream(passes).filter(p -> p.processor() != null).toList();
+        if (stage.isEmpty()) {
+            return;
+        }
+        final List<FunctionProcessor> processors = stage.stream().map(NamedFunctionPass::processor).toList();
+        if (statistics != null) {
+            final List<String> names = stage.stream().map(NamedFunctionPass::name).toList();
+            programProcessors.add(statistics.measureFunctionStage(names, processors, target, reassignIds, stageExecutor));
+        } else {
+            programProcessors.add(ProgramProcessor.fromFunctionProcessor(
+                    FunctionProcessor.chain(processors.toArray(FunctionProcessor[]::new)), target, reassignIds, stageExecutor));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.dat3m.dartagnan.program.processing;
+
+import com.dat3m.dartagnan.program.Function;
+import com.dat3m.dartagnan.program.Program;
+import com.google.common.collect.Iterables;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+import static java.util.stream.Collectors.joining;
+
+/*
+    Measures the passes run by the ProcessingManager.
+    For every pass, it records the number of runs, the wall time, the bytes allocated by the running thread,
+    and the number of events and registers before and after the pass.
+    Program passes count the events and registers of all threads and functions.
+    Function passes count those of the processed function and sum up all processed functions.
+    If a stage of function passes runs on multiple threads, the sums of its function passes may exceed
+    the time of the stage, and the stage itself only counts the allocations of the calling thread.
+
+    The measurements are printed to the log and can be written as CSV (if the file name ends with ".csv") or JSON.
+ */
+final class ProcessingStatistics {
+
+    private static final Logger logger = LogManager.getLogger(ProcessingStatistics.class);
+
+    private final List<Pass> passes = new ArrayList<>();
+
+    // ============================ Instrumentation ============================
+
+    /*
+        Processors have to be passed in pipeline order, so that the report follows the pipeline.
+        The names are only used for the report and need not be unique.
+     */
+    ProgramProcessor measure(String name, ProgramProcessor processor) {
+        return new MeasuredProgramProcessor(newPass(name, false), processor);
+    }
+
+    // Measures the stage as a whole, followed by each of its function passes.
+    ProgramProcessor measureFunctionStage(List<String> names, List<FunctionProcessor> processors,
+            ProgramProcessor.Target target, boolean reassignIds, Executor executor) {
+        final Pass stage = newPass(String.join(" + ", names), false);
+        final FunctionProcessor[] measured = new FunctionProcessor[processors.size()];
+        for (int i = 0; i < measured.length; i++) {
+            measured[i] = new MeasuredFunctionProcessor(newPass(names.get(i), true), processors.get(i));
+        }
+        return new MeasuredProgramProcessor(stage,
+                ProgramProcessor.fromFunctionProcessor(FunctionProcessor.chain(measured), target, reassignIds, executor));
+    }
+
+    private Pass newPass(String name, boolean isFunctionPass) {
+        final Pass pass = new Pass(name, isFunctionPass);
+        passes.add(pass);
+        return pass;
+    }
+
+    private record MeasuredProgramProcessor(Pass pass, ProgramProcessor processor)
+            implements ProgramProcessor {
+        @Override
+        public void run(Program program) {
+            final Iterable<Function> functions = Iterables.concat(program.getThreads(), program.getFunctions());
+            final int eventsBefore = countEvents(functions);
+            final int registersBefore = countRegisters(functions);
+            final long allocatedBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            processor.run(program);
+            final long time = System.nanoTime() - start;
+            final long allocated = getAllocatedBytes() - allocatedBefore;
+            pass.add(time, allocated, eventsBefore, countEvents(functions), registersBefore, countRegisters(functions));
+        }
+    }
+
+    private record MeasuredFunctionProcessor(Pass pass, FunctionProcessor processor) implements FunctionProcessor {
+        @Override
+        public void run(Function function) {
+            final int eventsBefore = function.getEvents().size();
+            final int registersBefore = function.getRegisters().size();
+            final long allocatedBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            processor.run(function);
+            final long time = System.nanoTime() - start;
+            final long allocated = getAllocatedBytes() - allocatedBefore;
+            pass.add(time, allocated, eventsBefore, function.getEvents().size(),
+                    registersBefore, function.getRegisters().size());
+        }
+    }
+
+    private static int countEvents(Iterable<Function> functions) {
+        int count = 0;
+        for (Function function : functions) {
+            count += function.getEvents().size();
+        }
+        return count;
+    }
+
+    private static int countRegisters(Iterable<Function> functions) {
+        int count = 0;
+        for (Function function : functions) {
+            count += function.getRegisters().size();
+        }
+        return count;
+    }
+
+    // Returns -1 if the JVM does not measure allocations per thread.
+    private static long getAllocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemoryEnabled()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // ============================ Reporting ============================
+
+    void log() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        final StringBuilder output = new StringBuilder();
+        output.append("\n======== Processing statistics ========").append("\n");
+        for (Pass pass : passes) {
+            output.append(pass.isFunctionPass ? "\t\t" : "\t").append(pass.name).append(": ")
+                    .append(String.format(Locale.ROOT, "%.1fms", pass.nanos / 1e6))
+                    .append(", ").append(pass.allocatedBytes < 0 ? "?" : pass.allocatedBytes / 1024).append("KiB")
+                    .append(", events ").append(pass.eventsBefore).append(" -> ").append(pass.eventsAfter)
+                    .append(", registers ").append(pass.registersBefore).append(" -> ").append(pass.registersAfter)
+                    .append(pass.isFunctionPass ? ", functions " + pass.runs : "")
+                    .append("\n");
+        }
+        output.append("========================================");
+        logger.info(output);
+    }
+
+    void write(Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            if (file.toString().endsWith(".csv")) {
+                writeCsv(writer);
+            } else {
+                writeJson(writer);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write processing statistics to {}: {}", file, e.getMessage());
+            return;
+        }
+        logger.info("Wrote processing statistics to {}.", file);
+    }
+
+    private void writeCsv(BufferedWriter writer) throws IOException {
+        writer.write("pass,level,runs,timeNs,allocatedBytes,eventsBefore,eventsAfter,registersBefore,registersAfter");
+        writer.newLine();
+        for (Pass pass : passes) {
+            writer.write(String.join(",", "\"" + pass.name.replace("\"", "\"\"") + "\"", pass.getLevel(),
+                    String.valueOf(pass.runs), String.valueOf(pass.nanos), String.valueOf(pass.allocatedBytes),
+                    String.valueOf(pass.eventsBefore), String.valueOf(pass.eventsAfter),
+                    String.valueOf(pass.registersBefore), String.valueOf(pass.registersAfter)));
+            writer.newLine();
+        }
+    }
+
+    private void writeJson(BufferedWriter writer) throws IOException {
+        writer.write("[");
+        for (int i = 0; i < passes.size(); i++) {
+            final Pass pass = passes.get(i);
+            writer.write(i == 0 ? "" : ",");
+            writer.newLine();
+            writer.write(String.format(Locale.ROOT,
+                    "  {\"pass\": \"%s\", \"level\": \"%s\", \"runs\": %d, \"timeNs\": %d, \"allocatedBytes\": %d, " +
+                            "\"eventsBefore\": %d, \"eventsAfter\": %d, \"registersBefore\": %d, \"registersAfter\": %d}",
+                    pass.name.replace("\\", "\\\\").replace("\"", "\\\""), pass.getLevel(), pass.runs, pass.nanos,
+                    pass.allocatedBytes, pass.eventsBefore, pass.eventsAfter, pass.registersBefore, pass.registersAfter));
+        }
+        writer.newLine();
+        writer.write("]");
+        writer.newLine();
+    }
+
+    // ============================ Measurements ============================
+
+    private static final class Pass {
+        final String name;
+        final boolean isFunctionPass;
+        int runs;
+        long nanos;
+        long allocatedBytes;
+        long eventsBefore;
+        long eventsAfter;
+        long registersBefore;
+        long registersAfter;
+
+        Pass(String name, boolean isFunctionPass) {
+            this.name = name;
+            this.isFunctionPass = isFunctionPass;
+        }
+
+        // Function passes may run on multiple threads at once.
+        synchronized void add(long time, long allocated, int eventsBefore, int eventsAfter,
+                int registersBefore, int registersAfter) {
+            runs++;
+            nanos += time;
+            allocatedBytes = allocatedBytes < 0 || allocated < 0 ? -1 : allocatedBytes + allocated;
+            this.eventsBefore += eventsBefore;
+            this.eventsAfter += eventsAfter;
+            this.registersBefore += registersBefore;
+            this.registersAfter += registersAfter;
+        }
+
+        String getLevel() {
+            return isFunctionPass ? "function" : "program";
+        }
+    }
+}
@@ -2,7 +2,15 @@ package com.dat3m.dartagnan.program.processing;
 
 import com.dat3m.dartagnan.program.Function;
 import com.dat3m.dartagnan.program.Program;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 /*
     A ProgramProcessor is an algorithm that runs on a program and somehow
@@ -21,6 +29,14 @@ public interface ProgramProcessor {
     }
 
     static ProgramProcessor fromFunctionProcessor(FunctionProcessor processor, Target type, boolean reassignIds) {
+        return fromFunctionProcessor(processor, type, reassignIds, null);
+    }
+
+    /*
+        Function processors only modify the function they run on, so the targets can be processed concurrently
+        on the given <executor>, or sequentially if it is null. Ids are reassigned once after all targets were processed.
+     */
+    static ProgramProcessor fromFunctionProcessor(FunctionProcessor processor, Target type, boolean reassignIds, Executor executor) {
         return processor == null ? 
         null :
         program -> {
@@ -29,10 +45,44 @@ public interface ProgramProcessor {
                 case FUNCTIONS -> program.getFunctions();
                 case ALL -> Iterables.concat(program.getThreads(), program.getFunctions());
             };
-            targets.forEach(processor::run);
+            if (executor == null) {
+                targets.forEach(processor::run);
+            } else {
+                runInParallel(processor, Lists.newArrayList(targets), executor);
+            }
             if (reassignIds) {
                 IdReassignment.newInstance().run(program);
             }
         };
     }
-}
\ No newline at end of file
+
+    private static void runInParallel(FunctionProcessor processor, List<? extends Function> targets, Executor executor) {
+        if (targets.size() <= 1) {
+            targets.forEach(processor::run);
+            return;
+        }
+        final List<FutureTask<?>> tasks = new ArrayList<>(targets.size());
+        for (Function function : targets) {
+            final FutureTask<?> task = new FutureTask<>(() -> processor.run(function), null);
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            for (FutureTask<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    java.lang.Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted during program processing", e);
+                } catch (ExecutionException e) {
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (RuntimeException e) {
+            // The executor outlives this stage, so the remaining targets must not keep running.
+            tasks.forEach(task -> task.cancel(true));
+            throw e;
+        }
+    }
+}
@@ -2,36 +2,64 @@ package com.dat3m.dartagnan.solver.caat;
 
 
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
-import com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm;
+import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
 import com.dat3m.dartagnan.solver.caat.reasoning.CAATLiteral;
 import com.dat3m.dartagnan.solver.caat.reasoning.Reasoner;
 import com.dat3m.dartagnan.utils.logic.Conjunction;
 import com.dat3m.dartagnan.utils.logic.DNF;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 import static com.dat3m.dartagnan.solver.caat.CAATSolver.Status.CONSISTENT;
 import static com.dat3m.dartagnan.solver.caat.CAATSolver.Status.INCONSISTENT;
 
 
-public class CAATSolver {
+public class CAATSolver implements AutoCloseable {
 
     // ======================================== Fields  ==============================================
 
     private final Reasoner reasoner;
+    // Each worker thread uses its own reasoner, since reasoners keep search buffers.
+    // The first worker is <reasoner> itself.
+    private final List<Reasoner> workers;
+    // The worker threads are created on first use and live until the solver is closed.
+    private ExecutorService executor;
 
     // The statistics of the last call
     private Statistics stats;
 
     // ======================================== Construction ==============================================
 
-    private CAATSolver() {
+    private CAATSolver(int threads) {
+        checkArgument(threads > 0, "The number of reasoning threads must be positive.");
         this.reasoner = new Reasoner();
+        this.workers = new ArrayList<>(threads);
+        workers.add(reasoner);
+        while (workers.size() < threads) {
+            workers.add(new Reasoner());
+        }
     }
 
     public static CAATSolver create() {
-        return new CAATSolver();
+        return new CAATSolver(1);
+    }
+
+    /*
+        Creates a solver that computes the reasons of violations on <threads> threads.
+        The computed reasons do not depend on the number of threads.
+     */
+    public static CAATSolver create(int threads) {
+        return new CAATSolver(threads);
     }
 
     // ======================================== Accessors ==============================================
@@ -40,6 +68,14 @@ public class CAATSolver {
 
     public Statistics getStatistics() { return stats; }
 
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
     // ======================================== Solving ==============================================
 
     /*
@@ -54,13 +90,20 @@ public class CAATSolver {
             - Return results about the computation
      */
     public Result check(CAATModel model) {
+        return check(model, model::populate);
+    }
+
+    /*
+        Same as <check(model)> but uses <population> instead of <model.populate> to populate the derived predicates,
+        e.g., to reuse parts of a previous population.
+     */
+    public Result check(CAATModel model, Runnable population) {
         Result result = new Result();
         stats = result.getStatistics();
 
-        PathAlgorithm.ensureCapacity(model.getDomain().size());
         // ============== Populate derived predicates ===============
         long curTime = System.currentTimeMillis();
-        model.populate();
+        population.run();
         stats.populationTime = System.currentTimeMillis() - curTime;
 
         // ============== Check for inconsistencies ===============
@@ -84,8 +127,12 @@ public class CAATSolver {
 
     private DNF<CAATLiteral> computeInconsistencyReasons(List<Constraint> violatedConstraints) {
         List<Conjunction<CAATLiteral>> reasons = new ArrayList<>();
-        for (Constraint constraint : violatedConstraints) {
-            reasons.addAll(reasoner.computeViolationReasons(constraint).getCubes());
+        if (workers.size() == 1) {
+            for (Constraint constraint : violatedConstraints) {
+                reasons.addAll(reasoner.computeViolationReasons(constraint).getCubes());
+            }
+        } else {
+            reasons.addAll(computeInconsistencyReasonsInParallel(violatedConstraints));
         }
         stats.numComputedReasons += reasons.size();
         DNF<CAATLiteral> result = new DNF<>(reasons); // The conversion to DNF removes duplicates and dominated clauses
@@ -94,6 +141,87 @@ public class CAATSolver {
         return result;
     }
 
+    /*
+        The violations are collected sequentially, because constraints compute them lazily.
+        Then the violations of each constraint are split into contiguous slices, one per worker,
+        and the reasons are merged in the order of the constraints and slices.
+        Hence, the result matches the sequential computation regardless of scheduling.
+     */
+    private List<Conjunction<CAATLiteral>> computeInconsistencyReasonsInParallel(List<Constraint> violatedConstraints) {
+        final int threads = workers.size();
+        final List<Constraint> constraints = new ArrayList<>();
+        final List<List<Collection<? extends Derivable>>> violationLists = new ArrayList<>();
+        int numViolations = 0;
+        for (Constraint constraint : violatedConstraints) {
+            if (constraint.checkForViolations()) {
+                List<Collection<? extends Derivable>> violations = new ArrayList<>(constraint.getViolations());
+                constraints.add(constraint);
+                violationLists.add(violations);
+                numViolations += violations.size();
+            }
+        }
+
+        final List<Conjunction<CAATLiteral>> reasons = new ArrayList<>(numViolations);
+        if (numViolations < 2) {
+            for (int i = 0; i < constraints.size(); i++) {
+                reasons.addAll(reasoner.computeViolationReasons(constraints.get(i), violationLists.get(i)));
+            }
+            return reasons;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads,
+                    new ThreadFactoryBuilder().setNameFormat("caat-reasoning-%d").setDaemon(true).build());
+        }
+        List<Future<List<List<Conjunction<CAATLiteral>>>>> futures = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            final int worker = w;
+            futures.add(executor.submit(() -> {
+                List<List<Conjunction<CAATLiteral>>> workerReasons = new ArrayList<>(constraints.size());
+                for (int i = 0; i < constraints.size(); i++) {
+                    List<Collection<? extends Derivable>> violations = violationLists.get(i);
+                    List<Collection<? extends Derivable>> slice = violations.subList(
+                            sliceBound(violations.size(), threads, worker),
+                            sliceBound(violations.size(), threads, worker + 1));
+                    workerReasons.add(workers.get(worker).computeViolationReasons(constraints.get(i), slice));
+                }
+                return workerReasons;
+            }));
+        }
+        List<List<List<Conjunction<CAATLiteral>>>> results = new ArrayList<>(threads);
+        try {
+            for (Future<List<List<Conjunction<CAATLiteral>>>> future : futures) {
+                results.add(getResult(future));
+            }
+        } catch (RuntimeException e) {
+            // The executor outlives this call, so the remaining workers must not keep running.
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        for (int i = 0; i < constraints.size(); i++) {
+            for (List<List<Conjunction<CAATLiteral>>> workerReasons : results) {
+                reasons.addAll(workerReasons.get(i));
+            }
+        }
+        return reasons;
+    }
+
+    private static int sliceBound(int size, int slices, int index) {
+        return (int) ((long) size * index / slices);
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during reason computation", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     // ======================================== Inner Classes ==============================================
 
     public static class Result {
@@ -17,18 +17,33 @@ import java.util.*;
 
 public class AcyclicityConstraint extends AbstractConstraint {
 
+    // A safety bound rather than a tuned value: it only limits the cycles reported by a single check,
+    // since cycles that are not reported can still be found in later checks.
+    public static final int DEFAULT_MAX_CYCLES_PER_SCC = 64;
+
     private final RelationGraph constrainedGraph;
+    private final int maxCyclesPerScc;
 
-    private static final ObjectPool<DenseIntegerSet> SET_COLLECTION_POOL =
-            new ObjectPool<>(DenseIntegerSet::new, 10);
+    // Not shared between instances, since constraints of different tasks may be checked concurrently.
+    private final ObjectPool<DenseIntegerSet> setCollectionPool = new ObjectPool<>(DenseIntegerSet::new, 10);
 
 
     private final List<DenseIntegerSet> violatingSccs = new ArrayList<>();
     private final DenseIntegerSet markedNodes = new DenseIntegerSet();
+    private final PathAlgorithm pathAlgorithm = new PathAlgorithm();
+    // Positions of the nodes on the cycle that is currently reduced, -1 for all other nodes.
+    private int[] positions = new int[0];
     private Node[] nodeMap;
 
-    public AcyclicityConstraint(RelationGraph constrainedGraph) {
+    /*
+        Large SCCs can contain exponentially many chordless cycles, and every reported cycle costs a path search
+        plus the computation of its reasons. Cycles of the same SCC share most of their edges, so their reasons
+        mostly repeat each other. Hence, at most <maxCyclesPerScc> cycles are reported per SCC;
+        non-positive values report all cycles found.
+     */
+    public AcyclicityConstraint(RelationGraph constrainedGraph, int maxCyclesPerScc) {
         this.constrainedGraph = constrainedGraph;
+        this.maxCyclesPerScc = maxCyclesPerScc > 0 ? maxCyclesPerScc : Integer.MAX_VALUE;
     }
 
     @Override
@@ -58,25 +73,25 @@ public class AcyclicityConstraint extends AbstractConstraint {
         }
 
         List<List<Edge>> cycles = new ArrayList<>();
+        Set<List<Edge>> foundCycles = new HashSet<>();
         // Current implementation: For all marked events <e> in all SCCs:
         // (1) find a shortest path C from <e> to <e> (=cycle)
         // (2) remove all nodes in C from the search space (those nodes are likely to give the same cycle)
-        // (3) remove chords and normalize cycle order (starting from element with smallest id)
+        // (3) shortcut C along chords until it is chordless and normalize its order (starting from element with smallest id)
+        // (4) stop once an SCC produced <maxCyclesPerScc> distinct cycles
         for (Set<Integer> scc : violatingSccs) {
             MaterializedSubgraphView subgraph = new MaterializedSubgraphView(constrainedGraph, scc);
             Set<Integer> nodes = new HashSet<>(Sets.intersection(scc, markedNodes));
-            while (!nodes.isEmpty()) {
+            int sccCycles = 0;
+            while (!nodes.isEmpty() && sccCycles < maxCyclesPerScc) {
                 int e = nodes.stream().findAny().get();
 
-                List<Edge> cycle = PathAlgorithm.findShortestPath(subgraph, e, e);
-                cycle = new ArrayList<>(cycle);
-
+                List<Edge> cycle = pathAlgorithm.findShortestPath(subgraph, e, e);
                 cycle.forEach(edge -> nodes.remove(edge.getFirst()));
-                //TODO: Most cycles have chords, so a specialized algorithm that avoids
-                // chords altogether would be great
-                reduceChordsAndNormalize(cycle);
-                if (!cycles.contains(cycle)) {
+                cycle = removeChordsAndNormalize(subgraph, cycle);
+                if (foundCycles.add(cycle)) {
                     cycles.add(cycle);
+                    sccCycles++;
                 }
             }
         }
@@ -84,28 +99,54 @@ public class AcyclicityConstraint extends AbstractConstraint {
         return cycles;
     }
 
-    private void reduceChordsAndNormalize(List<Edge> cycle) {
-        // Reduces chords by iteratively merging first and last edge if possible
-        // Note that edges in the middle should not have chords since
-        // we start with a shortest cycle rooted at some node <e>
-        //TODO: after the first merge, the two nodes of the merged edge
-        // both may allow further merging but we only iteratively merge one of the two.
-        boolean prog;
-        do {
-            if (cycle.size() == 1) {
-                // Self-cycles are not reducible
-                return;
+    /*
+        Returns a chordless cycle whose nodes are a subset of the nodes of <cycle>.
+        As long as some node of the cycle has an edge to another node of the cycle that is not its successor,
+        the cycle is shortcut along the chord that yields the shortest cycle.
+        Each step strictly shortens the cycle, and the final cycle has no chords within the <graph>.
+     */
+    private List<Edge> removeChordsAndNormalize(RelationGraph graph, List<Edge> cycle) {
+        final int[] positions = this.positions;
+        while (cycle.size() > 1) {
+            final int size = cycle.size();
+            for (int i = 0; i < size; i++) {
+                positions[cycle.get(i).getFirst()] = i;
+            }
+
+            // Edge i goes from node i to node i+1, so a chord from node i to node j
+            // closes a cycle together with the (i - j) mod size edges from node j to node i.
+            Edge bestChord = null;
+            int bestStart = -1;
+            int bestLength = size;
+            for (int i = 0; i < size && bestLength > 1; i++) {
+                for (Edge chord : graph.outEdges(cycle.get(i).getFirst())) {
+                    int j = positions[chord.getSecond()];
+                    if (j < 0) {
+                        continue;
+                    }
+                    int length = 1 + Math.floorMod(i - j, size);
+                    if (length < bestLength) {
+                        bestChord = chord;
+                        bestStart = j;
+                        bestLength = length;
+                    }
+                }
+            }
+
+            for (Edge edge : cycle) {
+                positions[edge.getFirst()] = -1;
             }
-            prog = false;
-            Edge in = cycle.get(cycle.size() - 1);
-            Edge out = cycle.get(0);
-            Edge chord = constrainedGraph.get(new Edge(in.getFirst(), out.getSecond()));
-            if (chord != null) {
-                cycle.remove(cycle.size() - 1);
-                cycle.set(0, chord);
-                prog = true;
+            if (bestChord == null) {
+                break;
             }
-        } while (prog);
+
+            List<Edge> shortcut = new ArrayList<>(bestLength);
+            shortcut.add(bestChord);
+            for (int k = 0; k < bestLength - 1; k++) {
+                shortcut.add(cycle.get((bestStart + k) % size));
+            }
+            cycle = shortcut;
+        }
 
         // Normalize
         int first = 0;
@@ -118,7 +159,9 @@ public class AcyclicityConstraint extends AbstractConstraint {
             }
             counter++;
         }
-        Collections.rotate(cycle, -first);
+        List<Edge> normalized = new ArrayList<>(cycle);
+        Collections.rotate(normalized, -first);
+        return normalized;
     }
 
     @Override
@@ -129,7 +172,13 @@ public class AcyclicityConstraint extends AbstractConstraint {
 
     @Override
     public void onBacktrack(CAATPredicate predicate, int time) {
-        cleanUp();
+        // Removing edges cannot create cycles, so the remaining cycles lie within the discarded violations.
+        // Marked nodes that were not checked yet stay marked.
+        for (DenseIntegerSet scc : violatingSccs) {
+            scc.intIterator().forEachRemaining((int node) -> markedNodes.add(node));
+            setCollectionPool.returnToPool(scc);
+        }
+        violatingSccs.clear();
     }
 
     @Override
@@ -138,6 +187,8 @@ public class AcyclicityConstraint extends AbstractConstraint {
         cleanUp();
         int domSize = domain.size();;
         markedNodes.ensureCapacity(domSize);
+        positions = new int[domSize];
+        Arrays.fill(positions, -1);
         nodeMap = new Node[domSize];
         for (int i = 0; i < domSize; i++) {
             nodeMap[i] = new Node(i);
@@ -151,7 +202,7 @@ public class AcyclicityConstraint extends AbstractConstraint {
     }
 
     private void cleanUp() {
-        violatingSccs.forEach(SET_COLLECTION_POOL::returnToPool);
+        violatingSccs.forEach(setCollectionPool::returnToPool);
         violatingSccs.clear();
         markedNodes.clear();
     }
@@ -176,9 +227,9 @@ public class AcyclicityConstraint extends AbstractConstraint {
         }
     }
 
-    // The TEMP_LIST is used to temporary hold the nodes in an SCC.
+    // The tempList is used to temporary hold the nodes in an SCC.
     // The SCC will only actually get created if it is violating! (selfloop or size > 1)
-    private static final ArrayList<Integer> TEMP_LIST = new ArrayList<>();
+    private final ArrayList<Integer> tempList = new ArrayList<>();
     private void strongConnect(Node v) {
         v.index = index;
         v.lowlink = index;
@@ -206,17 +257,17 @@ public class AcyclicityConstraint extends AbstractConstraint {
             do {
                 w = stack.pop();
                 w.isOnStack = false;
-                TEMP_LIST.add(w.id);
+                tempList.add(w.id);
             } while (w != v);
 
-            if (v.hasSelfLoop || TEMP_LIST.size() > 1) {
-                DenseIntegerSet scc = SET_COLLECTION_POOL.get();
+            if (v.hasSelfLoop || tempList.size() > 1) {
+                DenseIntegerSet scc = setCollectionPool.get();
                 scc.ensureCapacity(domain.size());
                 scc.clear();
-                scc.addAll(TEMP_LIST);
+                scc.addAll(tempList);
                 violatingSccs.add(scc);
             }
-            TEMP_LIST.clear();
+            tempList.clear();
         }
     }
 
@@ -0,0 +1,138 @@
+package com.dat3m.dartagnan.solver.caat.misc;
+
+import java.util.Arrays;
+
+import static com.dat3m.dartagnan.utils.collections.LongMap.hash;
+import static com.dat3m.dartagnan.utils.collections.LongMap.pair;
+
+/*
+    Open-addressing hash table of edges that does not allocate per edge.
+    The endpoints of each edge are packed into a single long key (hashed like the keys of LongMap),
+    and the time and derivation length are kept in parallel int arrays. Deletion shifts entries backwards instead of leaving tombstones,
+    so that repeated backtracking does not degrade the table.
+ */
+public final class EdgeTable {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] times;
+    private int[] derivationLengths;
+    private int size;
+
+    public EdgeTable(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(MIN_CAPACITY, 2 * expectedSize) - 1) << 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Returns the slot of the edge, or -1 if the table does not contain it.
+    public int find(int first, int second) {
+        final long key = key(first, second);
+        final int mask = keys.length - 1;
+        for (int i = hash(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int first, int second) {
+        return find(first, second) >= 0;
+    }
+
+    public int getTime(int slot) {
+        return times[slot];
+    }
+
+    public int getDerivationLength(int slot) {
+        return derivationLengths[slot];
+    }
+
+    // Adds the edge unless the table already contains it, in which case the stored data is kept.
+    public boolean add(int first, int second, int time, int derivationLength) {
+        if (2 * (size + 1) > keys.length) {
+            rehash(2 * keys.length);
+        }
+        final long key = key(first, second);
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return false;
+            }
+        }
+        keys[i] = key;
+        times[i] = time;
+        derivationLengths[i] = derivationLength;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int first, int second) {
+        final long key = key(first, second);
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+        }
+        int hole = i;
+        for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            final int home = hash(keys[j]) & mask;
+            // Move the entry into the hole unless its probe sequence starts after the hole.
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                times[hole] = times[j];
+                derivationLengths[hole] = derivationLengths[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        times = new int[capacity];
+        derivationLengths = new int[capacity];
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldTimes = times;
+        final int[] oldLengths = derivationLengths;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = hash(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                times[i] = oldTimes[j];
+                derivationLengths[i] = oldLengths[j];
+            }
+        }
+    }
+
+    // Node ids are non-negative, so no key collides with EMPTY.
+    private static long key(int first, int second) {
+        return pair(first, second);
+    }
+}
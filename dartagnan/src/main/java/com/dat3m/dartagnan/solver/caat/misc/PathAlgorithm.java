@@ -7,84 +7,109 @@ import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
 import java.util.*;
 import java.util.function.Predicate;
 
+/*
+    Search engine for shortest paths in relation graphs.
+    An instance keeps its buffers across searches and is not thread-safe,
+    so each owner (e.g. a reasoner or a constraint) should use its own instance.
+
+    The parent maps are only valid for nodes whose stamp matches the current epoch.
+    Starting a new search increments the epoch instead of clearing the maps,
+    so that a search costs time proportional to the visited nodes rather than to the domain.
+ */
 public class PathAlgorithm {
 
-    //TODO: We need custom data datastructures that work with primitive integers
-    private final static Queue<Integer> queue1 = new ArrayDeque<>();
-    private final static Queue<Integer> queue2 = new ArrayDeque<>();
+    // Each node is enqueued at most once per direction and search, except for <start>,
+    // which may be enqueued a second time. Hence, the queues never wrap around.
+    private int[] queue1 = new int[0];
+    private int[] queue2 = new int[0];
 
-    private static Edge[] parentMap1 = new Edge[0];
-    private static Edge[] parentMap2 = new Edge[0];
+    private Edge[] parentMap1 = new Edge[0];
+    private Edge[] parentMap2 = new Edge[0];
+    private int[] stamps1 = new int[0];
+    private int[] stamps2 = new int[0];
+    private int epoch = 0;
 
-    public static void ensureCapacity(int capacity) {
+    public PathAlgorithm() {}
+
+    public void ensureCapacity(int capacity) {
         if (capacity <= parentMap1.length) {
             return;
         }
 
         final int newCapacity = capacity + 20;
+        queue1 = new int[newCapacity + 1];
+        queue2 = new int[newCapacity + 1];
         parentMap1 = Arrays.copyOf(parentMap1, newCapacity);
         parentMap2 = Arrays.copyOf(parentMap2, newCapacity);
+        stamps1 = Arrays.copyOf(stamps1, newCapacity);
+        stamps2 = Arrays.copyOf(stamps2, newCapacity);
     }
 
-
     /*
         This uses a bidirectional BFS to find a shortest path.
         A <filter> can be provided to skip certain edges during the search.
      */
-    public static List<Edge> findShortestPath(RelationGraph graph, int start, int end,
-                                              Predicate<Edge> filter) {
-        queue1.clear();
-        queue2.clear();
-
-        Arrays.fill(parentMap1, null);
-        System.arraycopy(parentMap1, 0, parentMap2, 0, Math.min(parentMap1.length, parentMap2.length));
-
-        queue1.add(start);
-        queue2.add(end);
+    public List<Edge> findShortestPath(RelationGraph graph, int start, int end, Predicate<Edge> filter) {
+        ensureCapacity(Math.max(graph.getDomain().size(), Math.max(start, end) + 1));
+        nextEpoch();
+        final int epoch = this.epoch;
+        final int[] stamps1 = this.stamps1;
+        final int[] stamps2 = this.stamps2;
+
+        int head1 = 0;
+        int tail1 = 0;
+        int head2 = 0;
+        int tail2 = 0;
+        queue1[tail1++] = start;
+        queue2[tail2++] = end;
         boolean found = false;
         boolean doForwardBFS = true;
         int cur = -1;
 
-        while (!found && (!queue1.isEmpty() || !queue2.isEmpty())) {
+        while (!found && (head1 < tail1 || head2 < tail2)) {
             if (doForwardBFS) {
                 // Forward BFS
-                int curSize = queue1.size();
+                int curSize = tail1 - head1;
                 while (curSize-- > 0 && !found) {
-                    for (Edge next : graph.outEdges(queue1.poll())) {
+                    for (Edge next : graph.outEdges(queue1[head1++])) {
                         if (!filter.test(next)) {
                             continue;
                         }
 
                         cur = next.getSecond();
 
-                        if (cur == end || parentMap2[cur] != null) {
+                        if (cur == end || stamps2[cur] == epoch) {
                             parentMap1[cur] = next;
+                            stamps1[cur] = epoch;
                             found = true;
                             break;
-                        } else if (parentMap1[cur] == null) {
+                        } else if (stamps1[cur] != epoch) {
                             parentMap1[cur] = next;
-                            queue1.add(cur);
+                            stamps1[cur] = epoch;
+                            queue1[tail1++] = cur;
                         }
                     }
                 }
                 doForwardBFS = false;
             } else {
                 // Backward BFS
-                int curSize = queue2.size();
+                int curSize = tail2 - head2;
                 while (curSize-- > 0 && !found) {
-                    for (Edge next : graph.inEdges(queue2.poll())) {
+                    for (Edge next : graph.inEdges(queue2[head2++])) {
                         if (!filter.test(next)) {
                             continue;
                         }
                         cur = next.getFirst();
 
-                        if (parentMap1[cur] != null) {
+                        if (stamps1[cur] == epoch) {
                             parentMap2[cur] = next;
+                            stamps2[cur] = epoch;
                             found = true;
                             break;
-                        } else if (parentMap2[cur] == null) {
+                        } else if (stamps2[cur] != epoch) {
                             parentMap2[cur] = next;
-                            queue2.add(cur);
+                            stamps2[cur] = epoch;
+                            queue2[tail2++] = cur;
                         }
                     }
                 }
@@ -96,36 +121,45 @@ public class PathAlgorithm {
             return Collections.emptyList();
         }
 
-        LinkedList<Edge> path = new LinkedList<>();
+        // Collect the backward part in reverse, then the forward part in order.
+        ArrayList<Edge> path = new ArrayList<>();
         int e = cur;
         do {
             Edge backEdge = parentMap1[e];
-            path.addFirst(backEdge);
+            path.add(backEdge);
             e = backEdge.getFirst();
         } while (e != start);
+        Collections.reverse(path);
 
         e = cur;
         while (e != end) {
             Edge forwardEdge = parentMap2[e];
-            path.addLast(forwardEdge);
+            path.add(forwardEdge);
             e = forwardEdge.getSecond();
         }
 
         return path;
     }
 
-
+    private void nextEpoch() {
+        if (++epoch == 0) {
+            // After an overflow, stale stamps could collide with the new epochs.
+            Arrays.fill(stamps1, 0);
+            Arrays.fill(stamps2, 0);
+            epoch = 1;
+        }
+    }
 
 
     // =============================== Public Methods ===============================
 
-    public static List<Edge> findShortestPath(RelationGraph graph, int start, int end) {
+    public List<Edge> findShortestPath(RelationGraph graph, int start, int end) {
         Predicate<Edge> alwaysTrueFilter = (edge -> true);
         return findShortestPath(graph, start, end, alwaysTrueFilter);
     }
 
 
-    public static List<Edge> findShortestPath(RelationGraph graph, int start, int end, int derivationBound) {
+    public List<Edge> findShortestPath(RelationGraph graph, int start, int end, int derivationBound) {
         Predicate<Edge> filter = (edge -> edge.getDerivationLength() <= derivationBound);
         return findShortestPath(graph, start, end, filter);
     }
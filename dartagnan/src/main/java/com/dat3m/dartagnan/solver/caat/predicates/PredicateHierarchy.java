@@ -88,12 +88,14 @@ public class PredicateHierarchy {
                     handleTask(tasks.poll(), true);
                 }
             }
+        }
 
-            // Notify listeners about population
-            for (CAATPredicate pred : getPredicateList()) {
-                for (PredicateListener listener : listenersMap.get(pred)) {
-                    listener.onPopulation(pred);
-                }
+        // Notify listeners about population
+        // NOTE: This must happen only after all predicates got populated, since virtual predicates
+        // (e.g. differences) may otherwise report elements that are invalidated by later populations.
+        for (CAATPredicate pred : getPredicateList()) {
+            for (PredicateListener listener : listenersMap.get(pred)) {
+                listener.onPopulation(pred);
             }
         }
     }
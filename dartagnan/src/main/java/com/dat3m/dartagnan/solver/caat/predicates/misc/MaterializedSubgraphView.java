@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.solver.caat.predicates.misc;
 
+import com.dat3m.dartagnan.solver.caat.domain.Domain;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.MaterializedGraph;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
 
@@ -23,6 +24,11 @@ public class MaterializedSubgraphView extends MaterializedGraph {
         return Collections.singletonList(sourceGraph);
     }
 
+    @Override
+    public Domain<?> getDomain() {
+        return sourceGraph.getDomain();
+    }
+
     public MaterializedSubgraphView(RelationGraph source, Collection<Integer> elements) {
         sourceGraph = source;
         simpleGraph.initializeToDomain(source.getDomain());
@@ -2,7 +2,7 @@ package com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base;
 
 import com.dat3m.dartagnan.solver.caat.domain.Domain;
 import com.dat3m.dartagnan.solver.caat.misc.EdgeDirection;
-import com.dat3m.dartagnan.solver.caat.misc.EdgeList;
+import com.dat3m.dartagnan.solver.caat.misc.EdgeTable;
 import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
 import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
@@ -10,11 +10,18 @@ import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
 
 import java.util.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.*;
 
 
 /*
     This is a simple graph that allows adding edges directly.
     It is mostly used as an internal implementation for many relationgraphs.
+
+    Edges are stored in primitive form: the edge table holds the packed endpoints together with the time and
+    derivation length of each edge, and each node keeps parallel arrays of its neighbours.
+    Edge objects are only created when edges are handed out through the RelationGraph interface.
  */
 public final class SimpleGraph extends AbstractBaseGraph {
     private DataItem[] outgoing = new DataItem[0];
@@ -22,7 +29,7 @@ public final class SimpleGraph extends AbstractBaseGraph {
     private int maxTime = 0;
     private int numEvents = 0;
 
-    private final HashMap<Edge, Edge> edgeMap = new HashMap<>(100);
+    private final EdgeTable edgeTable = new EdgeTable(100);
 
     @Override
     public List<RelationGraph> getDependencies() {
@@ -47,13 +54,15 @@ public final class SimpleGraph extends AbstractBaseGraph {
             return;
         }
         final int bound = Math.min(numEvents, outgoing.length);
+        int newMaxTime = 0;
         for (int i = 0; i < bound; i++) {
             DataItem item = outgoing[i];
             if (item != null) {
                 item.backtrackTo(time);
-                maxTime = Math.max(maxTime, item.maxTime);
+                newMaxTime = Math.max(newMaxTime, item.maxTime);
             }
         }
+        maxTime = newMaxTime;
 
         final int bound2 = Math.min(numEvents, ingoing.length);
         for (int i = 0; i < bound2; i++) {
@@ -76,18 +85,21 @@ public final class SimpleGraph extends AbstractBaseGraph {
         }
     }
 
-    public Collection<Edge> getEdges(int e, EdgeDirection dir) {
-        DataItem item = getItem(e, dir);
-        return item == null ? Collections.emptyList() : item.edgeList;
-    }
-
     public Edge get(Edge edge) {
-        return edgeMap.get(edge);
+        final int slot = edgeTable.find(edge.getFirst(), edge.getSecond());
+        if (slot < 0) {
+            return null;
+        }
+        final int time = edgeTable.getTime(slot);
+        final int derivationLength = edgeTable.getDerivationLength(slot);
+        // Lookups often pass the stored edge itself, in which case we can return it as is.
+        return edge.getTime() == time && edge.getDerivationLength() == derivationLength ?
+                edge : edge.with(time, derivationLength);
     }
 
     @Override
     public int size() {
-        return edgeMap.size();
+        return edgeTable.size();
     }
 
     @Override
@@ -97,27 +109,34 @@ public final class SimpleGraph extends AbstractBaseGraph {
     }
 
     public boolean contains(Edge e) {
-        return edgeMap.containsKey(e);
+        return edgeTable.contains(e.getFirst(), e.getSecond());
+    }
+
+    @Override
+    public boolean containsById(int id1, int id2) {
+        return edgeTable.contains(id1, id2);
     }
 
     public boolean add(Edge e) {
-        if (edgeMap.putIfAbsent(e, e) != null) {
+        final int firstId = e.getFirst();
+        final int secondId = e.getSecond();
+        final int time = e.getTime();
+        final int derivationLength = e.getDerivationLength();
+        if (!edgeTable.add(firstId, secondId, time, derivationLength)) {
             return false;
         }
-        int firstId = e.getFirst();
-        int secondId = e.getSecond();
-        maxTime = Math.max(maxTime, e.getTime());
+        maxTime = Math.max(maxTime, time);
         DataItem item1 = outgoing[firstId];
         if (item1 == null) {
-            outgoing[firstId] = item1 = new DataItem(true);
+            outgoing[firstId] = item1 = new DataItem(firstId, true);
         }
-        item1.add(e);
+        item1.add(secondId, time, derivationLength);
 
         DataItem item2 = ingoing[secondId];
         if (item2 == null) {
-            ingoing[secondId] = item2 = new DataItem( false);
+            ingoing[secondId] = item2 = new DataItem(secondId, false);
         }
-        item2.add(e);
+        item2.add(firstId, time, derivationLength);
 
         return true;
     }
@@ -132,7 +151,7 @@ public final class SimpleGraph extends AbstractBaseGraph {
 
     public void clear() {
         maxTime = 0;
-        edgeMap.clear();
+        edgeTable.clear();
 
         final int bound = Math.min(numEvents, outgoing.length);
         for (int i = 0; i < bound; i++) {
@@ -193,59 +212,94 @@ public final class SimpleGraph extends AbstractBaseGraph {
         return name != null ? name : SimpleGraph.class.getSimpleName() + ": " + size();
     }
 
+    // The edges of a node in one direction, in the order in which they were added.
     private final class DataItem implements Iterable<Edge> {
-        final List<Edge> edgeList;
-        final boolean deleteFromMap;
+        final int node;
+        final boolean outgoing;
+        int[] neighbours;
+        int[] times;
+        int[] derivationLengths;
+        int size;
         int maxTime;
 
-        public DataItem(boolean deleteFromMap) {
-            edgeList = new EdgeList(20);
-            this.deleteFromMap = deleteFromMap;
+        public DataItem(int node, boolean outgoing) {
+            this.node = node;
+            this.outgoing = outgoing;
+            neighbours = new int[20];
+            times = new int[20];
+            derivationLengths = new int[20];
             maxTime = 0;
         }
 
         public int size() {
-            return edgeList.size();
+            return size;
         }
         public boolean isEmpty() {
-            return edgeList.isEmpty();
+            return size == 0;
         }
 
-        public boolean add(Edge e) {
-            edgeList.add(e);
-            maxTime = Math.max(maxTime, e.getTime());
-            return true;
+        public void add(int neighbour, int time, int derivationLength) {
+            if (size == neighbours.length) {
+                final int newCapacity = 2 * size;
+                neighbours = Arrays.copyOf(neighbours, newCapacity);
+                times = Arrays.copyOf(times, newCapacity);
+                derivationLengths = Arrays.copyOf(derivationLengths, newCapacity);
+            }
+            neighbours[size] = neighbour;
+            times[size] = time;
+            derivationLengths[size] = derivationLength;
+            size++;
+            maxTime = Math.max(maxTime, time);
         }
 
+        public Edge getEdge(int index) {
+            return outgoing ?
+                    new Edge(node, neighbours[index], times[index], derivationLengths[index])
+                    : new Edge(neighbours[index], node, times[index], derivationLengths[index]);
+        }
 
+        // Iterates from the most recently added edge to the oldest one.
         public Iterator<Edge> iterator() {
-            return edgeList.iterator();
+            return new Iterator<>() {
+                int index = size;
+
+                @Override
+                public boolean hasNext() {
+                    return index > 0;
+                }
+
+                @Override
+                public Edge next() {
+                    if (index <= 0) {
+                        throw new NoSuchElementException();
+                    }
+                    return getEdge(--index);
+                }
+            };
         }
         public Stream<Edge> stream() {
-            return edgeList.stream();
+            return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
+                    SIZED | DISTINCT | SUBSIZED | NONNULL), false);
         }
 
         public void clear() {
-            edgeList.clear();
+            size = 0;
             maxTime = 0;
         }
 
         public void backtrackTo(int time) {
-            //NOTE: We use the fact that the edge list
+            //NOTE: We use the fact that the edges
             // should be sorted by timestamp (since edges with higher timestamp get added later)
             if (maxTime > time) {
-                final List<Edge> edgeList = this.edgeList;
-                final Map<Edge, Edge> edgeMap = SimpleGraph.this.edgeMap;
-                int i = edgeList.size();
+                int i = size;
                 while (--i >= 0) {
-                    Edge e = edgeList.get(i);
-                    if (e.getTime() > time) {
-                        edgeList.remove(i);
-                        if (deleteFromMap) {
-                            edgeMap.remove(e);
+                    if (times[i] > time) {
+                        size = i;
+                        if (outgoing) {
+                            edgeTable.remove(node, neighbours[i]);
                         }
                     } else {
-                        maxTime = e.getTime();
+                        maxTime = times[i];
                         return;
                     }
                 }
@@ -258,7 +312,7 @@ public final class SimpleGraph extends AbstractBaseGraph {
     private class EdgeIterator implements Iterator<Edge> {
 
         int index = -1;
-        List<Edge> innerList = Collections.emptyList();
+        DataItem item = null;
         int innerIndex = 0;
         Edge edge = null;
 
@@ -268,18 +322,18 @@ public final class SimpleGraph extends AbstractBaseGraph {
 
         private void findNext() {
             edge = null;
-            if (++innerIndex >= innerList.size()) {
+            if (item == null || ++innerIndex >= item.size()) {
                 innerIndex = 0;
                 while (++index < numEvents) {
-                    DataItem item = outgoing[index];
-                    if (item != null && !item.isEmpty()) {
-                        innerList = item.edgeList;
-                        edge = innerList.get(0);
+                    DataItem next = outgoing[index];
+                    if (next != null && !next.isEmpty()) {
+                        item = next;
+                        edge = item.getEdge(0);
                         return;
                     }
                 }
             } else {
-                edge = innerList.get(innerIndex);
+                edge = item.getEdge(innerIndex);
             }
         }
 
@@ -34,11 +34,140 @@ public class TransitiveGraph extends MaterializedGraph {
 
     @Override
     public void repopulate() {
-        //TODO: This is inefficient for many edges (the likely default case!)
-        // Initially, we can probably use some non-incremental approach
-        Set<Edge> fakeSet = SetUtil.fakeSet();
-        for (Edge e : inner.edges()) {
-            updateEdge(derive(e), fakeSet);
+        final List<Edge> innerEdges = new ArrayList<>(inner.getEstimatedSize());
+        inner.edges().forEach(innerEdges::add);
+        if (innerEdges.isEmpty()) {
+            return;
+        }
+        final int time = innerEdges.get(0).getTime();
+        if (innerEdges.stream().allMatch(e -> e.getTime() == time)) {
+            computeClosure(innerEdges, time);
+        } else {
+            // The closure edges need the time of the latest inner edge they depend on,
+            // which the incremental update tracks edge by edge.
+            Set<Edge> fakeSet = SetUtil.fakeSet();
+            for (Edge e : innerEdges) {
+                updateEdge(derive(e), fakeSet);
+            }
+        }
+    }
+
+    // Computes the closure in bulk: Tarjan's algorithm condenses the inner graph into its SCCs,
+    // whose reachability sets are then computed bottom-up as bitsets (Purdom's algorithm).
+    // Derived edges get a derivation length that bounds the derivation lengths of all inner edges reachable
+    // from their source, so that a path of inner edges with smaller derivation lengths always exists.
+    private void computeClosure(List<Edge> innerEdges, int time) {
+        final int size = domain.size();
+        final int[] offsets = new int[size + 1];
+        for (Edge e : innerEdges) {
+            offsets[e.getFirst() + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] targets = new int[innerEdges.size()];
+        final int[] lengths = new int[innerEdges.size()];
+        final int[] fill = Arrays.copyOf(offsets, size);
+        for (Edge e : innerEdges) {
+            final int pos = fill[e.getFirst()]++;
+            targets[pos] = e.getSecond();
+            lengths[pos] = e.getDerivationLength();
+            // Direct edges keep the shortest possible derivation.
+            simpleGraph.add(derive(e));
+        }
+
+        // --- Tarjan's algorithm (iterative), which completes each SCC after all SCCs reachable from it ---
+        final int[] index = new int[size];
+        final int[] low = new int[size];
+        final int[] component = new int[size];
+        Arrays.fill(index, -1);
+        Arrays.fill(component, -1);
+        final int[] sccStack = new int[size];
+        final int[] callStack = new int[size];
+        final int[] edgePos = new int[size];
+        final List<int[]> components = new ArrayList<>();
+        int sccTop = 0;
+        int nextIndex = 0;
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1 || offsets[root] == offsets[root + 1]) {
+                continue;
+            }
+            int callTop = 0;
+            callStack[callTop++] = root;
+            index[root] = low[root] = nextIndex++;
+            edgePos[root] = offsets[root];
+            sccStack[sccTop++] = root;
+            while (callTop > 0) {
+                final int node = callStack[callTop - 1];
+                if (edgePos[node] < offsets[node + 1]) {
+                    final int next = targets[edgePos[node]++];
+                    if (index[next] == -1) {
+                        index[next] = low[next] = nextIndex++;
+                        edgePos[next] = offsets[next];
+                        sccStack[sccTop++] = next;
+                        callStack[callTop++] = next;
+                    } else if (component[next] == -1) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+                callTop--;
+                if (callTop > 0) {
+                    final int parent = callStack[callTop - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+                if (low[node] == index[node]) {
+                    int start = sccTop;
+                    do {
+                        component[sccStack[--start]] = components.size();
+                    } while (sccStack[start] != node);
+                    components.add(Arrays.copyOfRange(sccStack, start, sccTop));
+                    sccTop = start;
+                }
+            }
+        }
+
+        // --- Reachability and derivation bounds per SCC, in reverse topological order ---
+        final BitSet[] reachable = new BitSet[components.size()];
+        final int[] maxLength = new int[components.size()];
+        final int[] visited = new int[components.size()];
+        Arrays.fill(visited, -1);
+        // Most components are single nodes without outgoing edges, which share this (never modified) set.
+        final BitSet noSuccessors = new BitSet();
+        for (int c = 0; c < components.size(); c++) {
+            final int[] members = components.get(c);
+            if (members.length == 1 && offsets[members[0]] == offsets[members[0] + 1]) {
+                reachable[c] = noSuccessors;
+                continue;
+            }
+            // The set grows on demand, since most components reach only few nodes of the domain.
+            final BitSet reach = new BitSet();
+            int max = 0;
+            for (int node : members) {
+                for (int pos = offsets[node]; pos < offsets[node + 1]; pos++) {
+                    final int next = targets[pos];
+                    final int succ = component[next];
+                    reach.set(next);
+                    max = Math.max(max, lengths[pos]);
+                    if (succ != c && visited[succ] != c) {
+                        visited[succ] = c;
+                        reach.or(reachable[succ]);
+                        max = Math.max(max, maxLength[succ]);
+                    }
+                }
+            }
+            reachable[c] = reach;
+            maxLength[c] = max;
+        }
+
+        for (int c = 0; c < components.size(); c++) {
+            final BitSet reach = reachable[c];
+            final int length = maxLength[c] + 1;
+            for (int node : components.get(c)) {
+                for (int next = reach.nextSetBit(0); next >= 0; next = reach.nextSetBit(next + 1)) {
+                    simpleGraph.add(new Edge(node, next, time, length));
+                }
+            }
         }
     }
 
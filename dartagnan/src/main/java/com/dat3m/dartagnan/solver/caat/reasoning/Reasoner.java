@@ -3,6 +3,7 @@ package com.dat3m.dartagnan.solver.caat.reasoning;
 import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
 import com.dat3m.dartagnan.solver.caat.misc.EdgeDirection;
+import com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm;
 import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
 import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
 import com.dat3m.dartagnan.solver.caat.predicates.misc.PredicateVisitor;
@@ -15,13 +16,13 @@ import com.dat3m.dartagnan.utils.logic.DNF;
 
 import java.util.*;
 
-import static com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm.findShortestPath;
 
 @SuppressWarnings("unchecked")
 public class Reasoner {
 
     private final GraphVisitor graphVisitor = new GraphVisitor();
     private final SetVisitor setVisitor = new SetVisitor();
+    private final PathAlgorithm pathAlgorithm = new PathAlgorithm();
 
     public Reasoner() {
     }
@@ -33,8 +34,17 @@ public class Reasoner {
             return DNF.FALSE();
         }
 
+        return new DNF<>(computeViolationReasons(constraint, constraint.getViolations()));
+    }
+
+    /*
+        Computes one reason per violation in <violations>, which must be (a subset of) the violations
+        of <constraint>. The reasons are returned in the order of the violations.
+        This only reads the predicates, so different reasoners can process disjoint violations concurrently.
+     */
+    public List<Conjunction<CAATLiteral>> computeViolationReasons(Constraint constraint,
+                                                                  Collection<? extends Collection<? extends Derivable>> violations) {
         CAATPredicate pred = constraint.getConstrainedPredicate();
-        Collection<? extends Collection<? extends Derivable>> violations = constraint.getViolations();
         List<Conjunction<CAATLiteral>> reasonList = new ArrayList<>(violations.size());
 
         if (constraint instanceof AcyclicityConstraint) {
@@ -60,7 +70,7 @@ public class Reasoner {
             }
         }
 
-        return new DNF<>(reasonList);
+        return reasonList;
     }
 
     public Conjunction<CAATLiteral> computeReason(CAATPredicate pred, Derivable prop) {
@@ -250,7 +260,7 @@ public class Reasoner {
         public Conjunction<CAATLiteral> visitTransitiveClosure(RelationGraph graph, Edge edge, Void unused) {
             RelationGraph inner = (RelationGraph) graph.getDependencies().get(0);
             Conjunction<CAATLiteral> reason = Conjunction.TRUE();
-            List<Edge> path = findShortestPath(inner, edge.getFirst(), edge.getSecond(), edge.getDerivationLength() - 1);
+            List<Edge> path = pathAlgorithm.findShortestPath(inner, edge.getFirst(), edge.getSecond(), edge.getDerivationLength() - 1);
             for (Edge e : path) {
                 reason = reason.and(computeReason(inner, e));
             }
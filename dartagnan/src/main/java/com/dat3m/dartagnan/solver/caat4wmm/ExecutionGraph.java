@@ -1,11 +1,14 @@
 package com.dat3m.dartagnan.solver.caat4wmm;
 
+import com.dat3m.dartagnan.program.event.core.Event;
 import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.solver.caat.CAATModel;
 import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
 import com.dat3m.dartagnan.solver.caat.constraints.EmptinessConstraint;
 import com.dat3m.dartagnan.solver.caat.constraints.IrreflexivityConstraint;
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.EmptyGraph;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.*;
@@ -14,6 +17,7 @@ import com.dat3m.dartagnan.solver.caat4wmm.basePredicates.*;
 import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.model.EventData;
 import com.dat3m.dartagnan.verification.model.ExecutionModel;
 import com.dat3m.dartagnan.wmm.Relation;
 import com.dat3m.dartagnan.wmm.Wmm;
@@ -26,10 +30,8 @@ import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.math.BigInteger;
+import java.util.*;
 
 import static com.dat3m.dartagnan.wmm.relation.RelationNameRepository.*;
 
@@ -60,27 +62,215 @@ public class ExecutionGraph {
     private final BiMap<Filter, SetPredicate> filterSetMap;
     private final BiMap<Axiom, Constraint> constraintMap;
     private final Set<Relation> cutRelations;
+    private final int maxCyclesPerScc;
 
     private CAATModel caatModel;
     private EventDomain domain;
 
+    // ============ Incremental updates ==============
+    // The graphs of value-dependent base relations (rf, co) whose edges are added via propagation.
+    // Their edges are layered by timestamp, so that a later execution over the same events only needs to
+    // backtrack to the oldest edge it does not share with the previous execution.
+    private final List<IncrementalWMMGraph> incrementalGraphs = new ArrayList<>();
+    private boolean incremental = false;
+    private boolean reuse = false;
+    private int lastTime = 0;
+    private final List<Event> lastEvents = new ArrayList<>();
+    private final List<BigInteger> lastAddresses = new ArrayList<>();
+
     // =================================================
 
     // ============= Construction & Init ===============
 
-    public ExecutionGraph(VerificationTask verificationTask, Context analysisContext, Set<Relation> cutRelations, boolean createOnlyAxiomRelevantGraphs) {
+    /*
+        If <incremental> is set, the graphs try to support the reuse of their population across executions
+        (see <updateFromModel> and <populate>), which requires to materialize rf and co.
+        Use <isIncremental> to check whether the memory model supports this.
+        Acyclicity constraints report at most <maxCyclesPerScc> cycles per SCC (non-positive = no bound).
+     */
+    public ExecutionGraph(VerificationTask verificationTask, Context analysisContext, Set<Relation> cutRelations,
+                          boolean createOnlyAxiomRelevantGraphs, boolean incremental, int maxCyclesPerScc) {
         this.verificationTask = verificationTask;
         ra = analysisContext.requires(RelationAnalysis.class);
         relationGraphMap = HashBiMap.create();
         filterSetMap = HashBiMap.create();
         constraintMap = HashBiMap.create();
         this.cutRelations = cutRelations;
+        this.incremental = incremental;
+        this.maxCyclesPerScc = maxCyclesPerScc;
         constructMappings(createOnlyAxiomRelevantGraphs);
+        if (incremental) {
+            enableIncrementalUpdates();
+        }
     }
 
     public void initializeFromModel(ExecutionModel executionModel) {
         domain = new EventDomain(executionModel);
         caatModel.initializeToDomain(domain);
+        reuse = false;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /*
+        Enables the reuse of the populated graphs across executions, unless the memory model does not support it:
+        the subtrahend of a difference must not change during propagation, so it may not depend on rf or co.
+     */
+    private void enableIncrementalUpdates() {
+        for (CAATPredicate pred : caatModel.getBasePredicates()) {
+            if (pred instanceof IncrementalWMMGraph graph) {
+                incrementalGraphs.add(graph);
+            }
+        }
+        Map<CAATPredicate, Boolean> dependsOnIncremental = new HashMap<>();
+        for (CAATPredicate pred : caatModel.getPredicates()) {
+            if (pred instanceof DifferenceGraph diff && dependsOnIncremental(diff.getSecond(), dependsOnIncremental)) {
+                incrementalGraphs.clear();
+                incremental = false;
+                return;
+            }
+        }
+        incrementalGraphs.forEach(graph -> graph.setDeferred(true));
+    }
+
+    private boolean dependsOnIncremental(CAATPredicate pred, Map<CAATPredicate, Boolean> cache) {
+        Boolean result = cache.get(pred);
+        if (result == null) {
+            // Recursive graphs close cycles, which are resolved optimistically.
+            cache.put(pred, false);
+            result = pred instanceof IncrementalWMMGraph
+                    || pred.getDependencies().stream().anyMatch(dep -> dependsOnIncremental(dep, cache));
+            cache.put(pred, result);
+        }
+        return result;
+    }
+
+    /*
+        Prepares the graphs for the (re-)initialized <executionModel>.
+        If incremental updates are enabled and the execution has the same events, addresses and cut relations
+        as the previous one, the populated graphs are kept and the next call to <populate> only updates rf and co.
+        Otherwise, this is equivalent to <initializeFromModel>.
+     */
+    public void updateFromModel(ExecutionModel executionModel) {
+        reuse = incremental && domain != null && domain.getExecution() == executionModel
+                && hasSameEventsAndAddresses(executionModel);
+        if (reuse) {
+            // The static graphs refer to the event data of the execution, which is recreated on every initialization.
+            for (CAATPredicate pred : caatModel.getBasePredicates()) {
+                if (!(pred instanceof MaterializedWMMGraph)) {
+                    pred.initializeToDomain(domain);
+                    pred.repopulate();
+                }
+            }
+            reuse = hasSameCutRelations();
+        }
+        if (!reuse) {
+            initializeFromModel(executionModel);
+        }
+
+        lastEvents.clear();
+        lastAddresses.clear();
+        for (EventData e : executionModel.getEventList()) {
+            lastEvents.add(e.getEvent());
+            lastAddresses.add(e.isMemoryEvent() ? e.getAccessedAddress() : null);
+        }
+    }
+
+    private boolean hasSameEventsAndAddresses(ExecutionModel executionModel) {
+        List<EventData> events = executionModel.getEventList();
+        if (events.size() != lastEvents.size()) {
+            return false;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            EventData e = events.get(i);
+            if (e.getEvent() != lastEvents.get(i)
+                    || !Objects.equals(e.isMemoryEvent() ? e.getAccessedAddress() : null, lastAddresses.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Cut relations are read from the SMT model, so we recompute them and compare against their old content.
+    private boolean hasSameCutRelations() {
+        for (CAATPredicate pred : caatModel.getBasePredicates()) {
+            if (pred instanceof DynamicDefaultWMMGraph graph) {
+                Set<Edge> oldEdges = new HashSet<>(graph.setView());
+                graph.initializeToDomain(domain);
+                graph.repopulate();
+                if (!oldEdges.equals(graph.setView())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+        Populates all graphs for the current execution.
+        When reusing the previous population, we backtrack to the time just before the oldest rf or co edge
+        that no longer exists, re-add the younger edges that still exist and finally add the new edges.
+     */
+    public void populate() {
+        if (!reuse) {
+            caatModel.populate();
+            if (incremental) {
+                List<List<Edge>> edgesPerGraph = new ArrayList<>(incrementalGraphs.size());
+                incrementalGraphs.forEach(graph -> edgesPerGraph.add(graph.computeEdges()));
+                lastTime = addAndPropagate(edgesPerGraph, 1);
+            }
+            return;
+        }
+
+        final int numGraphs = incrementalGraphs.size();
+        List<Set<Edge>> newEdgeSets = new ArrayList<>(numGraphs);
+        int backtrackTime = lastTime;
+        for (IncrementalWMMGraph graph : incrementalGraphs) {
+            Set<Edge> newEdges = new HashSet<>(graph.computeEdges());
+            for (Edge e : graph.edges()) {
+                if (!newEdges.contains(e)) {
+                    backtrackTime = Math.min(backtrackTime, e.getTime() - 1);
+                }
+            }
+            newEdgeSets.add(newEdges);
+        }
+        // Edges younger than the backtrack time that still exist need to be re-added.
+        List<List<Edge>> survivors = new ArrayList<>(numGraphs);
+        for (int i = 0; i < numGraphs; i++) {
+            List<Edge> retained = new ArrayList<>();
+            for (Edge e : incrementalGraphs.get(i).edges()) {
+                if (e.getTime() > backtrackTime && newEdgeSets.get(i).contains(e)) {
+                    retained.add(e);
+                }
+            }
+            survivors.add(retained);
+        }
+        // Backtracking also resets the state of the constraints.
+        caatModel.getHierarchy().backtrackTo(backtrackTime);
+
+        int time = backtrackTime;
+        if (survivors.stream().anyMatch(edges -> !edges.isEmpty())) {
+            time = addAndPropagate(survivors, time + 1);
+        }
+        List<List<Edge>> added = new ArrayList<>(numGraphs);
+        for (int i = 0; i < numGraphs; i++) {
+            IncrementalWMMGraph graph = incrementalGraphs.get(i);
+            added.add(newEdgeSets.get(i).stream().filter(e -> !graph.contains(e)).toList());
+        }
+        if (added.stream().anyMatch(edges -> !edges.isEmpty())) {
+            time = addAndPropagate(added, time + 1);
+        }
+        lastTime = time;
+    }
+
+    private int addAndPropagate(List<List<Edge>> edgesPerGraph, int time) {
+        for (int i = 0; i < incrementalGraphs.size(); i++) {
+            List<Edge> edges = edgesPerGraph.get(i).stream().map(e -> e.with(time, 0)).toList();
+            caatModel.getHierarchy().addAndPropagate(incrementalGraphs.get(i), edges);
+        }
+        return time;
     }
 
     // --------------------------------------------------
@@ -198,7 +388,7 @@ public class ExecutionGraph {
         Constraint constraint;
         RelationGraph innerGraph = getOrCreateGraphFromRelation(axiom.getRelation());
         if (axiom.isAcyclicity()) {
-            constraint = new AcyclicityConstraint(innerGraph);
+            constraint = new AcyclicityConstraint(innerGraph, maxCyclesPerScc);
         } else if (axiom.isEmptiness()) {
             constraint = new EmptinessConstraint(innerGraph);
         } else if (axiom.isIrreflexivity()) {
@@ -247,13 +437,13 @@ public class ExecutionGraph {
         } else if (cutRelations.contains(rel)) {
             graph = new DynamicDefaultWMMGraph(name);
         } else if (relClass == ReadFrom.class) {
-            graph = new ReadFromGraph();
+            graph = incremental ? new IncrementalReadFromGraph() : new ReadFromGraph();
         } else if (relClass == SameAddress.class) {
             graph = new LocationGraph();
         } else if (relClass == ProgramOrder.class) {
             graph = new ProgramOrderGraph();
         } else if (relClass == Coherence.class) {
-            graph = new CoherenceGraph();
+            graph = incremental ? new IncrementalCoherenceGraph() : new CoherenceGraph();
         } else if (relClass == Inverse.class || relClass == TransitiveClosure.class || relClass == RangeIdentity.class) {
             RelationGraph g = getOrCreateGraphFromRelation(dependencies.get(0));
             graph = relClass == Inverse.class ? new InverseGraph(g) :
@@ -24,6 +24,11 @@ public class Refiner {
     public Refiner() { }
 
     public BooleanFormula refine(DNF<CoreLiteral> coreReasons, EncodingContext context) {
+        return context.getBooleanFormulaManager().and(refineClauses(coreReasons, context));
+    }
+
+    // Returns one clause per core reason, without duplicates.
+    public List<BooleanFormula> refineClauses(DNF<CoreLiteral> coreReasons, EncodingContext context) {
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         List<BooleanFormula> refinement = new ArrayList<>();
         HashSet<BooleanFormula> addedFormulas = new HashSet<>(); // To avoid adding duplicates
@@ -43,7 +48,7 @@ public class Refiner {
                 refinement.add(permutedClause);
             }
         }
-        return bmgr.and(refinement);
+        return refinement;
     }
 
     private BooleanFormula encode(CoreLiteral literal, EncodingContext encoder) {
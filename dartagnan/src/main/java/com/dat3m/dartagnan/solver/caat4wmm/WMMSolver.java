@@ -13,33 +13,63 @@ import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.verification.model.ExecutionModel;
 import com.dat3m.dartagnan.wmm.Relation;
 import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.java_smt.api.Model;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /*
     This is our domain-specific bridging component that specializes the CAATSolver to the WMM setting.
 */
-public class WMMSolver {
+public class WMMSolver implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(WMMSolver.class);
 
     private final ExecutionGraph executionGraph;
     private final ExecutionModel executionModel;
     private final CAATSolver solver;
     private final CoreReasoner reasoner;
+    private final int threads;
+    private boolean computeUnsimplifiedReasons = false;
+    // The worker threads are created on first use and live until the solver is closed.
+    private ExecutorService executor;
 
-    private WMMSolver(VerificationTask task, Context analysisContext, Set<Relation> cutRelations, ExecutionModel m) {
+    private WMMSolver(VerificationTask task, Context analysisContext, Set<Relation> cutRelations, ExecutionModel m,
+                      boolean incremental, int threads, int maxCyclesPerScc) {
         analysisContext.requires(RelationAnalysis.class);
-        this.executionGraph = new ExecutionGraph(task, analysisContext, cutRelations, true);
+        this.executionGraph = new ExecutionGraph(task, analysisContext, cutRelations, true, incremental, maxCyclesPerScc);
         this.executionModel = m;
         this.reasoner = new CoreReasoner(task, analysisContext, executionGraph);
-        this.solver = CAATSolver.create();
+        this.solver = CAATSolver.create(threads);
+        this.threads = threads;
+        if (incremental && !executionGraph.isIncremental()) {
+            logger.info("Incremental model updates are not supported by the memory model.");
+        }
     }
 
-    public static WMMSolver withContext(EncodingContext context, Set<Relation> cutRelations, VerificationTask task, Context analysisContext) throws InvalidConfigurationException {
-        return new WMMSolver(task, analysisContext, cutRelations, ExecutionModel.withContext(context));
+    /*
+        If <incremental> is set, consecutive calls to <check> reuse the populated graphs of the previous call
+        whenever the new model only differs in rf and co.
+        If <threads> is greater than one, base and core reasons are computed on that many threads.
+        The computed reasons are the same as in the sequential case.
+        At most <maxCyclesPerScc> cycles are extracted per SCC of an acyclic relation (non-positive = no bound,
+        see AcyclicityConstraint.DEFAULT_MAX_CYCLES_PER_SCC for the usual value).
+     */
+    public static WMMSolver withContext(EncodingContext context, Set<Relation> cutRelations, VerificationTask task,
+                                        Context analysisContext, boolean incremental, int threads, int maxCyclesPerScc)
+            throws InvalidConfigurationException {
+        return new WMMSolver(task, analysisContext, cutRelations, ExecutionModel.withContext(context), incremental,
+                threads, maxCyclesPerScc);
     }
 
     public ExecutionModel getExecution() {
@@ -50,15 +80,32 @@ public class WMMSolver {
         return executionGraph;
     }
 
+    /*
+        If set, <check> additionally computes the core reasons without simplifications based on
+        static knowledge about the program (see CoreReasoner.toCoreReasons).
+     */
+    public void setComputeUnsimplifiedReasons(boolean value) {
+        computeUnsimplifiedReasons = value;
+    }
+
+    @Override
+    public void close() {
+        solver.close();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
     public Result check(Model model) {
         // ============ Extract ExecutionModel ==============
         long curTime = System.currentTimeMillis();
         executionModel.initialize(model);
-        executionGraph.initializeFromModel(executionModel);
+        executionGraph.updateFromModel(executionModel);
         long extractTime = System.currentTimeMillis() - curTime;
 
         // ============== Run the CAATSolver ==============
-        CAATSolver.Result caatResult = solver.check(executionGraph.getCAATModel());
+        CAATSolver.Result caatResult = solver.check(executionGraph.getCAATModel(), executionGraph::populate);
         Result result = Result.fromCAATResult(caatResult);
         Statistics stats = result.stats;
         stats.modelExtractionTime = extractTime;
@@ -67,34 +114,89 @@ public class WMMSolver {
         if (result.getStatus() == CAATSolver.Status.INCONSISTENT) {
             // ============== Compute Core reasons ==============
             curTime = System.currentTimeMillis();
-            List<Conjunction<CoreLiteral>> coreReasons = new ArrayList<>(caatResult.getBaseReasons().getNumberOfCubes());
-            for (Conjunction<CAATLiteral> baseReason : caatResult.getBaseReasons().getCubes()) {
-                coreReasons.addAll(reasoner.toCoreReasons(baseReason));
-            }
+            List<Conjunction<CAATLiteral>> baseReasons = new ArrayList<>(caatResult.getBaseReasons().getCubes());
+            List<Conjunction<CoreLiteral>> coreReasons = computeCoreReasons(baseReasons, true);
             stats.numComputedCoreReasons = coreReasons.size();
             result.coreReasons = new DNF<>(coreReasons);
             stats.numComputedReducedCoreReasons = result.coreReasons.getNumberOfCubes();
+            if (computeUnsimplifiedReasons) {
+                result.unsimplifiedCoreReasons = new DNF<>(computeCoreReasons(baseReasons, false));
+            }
             stats.coreReasonComputationTime = System.currentTimeMillis() - curTime;
         }
 
         return result;
     }
 
+    // The base reasons are split into contiguous slices, whose core reasons are concatenated in order.
+    private List<Conjunction<CoreLiteral>> computeCoreReasons(List<Conjunction<CAATLiteral>> baseReasons, boolean simplify) {
+        List<Conjunction<CoreLiteral>> coreReasons = new ArrayList<>(baseReasons.size());
+        if (threads <= 1 || baseReasons.size() < 2) {
+            for (Conjunction<CAATLiteral> baseReason : baseReasons) {
+                coreReasons.addAll(reasoner.toCoreReasons(baseReason, simplify));
+            }
+            return coreReasons;
+        }
+
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads,
+                    new ThreadFactoryBuilder().setNameFormat("core-reasoning-%d").setDaemon(true).build());
+        }
+        List<Future<List<Conjunction<CoreLiteral>>>> futures = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            List<Conjunction<CAATLiteral>> slice = baseReasons.subList(
+                    baseReasons.size() * w / threads, baseReasons.size() * (w + 1) / threads);
+            futures.add(executor.submit(() -> {
+                List<Conjunction<CoreLiteral>> sliceReasons = new ArrayList<>(slice.size());
+                for (Conjunction<CAATLiteral> baseReason : slice) {
+                    sliceReasons.addAll(reasoner.toCoreReasons(baseReason, simplify));
+                }
+                return sliceReasons;
+            }));
+        }
+        try {
+            for (Future<List<Conjunction<CoreLiteral>>> future : futures) {
+                coreReasons.addAll(getResult(future));
+            }
+        } catch (RuntimeException e) {
+            // The executor outlives this call, so the remaining workers must not keep running.
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return coreReasons;
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during core reason computation", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
 
     // ===================== Classes ======================
 
     public static class Result {
         private CAATSolver.Status status;
         private DNF<CoreLiteral> coreReasons;
+        private DNF<CoreLiteral> unsimplifiedCoreReasons;
         private Statistics stats;
 
         public CAATSolver.Status getStatus() { return status; }
         public DNF<CoreLiteral> getCoreReasons() { return coreReasons; }
+        // Only computed if the solver was asked to (see <setComputeUnsimplifiedReasons>).
+        public DNF<CoreLiteral> getUnsimplifiedCoreReasons() { return unsimplifiedCoreReasons; }
         public Statistics getStatistics() { return stats; }
 
         Result() {
             status = CAATSolver.Status.INCONCLUSIVE;
             coreReasons = DNF.FALSE();
+            unsimplifiedCoreReasons = DNF.FALSE();
         }
 
         static Result fromCAATResult(CAATSolver.Result caatResult) {
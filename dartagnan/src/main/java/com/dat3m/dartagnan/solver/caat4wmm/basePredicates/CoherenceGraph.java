@@ -6,30 +6,28 @@ import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
 import com.dat3m.dartagnan.verification.model.EventData;
 import com.google.common.collect.Iterators;
 
-import java.math.BigInteger;
-import java.util.*;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.Spliterator.*;
 
+// Enumerates the edges from the coherence order of the model, without materializing them.
+// See IncrementalCoherenceGraph for the materialized version used by incremental model updates.
 public class CoherenceGraph extends StaticWMMGraph {
 
-    private Map<BigInteger, List<EventData>> coMap;
-
     @Override
     public int size(int id, EdgeDirection dir) {
         EventData e = getEvent(id);
         if (!e.isWrite()) {
             return 0;
         }
-        List<EventData> sameAddrWrites = coMap.get(e.getAccessedAddress());
-        if (sameAddrWrites == null) {
-            return 0;
-        }
         int index = e.getCoherenceIndex();
-        return dir == EdgeDirection.INGOING ? (index - 1) : (sameAddrWrites.size() - index - 1);
+        return dir == EdgeDirection.INGOING ? index : (model.getCoherence(e.getLocation()).size() - index - 1);
     }
 
     @Override
@@ -37,14 +35,16 @@ public class CoherenceGraph extends StaticWMMGraph {
         EventData a = getEvent(id1);
         EventData b = getEvent(id2);
         return a.getCoherenceIndex() < b.getCoherenceIndex() && a.isWrite() && b.isWrite()
-                && a.getAccessedAddress().equals(b.getAccessedAddress());
+                && a.getLocation() == b.getLocation();
     }
 
     @Override
     public void repopulate() {
-        coMap = new HashMap<>(model.getCoherenceMap());
-        coMap.values().removeIf(list -> list.size() <= 1);
-        autoComputeSize();
+        // The coherence order of each location is maintained by the model, so there is nothing to copy.
+        for (int loc = 0; loc < model.getLocationCount(); loc++) {
+            int writes = model.getCoherence(loc).size();
+            size += writes * (writes - 1) / 2;
+        }
     }
 
     @Override
@@ -83,10 +83,7 @@ public class CoherenceGraph extends StaticWMMGraph {
     }
 
     private List<EventData> getCoSuccessorList(EventData e, EdgeDirection dir) {
-        List<EventData> sameAddrWrites = coMap.get(e.getAccessedAddress());
-        if (sameAddrWrites == null) {
-            return Collections.emptyList();
-        }
+        List<EventData> sameAddrWrites = model.getCoherence(e.getLocation());
         int index = e.getCoherenceIndex();
         return (dir == EdgeDirection.INGOING ?
                 sameAddrWrites.subList(0, index)
@@ -95,7 +92,7 @@ public class CoherenceGraph extends StaticWMMGraph {
 
     private class CoIterator implements Iterator<Edge> {
 
-        private final Iterator<List<EventData>> coListIterator = coMap.values().iterator();
+        private int location = -1;
         private List<EventData> curList = Collections.emptyList();
         private int low = 0, high = 0;
         private Edge edge;
@@ -109,14 +106,15 @@ public class CoherenceGraph extends StaticWMMGraph {
                 if (++low < curList.size() - 1) {
                     high = low + 1;
                 } else {
-                    if (coListIterator.hasNext()) {
-                        curList = coListIterator.next();
-                        low = 0;
-                        high = 1;
-                    } else {
-                        edge = null;
-                        return;
-                    }
+                    do {
+                        if (++location >= model.getLocationCount()) {
+                            edge = null;
+                            return;
+                        }
+                        curList = model.getCoherence(location);
+                    } while (curList.size() <= 1);
+                    low = 0;
+                    high = 1;
                 }
             }
             edge = new Edge(curList.get(low).getId(), curList.get(high).getId());
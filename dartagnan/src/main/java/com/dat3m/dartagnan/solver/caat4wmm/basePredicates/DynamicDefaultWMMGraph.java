@@ -40,7 +40,10 @@ public class DynamicDefaultWMMGraph extends MaterializedWMMGraph {
                 Optional<EventData> d1 = model.getData(e1);
                 Optional<EventData> d2 = model.getData(e2);
                 if (d1.isPresent() && d2.isPresent()) {
-                    simpleGraph.add(getEdgeFromEventData(d1.get(), d2.get(), m, edge));
+                    Edge e = getEdgeFromEventData(d1.get(), d2.get(), m, edge);
+                    if (e != null) {
+                        simpleGraph.add(e);
+                    }
                 }
             });
         } else {
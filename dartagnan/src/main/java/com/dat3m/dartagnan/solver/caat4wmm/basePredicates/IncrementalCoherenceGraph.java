@@ -0,0 +1,28 @@
+package com.dat3m.dartagnan.solver.caat4wmm.basePredicates;
+
+
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.verification.model.EventData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Materializes all coherence edges, which is only needed for incremental model updates (see CoherenceGraph).
+public class IncrementalCoherenceGraph extends IncrementalWMMGraph {
+
+    @Override
+    public List<Edge> computeEdges() {
+        List<Edge> edges = new ArrayList<>();
+        // Coherence is a total order over the writes to each address.
+        for (int loc = 0; loc < model.getLocationCount(); loc++) {
+            List<EventData> sameAddrWrites = model.getCoherence(loc);
+            for (int i = 0; i < sameAddrWrites.size(); i++) {
+                int first = sameAddrWrites.get(i).getId();
+                for (int j = i + 1; j < sameAddrWrites.size(); j++) {
+                    edges.add(new Edge(first, sameAddrWrites.get(j).getId()));
+                }
+            }
+        }
+        return edges;
+    }
+}
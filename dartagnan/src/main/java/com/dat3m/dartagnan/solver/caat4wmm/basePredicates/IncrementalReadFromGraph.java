@@ -0,0 +1,22 @@
+package com.dat3m.dartagnan.solver.caat4wmm.basePredicates;
+
+
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.verification.model.EventData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Materializes the rf edges, which is only needed for incremental model updates (see ReadFromGraph).
+public class IncrementalReadFromGraph extends IncrementalWMMGraph {
+
+    @Override
+    public List<Edge> computeEdges() {
+        List<Edge> edges = new ArrayList<>(model.getReadWriteMap().size());
+        for (Map.Entry<EventData, EventData> readWrite : model.getReadWriteMap().entrySet()) {
+            edges.add(new Edge(readWrite.getValue().getId(), readWrite.getKey().getId()));
+        }
+        return edges;
+    }
+}
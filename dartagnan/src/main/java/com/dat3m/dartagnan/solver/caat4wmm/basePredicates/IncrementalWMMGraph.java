@@ -0,0 +1,40 @@
+package com.dat3m.dartagnan.solver.caat4wmm.basePredicates;
+
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+    A materialized base graph whose edges depend on the values of an execution (e.g. rf and co)
+    rather than just on its events.
+    A deferred graph stays empty during population and receives its edges via propagation instead.
+    Since propagated edges carry timestamps, they can be removed again by backtracking,
+    so that the execution graph can switch between executions that only differ in few edges
+    without repopulating all derived graphs.
+ */
+public abstract class IncrementalWMMGraph extends MaterializedWMMGraph {
+
+    private boolean deferred = false;
+
+    public void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    // Computes the edges of this graph in the current execution, independent of the edges it currently contains.
+    public abstract List<Edge> computeEdges();
+
+    @Override
+    public void repopulate() {
+        if (!deferred) {
+            simpleGraph.addAll(computeEdges());
+        }
+    }
+
+    @Override
+    public Collection<Edge> forwardPropagate(CAATPredicate changedSource, Collection<? extends Derivable> added) {
+        return simpleGraph.forwardPropagate(changedSource, added);
+    }
+}
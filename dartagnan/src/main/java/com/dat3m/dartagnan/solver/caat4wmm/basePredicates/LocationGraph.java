@@ -4,46 +4,41 @@ import com.dat3m.dartagnan.solver.caat.misc.EdgeDirection;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
 import com.dat3m.dartagnan.verification.model.EventData;
 
-import java.math.BigInteger;
-import java.util.*;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 // NOTE: Unlike RelLoc, this graph is reflexive!
 public class LocationGraph extends StaticWMMGraph {
 
-    private Map<BigInteger, Set<EventData>> addrEventsMap;
-
     @Override
     public boolean containsById(int id1, int id2) {
         EventData a = getEvent(id1);
         EventData b = getEvent(id2);
-        return a.isMemoryEvent() && b.isMemoryEvent() && a.getAccessedAddress().equals(b.getAccessedAddress());
+        return a.isMemoryEvent() && b.isMemoryEvent() && a.getLocation() == b.getLocation();
     }
 
     @Override
     public int size(int id, EdgeDirection dir) {
         EventData e = getEvent(id);
-        return e.isMemoryEvent() ? addrEventsMap.get(e.getAccessedAddress()).size() : 0;
+        return e.isMemoryEvent() ? model.getAccesses(e.getLocation()).size() : 0;
     }
 
     @Override
     public void repopulate() {
-        addrEventsMap = new HashMap<>(model.getAddressReadsMap().size());
-        for (BigInteger addr : model.getAddressReadsMap().keySet()) {
-            // TODO: This can be improved via a disjoint union class
-            Set<EventData> events = new HashSet<>(model.getAddressReadsMap().get(addr));
-            events.addAll(model.getAddressWritesMap().get(addr));
-            size += events.size() * events.size();
-            addrEventsMap.put(addr, events);
+        // The accesses of each location are maintained by the model, so there is nothing to copy.
+        for (int loc = 0; loc < model.getLocationCount(); loc++) {
+            int accesses = model.getAccesses(loc).size();
+            size += accesses * accesses;
         }
     }
 
 
     @Override
     public Stream<Edge> edgeStream() {
-        return addrEventsMap.values().stream().flatMap(Collection::stream)
-                .flatMap(x -> edgeStream(x.getId(), EdgeDirection.OUTGOING));
+        return IntStream.range(0, model.getLocationCount())
+                .mapToObj(model::getAccesses)
+                .flatMap(accesses -> accesses.stream().flatMap(x -> edgeStream(x.getId(), EdgeDirection.OUTGOING)));
     }
 
     @Override
@@ -54,7 +49,7 @@ public class LocationGraph extends StaticWMMGraph {
         }
         Function<EventData, Edge> edgeMapping = dir == EdgeDirection.OUTGOING ?
                 (x -> new Edge(id, x.getId())) : (x -> new Edge(x.getId(), id));
-        return addrEventsMap.get(e.getAccessedAddress()).stream().map(edgeMapping);
+        return model.getAccesses(e.getLocation()).stream().map(edgeMapping);
     }
 
 }
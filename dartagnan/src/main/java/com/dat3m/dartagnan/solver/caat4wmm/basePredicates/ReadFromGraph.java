@@ -7,6 +7,8 @@ import com.dat3m.dartagnan.verification.model.EventData;
 
 import java.util.stream.Stream;
 
+// Enumerates the edges from the reads-from map of the model, without materializing them.
+// See IncrementalReadFromGraph for the materialized version used by incremental model updates.
 public class ReadFromGraph extends StaticWMMGraph {
 
     @Override
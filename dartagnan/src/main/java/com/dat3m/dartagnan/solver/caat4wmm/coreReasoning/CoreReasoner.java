@@ -56,6 +56,13 @@ public class CoreReasoner {
     // Returns the (reduced) core reason of a base reason. If symmetry reasoning is enabled,
     // this can return multiple core reasons corresponding to symmetric versions of the base reason.
     public Set<Conjunction<CoreLiteral>> toCoreReasons(Conjunction<CAATLiteral> baseReason) {
+        return toCoreReasons(baseReason, true);
+    }
+
+    // If <simplify> is false, the reasons keep the literals that the static knowledge about the program
+    // makes redundant: statically present or absent edges and implied executions.
+    // Such reasons do not depend on the analyses, so they also hold for other unrollings of the same program.
+    public Set<Conjunction<CoreLiteral>> toCoreReasons(Conjunction<CAATLiteral> baseReason, boolean simplify) {
         final EventDomain domain = executionGraph.getDomain();
         final Set<Conjunction<CoreLiteral>> symmetricReasons = new HashSet<>();
 
@@ -76,15 +83,18 @@ public class CoreReasoner {
                     final Event e2 = perm.apply(domain.getObjectById(edge.getSecond()).getEvent());
                     final Relation rel = termMap.get(lit.getName());
 
-                    if (lit.isPositive() && ra.getKnowledge(rel).getMustSet().contains(e1, e2)) {
+                    final String name = rel.getNameOrTerm();
+                    final boolean isRelLiteral = name.equals(RF) || name.equals(CO)
+                            || executionGraph.getCutRelations().contains(rel);
+                    final boolean isDynamic = isRelLiteral || name.equals(LOC);
+                    if (simplify && lit.isPositive() && ra.getKnowledge(rel).getMustSet().contains(e1, e2)) {
                         // Statically present edges
-                        addExecReason(e1, e2, coreReason);
-                    } else if (lit.isNegative() && !ra.getKnowledge(rel).getMaySet().contains(e1, e2)) {
+                        addExecReason(e1, e2, coreReason, true);
+                    } else if ((simplify || !isDynamic) && lit.isNegative()
+                            && !ra.getKnowledge(rel).getMaySet().contains(e1, e2)) {
                         // Statically absent edges
                     } else {
-                        final String name = rel.getNameOrTerm();
-                        if (name.equals(RF) || name.equals(CO)
-                                || executionGraph.getCutRelations().contains(rel)) {
+                        if (isRelLiteral) {
                             coreReason.add(new RelLiteral(name, e1, e2, lit.isNegative()));
                         } else if (name.equals(LOC)) {
                             coreReason.add(new AddressLiteral(e1, e2, lit.isNegative()));
@@ -94,7 +104,7 @@ public class CoreReasoner {
                             if (lit.isNegative()) {
                                 throw new UnsupportedOperationException(String.format("FenceRel %s is not allowed on the rhs of differences.", rel));
                             }
-                            addFenceReason(rel, edge, coreReason);
+                            addFenceReason(rel, edge, coreReason, simplify);
                         } else {
                             // FIXME: Right now, we assume many relations like data, ctrl and addr to be static.
                             //  In order to fix this, we would need to cut/eagerly encode the dependency relations.
@@ -102,12 +112,14 @@ public class CoreReasoner {
                                 // TODO: Support negated literals (ideally via lazy/on-demand cutting)
                                 throw new UnsupportedOperationException(String.format("Negated literals of type %s are not supported.", rel));
                             }
-                            addExecReason(e1, e2, coreReason);
+                            addExecReason(e1, e2, coreReason, simplify);
                         }
                     }
                 }
             }
-            minimize(coreReason);
+            if (simplify) {
+                minimize(coreReason);
+            }
             symmetricReasons.add(new Conjunction<>(coreReason));
         }
 
@@ -129,7 +141,7 @@ public class CoreReasoner {
         });
     }
 
-    private void addExecReason(Event e1, Event e2, List<CoreLiteral> coreReasons) {
+    private void addExecReason(Event e1, Event e2, List<CoreLiteral> coreReasons, boolean simplify) {
         if (e1.getGlobalId() > e2.getGlobalId()) {
             // Normalize edge direction
             Event temp = e1;
@@ -137,9 +149,9 @@ public class CoreReasoner {
             e2 = temp;
         }
 
-        if (exec.isImplied(e1, e2)) {
+        if (simplify && exec.isImplied(e1, e2)) {
             coreReasons.add(new ExecLiteral(e1));
-        } else if (exec.isImplied(e2, e1)) {
+        } else if (simplify && exec.isImplied(e2, e1)) {
             coreReasons.add(new ExecLiteral(e2));
         } else {
             coreReasons.add(new ExecLiteral(e1));
@@ -147,7 +159,7 @@ public class CoreReasoner {
         }
     }
 
-    private void addFenceReason(Relation rel, Edge edge, List<CoreLiteral> coreReasons) {
+    private void addFenceReason(Relation rel, Edge edge, List<CoreLiteral> coreReasons, boolean simplify) {
         FenceGraph fenceGraph = (FenceGraph) executionGraph.getRelationGraph(rel);
         EventDomain domain = executionGraph.getDomain();
         EventData e1 = domain.getObjectById(edge.getFirst());
@@ -155,10 +167,10 @@ public class CoreReasoner {
         EventData f = fenceGraph.getNextFence(e1);
 
         coreReasons.add(new ExecLiteral(f.getEvent()));
-        if (!exec.isImplied(f.getEvent(), e1.getEvent())) {
+        if (!simplify || !exec.isImplied(f.getEvent(), e1.getEvent())) {
             coreReasons.add(new ExecLiteral(e1.getEvent()));
         }
-        if (!exec.isImplied(f.getEvent(), e2.getEvent())) {
+        if (!simplify || !exec.isImplied(f.getEvent(), e2.getEvent())) {
             coreReasons.add(new ExecLiteral(e2.getEvent()));
         }
     }
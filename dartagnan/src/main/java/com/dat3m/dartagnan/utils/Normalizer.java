@@ -1,10 +1,12 @@
 package com.dat3m.dartagnan.utils;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Normalizer {
 
-    private final HashMap<Object, Object> map = new HashMap<>();
+    // Concurrent, since programs of different tasks may be parsed at the same time.
+    private final Map<Object, Object> map = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unchecked")
     public <T> T normalize(T obj) {
@@ -0,0 +1,147 @@
+package com.dat3m.dartagnan.utils.collections;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Open-addressing hash map from primitive longs to non-null values.
+// It avoids boxing the keys and allocating entry objects, which matters for maps with millions of lookups.
+// Empty slots are marked by null values, so null values cannot be stored.
+// Removal is not supported.
+
+public final class LongMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private V[] values;
+    private int size;
+
+    public LongMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, 2 * expectedSize) - 1) << 1;
+        keys = new long[capacity];
+        values = newArray(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(long key) {
+        final int mask = keys.length - 1;
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    // Returns the previous value associated with the key, or null if there was none.
+    public V put(long key, V value) {
+        checkNotNull(value);
+        final int slot = findSlot(key);
+        final V previous = values[slot];
+        if (previous == null) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+        return previous;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        final int slot = findSlot(key);
+        if (values[slot] != null) {
+            return values[slot];
+        }
+        final long[] table = keys;
+        final int oldSize = size;
+        final V value = checkNotNull(mappingFunction.apply(key));
+        if (keys != table || size != oldSize) {
+            // The mapping function has modified this map.
+            put(key, value);
+        } else {
+            insert(slot, key, value);
+        }
+        return value;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Packs two non-negative integers, e.g. the ids of two events, into a single key.
+    public static long pair(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    // ================================================================================================
+    // Internals
+
+    private int findSlot(long key) {
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insert(int slot, long key, V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (2 * ++size > keys.length) {
+            rehash(2 * keys.length);
+        }
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final V[] oldValues = values;
+        keys = new long[capacity];
+        values = newArray(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V[] newArray(int capacity) {
+        return (V[]) new Object[capacity];
+    }
+
+    // Finalization step of MurmurHash3, which spreads both halves of a paired key over the low bits.
+    // Shared with other open-addressing tables over long keys, such as EdgeTable.
+    public static int hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
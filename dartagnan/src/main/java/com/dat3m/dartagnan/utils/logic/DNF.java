@@ -86,23 +86,18 @@ public class DNF<T extends Literal<T>> implements PartialOrder<DNF<T>> {
     }
 
     // Keeps the DNF minimal (without self-subsumption or any other advanced techniques)
+    // The cubes are added to a subsumption index by increasing size, so that a cube can only be subsumed
+    // by cubes that were added before it.
     private void reduce() {
-        for (Iterator<Conjunction<T>> it = reasons.iterator(); it.hasNext(); ) {
-            Conjunction<T> cube = it.next();
-            if (cube.isFalse()) {
-                it.remove();
-                continue;
-            } // We could also shortcut when finding a true cube
-
-            boolean isDominated = false;
-            for (Conjunction<T> cube2 : reasons) {
-                if (cube.compareToPartial(cube2) == OrderResult.GT) {
-                    isDominated = true;
-                    break;
-                }
-            }
-            if (isDominated) {
-                it.remove();
+        if (reasons.isEmpty()) {
+            return;
+        }
+        List<Conjunction<T>> cubes = new ArrayList<>(reasons);
+        cubes.sort(Comparator.comparingInt(Conjunction::getSize));
+        SubsumptionIndex<T> index = new SubsumptionIndex<>();
+        for (Conjunction<T> cube : cubes) {
+            if (!index.add(cube)) {
+                reasons.remove(cube);
             }
         }
     }
@@ -229,9 +224,15 @@ public class DNF<T extends Literal<T>> implements PartialOrder<DNF<T>> {
             return this;
         }
 
-        HashSet<Conjunction<T>> result = new HashSet<>(this.reasons);
-        result.addAll(other.reasons);
-        return new DNF<>(result);
+        // Both operands are reduced, so only the cubes of the smaller one need to be merged into the other.
+        DNF<T> larger = this.getNumberOfCubes() >= other.getNumberOfCubes() ? this : other;
+        DNF<T> smaller = larger == this ? other : this;
+        SubsumptionIndex<T> index = new SubsumptionIndex<>(larger.reasons);
+        boolean changed = false;
+        for (Conjunction<T> cube : smaller.reasons) {
+            changed |= index.add(cube);
+        }
+        return changed ? new DNF<>(index.getCubes(), false) : larger;
     }
 
     public DNF<T> and(DNF<T> other) {
@@ -0,0 +1,148 @@
+package com.dat3m.dartagnan.utils.logic;
+
+import java.util.*;
+
+// A mutable set of cubes where no cube subsumes (is a subset of) another cube.
+// The cubes are indexed by their literals, so that subsumption checks only visit cubes
+// that share literals with the queried cube instead of scanning all cubes.
+final class SubsumptionIndex<T extends Literal<T>> {
+
+    // Cubes by id. Removed cubes leave a null entry.
+    private final List<Conjunction<T>> cubes = new ArrayList<>();
+    // The ids of all cubes (including removed ones) that contain a literal.
+    private final Map<T, Occurrences> occurrences = new HashMap<>();
+    private int size = 0;
+    private boolean containsTrue = false;
+
+    // Per-id counters of matched literals, valid only if the stamp matches the current epoch.
+    private int[] counts = new int[0];
+    private int[] stamps = new int[0];
+    private int epoch = 0;
+
+    SubsumptionIndex() {}
+
+    // <cubes> must not contain FALSE or cubes that subsume each other.
+    SubsumptionIndex(Collection<Conjunction<T>> reducedCubes) {
+        reducedCubes.forEach(this::insert);
+    }
+
+    int size() {
+        return size;
+    }
+
+    Set<Conjunction<T>> getCubes() {
+        Set<Conjunction<T>> result = new HashSet<>(size * 4 / 3 + 1);
+        for (Conjunction<T> cube : cubes) {
+            if (cube != null) {
+                result.add(cube);
+            }
+        }
+        return result;
+    }
+
+    // Adds <cube> unless it is FALSE or subsumed by some cube of the index,
+    // and removes all cubes that <cube> subsumes.
+    boolean add(Conjunction<T> cube) {
+        if (cube.isFalse() || isSubsumed(cube)) {
+            return false;
+        }
+        removeSubsumedBy(cube);
+        insert(cube);
+        return true;
+    }
+
+    // Returns true if some cube of the index is a subset of (or equal to) <cube>.
+    boolean isSubsumed(Conjunction<T> cube) {
+        if (containsTrue) {
+            return true;
+        }
+        nextEpoch();
+        for (T literal : cube.getLiterals()) {
+            Occurrences occ = occurrences.get(literal);
+            if (occ == null) {
+                continue;
+            }
+            for (int i = 0; i < occ.size; i++) {
+                final int id = occ.ids[i];
+                final Conjunction<T> other = cubes.get(id);
+                if (other == null) {
+                    continue;
+                }
+                final int count = stamps[id] == epoch ? counts[id] + 1 : 1;
+                if (count == other.getSize()) {
+                    return true;
+                }
+                stamps[id] = epoch;
+                counts[id] = count;
+            }
+        }
+        return false;
+    }
+
+    // Removes all cubes that are proper supersets of <cube>.
+    private void removeSubsumedBy(Conjunction<T> cube) {
+        if (cube.isTrue()) {
+            cubes.clear();
+            occurrences.clear();
+            size = 0;
+            return;
+        }
+        // Every superset of <cube> contains its rarest literal.
+        Occurrences rarest = null;
+        for (T literal : cube.getLiterals()) {
+            Occurrences occ = occurrences.get(literal);
+            if (occ == null) {
+                return;
+            }
+            if (rarest == null || occ.size < rarest.size) {
+                rarest = occ;
+            }
+        }
+        final Set<T> literals = cube.getLiterals();
+        for (int i = 0; i < rarest.size; i++) {
+            final int id = rarest.ids[i];
+            final Conjunction<T> other = cubes.get(id);
+            if (other != null && other.getSize() > cube.getSize() && other.getLiterals().containsAll(literals)) {
+                cubes.set(id, null);
+                size--;
+            }
+        }
+    }
+
+    private void insert(Conjunction<T> cube) {
+        final int id = cubes.size();
+        cubes.add(cube);
+        size++;
+        if (cube.isTrue()) {
+            containsTrue = true;
+            return;
+        }
+        if (id >= counts.length) {
+            final int newCapacity = Math.max(16, 2 * id);
+            counts = Arrays.copyOf(counts, newCapacity);
+            stamps = Arrays.copyOf(stamps, newCapacity);
+        }
+        for (T literal : cube.getLiterals()) {
+            occurrences.computeIfAbsent(literal, k -> new Occurrences()).add(id);
+        }
+    }
+
+    private void nextEpoch() {
+        if (++epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    private static final class Occurrences {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size++] = id;
+        }
+    }
+}
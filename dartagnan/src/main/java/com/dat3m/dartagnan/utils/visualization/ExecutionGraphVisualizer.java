@@ -120,7 +120,7 @@ public class ExecutionGraphVisualizer {
                 continue;
             }
 
-            List<EventData> co = model.getCoherenceMap().get(w.getAccessedAddress());
+            List<EventData> co = model.getCoherence(w.getLocation());
             // Check if exists w2 : co(w, w2)
             if (co.indexOf(w) + 1 < co.size()) {
                 EventData w2 = co.get(co.indexOf(w) + 1);
@@ -138,7 +138,8 @@ public class ExecutionGraphVisualizer {
         graphviz.beginSubgraph("Coherence");
         graphviz.setEdgeAttributes("color=red");
 
-        for (List<EventData> co : model.getCoherenceMap().values()) {
+        for (int loc = 0; loc < model.getLocationCount(); loc++) {
+            List<EventData> co = model.getCoherence(loc);
             for (int i = 2; i < co.size(); i++) {
                 // We skip the init writes
                 EventData w1 = co.get(i - 1);
@@ -0,0 +1,77 @@
+package com.dat3m.dartagnan.verification;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.Thread;
+import com.dat3m.dartagnan.program.event.core.Event;
+import com.dat3m.dartagnan.program.memory.MemoryObject;
+import com.dat3m.dartagnan.wmm.Wmm;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/*
+    Hashes a task after processing, for caches that store results derived from the processed program
+    and the memory model.
+    The hash covers the processed program (including the global ids of its events), the memory model,
+    the options accepted by <isRelevantOption>, and a version chosen by the cache.
+    Options that only affect the processing (e.g. the bound) can be left out, since the processed program
+    reflects them.
+ */
+public final class TaskFingerprint {
+
+    private TaskFingerprint() {
+    }
+
+    public static String compute(VerificationTask task, int version, Predicate<String> isRelevantOption) {
+        Hasher hasher = newHasher(task, version, isRelevantOption);
+        putProgram(hasher, task.getProgram());
+        putMemoryModel(hasher, task.getMemoryModel());
+        return hasher.hash().toString();
+    }
+
+    private static Hasher newHasher(VerificationTask task, int version, Predicate<String> isRelevantOption) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(version);
+        putString(hasher, task.getConfig().asPropertiesString().lines()
+                .filter(isRelevantOption)
+                .sorted()
+                .toList()
+                .toString());
+        return hasher;
+    }
+
+    private static void putProgram(Hasher hasher, Program program) {
+        putString(hasher, String.valueOf(program.getArch()));
+        for (MemoryObject object : program.getMemory().getObjects().stream()
+                .sorted(Comparator.comparing(MemoryObject::toString)).toList()) {
+            putString(hasher, object + "[" + object.size() + "]" + object.isThreadLocal() + object.isAtomic());
+        }
+        for (Thread thread : program.getThreads()) {
+            hasher.putInt(thread.getId());
+            for (Event e : thread.getEvents()) {
+                hasher.putInt(e.getGlobalId());
+                putString(hasher, e.getClass().getName());
+                putString(hasher, new TreeSet<>(e.getTags()).toString());
+                putString(hasher, e.toString());
+            }
+        }
+    }
+
+    private static void putMemoryModel(Hasher hasher, Wmm memoryModel) {
+        putString(hasher, memoryModel.toString());
+        putString(hasher, memoryModel.getRelations().stream()
+                .map(r -> r.getNameOrTerm() + (r.isInternal() ? "*" : "") + " := " + r.getDefinition())
+                .sorted()
+                .toList()
+                .toString());
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length());
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+}
@@ -17,6 +17,7 @@ public class EventData implements Comparable<EventData> {
     private int localId = -1;
     private BigInteger value;
     private BigInteger accessedAddress;
+    private int location = -1;
     private int coIndex = Integer.MIN_VALUE;
     private boolean wasExecuted;
 
@@ -52,6 +53,14 @@ public class EventData implements Comparable<EventData> {
     	accessedAddress = address;
     }
 
+    // Index of the accessed address among all addresses accessed in the model, see ExecutionModel.getAddress.
+    public int getLocation() {
+        return location;
+    }
+    void setLocation(int index) {
+        location = index;
+    }
+
     public BigInteger getValue() {
     	return value;
     }
@@ -12,6 +12,7 @@ import com.dat3m.dartagnan.program.event.core.utils.RegWriter;
 import com.dat3m.dartagnan.program.event.lang.svcomp.BeginAtomic;
 import com.dat3m.dartagnan.program.event.lang.svcomp.EndAtomic;
 import com.dat3m.dartagnan.program.filter.Filter;
+import com.dat3m.dartagnan.utils.collections.LongMap;
 import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.Wmm;
@@ -62,17 +63,17 @@ public class ExecutionModel {
     private final Map<EventData, EventData> readWriteMap;
     private final Map<EventData, Set<EventData>> writeReadsMap;
     private final Map<String, Set<EventData>> fenceMap;
-    private final Map<BigInteger, Set<EventData>> addressReadsMap;
-    private final Map<BigInteger, Set<EventData>> addressWritesMap; // This ALSO contains the init writes
-    private final Map<BigInteger, EventData> addressInitMap;
-    //Note, we could merge the three above maps into a single one that holds writes, reads and init writes.
+    // Accessed addresses are indexed densely in the order of their first access.
+    // Addresses are looked up by their long value, only addresses that do not fit into a long use BigInteger keys.
+    private final LongMap<Location> locationByAddress;
+    private final Map<BigInteger, Location> locationByWideAddress;
+    private final List<Location> locations;
+    private int locationCount;
 
     private final Map<EventData, Set<EventData>> dataDepMap;
     private final Map<EventData, Set<EventData>> addrDepMap;
     private final Map<EventData, Set<EventData>> ctrlDepMap;
 
-    private final Map<BigInteger, List<EventData>> coherenceMap;
-
     // The following are a read-only views which get passed to the outside
     private List<EventData> eventListView;
     private List<Thread> threadListView;
@@ -81,16 +82,11 @@ public class ExecutionModel {
     private Map<EventData, EventData> readWriteMapView;
     private Map<EventData, Set<EventData>> writeReadsMapView;
     private Map<String, Set<EventData>> fenceMapView;
-    private Map<BigInteger, Set<EventData>> addressReadsMapView;
-    private Map<BigInteger, Set<EventData>> addressWritesMapView;
-    private Map<BigInteger, EventData> addressInitMapView;
 
     private Map<EventData, Set<EventData>> dataDepMapView;
     private Map<EventData, Set<EventData>> addrDepMapView;
     private Map<EventData, Set<EventData>> ctrlDepMapView;
 
-    private Map<BigInteger, List<EventData>> coherenceMapView;
-
     private ExecutionModel(EncodingContext c) {
         this.encodingContext = checkNotNull(c);
 
@@ -101,14 +97,13 @@ public class ExecutionModel {
         readWriteMap = new HashMap<>();
         writeReadsMap = new HashMap<>();
         fenceMap = new HashMap<>();
-        addressReadsMap = new HashMap<>();
-        addressWritesMap = new HashMap<>();
-        addressInitMap = new HashMap<>();
+        locationByAddress = new LongMap<>();
+        locationByWideAddress = new HashMap<>();
+        locations = new ArrayList<>();
         eventMap = new EventMap();
         dataDepMap = new HashMap<>();
         addrDepMap = new HashMap<>();
         ctrlDepMap = new HashMap<>();
-        coherenceMap = new HashMap<>();
 
         createViews();
     }
@@ -125,13 +120,9 @@ public class ExecutionModel {
         readWriteMapView = Collections.unmodifiableMap(readWriteMap);
         writeReadsMapView = Collections.unmodifiableMap(writeReadsMap);
         fenceMapView = Collections.unmodifiableMap(fenceMap);
-        addressReadsMapView = Collections.unmodifiableMap(addressReadsMap);
-        addressWritesMapView = Collections.unmodifiableMap(addressWritesMap);
-        addressInitMapView = Collections.unmodifiableMap(addressInitMap);
         dataDepMapView = Collections.unmodifiableMap(dataDepMap);
         addrDepMapView = Collections.unmodifiableMap(addrDepMap);
         ctrlDepMapView = Collections.unmodifiableMap(ctrlDepMap);
-        coherenceMapView = Collections.unmodifiableMap(coherenceMap);
     }
 
     //======================== Public data ===========================‚
@@ -184,19 +175,21 @@ public class ExecutionModel {
     public Map<String, Set<EventData>> getFenceMap() {
         return fenceMapView;
     }
-    public Map<BigInteger, Set<EventData>> getAddressReadsMap() {
-        return addressReadsMapView;
-    }
-    public Map<BigInteger, Set<EventData>> getAddressWritesMap() {
-        return addressWritesMapView;
-    }
-    public Map<BigInteger, EventData> getAddressInitMap() {
-        return addressInitMapView;
-    }
     public Map<EventData, Set<EventData>> getAddrDepMap() { return addrDepMapView; }
     public Map<EventData, Set<EventData>> getDataDepMap() { return dataDepMapView; }
     public Map<EventData, Set<EventData>> getCtrlDepMap() { return ctrlDepMapView; }
-    public Map<BigInteger, List<EventData>> getCoherenceMap() { return coherenceMapView; }
+
+    // Locations are the indices of the accessed addresses, see EventData.getLocation.
+    public int getLocationCount() { return locationCount; }
+    public BigInteger getAddress(int location) { return getLocation(location).address; }
+    public List<EventData> getReads(int location) { return getLocation(location).readsView; }
+    // This ALSO contains the init write
+    public List<EventData> getWrites(int location) { return getLocation(location).writesView; }
+    // Reads and writes in extraction order (no caller relies on a specific order)
+    public List<EventData> getAccesses(int location) { return getLocation(location).accessesView; }
+    public Optional<EventData> getInitWrite(int location) { return Optional.ofNullable(getLocation(location).init); }
+    // Writes in coherence order, if coherences were extracted
+    public List<EventData> getCoherence(int location) { return getLocation(location).coherence; }
 
 
 
@@ -230,7 +223,6 @@ public class ExecutionModel {
         this.extractCoherences = extractCoherences;
         extractEventsFromModel();
         extractReadsFrom();
-        coherenceMap.clear();
         if (extractCoherences) {
             extractCoherences();
         }
@@ -246,9 +238,9 @@ public class ExecutionModel {
         threadList.clear();
         threadEventsMap.clear();
         atomicBlocksMap.clear();
-        addressInitMap.clear(); // This one can probably be constant and need not be rebuilt!
-        addressWritesMap.clear();
-        addressReadsMap.clear();
+        locationByAddress.clear();
+        locationByWideAddress.clear();
+        locationCount = 0;
         writeReadsMap.clear();
         fenceMap.clear();
         eventMap.clear();
@@ -330,34 +322,29 @@ public class ExecutionModel {
         if (data.isMemoryEvent()) {
             // ===== Memory Events =====
             Object addressObject = checkNotNull(model.evaluate(encodingContext.address((MemoryEvent) e)));
-            BigInteger address = new BigInteger(addressObject.toString());
+            BigInteger address = toBigInteger(addressObject);
             data.setAccessedAddress(address);
-            if (!addressReadsMap.containsKey(address)) {
-                addressReadsMap.put(address, new HashSet<>());
-                addressWritesMap.put(address, new HashSet<>());
-            }
+            Location location = getOrCreateLocation(address);
+            data.setLocation(location.index);
 
             if (data.isRead() || data.isWrite()) {
                 Formula valueFormula = encodingContext.value((MemoryCoreEvent)e);
                 assert valueFormula != null;
-                String valueString = String.valueOf(model.evaluate(valueFormula));
-                BigInteger value = switch(valueString) {
-                    // NULL case can happen if the solver optimized away a variable.
-                    // This should only happen if the value is irrelevant, so we will just pick 0.
-                    case "false", "null" -> BigInteger.ZERO;
-                    case "true" -> BigInteger.ONE;
-                    default -> new BigInteger(valueString);
-                };
-                data.setValue(value);
+                // NULL case can happen if the solver optimized away a variable.
+                // This should only happen if the value is irrelevant, so we will just pick 0.
+                Object valueObject = model.evaluate(valueFormula);
+                data.setValue(valueObject == null ? BigInteger.ZERO : toBigInteger(valueObject));
             }
 
             if (data.isRead()) {
-                addressReadsMap.get(address).add(data);
+                location.reads.add(data);
+                location.accesses.add(data);
             } else if (data.isWrite()) {
-                addressWritesMap.get(address).add(data);
+                location.writes.add(data);
+                location.accesses.add(data);
                 writeReadsMap.put(data, new HashSet<>());
                 if (data.isInit()) {
-                    addressInitMap.put(address, data);
+                    location.init = data;
                 }
             } else {
                 //FIXME: Handle other kinds of memory events such as SRCU_SYNC.
@@ -381,6 +368,68 @@ public class ExecutionModel {
         }
     }
 
+    // Solvers return integer and bitvector values as BigInteger, so the conversion via strings is only a fallback.
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger integer) {
+            return integer;
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        return new BigInteger(value.toString());
+    }
+
+    private Location getOrCreateLocation(BigInteger address) {
+        if (address.bitLength() < Long.SIZE) {
+            final long key = address.longValue();
+            Location location = locationByAddress.get(key);
+            if (location == null) {
+                location = newLocation(address);
+                locationByAddress.put(key, location);
+            }
+            return location;
+        }
+        return locationByWideAddress.computeIfAbsent(address, this::newLocation);
+    }
+
+    // Location objects are reused across initializations, to keep the capacity of their lists.
+    private Location newLocation(BigInteger address) {
+        if (locationCount == locations.size()) {
+            locations.add(new Location());
+        }
+        final Location location = locations.get(locationCount);
+        location.reset(locationCount++, address);
+        return location;
+    }
+
+    private Location getLocation(int index) {
+        Preconditions.checkElementIndex(index, locationCount);
+        return locations.get(index);
+    }
+
+    private static final class Location {
+        private int index;
+        private BigInteger address;
+        private final List<EventData> reads = new ArrayList<>();
+        private final List<EventData> writes = new ArrayList<>();
+        private final List<EventData> accesses = new ArrayList<>();
+        private final List<EventData> readsView = Collections.unmodifiableList(reads);
+        private final List<EventData> writesView = Collections.unmodifiableList(writes);
+        private final List<EventData> accessesView = Collections.unmodifiableList(accesses);
+        private EventData init;
+        private List<EventData> coherence = List.of();
+
+        private void reset(int newIndex, BigInteger newAddress) {
+            index = newIndex;
+            address = newAddress;
+            reads.clear();
+            writes.clear();
+            accesses.clear();
+            init = null;
+            coherence = List.of();
+        }
+    }
+
     // =============== Dependency tracking ===============
     //TODO: The following code is refinement specific and assumes that only visible events get extracted!
 
@@ -493,10 +542,10 @@ public class ExecutionModel {
         final EncodingContext.EdgeEncoder rf = encodingContext.edge(encodingContext.getTask().getMemoryModel().getRelation(RF));
         readWriteMap.clear();
 
-        for (Map.Entry<BigInteger, Set<EventData>> addressedReads : addressReadsMap.entrySet()) {
-            BigInteger address = addressedReads.getKey();
-            for (EventData read : addressedReads.getValue()) {
-                for (EventData write : addressWritesMap.get(address)) {
+        for (int i = 0; i < locationCount; i++) {
+            final Location location = locations.get(i);
+            for (EventData read : location.reads) {
+                for (EventData write : location.writes) {
                     BooleanFormula rfExpr = rf.encode(write.getEvent(), read.getEvent());
                     // The null check in isTrue is important: Currently there are cases where no rf-edge between
                     // init writes and loads get encoded (in case of arrays/structs). This is usually no problem,
@@ -515,9 +564,9 @@ public class ExecutionModel {
     private void extractCoherences() {
         final EncodingContext.EdgeEncoder co = encodingContext.edge(encodingContext.getTask().getMemoryModel().getRelation(CO));
 
-        for (Map.Entry<BigInteger, Set<EventData>> addrWrites : addressWritesMap.entrySet()) {
-            final BigInteger addr = addrWrites.getKey();
-            final Set<EventData> writes = addrWrites.getValue();
+        for (int l = 0; l < locationCount; l++) {
+            final Location location = locations.get(l);
+            final List<EventData> writes = location.writes;
 
             List<EventData> coSortedWrites;
             if (encodingContext.usesSATEncoding()) {
@@ -547,7 +596,7 @@ public class ExecutionModel {
             for (EventData w : coSortedWrites) {
                 w.setCoherenceIndex(i++);
             }
-            coherenceMap.put(addr, Collections.unmodifiableList(coSortedWrites));
+            location.coherence = Collections.unmodifiableList(coSortedWrites);
         }
 
     }
@@ -59,8 +59,9 @@ public class DataRaceSolver extends ModelChecker {
 		SymmetryEncoder symmetryEncoder = SymmetryEncoder.withContext(context);
 
         logger.info("Starting encoding using " + ctx.getVersion());
-		prover.addConstraint(programEncoder.encodeFullProgram());
-		prover.addConstraint(wmmEncoder.encodeFullMemoryModel());
+		final ConstraintStream constraints = ConstraintStream.toProver(prover, context);
+		programEncoder.encodeFullProgram(constraints);
+		wmmEncoder.encodeFullMemoryModel(constraints);
 		prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
 		prover.push();
 
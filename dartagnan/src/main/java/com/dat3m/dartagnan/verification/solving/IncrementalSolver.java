@@ -54,8 +54,9 @@ public class IncrementalSolver extends ModelChecker {
         SymmetryEncoder symmetryEncoder = SymmetryEncoder.withContext(context);
 
         logger.info("Starting encoding using " + ctx.getVersion());
-        prover.addConstraint(programEncoder.encodeFullProgram());
-        prover.addConstraint(wmmEncoder.encodeFullMemoryModel());
+        final ConstraintStream constraints = ConstraintStream.toProver(prover, context);
+        programEncoder.encodeFullProgram(constraints);
+        wmmEncoder.encodeFullMemoryModel(constraints);
         // For validation this contains information.
         // For verification graph.encode() just returns ctx.mkTrue()
         prover.addConstraint(task.getWitness().encode(context));
@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.verification.solving;
 
+import com.dat3m.dartagnan.configuration.Method;
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.encoding.WmmEncoder;
@@ -26,12 +27,15 @@ import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 import org.sosy_lab.java_smt.api.SolverException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static com.dat3m.dartagnan.configuration.Property.CAT_SPEC;
+import static com.dat3m.dartagnan.configuration.Property.DATARACEFREEDOM;
 import static com.dat3m.dartagnan.program.analysis.SyntacticContextAnalysis.*;
 import static com.dat3m.dartagnan.utils.Result.FAIL;
 import static com.dat3m.dartagnan.utils.Result.PASS;
@@ -41,7 +45,7 @@ public abstract class ModelChecker {
 
     protected Result res = Result.UNKNOWN;
     protected EncodingContext context;
-    private String flaggedPairsOutput = "";
+    protected String flaggedPairsOutput = "";
 
     public final Result getResult() {
         return res;
@@ -60,6 +64,37 @@ public abstract class ModelChecker {
         return (hasViolationWitnesses || hasPositiveWitnesses);
     }
 
+    /**
+     * Runs the model checker that implements a method on a single solver context.
+     * @param ctx Solver context that creates the formulas.
+     * @param prover Prover environment that receives the encoding.
+     * @param task Program, target memory model and property to be checked.
+     * @param method Method to be used. Data race freedom is always checked by {@link DataRaceSolver}.
+     * @exception InvalidConfigurationException Some user-defined option does not match the format,
+     *                                          or the method cannot be run on a single solver context.
+     */
+    public static ModelChecker runWithMethod(SolverContext ctx, ProverEnvironment prover, VerificationTask task, Method method)
+            throws InterruptedException, SolverException, InvalidConfigurationException {
+        if (task.getProperty().contains(DATARACEFREEDOM)) {
+            return DataRaceSolver.run(ctx, prover, task);
+        }
+        // Property is either PROGRAM_SPEC, LIVENESS, or CAT_SPEC
+        switch (method) {
+            case TWO:
+                try (ProverEnvironment prover2 = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+                    return TwoSolvers.run(ctx, prover, prover2, task);
+                }
+            case INCREMENTAL:
+                return IncrementalSolver.run(ctx, prover, task);
+            case ASSUME:
+                return AssumeSolver.run(ctx, prover, task);
+            case CAAT:
+                return RefinementSolver.run(ctx, prover, task);
+            default:
+                throw new InvalidConfigurationException("unsupported method " + method);
+        }
+    }
+
     /**
      * Performs all modifications to a parsed program.
      * @param task Program, target memory model and property to be checked.
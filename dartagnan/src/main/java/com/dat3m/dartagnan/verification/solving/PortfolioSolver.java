@@ -0,0 +1,256 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import com.dat3m.dartagnan.configuration.Method;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+import org.sosy_lab.java_smt.api.SolverException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.PORTFOLIO_METHODS;
+import static com.dat3m.dartagnan.configuration.OptionNames.PORTFOLIO_SOLVERS;
+import static com.dat3m.dartagnan.configuration.OptionNames.SOLVER;
+
+/*
+    Runs several strategies (a method on an SMT solver) concurrently and reports the first conclusive result.
+    Each strategy works on its own task, solver context and shutdown manager, since the model checkers
+    modify the program and the memory model of their task.
+    The tasks are created one after another before the race starts, since parsing shares global state
+    (e.g. the canonicalizers of filters and types).
+    Once a strategy finished with PASS or FAIL, all other strategies get shut down.
+    If no strategy is conclusive, the result of the first one that finished is reported.
+    The context and prover of the reported strategy stay alive (e.g. to extract a witness) until this solver is closed.
+ */
+@Options
+public class PortfolioSolver extends ModelChecker implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(PortfolioSolver.class);
+
+    @Option(name = PORTFOLIO_METHODS,
+            description = "Methods to be raced by the portfolio.",
+            toUppercase = true,
+            secure = true)
+    private EnumSet<Method> methods = EnumSet.of(Method.CAAT, Method.INCREMENTAL, Method.ASSUME);
+
+    @Option(name = PORTFOLIO_SOLVERS,
+            description = "SMT solvers to be raced by the portfolio (default: the solver given by option '" + SOLVER + "').",
+            toUppercase = true,
+            secure = true)
+    private EnumSet<Solvers> solvers = EnumSet.noneOf(Solvers.class);
+
+    private final Configuration solverConfig;
+    private final org.sosy_lab.common.log.LogManager solverLogger;
+    private final Callable<VerificationTask> taskFactory;
+    // Conclusive strategy, and first inconclusive strategy as fallback.
+    // Both are guarded by this solver, since strategies report their results concurrently.
+    private Strategy winner;
+    private Strategy fallback;
+    private Strategy chosen;
+
+    private PortfolioSolver(Configuration solverConfig, Callable<VerificationTask> taskFactory)
+            throws InvalidConfigurationException {
+        this.solverConfig = solverConfig;
+        this.solverLogger = BasicLogManager.create(solverConfig);
+        this.taskFactory = taskFactory;
+    }
+
+    /**
+     * @param config User-defined options, including those of the portfolio.
+     * @param solverConfig Options used to create the solver contexts.
+     * @param defaultSolver Solver to be used by all strategies, unless the portfolio specifies its own solvers.
+     * @param notifier Shuts down all strategies, e.g. on timeout.
+     * @param taskFactory Creates a fresh task for each strategy. It is called sequentially on the calling thread.
+     */
+    public static PortfolioSolver run(Configuration config, Configuration solverConfig, Solvers defaultSolver,
+            ShutdownNotifier notifier, Callable<VerificationTask> taskFactory)
+            throws InterruptedException, SolverException, InvalidConfigurationException {
+        PortfolioSolver solver = new PortfolioSolver(solverConfig, taskFactory);
+        config.inject(solver);
+        if (solver.methods.isEmpty() || solver.methods.contains(Method.PORTFOLIO)) {
+            throw new InvalidConfigurationException(PORTFOLIO_METHODS + " must list at least one non-portfolio method.");
+        }
+        if (solver.solvers.isEmpty()) {
+            solver.solvers = EnumSet.of(defaultSolver);
+        }
+        solver.run(notifier);
+        return solver;
+    }
+
+    public VerificationTask getTask() {
+        return chosen.task;
+    }
+
+    public ProverEnvironment getProver() {
+        return chosen.prover;
+    }
+
+    private void run(ShutdownNotifier notifier)
+            throws InterruptedException, SolverException, InvalidConfigurationException {
+        List<Strategy> strategies = new ArrayList<>();
+        for (Solvers solver : solvers) {
+            for (Method method : methods) {
+                strategies.add(new Strategy(method, solver, ShutdownManager.createWithParent(notifier)));
+            }
+        }
+        for (Strategy strategy : strategies) {
+            strategy.task = createTask();
+        }
+        logger.info("Running portfolio of " + strategies.size() + " strategies: " + strategies);
+
+        // Losers only stop once they notice the shutdown request, so we do not wait for them.
+        ExecutorService pool = Executors.newFixedThreadPool(strategies.size(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("portfolio-%d").build());
+        Throwable failure = null;
+        try {
+            CompletionService<Strategy> completion = new ExecutorCompletionService<>(pool);
+            for (Strategy strategy : strategies) {
+                completion.submit(() -> runStrategy(strategy));
+            }
+            for (int i = 0; i < strategies.size() && getWinner() == null; i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                chosen = winner != null ? winner : fallback;
+            }
+            for (Strategy strategy : strategies) {
+                if (strategy != chosen) {
+                    strategy.sdm.requestShutdown("Portfolio finished");
+                }
+            }
+            pool.shutdown();
+        }
+
+        if (chosen == null) {
+            notifier.shutdownIfNecessary();
+            Throwables.throwIfInstanceOf(failure, InterruptedException.class);
+            Throwables.throwIfInstanceOf(failure, SolverException.class);
+            Throwables.throwIfInstanceOf(failure, InvalidConfigurationException.class);
+            Throwables.throwIfUnchecked(failure);
+            throw new IllegalStateException("All strategies of the portfolio failed.", failure);
+        }
+        logger.info("Portfolio result " + chosen.checker.getResult() + " by " + chosen);
+        res = chosen.checker.getResult();
+        context = chosen.checker.getEncodingContext();
+        flaggedPairsOutput = chosen.checker.getFlaggedPairsOutput();
+    }
+
+    private Strategy runStrategy(Strategy strategy) throws Exception {
+        try {
+            strategy.context = SolverContextFactory.createSolverContext(
+                    solverConfig,
+                    solverLogger,
+                    strategy.sdm.getNotifier(),
+                    strategy.solver);
+            strategy.prover = strategy.context.newProverEnvironment(ProverOptions.GENERATE_MODELS);
+            strategy.checker = runWithMethod(strategy.context, strategy.prover, strategy.task, strategy.method);
+        } catch (Exception e) {
+            if (!strategy.sdm.getNotifier().shouldShutdown()) {
+                logger.warn("Strategy " + strategy + " failed: " + e.getMessage());
+            }
+            strategy.close();
+            throw e;
+        }
+        if (!offer(strategy)) {
+            strategy.close();
+        }
+        return strategy;
+    }
+
+    private VerificationTask createTask() throws InterruptedException, SolverException, InvalidConfigurationException {
+        try {
+            return taskFactory.call();
+        } catch (Exception e) {
+            Throwables.throwIfInstanceOf(e, InterruptedException.class);
+            Throwables.throwIfInstanceOf(e, SolverException.class);
+            Throwables.throwIfInstanceOf(e, InvalidConfigurationException.class);
+            Throwables.throwIfUnchecked(e);
+            throw new IllegalStateException("Could not create the task of a strategy.", e);
+        }
+    }
+
+    // Returns true, if the strategy might get reported and thus has to keep its resources.
+    private synchronized boolean offer(Strategy strategy) {
+        if (winner != null || chosen != null) {
+            return false;
+        }
+        if (strategy.checker.getResult() != Result.UNKNOWN) {
+            winner = strategy;
+            return true;
+        }
+        if (fallback == null) {
+            fallback = strategy;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized Strategy getWinner() {
+        return winner;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (winner != null) {
+            winner.close();
+        }
+        if (fallback != null) {
+            fallback.close();
+        }
+    }
+
+    private static final class Strategy {
+        private final Method method;
+        private final Solvers solver;
+        private final ShutdownManager sdm;
+        private VerificationTask task;
+        private SolverContext context;
+        private ProverEnvironment prover;
+        private ModelChecker checker;
+
+        private Strategy(Method method, Solvers solver, ShutdownManager sdm) {
+            this.method = method;
+            this.solver = solver;
+            this.sdm = sdm;
+        }
+
+        private void close() {
+            if (prover != null) {
+                prover.close();
+            }
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return method.asStringOption() + "/" + solver;
+        }
+    }
+}
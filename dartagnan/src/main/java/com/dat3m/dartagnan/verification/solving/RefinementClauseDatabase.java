@@ -0,0 +1,162 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverException;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/*
+    Keeps the refinement clauses learned by the RefinementSolver.
+
+    Without a limit, clauses are added to the prover permanently.
+    With a limit, each clause is guarded by an activation literal, and only the literals of active clauses
+    are passed as assumptions to the prover. If more clauses than the limit are active, some of them are retired:
+    the negated activation literal is asserted, so that the prover can drop the clause.
+    Clauses are ranked by the number of times they were learned again after being retired.
+    Those with the fewest hits are retired first, the oldest ones among equally ranked clauses.
+    We do not rank by unsat cores: the prover only tells us which clauses were used when it returns UNSAT,
+    and that ends the refinement.
+
+    Refinement clauses are consequences of the target memory model, so retiring them keeps UNSAT results sound.
+    A retired clause that gets learned again is reactivated with a fresh activation literal.
+    Once it was learned again MAX_HITS times, it is pinned, i.e., it is never retired again.
+    Thus, every clause is retired at most MAX_HITS times and refinement still terminates.
+ */
+final class RefinementClauseDatabase {
+
+    private static final int MAX_HITS = 2;
+
+    private final BooleanFormulaManager bmgr;
+    private final int limit;
+
+    private final Map<BooleanFormula, Entry> entries = new LinkedHashMap<>();
+    // In order of activation.
+    private final List<Entry> activeEntries = new ArrayList<>();
+
+    private int numActivationLiterals = 0;
+    private int numRetired = 0;
+    private int numReactivated = 0;
+
+    private static final class Entry {
+        final BooleanFormula clause;
+        BooleanFormula activation;
+        boolean active;
+        boolean asserted;
+        // Number of times the clause was learned again after being retired.
+        int hits;
+
+        Entry(BooleanFormula clause) {
+            this.clause = clause;
+        }
+
+        boolean isPinned() {
+            return hits >= MAX_HITS;
+        }
+    }
+
+    // A <limit> of zero means that clauses are never retired.
+    RefinementClauseDatabase(BooleanFormulaManager bmgr, int limit) {
+        checkArgument(limit >= 0, "The clause limit must not be negative.");
+        this.bmgr = bmgr;
+        this.limit = limit;
+    }
+
+    boolean isUnsat(ProverEnvironment prover) throws SolverException, InterruptedException {
+        if (limit == 0) {
+            return prover.isUnsat();
+        }
+        final List<BooleanFormula> assumptions = new ArrayList<>(activeEntries.size());
+        for (Entry entry : activeEntries) {
+            assumptions.add(entry.activation);
+        }
+        return prover.isUnsatWithAssumptions(assumptions);
+    }
+
+    // Adds the clauses learned in one refinement iteration.
+    void addClauses(ProverEnvironment prover, List<BooleanFormula> clauses) throws InterruptedException {
+        if (limit == 0) {
+            for (BooleanFormula clause : clauses) {
+                entries.computeIfAbsent(clause, Entry::new);
+            }
+            prover.addConstraint(bmgr.and(clauses));
+            return;
+        }
+
+        for (BooleanFormula clause : clauses) {
+            Entry entry = entries.get(clause);
+            if (entry == null) {
+                entry = new Entry(clause);
+                entries.put(clause, entry);
+                activate(entry);
+            } else if (!entry.active) {
+                entry.hits++;
+                numReactivated++;
+                activate(entry);
+            }
+            assertEntry(prover, entry);
+        }
+        retireClauses(prover);
+    }
+
+    /*
+        Adds the clauses again after the prover dropped them by popping the level they were added on.
+        Retired clauses are only added again once they get reactivated.
+     */
+    void reassert(ProverEnvironment prover) throws InterruptedException {
+        if (limit == 0) {
+            if (!entries.isEmpty()) {
+                prover.addConstraint(bmgr.and(entries.keySet()));
+            }
+            return;
+        }
+        for (Entry entry : entries.values()) {
+            entry.asserted = false;
+        }
+        for (Entry entry : activeEntries) {
+            assertEntry(prover, entry);
+        }
+    }
+
+    int getNumberOfClauses() { return entries.size(); }
+    int getNumberOfActiveClauses() { return limit == 0 ? entries.size() : activeEntries.size(); }
+    int getNumberOfRetiredClauses() { return numRetired; }
+    int getNumberOfReactivatedClauses() { return numReactivated; }
+
+    // Retired clauses get a fresh activation literal, since the old one is asserted to be false.
+    private void activate(Entry entry) {
+        entry.activation = bmgr.makeVariable("refinement#" + numActivationLiterals++);
+        entry.asserted = false;
+        entry.active = true;
+        activeEntries.add(entry);
+    }
+
+    private void assertEntry(ProverEnvironment prover, Entry entry) throws InterruptedException {
+        if (!entry.asserted) {
+            prover.addConstraint(bmgr.implication(entry.activation, entry.clause));
+            entry.asserted = true;
+        }
+    }
+
+    private void retireClauses(ProverEnvironment prover) throws InterruptedException {
+        final int toRetire = activeEntries.size() - limit;
+        if (toRetire <= 0) {
+            return;
+        }
+        // The sort is stable, so equally ranked clauses stay in order of activation.
+        final List<Entry> candidates = new ArrayList<>(activeEntries);
+        candidates.removeIf(Entry::isPinned);
+        candidates.sort(Comparator.comparingInt(e -> e.hits));
+        for (Entry entry : candidates.subList(0, Math.min(toRetire, candidates.size()))) {
+            entry.active = false;
+            if (entry.asserted) {
+                prover.addConstraint(bmgr.not(entry.activation));
+            }
+            numRetired++;
+        }
+        activeEntries.removeIf(e -> !e.active);
+    }
+}
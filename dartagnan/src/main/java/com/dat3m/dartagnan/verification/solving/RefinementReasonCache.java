@@ -0,0 +1,216 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import com.dat3m.dartagnan.program.Thread;
+import com.dat3m.dartagnan.program.event.core.Event;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.AddressLiteral;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.ExecLiteral;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.RelLiteral;
+import com.dat3m.dartagnan.utils.logic.Conjunction;
+import com.dat3m.dartagnan.utils.logic.DNF;
+import com.dat3m.dartagnan.verification.TaskFingerprint;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+
+/*
+    Persists the inconsistency reasons learned by the RefinementSolver, so that later runs on the same
+    processed program (e.g. with a different property) can start with them.
+
+    The reasons are stored per line, with one tab-separated literal per reason.
+    Events are identified by their global id.
+    The file starts with a fingerprint of the processed program, the memory model and all options that might
+    affect the reasoning (see TaskFingerprint.compute). It is ignored if the fingerprint does not match.
+    In particular, reasons do not carry over to other bounds: Events of unrolled loops, inlined calls and
+    spawned threads cannot be matched reliably between different processings of a program.
+
+    The file is replaced atomically, so that interrupted or concurrent runs never leave a partial file behind.
+ */
+final class RefinementReasonCache {
+
+    private static final Logger logger = LogManager.getLogger(RefinementReasonCache.class);
+
+    private static final String HEADER = "refinement-reasons v4 ";
+    private static final int VERSION = 4;
+
+    // Options that cannot influence the computed reasons, or only via the processed program.
+    private static final List<String> IGNORED_OPTIONS = List.of(
+            PROPERTY, BOUND, RECURSION_BOUND, METHOD, SOLVER, TIMEOUT, VALIDATE, PHANTOM_REFERENCES,
+            PROCESSING_THREADS, PROCESSING_STATISTICS, RELATION_ANALYSIS_THREADS, RELATION_ANALYSIS_CACHE,
+            INCREMENTAL_MODEL, MAX_CYCLES_PER_SCC, REASONING_THREADS, CLAUSE_LIMIT, REASON_CACHE,
+            "witness.", "printer.", "svcomp.", "batch.", "portfolio.");
+    private static final String EXEC = "exec";
+    private static final String ADDRESS = "addr";
+    private static final String RELATION = "rel";
+    private static final String NEGATION = "!";
+
+    private final Path file;
+    private final String fingerprint;
+    private final Map<Event, String> keys = new HashMap<>();
+    private final Map<String, Event> events = new HashMap<>();
+    private final Set<String> relationNames = new HashSet<>();
+    private final Set<Conjunction<CoreLiteral>> reasons = new LinkedHashSet<>();
+
+    private RefinementReasonCache(Path file, VerificationTask task) {
+        this.file = file;
+        this.fingerprint = TaskFingerprint.compute(task, VERSION,
+                option -> IGNORED_OPTIONS.stream().noneMatch(option::startsWith));
+        task.getMemoryModel().getRelations().forEach(r -> relationNames.add(r.getNameOrTerm()));
+        for (Thread thread : task.getProgram().getThreads()) {
+            for (Event e : thread.getEvents()) {
+                final String key = String.valueOf(e.getGlobalId());
+                keys.put(e, key);
+                events.put(key, e);
+            }
+        }
+    }
+
+    // <task> must be processed and analysed already.
+    static RefinementReasonCache of(Path file, VerificationTask task) {
+        return new RefinementReasonCache(file, task);
+    }
+
+    // Returns the stored reasons, if they were learned for the same program and model.
+    DNF<CoreLiteral> load() {
+        if (!Files.exists(file)) {
+            return DNF.FALSE();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            final String header = reader.readLine();
+            if (!(HEADER + fingerprint).equals(header)) {
+                logger.warn("Ignoring reasons in {} since they were learned for a different task.", file);
+                return DNF.FALSE();
+            }
+            int malformed = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Conjunction<CoreLiteral> reason = parse(line);
+                if (reason != null) {
+                    reasons.add(reason);
+                } else if (!line.isBlank()) {
+                    malformed++;
+                }
+            }
+            if (malformed > 0) {
+                logger.warn("Ignoring {} malformed reasons in {}.", malformed, file);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read reasons from {}: {}", file, e.getMessage());
+            reasons.clear();
+            return DNF.FALSE();
+        }
+        logger.info("Loaded {} reasons from {}.", reasons.size(), file);
+        return new DNF<>(reasons);
+    }
+
+    // Stores the loaded reasons together with <learnedReasons>, which must not be simplified.
+    void save(Collection<DNF<CoreLiteral>> learnedReasons) {
+        for (DNF<CoreLiteral> dnf : learnedReasons) {
+            reasons.addAll(dnf.getCubes());
+        }
+        int skipped = 0;
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary)) {
+                writer.write(HEADER + fingerprint);
+                writer.newLine();
+                for (Conjunction<CoreLiteral> reason : reasons) {
+                    final String line = print(reason);
+                    if (line == null) {
+                        skipped++;
+                        continue;
+                    }
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write reasons to {}: {}", file, e.getMessage());
+            deleteQuietly(temporary);
+            return;
+        }
+        logger.info("Stored {} reasons in {} ({} with unsupported literals).", reasons.size() - skipped, file, skipped);
+    }
+
+    private static void deleteQuietly(Path temporary) {
+        if (temporary == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", temporary, e.getMessage());
+        }
+    }
+
+    private String print(Conjunction<CoreLiteral> reason) {
+        final StringJoiner line = new StringJoiner("\t");
+        for (CoreLiteral lit : reason.getLiterals()) {
+            final String prefix = lit.isNegative() ? NEGATION : "";
+            if (lit instanceof ExecLiteral execLit) {
+                final String key = keys.get(execLit.getData());
+                if (key == null) {
+                    return null;
+                }
+                line.add(prefix + EXEC + " " + key);
+            } else if (lit instanceof AddressLiteral addrLit) {
+                final String first = keys.get(addrLit.getFirst());
+                final String second = keys.get(addrLit.getSecond());
+                if (first == null || second == null) {
+                    return null;
+                }
+                line.add(prefix + ADDRESS + " " + first + " " + second);
+            } else if (lit instanceof RelLiteral relLit) {
+                final String first = keys.get(relLit.getData().first());
+                final String second = keys.get(relLit.getData().second());
+                if (first == null || second == null) {
+                    return null;
+                }
+                // The name comes last, since it may contain spaces.
+                line.add(prefix + RELATION + " " + first + " " + second + " " + relLit.getName());
+            } else {
+                return null;
+            }
+        }
+        return line.toString();
+    }
+
+    // Returns null if the line is malformed.
+    private Conjunction<CoreLiteral> parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        final List<CoreLiteral> literals = new ArrayList<>();
+        for (String literal : line.split("\t")) {
+            final boolean isNegative = literal.startsWith(NEGATION);
+            final String[] parts = literal.substring(isNegative ? NEGATION.length() : 0).split(" ", 4);
+            final CoreLiteral lit = switch (parts[0]) {
+                case EXEC -> parts.length != 2 || !events.containsKey(parts[1]) ? null
+                        : new ExecLiteral(events.get(parts[1]), isNegative);
+                case ADDRESS -> parts.length != 3 || !events.containsKey(parts[1]) || !events.containsKey(parts[2]) ? null
+                        : new AddressLiteral(events.get(parts[1]), events.get(parts[2]), isNegative);
+                case RELATION -> parts.length != 4 || !events.containsKey(parts[1]) || !events.containsKey(parts[2])
+                        || !relationNames.contains(parts[3]) ? null
+                        : new RelLiteral(parts[3], events.get(parts[1]), events.get(parts[2]), isNegative);
+                default -> null;
+            };
+            if (lit == null) {
+                return null;
+            }
+            literals.add(lit);
+        }
+        return new Conjunction<>(literals);
+    }
+}
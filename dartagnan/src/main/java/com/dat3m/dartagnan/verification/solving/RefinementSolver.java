@@ -14,6 +14,7 @@ import com.dat3m.dartagnan.program.event.metadata.OriginalId;
 import com.dat3m.dartagnan.program.event.metadata.SourceLocation;
 import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
 import com.dat3m.dartagnan.solver.caat4wmm.Refiner;
 import com.dat3m.dartagnan.solver.caat4wmm.WMMSolver;
 import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
@@ -44,6 +45,7 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.java_smt.api.*;
 
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.function.BiPredicate;
@@ -52,7 +54,12 @@ import java.util.stream.Collectors;
 import static com.dat3m.dartagnan.GlobalSettings.REFINEMENT_GENERATE_GRAPHVIZ_DEBUG_FILES;
 import static com.dat3m.dartagnan.GlobalSettings.getOutputDirectory;
 import static com.dat3m.dartagnan.configuration.OptionNames.BASELINE;
+import static com.dat3m.dartagnan.configuration.OptionNames.CLAUSE_LIMIT;
 import static com.dat3m.dartagnan.configuration.OptionNames.COVERAGE;
+import static com.dat3m.dartagnan.configuration.OptionNames.INCREMENTAL_MODEL;
+import static com.dat3m.dartagnan.configuration.OptionNames.MAX_CYCLES_PER_SCC;
+import static com.dat3m.dartagnan.configuration.OptionNames.REASON_CACHE;
+import static com.dat3m.dartagnan.configuration.OptionNames.REASONING_THREADS;
 import static com.dat3m.dartagnan.program.analysis.SyntacticContextAnalysis.*;
 import static com.dat3m.dartagnan.solver.caat.CAATSolver.Status.*;
 import static com.dat3m.dartagnan.utils.Result.*;
@@ -91,6 +98,35 @@ public class RefinementSolver extends ModelChecker {
             toUppercase=true)
     private boolean printCovReport = false;
 
+    @Option(name=INCREMENTAL_MODEL,
+            description="Reuses the populated execution graph across refinement iterations " +
+                    "whose models only differ in rf and co.",
+            secure=true)
+    private boolean incrementalModel = false;
+
+    @Option(name=MAX_CYCLES_PER_SCC,
+            description="Maximal number of cycles extracted from each cyclic SCC of an acyclic relation " +
+                    "in one iteration. Non-positive values disable the bound.",
+            secure=true)
+    private int maxCyclesPerScc = AcyclicityConstraint.DEFAULT_MAX_CYCLES_PER_SCC;
+
+    @Option(name=REASONING_THREADS,
+            description="Number of threads used to compute the reasons of inconsistent executions.",
+            secure=true)
+    private int reasoningThreads = 1;
+
+    @Option(name=CLAUSE_LIMIT,
+            description="Maximal number of active refinement clauses. " +
+                    "Clauses that were relearned least often are retired once the limit is exceeded (0 = no limit).",
+            secure=true)
+    private int clauseLimit = 0;
+
+    @Option(name=REASON_CACHE,
+            description="File that keeps the learned inconsistency reasons across runs on the same processed program, " +
+                    "memory model and options, e.g. with other properties (empty = disabled).",
+            secure=true)
+    private String reasonCacheFile = "";
+
     // ================================================================================================================
     // Data classes
 
@@ -105,10 +141,11 @@ public class RefinementSolver extends ModelChecker {
             long refineTime,
             // The following are only meaningful if <smtStatus>==SAT
             CAATSolver.Status caatStatus,
-            BooleanFormula refinementFormula,
             // The following are only for statistics keeping
             WMMSolver.Statistics caatStats,
             DNF<CoreLiteral> inconsistencyReasons,
+            // Only computed if reasons are stored for later runs
+            DNF<CoreLiteral> unsimplifiedReasons,
             List<Event> observedEvents
     ) {
         public boolean isInconclusive() { return smtStatus == SMTStatus.SAT && caatStatus == INCONSISTENT; }
@@ -138,9 +175,14 @@ public class RefinementSolver extends ModelChecker {
                     .flatMap(iter -> iter.observedEvents.stream()).collect(Collectors.toSet());
         }
 
-        public List<BooleanFormula> getRefinementFormulas() {
-            return iterations.stream().filter(iter -> iter.refinementFormula != null)
-                    .map(RefinementIteration::refinementFormula).toList();
+        public List<DNF<CoreLiteral>> getInconsistencyReasons() {
+            return iterations.stream().filter(iter -> iter.inconsistencyReasons != null)
+                    .map(RefinementIteration::inconsistencyReasons).toList();
+        }
+
+        public List<DNF<CoreLiteral>> getUnsimplifiedReasons() {
+            return iterations.stream().filter(iter -> iter.unsimplifiedReasons != null)
+                    .map(RefinementIteration::unsimplifiedReasons).toList();
         }
 
         public RefinementTrace concat(RefinementTrace other) {
@@ -161,6 +203,12 @@ public class RefinementSolver extends ModelChecker {
             throws InterruptedException, SolverException, InvalidConfigurationException {
         RefinementSolver solver = new RefinementSolver();
         task.getConfig().inject(solver);
+        if (solver.reasoningThreads < 1) {
+            throw new InvalidConfigurationException(REASONING_THREADS + " must be positive.");
+        }
+        if (solver.clauseLimit < 0) {
+            throw new InvalidConfigurationException(CLAUSE_LIMIT + " must not be negative.");
+        }
         logger.info("{}: {}", BASELINE, solver.baselines);
         solver.runInternal(ctx, prover, task);
         return solver;
@@ -213,108 +261,130 @@ public class RefinementSolver extends ModelChecker {
         final WmmEncoder baselineEncoder = WmmEncoder.withContext(context);
 
         final BooleanFormulaManager bmgr = ctx.getFormulaManager().getBooleanFormulaManager();
-        final WMMSolver solver = WMMSolver.withContext(context, cutRelations, task, analysisContext);
-        final Refiner refiner = new Refiner();
-        final Property.Type propertyType = Property.getCombinedType(task.getProperty(), task);
-
-        logger.info("Starting encoding using " + ctx.getVersion());
-        prover.addConstraint(programEncoder.encodeFullProgram());
-        prover.addConstraint(baselineEncoder.encodeFullMemoryModel());
-        prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
-
-        // ------------------------ Solving ------------------------
-        logger.info("Refinement procedure started.");
-
-        logger.info("Checking target property.");
-        prover.push();
-        prover.addConstraint(propertyEncoder.encodeProperties(task.getProperty()));
-
-        final RefinementTrace propertyTrace = runRefinement(task, prover, solver, refiner);
-        SMTStatus smtStatus = propertyTrace.getFinalResult();
-
-        if (logger.isInfoEnabled()) {
-            final String message = switch (smtStatus) {
-                case UNKNOWN -> "SMT Solver was inconclusive (bug?).";
-                case SAT -> propertyType == Property.Type.SAFETY ? "Specification violation found."
-                        : "Specification witness found.";
-                case UNSAT -> propertyType == Property.Type.SAFETY ? "Bounded specification proven."
-                        : "Bounded specification falsified.";
-            };
-            logger.info(message);
-        }
-
-        if (smtStatus == SMTStatus.UNKNOWN) {
-            // Refinement got no result (should not be able to happen), so we cannot proceed further.
-            res = UNKNOWN;
-            return;
-        }
+        // The solver owns the threads of the reason computation, so it must be closed after use.
+        try (WMMSolver solver = WMMSolver.withContext(context, cutRelations, task, analysisContext, incrementalModel,
+                reasoningThreads, maxCyclesPerScc)) {
+            final Refiner refiner = new Refiner();
+            final RefinementClauseDatabase clauseDatabase = new RefinementClauseDatabase(bmgr, clauseLimit);
+            final Property.Type propertyType = Property.getCombinedType(task.getProperty(), task);
+
+            logger.info("Starting encoding using " + ctx.getVersion());
+            final ConstraintStream constraints = ConstraintStream.toProver(prover, context);
+            programEncoder.encodeFullProgram(constraints);
+            baselineEncoder.encodeFullMemoryModel(constraints);
+            prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
+
+            // Reasons of previous runs hold independently of the property, so they are added below the property level.
+            final RefinementReasonCache reasonCache = reasonCacheFile.isEmpty() ? null
+                    : RefinementReasonCache.of(Path.of(reasonCacheFile), task);
+            if (reasonCache != null) {
+                solver.setComputeUnsimplifiedReasons(true);
+                final DNF<CoreLiteral> storedReasons = reasonCache.load();
+                if (!storedReasons.isFalse()) {
+                    clauseDatabase.addClauses(prover, refiner.refineClauses(storedReasons, context));
+                }
+            }
 
-        RefinementTrace combinedTrace = propertyTrace;
+            // ------------------------ Solving ------------------------
+            logger.info("Refinement procedure started.");
 
-        long boundCheckTime = 0;
-        if (smtStatus == SMTStatus.UNSAT) {
-            // Do bound check
-            logger.info("Checking unrolling bounds.");
-            final long lastTime = System.currentTimeMillis();
-            prover.pop();
-            prover.addConstraint(propertyEncoder.encodeBoundEventExec());
-            // Add back the refinement clauses we already found, hoping that this improves the performance.
-            prover.addConstraint(bmgr.and(propertyTrace.getRefinementFormulas()));
-            final RefinementTrace boundTrace = runRefinement(task, prover, solver, refiner);
-            boundCheckTime = System.currentTimeMillis() - lastTime;
+            logger.info("Checking target property.");
+            prover.push();
+            prover.addConstraint(propertyEncoder.encodeProperties(task.getProperty()));
 
-            smtStatus = boundTrace.getFinalResult();
-            combinedTrace = combinedTrace.concat(boundTrace);
-            res = smtStatus == SMTStatus.UNSAT ? PASS : UNKNOWN;
+            final RefinementTrace propertyTrace = runRefinement(task, prover, solver, refiner, clauseDatabase);
+            SMTStatus smtStatus = propertyTrace.getFinalResult();
 
             if (logger.isInfoEnabled()) {
                 final String message = switch (smtStatus) {
-                    case UNKNOWN -> "Bound check was inconclusive (bug?)";
-                    case SAT -> "Bounds are reachable: Unbounded specification unknown.";
-                    case UNSAT -> "Bounds are unreachable: Unbounded specification proven.";
+                    case UNKNOWN -> "SMT Solver was inconclusive (bug?).";
+                    case SAT -> propertyType == Property.Type.SAFETY ? "Specification violation found."
+                            : "Specification witness found.";
+                    case UNSAT -> propertyType == Property.Type.SAFETY ? "Bounded specification proven."
+                            : "Bounded specification falsified.";
                 };
                 logger.info(message);
             }
-        } else {
-            res = FAIL;
-        }
 
-        // -------------------------- Report statistics summary --------------------------
+            if (smtStatus == SMTStatus.UNKNOWN) {
+                // Refinement got no result (should not be able to happen), so we cannot proceed further.
+                res = UNKNOWN;
+                return;
+            }
 
-        if (logger.isInfoEnabled()) {
-            logger.info(generateSummary(combinedTrace, boundCheckTime));
-        }
+            RefinementTrace combinedTrace = propertyTrace;
+
+            long boundCheckTime = 0;
+            if (smtStatus == SMTStatus.UNSAT) {
+                // Do bound check
+                logger.info("Checking unrolling bounds.");
+                final long lastTime = System.currentTimeMillis();
+                prover.pop();
+                prover.addConstraint(propertyEncoder.encodeBoundEventExec());
+                // Add back the refinement clauses we already found, hoping that this improves the performance.
+                clauseDatabase.reassert(prover);
+                final RefinementTrace boundTrace = runRefinement(task, prover, solver, refiner, clauseDatabase);
+                boundCheckTime = System.currentTimeMillis() - lastTime;
+
+                smtStatus = boundTrace.getFinalResult();
+                combinedTrace = combinedTrace.concat(boundTrace);
+                res = smtStatus == SMTStatus.UNSAT ? PASS : UNKNOWN;
+
+                if (logger.isInfoEnabled()) {
+                    final String message = switch (smtStatus) {
+                        case UNKNOWN -> "Bound check was inconclusive (bug?)";
+                        case SAT -> "Bounds are reachable: Unbounded specification unknown.";
+                        case UNSAT -> "Bounds are unreachable: Unbounded specification proven.";
+                    };
+                    logger.info(message);
+                }
+            } else {
+                res = FAIL;
+            }
 
-        if (logger.isDebugEnabled()) {
-            StringBuilder smtStatistics = new StringBuilder("\n ===== SMT Statistics (after final iteration) ===== \n");
-            for (String key : prover.getStatistics().keySet()) {
-                smtStatistics.append(String.format("\t%s -> %s\n", key, prover.getStatistics().get(key)));
+            if (reasonCache != null) {
+                reasonCache.save(combinedTrace.getUnsimplifiedReasons());
             }
-            logger.debug(smtStatistics.toString());
-        }
 
-        if (printCovReport) {
-            System.out.println(generateCoverageReport(combinedTrace.getObservedEvents(), program, analysisContext));
-        }
+            // -------------------------- Report statistics summary --------------------------
+
+            if (logger.isInfoEnabled()) {
+                logger.info(generateSummary(combinedTrace, boundCheckTime, clauseDatabase));
+                context.logVariableCacheStatistics();
+            }
 
-        // For Safety specs, we have SAT=FAIL, but for reachability specs, we have
-        // SAT=PASS
-        res = propertyType == Property.Type.SAFETY ? res : res.invert();
-        logger.info("Verification finished with result " + res);
+            if (logger.isDebugEnabled()) {
+                StringBuilder smtStatistics = new StringBuilder("\n ===== SMT Statistics (after final iteration) ===== \n");
+                for (String key : prover.getStatistics().keySet()) {
+                    smtStatistics.append(String.format("\t%s -> %s\n", key, prover.getStatistics().get(key)));
+                }
+                logger.debug(smtStatistics.toString());
+            }
+
+            if (printCovReport) {
+                System.out.println(generateCoverageReport(combinedTrace.getObservedEvents(), program, analysisContext));
+            }
+
+            // For Safety specs, we have SAT=FAIL, but for reachability specs, we have
+            // SAT=PASS
+            res = propertyType == Property.Type.SAFETY ? res : res.invert();
+            logger.info("Verification finished with result " + res);
+        }
     }
 
     // ================================================================================================================
     // Refinement core algorithm
 
     // TODO: We could expose the following method(s) to allow for more general application of refinement.
-    private RefinementTrace runRefinement(VerificationTask task, ProverEnvironment prover, WMMSolver solver, Refiner refiner)
+    private RefinementTrace runRefinement(VerificationTask task, ProverEnvironment prover, WMMSolver solver, Refiner refiner,
+                                          RefinementClauseDatabase clauseDatabase)
             throws SolverException, InterruptedException {
 
         final List<RefinementIteration> trace = new ArrayList<>();
         boolean isFinalIteration = false;
         while (!isFinalIteration) {
 
-            final RefinementIteration iteration = doRefinementIteration(prover, solver, refiner);
+            final RefinementIteration iteration = doRefinementIteration(prover, solver, refiner, clauseDatabase);
             trace.add(iteration);
             isFinalIteration = iteration.isConclusive();
 
@@ -358,21 +428,22 @@ public class RefinementSolver extends ModelChecker {
         return new RefinementTrace(trace);
     }
 
-    private RefinementIteration doRefinementIteration(ProverEnvironment prover, WMMSolver solver, Refiner refiner)
+    private RefinementIteration doRefinementIteration(ProverEnvironment prover, WMMSolver solver, Refiner refiner,
+                                                      RefinementClauseDatabase clauseDatabase)
             throws SolverException, InterruptedException {
 
         long nativeTime = 0;
         long caatTime = 0;
         long refineTime = 0;
         CAATSolver.Status caatStatus = INCONCLUSIVE;
-        BooleanFormula refinementFormula = null;
         WMMSolver.Statistics caatStats = null;
         DNF<CoreLiteral> inconsistencyReasons = null;
+        DNF<CoreLiteral> unsimplifiedReasons = null;
         List<Event> observedEvents = null;
 
         // ------------ Native SMT solving ------------
         long lastTime = System.currentTimeMillis();
-        final SMTStatus smtStatus = prover.isUnsat() ? SMTStatus.UNSAT : SMTStatus.SAT;
+        final SMTStatus smtStatus = clauseDatabase.isUnsat(prover) ? SMTStatus.UNSAT : SMTStatus.SAT;
         nativeTime = (System.currentTimeMillis() - lastTime);
 
         if (smtStatus == SMTStatus.SAT) {
@@ -393,16 +464,17 @@ public class RefinementSolver extends ModelChecker {
             if (caatStatus == INCONSISTENT) {
                 // ------------ Refining ------------
                 inconsistencyReasons = solverResult.getCoreReasons();
+                unsimplifiedReasons = solverResult.getUnsimplifiedCoreReasons();
                 lastTime = System.currentTimeMillis();
-                refinementFormula = refiner.refine(inconsistencyReasons, context);
-                prover.addConstraint(refinementFormula);
+                final List<BooleanFormula> refinementClauses = refiner.refineClauses(inconsistencyReasons, context);
+                clauseDatabase.addClauses(prover, refinementClauses);
                 refineTime = (System.currentTimeMillis() - lastTime);
             }
         }
 
         return new RefinementIteration(
                 smtStatus, nativeTime, caatTime, refineTime, caatStatus,
-                refinementFormula, caatStats, inconsistencyReasons, observedEvents
+                caatStats, inconsistencyReasons, unsimplifiedReasons, observedEvents
         );
     }
 
@@ -521,7 +593,8 @@ public class RefinementSolver extends ModelChecker {
     // ================================================================================================================
     // Statistics & Debugging
 
-    private static CharSequence generateSummary(RefinementTrace trace, long boundCheckTime) {
+    private static CharSequence generateSummary(RefinementTrace trace, long boundCheckTime,
+                                                RefinementClauseDatabase clauseDatabase) {
         final List<WMMSolver.Statistics> statList = trace.iterations.stream()
                 .filter(iter -> iter.caatStats != null).map(RefinementIteration::caatStats).toList();
         final long totalNativeSolvingTime = trace.getNativeSmtTime();
@@ -563,7 +636,11 @@ public class RefinementSolver extends ModelChecker {
                 .append("   -- Reason computation time(ms): ").append(totalReasonComputationTime).append("\n")
                 .append("   -- Refining time(ms): ").append(totalRefiningTime).append("\n")
                 .append("   -- #Computed core reasons: ").append(totalNumReasons).append("\n")
-                .append("   -- #Computed core reduced reasons: ").append(totalNumReducedReasons).append("\n");
+                .append("   -- #Computed core reduced reasons: ").append(totalNumReducedReasons).append("\n")
+                .append("   -- #Refinement clauses (active/total): ").append(clauseDatabase.getNumberOfActiveClauses())
+                .append("/").append(clauseDatabase.getNumberOfClauses()).append("\n")
+                .append("   -- #Retired/reactivated refinement clauses: ").append(clauseDatabase.getNumberOfRetiredClauses())
+                .append("/").append(clauseDatabase.getNumberOfReactivatedClauses()).append("\n");
         if (!statList.isEmpty()) {
             message.append("   -- Min model size (#events): ").append(minModelSize).append("\n")
                     .append("   -- Average model size (#events): ").append(totalModelSize / statList.size())
@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.wmm;
 
+import com.dat3m.dartagnan.encoding.ConstraintStream;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
@@ -43,4 +44,15 @@ public interface Constraint {
     default Collection<BooleanFormula> consistent(EncodingContext context) {
         return Set.of();
     }
+
+    /**
+     * Encodes the relational information of this constraint into a stream.
+     * Constraints with large encodings should override this to avoid materializing them.
+     *
+     * @param context Provides shared elements of the current verification problem and their encoding representations.
+     * @param stream Receives the same assumptions as returned by {@link #consistent(EncodingContext)}.
+     */
+    default void consistent(EncodingContext context, ConstraintStream stream) {
+        stream.addAll(consistent(context));
+    }
 }
@@ -32,8 +32,7 @@ public abstract class Definition implements Constraint {
     }
 
     public EncodingContext.EdgeEncoder getEdgeVariableEncoder(EncodingContext c) {
-        String nameOrTerm = definedRelation.getNameOrTerm();
-        return (e1, e2) -> c.edgeVariable(nameOrTerm, e1, e2);
+        return c.edgeVariables(definedRelation.getNameOrTerm());
     }
 
     public String getTerm() {
@@ -5,6 +5,7 @@ import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.dat3m.dartagnan.wmm.definition.*;
 import com.dat3m.dartagnan.wmm.relation.RelationNameRepository;
+import com.dat3m.dartagnan.wmm.utils.VertexElimination;
 import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -18,8 +19,7 @@ import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static com.dat3m.dartagnan.configuration.OptionNames.ENABLE_ACTIVE_SETS;
-import static com.dat3m.dartagnan.configuration.OptionNames.REDUCE_ACYCLICITY_ENCODE_SETS;
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
 import static com.dat3m.dartagnan.wmm.relation.RelationNameRepository.*;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
@@ -35,7 +35,15 @@ public class Wmm {
                 secure = true)
         private boolean reduceAcyclicityEncoding = true;
 
+        @Option(name = ACYCLICITY_ELIMINATION_ORDER,
+                description = "Heuristic for the vertex elimination ordering of the SAT-based acyclicity encoding." +
+                        " This option is only relevant if \"" + IDL_TO_SAT + "\" is set.",
+                secure = true)
+        private VertexElimination.Heuristic eliminationOrder = VertexElimination.Heuristic.getDefault();
+
         public boolean isReduceAcyclicityEncoding() { return reduceAcyclicityEncoding; }
+
+        public VertexElimination.Heuristic getEliminationOrder() { return eliminationOrder; }
     }
 
     private static final Logger logger = LogManager.getLogger(Wmm.class);
@@ -219,6 +227,7 @@ public class Wmm {
         }
 
         logger.info("{}: {}", REDUCE_ACYCLICITY_ENCODE_SETS, this.config.isReduceAcyclicityEncoding());
+        logger.info("{}: {}", ACYCLICITY_ELIMINATION_ORDER, this.config.getEliminationOrder());
     }
 
     public void simplify() {
@@ -27,8 +27,10 @@ import com.dat3m.dartagnan.wmm.Relation;
 import com.dat3m.dartagnan.wmm.Wmm;
 import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.dat3m.dartagnan.wmm.definition.Difference;
-import com.dat3m.dartagnan.wmm.utils.Tuple;
+import com.dat3m.dartagnan.wmm.utils.EventDomain;
 import com.dat3m.dartagnan.wmm.utils.EventGraph;
+import com.dat3m.dartagnan.wmm.utils.Tuple;
+import com.google.common.base.Throwables;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.Configuration;
@@ -37,6 +39,11 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import static com.dat3m.dartagnan.configuration.Arch.RISCV;
@@ -68,7 +75,8 @@ public class RelationAnalysis {
     private final Dependency dep;
     private final WmmAnalysis wmmAnalysis;
     private final Map<Relation, Knowledge> knowledgeMap = new HashMap<>();
-    private final EventGraph mutex = new EventGraph();
+    private EventDomain domain;
+    private EventGraph mutex;
 
     @Option(name = ENABLE_RELATION_ANALYSIS,
             description = "Derived relations of the memory model ",
@@ -85,6 +93,24 @@ public class RelationAnalysis {
             secure = true)
     private boolean enableExtended = true;
 
+    @Option(name = COMPACT_EVENT_GRAPHS,
+            description = "Stores may and must sets as sets of event ids rather than hash sets of events. " +
+                    "Reduces the memory footprint of the analysis and of the encoding on large programs.",
+            secure = true)
+    private boolean compactEventGraphs = false;
+
+    @Option(name = RELATION_ANALYSIS_THREADS,
+            description = "Number of threads used to analyse independent components of the memory model. " +
+                    "The result does not depend on this number.",
+            secure = true)
+    private int threads = 1;
+
+    @Option(name = RELATION_ANALYSIS_CACHE,
+            description = "Directory in which the results of this analysis are stored and looked up. " +
+                    "Entries are keyed by the processed program, the memory model and the relevant options (default: no caching).",
+            secure = true)
+    private String cacheDirectory;
+
     private RelationAnalysis(VerificationTask t, Context context, Configuration config) {
         task = checkNotNull(t);
         analysisContext = context;
@@ -115,7 +141,10 @@ public class RelationAnalysis {
         final StringBuilder configSummary = new StringBuilder().append("\n");
         configSummary.append("\t").append(ENABLE_RELATION_ANALYSIS).append(": ").append(a.enable).append("\n");
         configSummary.append("\t").append(ENABLE_MUST_SETS).append(": ").append(a.enableMustSets).append("\n");
-        configSummary.append("\t").append(ENABLE_EXTENDED_RELATION_ANALYSIS).append(": ").append(a.enableExtended);
+        configSummary.append("\t").append(ENABLE_EXTENDED_RELATION_ANALYSIS).append(": ").append(a.enableExtended).append("\n");
+        configSummary.append("\t").append(COMPACT_EVENT_GRAPHS).append(": ").append(a.compactEventGraphs).append("\n");
+        configSummary.append("\t").append(RELATION_ANALYSIS_THREADS).append(": ").append(a.threads).append("\n");
+        configSummary.append("\t").append(RELATION_ANALYSIS_CACHE).append(": ").append(a.cacheDirectory);
         logger.info(configSummary);
 
         if (a.enableMustSets && !a.enable) {
@@ -127,15 +156,28 @@ public class RelationAnalysis {
             a.enableExtended = false;
         }
 
-        long t0 = System.currentTimeMillis();
-        a.run();
-        long t1 = System.currentTimeMillis();
-        logger.info("Finished regular analysis in {}ms", t1 - t0);
+        a.domain = a.compactEventGraphs ? EventDomain.fromProgram(task.getProgram()) : null;
+        a.mutex = a.newGraph();
 
+        if (a.threads < 1) {
+            throw new InvalidConfigurationException(RELATION_ANALYSIS_THREADS + " must be positive.");
+        }
+
+        final RelationAnalysisCache cache = a.cacheDirectory == null ? null : RelationAnalysisCache.of(a.cacheDirectory, task);
         final StringBuilder summary = new StringBuilder()
                 .append("\n======== RelationAnalysis summary ======== \n");
         summary.append("\t#Relations: ").append(task.getMemoryModel().getRelations().size()).append("\n");
         summary.append("\t#Axioms: ").append(task.getMemoryModel().getAxioms().size()).append("\n");
+        long t0 = System.currentTimeMillis();
+        if (cache != null && a.loadFrom(cache)) {
+            logger.info("Loaded analysis from {} in {}ms", cache.getFile(), System.currentTimeMillis() - t0);
+            summary.append("\tloaded from cache: ").append(cache.getFile()).append("\n");
+            return a.summarize(summary);
+        }
+        a.run();
+        long t1 = System.currentTimeMillis();
+        logger.info("Finished regular analysis in {}ms", t1 - t0);
+
         if (a.enableExtended) {
             long mayCount = a.countMaySet();
             long mustCount = a.countMustSet();
@@ -144,16 +186,41 @@ public class RelationAnalysis {
             summary.append("\t#may-edges removed (extended): ").append(mayCount - a.countMaySet()).append("\n");
             summary.append("\t#must-edges added (extended): ").append(a.countMustSet() - mustCount).append("\n");
         }
-        verify(a.enableMustSets || a.knowledgeMap.values().stream().allMatch(k -> k.must.isEmpty()));
-        Knowledge rf = a.knowledgeMap.get(task.getMemoryModel().getRelation(RF));
-        Knowledge co = a.knowledgeMap.get(task.getMemoryModel().getRelation(CO));
+        if (cache != null) {
+            a.storeTo(cache);
+        }
+        return a.summarize(summary);
+    }
+
+    private RelationAnalysis summarize(StringBuilder summary) {
+        verify(enableMustSets || knowledgeMap.values().stream().allMatch(k -> k.must.isEmpty()));
+        Knowledge rf = knowledgeMap.get(task.getMemoryModel().getRelation(RF));
+        Knowledge co = knowledgeMap.get(task.getMemoryModel().getRelation(CO));
         summary.append("\ttotal #must|may|exclusive edges: ")
-                .append(a.countMustSet()).append("|").append(a.countMaySet()).append("|").append(a.mutex.size()).append("\n");
+                .append(countMustSet()).append("|").append(countMaySet()).append("|").append(mutex.size()).append("\n");
         summary.append("\t#must|may rf edges: ").append(rf.must.size()).append("|").append(rf.may.size()).append("\n");
         summary.append("\t#must|may co edges: ").append(co.must.size()).append("|").append(co.may.size()).append("\n");
         summary.append("===========================================");
         logger.info(summary);
-        return a;
+        return this;
+    }
+
+    private boolean loadFrom(RelationAnalysisCache cache) {
+        Set<Relation> relations = task.getMemoryModel().getRelations();
+        for (Relation r : relations) {
+            knowledgeMap.put(r, new Knowledge(newGraph(), enableMustSets ? newGraph() : EventGraph.empty()));
+        }
+        if (cache.load(task.getProgram(), relations, r -> knowledgeMap.get(r).may, r -> knowledgeMap.get(r).must, mutex)) {
+            return true;
+        }
+        // Partially loaded graphs are discarded.
+        knowledgeMap.clear();
+        mutex = newGraph();
+        return false;
+    }
+
+    private void storeTo(RelationAnalysisCache cache) {
+        cache.store(task.getMemoryModel().getRelations(), r -> knowledgeMap.get(r).may, r -> knowledgeMap.get(r).must, mutex);
     }
 
     /**
@@ -166,6 +233,14 @@ public class RelationAnalysis {
         return knowledgeMap.get(relation);
     }
 
+    /**
+     * Creates an empty graph with the representation selected for this analysis.
+     * Graphs that are combined with may and must sets should be created via this method.
+     */
+    public EventGraph newGraph() {
+        return new EventGraph(domain);
+    }
+
     /**
      * Iterates those event pairs that, if both executed, violate some axiom of the memory model.
      */
@@ -195,7 +270,7 @@ public class RelationAnalysis {
      */
     public EventGraph findTransitivelyImpliedCo(Relation co) {
         final RelationAnalysis.Knowledge k = getKnowledge(co);
-        EventGraph transCo = new EventGraph();
+        EventGraph transCo = newGraph();
         Map<Event, Set<Event>> mustIn = k.getMustSet().getInMap();
         Map<Event, Set<Event>> mustOut = k.getMustSet().getOutMap();
         k.may.apply((e1, e2) -> {
@@ -235,56 +310,204 @@ public class RelationAnalysis {
             }
         }
         // ------------------------------------------------
-        Propagator propagator = new Propagator();
+        List<Set<Relation>> strata = new ArrayList<>();
         for (Set<DependencyGraph<Relation>.Node> scc : DependencyGraph.from(memoryModel.getRelations()).getSCCs()) {
-            logger.trace("Regular analysis for component {}", scc);
             Set<Relation> stratum = scc.stream().map(DependencyGraph.Node::getContent).collect(toSet());
             if (!enable && stratum.stream().noneMatch(Relation::isInternal)) {
                 continue;
             }
-            // the algorithm has deterministic order, only if all components are deterministically-ordered
-            Map<Relation, List<Delta>> qLocal = new LinkedHashMap<>();
-            // move from global queue
+            strata.add(stratum);
+        }
+        if (threads > 1) {
+            runParallel(strata, dependents, qGlobal);
+        } else {
+            Propagator propagator = new Propagator();
+            for (Set<Relation> stratum : strata) {
+                logger.trace("Regular analysis for component {}", stratum);
+                List<Definition> external = new ArrayList<>();
+                analyzeStratum(stratum, takeQueue(stratum, qGlobal), dependents, propagator, (relation, delta) -> {
+                    external.clear();
+                    for (Definition c : dependents.getOrDefault(relation, List.of())) {
+                        if (!stratum.contains(c.getDefinedRelation())) {
+                            external.add(c);
+                        }
+                    }
+                    enqueue(qGlobal, external, propagate(propagator, relation, delta, external));
+                });
+            }
+        }
+        verify(!enable || qGlobal.isEmpty(), "knowledge buildup propagated downwards");
+        logger.trace("End");
+    }
+
+    /*
+        Analyzes the strata in topological waves: All strata of a wave only depend on strata of previous waves.
+        Each stratum of a wave reaches its fixed point on a separate worker, while updates to relations of
+        later strata are accumulated per relation.
+        Those accumulated updates get propagated after the wave is complete, so that no worker reads knowledge
+        that is modified concurrently.
+        Since knowledge only ever grows during this phase, the result is the same as in the sequential analysis.
+     */
+    private void runParallel(List<Set<Relation>> strata,
+                             Map<Relation, List<Definition>> dependents,
+                             Map<Relation, List<Delta>> qGlobal) {
+        Map<Relation, Integer> waveOf = new HashMap<>();
+        List<List<Set<Relation>>> waves = new ArrayList<>();
+        for (Set<Relation> stratum : strata) {
+            int wave = 0;
             for (Relation r : stratum) {
-                List<Delta> d = qGlobal.remove(r);
-                if (d != null) {
-                    qLocal.put(r, d);
+                for (Relation d : r.getDependencies()) {
+                    if (!stratum.contains(d)) {
+                        wave = Math.max(wave, waveOf.getOrDefault(d, -1) + 1);
+                    }
                 }
             }
-            // repeat until convergence
-            while (!qLocal.isEmpty()) {
-                Relation relation = qLocal.keySet().iterator().next();
-                logger.trace("Regular knowledge update for '{}'", relation);
-                Delta delta = knowledgeMap.get(relation).joinSet(qLocal.remove(relation));
-                if (delta.may.isEmpty() && delta.must.isEmpty()) {
-                    continue;
+            for (Relation r : stratum) {
+                waveOf.put(r, wave);
+            }
+            if (wave == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(stratum);
+        }
+        logger.debug("Parallel analysis of {} components in {} waves with {} threads", strata.size(), waves.size(), threads);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (List<Set<Relation>> wave : waves) {
+                // Each stratum reaches its fixed point.
+                List<Future<Map<Relation, Delta>>> analyses = new ArrayList<>();
+                for (Set<Relation> stratum : wave) {
+                    Map<Relation, List<Delta>> qLocal = takeQueue(stratum, qGlobal);
+                    analyses.add(pool.submit(() -> {
+                        logger.trace("Regular analysis for component {}", stratum);
+                        Map<Relation, Delta> updates = new LinkedHashMap<>();
+                        analyzeStratum(stratum, qLocal, dependents, new Propagator(), (relation, delta) -> {
+                            Delta update = updates.computeIfAbsent(relation, r -> new Delta(newGraph(), newGraph()));
+                            update.may.addAll(delta.may);
+                            update.must.addAll(delta.must);
+                        });
+                        return updates;
+                    }));
                 }
-
-                // TODO: Quick fix for https://github.com/hernanponcedeleon/Dat3M/issues/523
-                //  (doesn't affect parent relations, a proper fix needed)
-                if (relation.getDefinition() instanceof Difference difference) {
-                    Knowledge k = knowledgeMap.get(difference.complement);
-                    knowledgeMap.get(relation).may.removeAll(k.must);
-                    knowledgeMap.get(relation).must.removeAll(k.may);
+                // The propagation reads the knowledge of other dependencies, which may belong to any stratum
+                // of this wave, so it has to wait until the whole wave is complete.
+                List<Map<Relation, Delta>> results = new ArrayList<>(analyses.size());
+                for (Future<Map<Relation, Delta>> analysis : analyses) {
+                    results.add(getResult(analysis));
+                }
+                // Accumulated updates are propagated to the later strata.
+                List<List<Definition>> targets = new ArrayList<>();
+                List<Future<List<Delta>>> propagations = new ArrayList<>();
+                for (int i = 0; i < wave.size(); i++) {
+                    Set<Relation> stratum = wave.get(i);
+                    for (Map.Entry<Relation, Delta> update : results.get(i).entrySet()) {
+                        List<Definition> external = dependents.getOrDefault(update.getKey(), List.of()).stream()
+                                .filter(c -> !stratum.contains(c.getDefinedRelation()))
+                                .toList();
+                        targets.add(external);
+                        propagations.add(pool.submit(() ->
+                                propagate(new Propagator(), update.getKey(), update.getValue(), external)));
+                    }
                 }
+                for (int i = 0; i < targets.size(); i++) {
+                    enqueue(qGlobal, targets.get(i), getResult(propagations.get(i)));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            java.lang.Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during relation analysis", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
-                propagator.source = relation;
-                propagator.may = delta.may;
-                propagator.must = delta.must;
-                for (Definition c : dependents.getOrDefault(relation, List.of())) {
-                    logger.trace("Regular propagation from '{}' to '{}'", relation, c);
-                    Relation r = c.getDefinedRelation();
-                    Delta d = c.accept(propagator);
-                    verify(enableMustSets || d.must.isEmpty(),
-                            "although disabled, computed a non-empty must set for relation %s", r);
-                    (stratum.contains(r) ? qLocal : qGlobal)
-                            .computeIfAbsent(r, k -> new ArrayList<>())
-                            .add(d);
+    private static Map<Relation, List<Delta>> takeQueue(Set<Relation> stratum, Map<Relation, List<Delta>> qGlobal) {
+        // the algorithm has deterministic order, only if all components are deterministically-ordered
+        Map<Relation, List<Delta>> qLocal = new LinkedHashMap<>();
+        // move from global queue
+        for (Relation r : stratum) {
+            List<Delta> d = qGlobal.remove(r);
+            if (d != null) {
+                qLocal.put(r, d);
+            }
+        }
+        return qLocal;
+    }
+
+    private static void enqueue(Map<Relation, List<Delta>> queue, List<Definition> targets, List<Delta> deltas) {
+        for (int i = 0; i < targets.size(); i++) {
+            queue.computeIfAbsent(targets.get(i).getDefinedRelation(), k -> new ArrayList<>()).add(deltas.get(i));
+        }
+    }
+
+    /*
+        Computes the fixed point of a stratum.
+        Updates of relations that have dependents outside the stratum are passed to {@code external}.
+     */
+    private void analyzeStratum(Set<Relation> stratum,
+                                Map<Relation, List<Delta>> qLocal,
+                                Map<Relation, List<Definition>> dependents,
+                                Propagator propagator,
+                                BiConsumer<Relation, Delta> external) {
+        // repeat until convergence
+        while (!qLocal.isEmpty()) {
+            Relation relation = qLocal.keySet().iterator().next();
+            logger.trace("Regular knowledge update for '{}'", relation);
+            Delta delta = knowledgeMap.get(relation).joinSet(qLocal.remove(relation));
+            if (delta.may.isEmpty() && delta.must.isEmpty()) {
+                continue;
+            }
+
+            // TODO: Quick fix for https://github.com/hernanponcedeleon/Dat3M/issues/523
+            //  (doesn't affect parent relations, a proper fix needed)
+            if (relation.getDefinition() instanceof Difference difference) {
+                Knowledge k = knowledgeMap.get(difference.complement);
+                knowledgeMap.get(relation).may.removeAll(k.must);
+                knowledgeMap.get(relation).must.removeAll(k.may);
+            }
+
+            List<Definition> internal = new ArrayList<>();
+            boolean hasExternal = false;
+            for (Definition c : dependents.getOrDefault(relation, List.of())) {
+                if (stratum.contains(c.getDefinedRelation())) {
+                    internal.add(c);
+                } else {
+                    hasExternal = true;
                 }
             }
+            List<Delta> deltas = propagate(propagator, relation, delta, internal);
+            for (int i = 0; i < internal.size(); i++) {
+                qLocal.computeIfAbsent(internal.get(i).getDefinedRelation(), k -> new ArrayList<>()).add(deltas.get(i));
+            }
+            if (hasExternal) {
+                external.accept(relation, delta);
+            }
         }
-        verify(!enable || qGlobal.isEmpty(), "knowledge buildup propagated downwards");
-        logger.trace("End");
+    }
+
+    private List<Delta> propagate(Propagator propagator, Relation source, Delta delta, List<Definition> targets) {
+        propagator.source = source;
+        propagator.may = delta.may;
+        propagator.must = delta.must;
+        List<Delta> result = new ArrayList<>(targets.size());
+        for (Definition c : targets) {
+            logger.trace("Regular propagation from '{}' to '{}'", source, c);
+            Delta d = c.accept(propagator);
+            verify(enableMustSets || d.must.isEmpty(),
+                    "although disabled, computed a non-empty must set for relation %s", c.getDefinedRelation());
+            result.add(d);
+        }
+        return result;
     }
 
     public static final class Knowledge {
@@ -311,8 +534,8 @@ public class RelationAnalysis {
         private Delta joinSet(List<Delta> l) {
             verify(!l.isEmpty(), "empty update");
             // NOTE optimization due to initial deltas carrying references to knowledge sets
-            EventGraph maySet = may.isEmpty() || l.get(0).may == may ? may : new EventGraph();
-            EventGraph mustSet = must.isEmpty() || l.get(0).must == must ? must : new EventGraph();
+            EventGraph maySet = may.isEmpty() || l.get(0).may == may ? may : new EventGraph(may.getEventDomain());
+            EventGraph mustSet = must.isEmpty() || l.get(0).must == must ? must : new EventGraph(must.getEventDomain());
             for (Delta d : l) {
                 d.may.apply((e1, e2) -> {
                     if (may.add(e1, e2)) {
@@ -330,8 +553,8 @@ public class RelationAnalysis {
 
         private ExtendedDelta join(List<ExtendedDelta> l) {
             verify(!l.isEmpty(), "empty update in extended analysis");
-            EventGraph disableSet = new EventGraph();
-            EventGraph enableSet = new EventGraph();
+            EventGraph disableSet = new EventGraph(may.getEventDomain());
+            EventGraph enableSet = new EventGraph(must.getEventDomain());
             for (ExtendedDelta d : l) {
                 new EventGraph(d.disabled).apply((e1, e2) -> {
                     if (may.remove(e1, e2)) {
@@ -353,6 +576,7 @@ public class RelationAnalysis {
         Wmm memoryModel = task.getMemoryModel();
         Map<Relation, List<Constraint>> dependents = new HashMap<>();
         Map<Relation, List<ExtendedDelta>> q = new LinkedHashMap<>();
+        List<Constraint> constraints = new ArrayList<>();
         for (Constraint c : memoryModel.getConstraints()) {
             if (c instanceof Axiom axiom && axiom.isFlagged()) {
                 continue;
@@ -360,8 +584,10 @@ public class RelationAnalysis {
             for (Relation r : c.getConstrainedRelations()) {
                 dependents.computeIfAbsent(r, k -> new ArrayList<>()).add(c);
             }
-            for (Map.Entry<Relation, ExtendedDelta> e :
-                    c.computeInitialKnowledgeClosure(knowledgeMap, analysisContext).entrySet()) {
+            constraints.add(c);
+        }
+        for (Map<Relation, ExtendedDelta> closure : computeInitialKnowledgeClosures(constraints)) {
+            for (Map.Entry<Relation, ExtendedDelta> e : closure.entrySet()) {
                 q.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue());
             }
         }
@@ -398,6 +624,25 @@ public class RelationAnalysis {
         logger.trace("End");
     }
 
+    // The initial closures only read the knowledge, so they can be computed independently of each other.
+    private List<Map<Relation, ExtendedDelta>> computeInitialKnowledgeClosures(List<Constraint> constraints) {
+        if (threads <= 1) {
+            return constraints.stream()
+                    .map(c -> c.computeInitialKnowledgeClosure(knowledgeMap, analysisContext))
+                    .toList();
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Relation, ExtendedDelta>>> futures = new ArrayList<>();
+            for (Constraint c : constraints) {
+                futures.add(pool.submit(() -> c.computeInitialKnowledgeClosure(knowledgeMap, analysisContext)));
+            }
+            return futures.stream().map(RelationAnalysis::getResult).toList();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     public static final class Delta {
         public final EventGraph may;
         public final EventGraph must;
@@ -427,7 +672,7 @@ public class RelationAnalysis {
             if (enable) {
                 defaultKnowledge = null;
             } else {
-                EventGraph may = new EventGraph();
+                EventGraph may = newGraph();
                 Set<Event> events = program.getThreadEvents().stream().filter(e -> e.hasTag(VISIBLE)).collect(toSet());
                 for (Event x : events) {
                     may.addRange(x, events);
@@ -438,12 +683,12 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitDefinition(Relation r, List<? extends Relation> d) {
-            return defaultKnowledge != null && !r.isInternal() ? defaultKnowledge : new Knowledge(new EventGraph(), new EventGraph());
+            return defaultKnowledge != null && !r.isInternal() ? defaultKnowledge : new Knowledge(newGraph(), newGraph());
         }
 
         @Override
         public Knowledge visitProduct(Relation rel, Filter domain, Filter range) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             List<Event> l1 = program.getThreadEvents().stream().filter(domain::apply).toList();
             List<Event> l2 = program.getThreadEvents().stream().filter(range::apply).toList();
             for (Event e1 : l1) {
@@ -457,7 +702,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitIdentity(Relation rel, Filter set) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             for (Event e : program.getThreadEvents()) {
                 if (set.apply(e)) {
                     must.add(e, e);
@@ -468,7 +713,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitExternal(Relation rel) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             List<Thread> threads = program.getThreads();
             for (int i = 0; i < threads.size(); i++) {
                 Thread t1 = threads.get(i);
@@ -489,7 +734,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitInternal(Relation rel) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             for (Thread t : program.getThreads()) {
                 List<Event> events = visibleEvents(t);
                 for (Event e1 : events) {
@@ -504,7 +749,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitProgramOrder(Relation rel, Filter type) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             for (Thread t : program.getThreads()) {
                 List<Event> events = t.getEvents().stream().filter(type::apply).toList();
                 for (int i = 0; i < events.size(); i++) {
@@ -524,7 +769,7 @@ public class RelationAnalysis {
         public Knowledge visitControl(Relation rel) {
             //TODO: We can restrict the codomain to visible events as the only usage of this Relation is in
             // ctrl := idd^+;ctrlDirect & (R*V)
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             for (Thread thread : program.getThreads()) {
                 for (CondJump jump : thread.getEvents(CondJump.class)) {
                     if (jump.isGoto() || jump.isDead()) {
@@ -564,8 +809,8 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitFences(Relation rel, Filter fence) {
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = newGraph();
+            EventGraph must = newGraph();
             for (Thread t : program.getThreads()) {
                 List<Event> events = visibleEvents(t);
                 int end = events.size();
@@ -596,7 +841,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitCompareAndSwapDependency(Relation rel) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             for (Event e : program.getThreadEvents()) {
                 if (e.hasTag(IMM.CASDEPORIGIN)) {
                     // The target of a CASDep is always the successor of the origin
@@ -608,8 +853,8 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitCriticalSections(Relation rel) {
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = newGraph();
+            EventGraph must = newGraph();
             //assume locks and unlocks are distinct
             Map<Event, Set<Event>> mayMap = new HashMap<>();
             Map<Event, Set<Event>> mustMap = new HashMap<>();
@@ -653,7 +898,7 @@ public class RelationAnalysis {
         public Knowledge visitReadModifyWrites(Relation rel) {
             //NOTE: Changes to the semantics of this method may need to be reflected in RMWGraph for Refinement!
             // ----- Compute must set -----
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             // RMWLoad -> RMWStore
             for (RMWStore store : program.getThreadEvents(RMWStore.class)) {
                 must.add(store.getLoadEvent(), store);
@@ -712,16 +957,13 @@ public class RelationAnalysis {
             logger.trace("Computing knowledge about memory order");
             List<Store> nonInitWrites = program.getThreadEvents(Store.class);
             nonInitWrites.removeIf(Init.class::isInstance);
-            EventGraph may = new EventGraph();
-            for (Store w1 : program.getThreadEvents(Store.class)) {
-                for (Store w2 : nonInitWrites) {
-                    if (w1.getGlobalId() != w2.getGlobalId() && !exec.areMutuallyExclusive(w1, w2)
-                            && alias.mayAlias(w1, w2)) {
-                        may.add(w1, w2);
-                    }
+            EventGraph may = newGraph();
+            alias.forEachMayAliasPair(program.getThreadEvents(Store.class), nonInitWrites, (w1, w2) -> {
+                if (w1.getGlobalId() != w2.getGlobalId() && !exec.areMutuallyExclusive(w1, w2)) {
+                    may.add(w1, w2);
                 }
-            }
-            EventGraph must = new EventGraph();
+            });
+            EventGraph must = newGraph();
             (enableMustSets ? may : EventGraph.empty()).apply((e1, e2) -> {
                 MemoryCoreEvent w1 = (MemoryCoreEvent) e1;
                 MemoryCoreEvent w2 = (MemoryCoreEvent) e2;
@@ -747,16 +989,14 @@ public class RelationAnalysis {
         public Knowledge visitReadFrom(Relation rel) {
             logger.trace("Computing knowledge about read-from");
             final BranchEquivalence eq = analysisContext.requires(BranchEquivalence.class);
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = newGraph();
+            EventGraph must = newGraph();
             List<Load> loadEvents = program.getThreadEvents(Load.class);
-            for (Store e1 : program.getThreadEvents(Store.class)) {
-                for (Load e2 : loadEvents) {
-                    if (alias.mayAlias(e1, e2) && !exec.areMutuallyExclusive(e1, e2)) {
-                        may.add(e1, e2);
-                    }
+            alias.forEachMayAliasPair(program.getThreadEvents(Store.class), loadEvents, (e1, e2) -> {
+                if (!exec.areMutuallyExclusive(e1, e2)) {
+                    may.add(e1, e2);
                 }
-            }
+            });
 
             // Here we add must-rf edges between loads/stores that synchronize threads.
             for (Thread thread : program.getThreads()) {
@@ -783,7 +1023,7 @@ public class RelationAnalysis {
                 // Remove future reads
                 may.removeIf(Tuple::isBackward);
                 // Remove past reads
-                EventGraph deletedEdges = new EventGraph();
+                EventGraph deletedEdges = newGraph();
                 Map<Event, List<Event>> writesByRead = new HashMap<>();
                 may.apply((e1, e2) -> writesByRead.computeIfAbsent(e2, x -> new ArrayList<>()).add(e1));
                 for (Load read : program.getThreadEvents(Load.class)) {
@@ -859,16 +1099,14 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitSameAddress(Relation rel) {
-            EventGraph may = new EventGraph();
+            EventGraph may = newGraph();
             List<MemoryCoreEvent> events = program.getThreadEvents(MemoryCoreEvent.class);
-            for (MemoryCoreEvent e1 : events) {
-                for (MemoryCoreEvent e2 : events) {
-                    if (alias.mayAlias(e1, e2) && !exec.areMutuallyExclusive(e1, e2)) {
-                        may.add(e1, e2);
-                    }
+            alias.forEachMayAliasPair(events, events, (e1, e2) -> {
+                if (!exec.areMutuallyExclusive(e1, e2)) {
+                    may.add(e1, e2);
                 }
-            }
-            EventGraph must = new EventGraph();
+            });
+            EventGraph must = newGraph();
             (enableMustSets ? may : EventGraph.empty()).apply((e1, e2) -> {
                 if (alias.mustAlias((MemoryCoreEvent) e1, (MemoryCoreEvent) e2)) {
                     must.add(e1, e2);
@@ -878,8 +1116,8 @@ public class RelationAnalysis {
         }
 
         private Knowledge computeInternalDependencies(Set<UsageType> usageTypes) {
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = newGraph();
+            EventGraph must = newGraph();
 
             for (Event regReaderEvent : program.getThreadEvents()) {
                 //TODO: Once "Event" is an interface and RegReader inherits from it,
@@ -926,7 +1164,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitSameScope(Relation rel, String specificScope) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             List<Event> events = program.getThreadEvents().stream()
                     .filter(e -> e.hasTag(VISIBLE) && e.getThread().hasScope())
                     .toList();
@@ -956,8 +1194,8 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitSyncBarrier(Relation sync_bar) {
-            EventGraph may = new EventGraph();
-            EventGraph must = new EventGraph();
+            EventGraph may = newGraph();
+            EventGraph must = newGraph();
             List<FenceWithId> fenceEvents = program.getThreadEvents(FenceWithId.class);
             for (FenceWithId e1 : fenceEvents) {
                 for (FenceWithId e2 : fenceEvents) {
@@ -977,7 +1215,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitSyncFence(Relation sync_fen) {
-            EventGraph may = new EventGraph();
+            EventGraph may = newGraph();
             List<Event> fenceEventsSC = program.getThreadEventsWithAllTags(VISIBLE, FENCE, PTX.SC);
             for (Event e1 : fenceEventsSC) {
                 for (Event e2 : fenceEventsSC) {
@@ -991,8 +1229,8 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitVirtualLocation(Relation rel) {
-            EventGraph must = new EventGraph();
-            EventGraph may = new EventGraph();
+            EventGraph must = newGraph();
+            EventGraph may = newGraph();
             List<MemoryCoreEvent> events = program.getThreadEvents(MemoryCoreEvent.class);
             for (MemoryCoreEvent e1 : events) {
                 for (MemoryCoreEvent e2 : events) {
@@ -1011,7 +1249,7 @@ public class RelationAnalysis {
 
         @Override
         public Knowledge visitSyncWith(Relation rel) {
-            EventGraph must = new EventGraph();
+            EventGraph must = newGraph();
             List<Event> events = new ArrayList<>(program.getThreadEventsWithAllTags(VISIBLE));
             events.removeIf(Init.class::isInstance);
             for (Event e1 : events) {
@@ -1099,8 +1337,8 @@ public class RelationAnalysis {
 
         @Override
         public Delta visitComposition(Relation rel, Relation r1, Relation r2) {
-            EventGraph maySet = new EventGraph();
-            EventGraph mustSet = new EventGraph();
+            EventGraph maySet = newGraph();
+            EventGraph mustSet = newGraph();
             if (r1.equals(source)) {
                 computeComposition(maySet, may, knowledgeMap.get(r2).may, true);
                 if (enableMustSets) {
@@ -1135,9 +1373,9 @@ public class RelationAnalysis {
         @Override
         public Delta visitDomainIdentity(Relation rel, Relation r1) {
             if (r1.equals(source)) {
-                EventGraph maySet = new EventGraph();
+                EventGraph maySet = newGraph();
                 may.getDomain().forEach(e -> maySet.add(e, e));
-                EventGraph mustSet = enableMustSets ? new EventGraph() : EventGraph.empty();
+                EventGraph mustSet = enableMustSets ? newGraph() : EventGraph.empty();
                 if (enableMustSets) {
                     must.getDomain().forEach(e -> mustSet.add(e, e));
                 }
@@ -1149,9 +1387,9 @@ public class RelationAnalysis {
         @Override
         public Delta visitRangeIdentity(Relation rel, Relation r1) {
             if (r1.equals(source)) {
-                EventGraph maySet = new EventGraph();
+                EventGraph maySet = newGraph();
                 may.getRange().forEach(e -> maySet.add(e, e));
-                EventGraph mustSet = enableMustSets ? new EventGraph() : EventGraph.empty();
+                EventGraph mustSet = enableMustSets ? newGraph() : EventGraph.empty();
                 if (enableMustSets) {
                     must.getRange().forEach(e -> mustSet.add(e, e));
                 }
@@ -1186,7 +1424,7 @@ public class RelationAnalysis {
             EventGraph outer = new EventGraph(oldOuter);
             outer.addAll(inner);
             for (EventGraph current = inner; !current.isEmpty(); current = next) {
-                next = new EventGraph();
+                next = newGraph();
                 for (Event e1 : current.getDomain()) {
                     Set<Event> update = new HashSet<>();
                     for (Event e2 : current.getRange(e1)) {
@@ -1230,7 +1468,7 @@ public class RelationAnalysis {
                 }
             }
             if (List.of(operands).contains(origin)) {
-                EventGraph d = new EventGraph();
+                EventGraph d = newGraph();
                 disabled.apply((e1, e2) -> {
                     if (Arrays.stream(operands).noneMatch(o -> knowledgeMap.get(o).getMaySet().contains(e1, e2))) {
                         d.add(e1, e2);
@@ -1285,10 +1523,10 @@ public class RelationAnalysis {
 
         @Override
         public Map<Relation, ExtendedDelta> visitComposition(Relation r0, Relation r1, Relation r2) {
-            EventGraph d0 = new EventGraph();
-            EventGraph e0 = new EventGraph();
-            EventGraph d1 = new EventGraph();
-            EventGraph d2 = new EventGraph();
+            EventGraph d0 = newGraph();
+            EventGraph e0 = newGraph();
+            EventGraph d1 = newGraph();
+            EventGraph d2 = newGraph();
             Knowledge k0 = knowledgeMap.get(r0);
             Knowledge k1 = knowledgeMap.get(r1);
             Knowledge k2 = knowledgeMap.get(r2);
@@ -1329,8 +1567,8 @@ public class RelationAnalysis {
 
             Map<Relation, ExtendedDelta> map = new HashMap<>();
             map.put(r0, new ExtendedDelta(d0, e0));
-            map.computeIfAbsent(r1, k -> new ExtendedDelta(d1, new EventGraph())).disabled.addAll(d1);
-            map.computeIfAbsent(r2, k -> new ExtendedDelta(d2, new EventGraph())).disabled.addAll(d2);
+            map.computeIfAbsent(r1, k -> new ExtendedDelta(d1, newGraph())).disabled.addAll(d1);
+            map.computeIfAbsent(r2, k -> new ExtendedDelta(d2, newGraph())).disabled.addAll(d2);
             return map;
         }
 
@@ -1354,7 +1592,7 @@ public class RelationAnalysis {
                 EventGraph mayOut1,
                 EventGraph mayOut2
         ) {
-            EventGraph result = new EventGraph();
+            EventGraph result = newGraph();
             for (Event e1 : disOut1.getDomain()) {
                 for (Event e : disOut1.getRange(e1)) {
                     Set<Event> e2Set = new HashSet<>(mayOut2.getRange(e));
@@ -1380,8 +1618,8 @@ public class RelationAnalysis {
                 EventGraph mustOut2,
                 EventGraph mayOut0
         ) {
-            EventGraph enOut0 = new EventGraph();
-            EventGraph disOut2 = new EventGraph();
+            EventGraph enOut0 = newGraph();
+            EventGraph disOut2 = newGraph();
             for (Event e1 : enOut1.getDomain()) {
                 for (Event e : enOut1.getRange(e1)) {
                     Set<Event> e2Set = new HashSet<>(mayOut2.getRange(e));
@@ -1417,9 +1655,9 @@ public class RelationAnalysis {
 
         @Override
         public Map<Relation, ExtendedDelta> visitTransitiveClosure(Relation r0, Relation r1) {
-            EventGraph d0 = new EventGraph();
-            EventGraph e0 = new EventGraph();
-            EventGraph d1 = new EventGraph();
+            EventGraph d0 = newGraph();
+            EventGraph e0 = newGraph();
+            EventGraph d1 = newGraph();
             Knowledge k0 = knowledgeMap.get(r0);
             Knowledge k1 = knowledgeMap.get(r1);
             if (origin.equals(r1)) {
@@ -1510,7 +1748,7 @@ public class RelationAnalysis {
                 return Map.of();
             }
             //TODO use transitivity
-            EventGraph e = new EventGraph();
+            EventGraph e = newGraph();
             disabled.apply((x, y) -> {
                 if (alias.mustAlias((MemoryCoreEvent) x, (MemoryCoreEvent) y)) {
                     e.add(y, x);
@@ -0,0 +1,167 @@
+package com.dat3m.dartagnan.wmm.analysis;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.event.core.Event;
+import com.dat3m.dartagnan.verification.TaskFingerprint;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.utils.EventDomain;
+import com.dat3m.dartagnan.wmm.utils.EventGraph;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+
+/*
+    Stores the results of the relation analysis on disk, so that repeated runs on the same input
+    (e.g. the same program against the same model with a different solver or method) can skip the analysis.
+    Entries are keyed by a hash of the processed program, the memory model and all options that might affect
+    the preceding processing and analyses. Events are identified by their global ids,
+    which are deterministic for a given input.
+    NOTE: Entries are never invalidated. The cache directory should be cleared after changing the tool itself.
+ */
+final class RelationAnalysisCache {
+
+    private static final Logger logger = LogManager.getLogger(RelationAnalysisCache.class);
+
+    private static final int MAGIC = 0x44334D52;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".ra";
+
+    // Options that cannot influence the processed program or the relation analysis.
+    private static final List<String> IGNORED_OPTIONS = List.of(
+            PROPERTY, METHOD, SOLVER, TIMEOUT, VALIDATE, PHANTOM_REFERENCES, RELATION_ANALYSIS_THREADS,
+            RELATION_ANALYSIS_CACHE, "witness.", "printer.", "svcomp.", "batch.", "portfolio.", "refinement.");
+
+    private final Path file;
+
+    private RelationAnalysisCache(Path file) {
+        this.file = file;
+    }
+
+    static RelationAnalysisCache of(String directory, VerificationTask task) {
+        return new RelationAnalysisCache(Path.of(directory).resolve(computeKey(task) + EXTENSION));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /*
+        Fills the graphs provided by the lookups with the stored results.
+        Returns false, if there is no valid entry for the task.
+     */
+    boolean load(Program program, Collection<Relation> relations,
+                 Function<Relation, EventGraph> may, Function<Relation, EventGraph> must, EventGraph mutex) {
+        Map<String, Relation> relationsByName = indexByName(relations);
+        if (relationsByName == null || !Files.isRegularFile(file)) {
+            return false;
+        }
+        EventDomain domain = EventDomain.fromProgram(program);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != relationsByName.size()) {
+                return false;
+            }
+            for (int i = 0; i < relationsByName.size(); i++) {
+                Relation r = relationsByName.get(in.readUTF());
+                if (r == null) {
+                    return false;
+                }
+                readGraph(in, domain, may.apply(r));
+                readGraph(in, domain, must.apply(r));
+            }
+            readGraph(in, domain, mutex);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read relation analysis cache {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    void store(Collection<Relation> relations,
+               Function<Relation, EventGraph> may, Function<Relation, EventGraph> must, EventGraph mutex) {
+        Map<String, Relation> relationsByName = indexByName(relations);
+        if (relationsByName == null) {
+            logger.debug("Relation analysis is not cached, since relation names are ambiguous.");
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            // Written to a temporary file first, so that concurrent runs never see partial entries.
+            Path tmp = Files.createTempFile(file.getParent(), "ra", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(relationsByName.size());
+                for (Map.Entry<String, Relation> entry : relationsByName.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeGraph(out, may.apply(entry.getValue()));
+                    writeGraph(out, must.apply(entry.getValue()));
+                }
+                writeGraph(out, mutex);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write relation analysis cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Returns null, if two relations share a name (e.g. equal anonymous terms).
+    private static Map<String, Relation> indexByName(Collection<Relation> relations) {
+        Map<String, Relation> result = new TreeMap<>();
+        for (Relation r : relations) {
+            if (result.put(r.getNameOrTerm(), r) != null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static void writeGraph(DataOutputStream out, EventGraph graph) throws IOException {
+        out.writeInt(graph.size());
+        IOException[] failure = new IOException[1];
+        graph.apply((e1, e2) -> {
+            if (failure[0] == null) {
+                try {
+                    out.writeInt(e1.getGlobalId());
+                    out.writeInt(e2.getGlobalId());
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private static void readGraph(DataInputStream in, EventDomain domain, EventGraph graph) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            Event e1 = domain.getEvent(in.readInt());
+            Event e2 = domain.getEvent(in.readInt());
+            if (e1 == null || e2 == null) {
+                throw new IOException("Unknown event id.");
+            }
+            graph.add(e1, e2);
+        }
+    }
+
+    // ================================================================================================
+    // Key
+
+    private static String computeKey(VerificationTask task) {
+        return TaskFingerprint.compute(task, VERSION, RelationAnalysisCache::isRelevantOption);
+    }
+
+    private static boolean isRelevantOption(String line) {
+        return IGNORED_OPTIONS.stream().noneMatch(line::startsWith);
+    }
+}
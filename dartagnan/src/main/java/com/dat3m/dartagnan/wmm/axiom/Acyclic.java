@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.wmm.axiom;
 
+import com.dat3m.dartagnan.encoding.ConstraintStream;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.event.Tag;
@@ -10,6 +11,7 @@ import com.dat3m.dartagnan.wmm.Relation;
 import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
 import com.dat3m.dartagnan.wmm.utils.EventGraph;
 import com.dat3m.dartagnan.wmm.utils.Tuple;
+import com.dat3m.dartagnan.wmm.utils.VertexElimination;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.Options;
@@ -44,12 +46,12 @@ public class Acyclic extends Axiom {
     // if the clauses {@code exec(x) implies before(x,y)} and {@code exec(z) implies before(y,z)} exist.
     // NOTE: Assumes that the must-set of rel+ is acyclic.
     private static EventGraph transitivelyDerivableMustEdges(ExecutionAnalysis exec, RelationAnalysis.Knowledge k) {
-        EventGraph result = new EventGraph();
+        EventGraph result = new EventGraph(k.getMustSet().getEventDomain());
         Map<Event, Set<Event>> map = new HashMap<>();
         Map<Event, Set<Event>> mapInverse = new HashMap<>();
         EventGraph current = k.getMustSet();
         while (!current.isEmpty()) {
-            EventGraph next = new EventGraph();
+            EventGraph next = new EventGraph(result.getEventDomain());
             current.apply((x, y) -> {
                 map.computeIfAbsent(x, e -> new HashSet<>()).add(y);
                 mapInverse.computeIfAbsent(y, e -> new HashSet<>()).add(x);
@@ -93,7 +95,7 @@ public class Acyclic extends Axiom {
         RelationAnalysis.Knowledge knowledge = knowledgeMap.get(rel);
         EventGraph may = knowledge.getMaySet();
         EventGraph must = knowledge.getMustSet();
-        EventGraph newDisabled = new EventGraph();
+        EventGraph newDisabled = new EventGraph(may.getEventDomain());
         may.apply((e1, e2) -> {
             if (Tuple.isLoop(e1, e2) || must.contains(e2, e1)) {
                 newDisabled.add(e1, e2);
@@ -107,7 +109,7 @@ public class Acyclic extends Axiom {
         });
         EventGraph current = knowledge.getMustSet();
         while (true) {
-            EventGraph next = new EventGraph();
+            EventGraph next = new EventGraph(may.getEventDomain());
             current.apply((x, y) -> {
                 if (Tuple.isLoop(x, y)) {
                     boolean implied = exec.isImplied(x, y);
@@ -144,7 +146,7 @@ public class Acyclic extends Axiom {
         ExecutionAnalysis exec = analysisContext.get(ExecutionAnalysis.class);
         RelationAnalysis.Knowledge knowledge = knowledgeMap.get(rel);
         EventGraph may = knowledge.getMaySet();
-        EventGraph newDisabled = new EventGraph();
+        EventGraph newDisabled = new EventGraph(may.getEventDomain());
         enabled.apply((e1, e2) -> {
             if (may.contains(e2, e1)) {
                 newDisabled.add(e2, e1);
@@ -161,7 +163,7 @@ public class Acyclic extends Axiom {
 
         EventGraph current = enabled;
         while (true) {
-            EventGraph next = new EventGraph();
+            EventGraph next = new EventGraph(may.getEventDomain());
             current.apply((x, y) -> {
                 if (!Tuple.isLoop(x, y)) {
                     boolean implies = exec.isImplied(x, y);
@@ -214,7 +216,7 @@ public class Acyclic extends Axiom {
 
         // ====== Compute SCCs ======
         DependencyGraph<Event> depGraph = DependencyGraph.from(succMap.keySet(), succMap);
-        final EventGraph result = new EventGraph();
+        final EventGraph result = ra.newGraph();
         for (Set<DependencyGraph<Event>.Node> scc : depGraph.getSCCs()) {
             for (DependencyGraph<Event>.Node node1 : scc) {
                 for (DependencyGraph<Event>.Node node2 : scc) {
@@ -314,21 +316,29 @@ public class Acyclic extends Axiom {
 
     @Override
     public List<BooleanFormula> consistent(EncodingContext context) {
+        List<BooleanFormula> enc = new ArrayList<>();
+        consistent(context, ConstraintStream.toCollection(enc));
+        return enc;
+    }
+
+    @Override
+    public void consistent(EncodingContext context, ConstraintStream enc) {
         ExecutionAnalysis exec = context.getAnalysisContext().get(ExecutionAnalysis.class);
         RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
         EventGraph toBeEncoded = getEncodeGraph(exec, ra);
-        return negated ?
-                inconsistentSAT(toBeEncoded, context) : // There is no IDL-based encoding for inconsistency
-                context.usesSATEncoding() ?
-                        consistentSAT(toBeEncoded, context) :
-                        consistentIDL(toBeEncoded, context);
+        if (negated) {
+            inconsistentSAT(toBeEncoded, context, enc); // There is no IDL-based encoding for inconsistency
+        } else if (context.usesSATEncoding()) {
+            consistentSAT(toBeEncoded, context, enc);
+        } else {
+            consistentIDL(toBeEncoded, context, enc);
+        }
     }
 
-    private List<BooleanFormula> inconsistentSAT(EventGraph toBeEncoded, EncodingContext context) {
+    private void inconsistentSAT(EventGraph toBeEncoded, EncodingContext context, ConstraintStream enc) {
         final FormulaManager fmgr = context.getFormulaManager();
         final BooleanFormulaManager bmgr = fmgr.getBooleanFormulaManager();
         final Relation rel = this.rel;
-        List<BooleanFormula> enc = new ArrayList<>();
         List<BooleanFormula> eventsInCycle = new ArrayList<>();
         Map<Event, List<BooleanFormula>> inMap = new HashMap<>();
         Map<Event, List<BooleanFormula>> outMap = new HashMap<>();
@@ -352,15 +362,13 @@ public class Acyclic extends Axiom {
         }
         // A cycle exists if there is an event in the cycle.
         enc.add(bmgr.or(eventsInCycle));
-        return enc;
     }
 
-    private List<BooleanFormula> consistentIDL(EventGraph toBeEncoded, EncodingContext context) {
+    private void consistentIDL(EventGraph toBeEncoded, EncodingContext context, ConstraintStream enc) {
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         final IntegerFormulaManager imgr = context.getFormulaManager().getIntegerFormulaManager();
         final Relation rel = this.rel;
         final String clockVarName = rel.getNameOrTerm();
-        List<BooleanFormula> enc = new ArrayList<>();
         final EncodingContext.EdgeEncoder edge = context.edge(rel);
         toBeEncoded.apply((e1, e2) ->
             enc.add(bmgr.implication(edge.encode(e1, e2),
@@ -368,10 +376,9 @@ public class Acyclic extends Axiom {
                             context.clockVariable(clockVarName, e1),
                             context.clockVariable(clockVarName,e2))))
         );
-        return enc;
     }
 
-    private List<BooleanFormula> consistentSAT(EventGraph toBeEncoded, EncodingContext context) {
+    private void consistentSAT(EventGraph toBeEncoded, EncodingContext context, ConstraintStream enc) {
         // We use a vertex-elimination graph based encoding.
         final FormulaManager fmgr = context.getFormulaManager();
         final BooleanFormulaManager bmgr = fmgr.getBooleanFormulaManager();
@@ -379,72 +386,44 @@ public class Acyclic extends Axiom {
         final RelationAnalysis ra = context.getAnalysisContext().requires(RelationAnalysis.class);
         final Relation rel = this.rel;
 
-        // Build original graph G
-        Map<Event, Set<Event>> inEdges = new HashMap<>();
-        Map<Event, Set<Event>> outEdges = new HashMap<>();
-        Set<Event> nodes = new HashSet<>();
-        Set<Event> selfloops = new HashSet<>();         // Special treatment for self-loops
+        // Build original graph G over dense ids
+        final Map<Event, Integer> ids = new HashMap<>();
+        final List<Event> nodes = new ArrayList<>();
+        final Set<Event> selfloops = new HashSet<>();         // Special treatment for self-loops
         toBeEncoded.apply((e1, e2) -> {
             if (Tuple.isLoop(e1, e2)) {
                 selfloops.add(e1);
             } else {
-                nodes.add(e1);
-                nodes.add(e2);
-                outEdges.computeIfAbsent(e1, key -> new HashSet<>()).add(e2);
-                inEdges.computeIfAbsent(e2, key -> new HashSet<>()).add(e1);
-            }
-        });
-
-        // Handle corner-cases where some node has no ingoing or outgoing edges
-        for (Event node : nodes) {
-            outEdges.putIfAbsent(node, new HashSet<>());
-            inEdges.putIfAbsent(node, new HashSet<>());
-        }
-
-        // Build vertex elimination graph G*, by iteratively modifying G
-        Map<Event, Set<Event>> vertEleInEdges = new HashMap<>();
-        Map<Event, Set<Event>> vertEleOutEdges = new HashMap<>();
-        for (Event e : nodes) {
-            vertEleInEdges.put(e, new HashSet<>(inEdges.get(e)));
-            vertEleOutEdges.put(e, new HashSet<>(outEdges.get(e)));
-        }
-        List<Event[]> triangles = new ArrayList<>();
-
-        // Build variable elimination ordering
-        List<Event> varOrderings = new ArrayList<>(); // We should order this
-        while (!nodes.isEmpty()) {
-            // Find best vertex e to eliminate
-            final Comparator<Event> comparator = Comparator.comparingInt(ev -> vertEleInEdges.get(ev).size() * vertEleOutEdges.get(ev).size());
-            final Event e = nodes.stream().min(comparator).get();
-            varOrderings.add(e);
-
-            // Eliminate e
-            nodes.remove(e);
-            final Set<Event> in = inEdges.remove(e);
-            final Set<Event> out = outEdges.remove(e);
-            in.forEach(x -> outEdges.get(x).remove(e));
-            out.forEach(x -> inEdges.get(x).remove(e));
-            // Create new edges due to elimination of e
-            for (Event e1 : in) {
-                for (Event e2 : out) {
-                    if (e2 == e1 || exec.areMutuallyExclusive(e1, e2)) {
-                        continue;
+                for (Event e : List.of(e1, e2)) {
+                    if (ids.putIfAbsent(e, nodes.size()) == null) {
+                        nodes.add(e);
                     }
-                    // Update next graph in the elimination sequence
-                    inEdges.get(e2).add(e1);
-                    outEdges.get(e1).add(e2);
-                    // Update vertex elimination graph
-                    vertEleOutEdges.get(e1).add(e2);
-                    vertEleInEdges.get(e2).add(e1);
-                    // Store constructed triangle
-                    triangles.add(new Event[]{e1, e, e2});
                 }
             }
+        });
+        final VertexElimination elimination = newVertexElimination(toBeEncoded, ids);
+        final VertexElimination.EdgeFilter filter = (a, b) -> !exec.areMutuallyExclusive(nodes.get(a), nodes.get(b));
+
+        // Build vertex elimination graph G*, by iteratively eliminating vertices from G
+        final VertexElimination.Heuristic heuristic = getMemoryModel().getConfig().getEliminationOrder();
+        final long t0 = System.currentTimeMillis();
+        elimination.eliminate(heuristic, filter);
+        final long time = System.currentTimeMillis() - t0;
+        final VertexElimination.Heuristic defaultHeuristic = VertexElimination.Heuristic.getDefault();
+        if (heuristic == defaultHeuristic) {
+            logger.info("Vertex elimination for {} using {}: {} triangles, {} fill edges, {} nodes in {}ms",
+                    this, heuristic, elimination.getTriangleCount(), elimination.getFillEdgeCount(), nodes.size(), time);
+        } else {
+            // Only computed for non-default orders, to compare them with the default one.
+            final VertexElimination reference = newVertexElimination(toBeEncoded, ids);
+            reference.eliminate(defaultHeuristic, filter);
+            logger.info("Vertex elimination for {} using {}: {} triangles ({} using {}), {} fill edges, {} nodes in {}ms",
+                    this, heuristic, elimination.getTriangleCount(), reference.getTriangleCount(), defaultHeuristic,
+                    elimination.getFillEdgeCount(), nodes.size(), time);
         }
 
         // --- Create encoding ---
         final EventGraph minSet = ra.getKnowledge(rel).getMustSet();
-        List<BooleanFormula> enc = new ArrayList<>();
         final EncodingContext.EdgeEncoder edge = context.edge(rel);
         // Basic lifting
         toBeEncoded.apply((e1, e2) -> {
@@ -453,11 +432,15 @@ public class Acyclic extends Axiom {
         });
 
         // Encode triangle rules
-        for (Event[] tri : triangles) {
-            BooleanFormula cond = minSet.contains(tri[0], tri[2]) ?
-                    context.execution(tri[0], tri[2])
-                    : bmgr.and(getSMTCycleVar(tri[0], tri[1], fmgr), getSMTCycleVar(tri[1], tri[2], fmgr));
-            enc.add(bmgr.implication(cond, getSMTCycleVar(tri[0], tri[2], fmgr)));
+        final int[] triangles = elimination.getTriangles();
+        for (int i = 0; i < triangles.length; i += 3) {
+            final Event e1 = nodes.get(triangles[i]);
+            final Event e = nodes.get(triangles[i + 1]);
+            final Event e2 = nodes.get(triangles[i + 2]);
+            BooleanFormula cond = minSet.contains(e1, e2) ?
+                    context.execution(e1, e2)
+                    : bmgr.and(getSMTCycleVar(e1, e, fmgr), getSMTCycleVar(e, e2, fmgr));
+            enc.add(bmgr.implication(cond, getSMTCycleVar(e1, e2, fmgr)));
         }
 
         //  --- Encode inconsistent assignments ---
@@ -466,18 +449,26 @@ public class Acyclic extends Axiom {
             enc.add(bmgr.not(edge.encode(e, e)));
         }
         // Handle remaining cycles
-        for (int i = 0; i < varOrderings.size(); i++) {
-            Event e1 = varOrderings.get(i);
-            Set<Event> out = vertEleOutEdges.get(e1);
-            for (Event e2: out) {
-                if (varOrderings.indexOf(e2) > i && vertEleInEdges.get(e2).contains(e1)) {
+        for (int i = 0; i < nodes.size(); i++) {
+            final Event e1 = nodes.get(i);
+            for (int j : elimination.getEliminationSuccessors(i)) {
+                if (elimination.getPosition(j) > elimination.getPosition(i)) {
+                    final Event e2 = nodes.get(j);
                     BooleanFormula cond = minSet.contains(e1, e2) ? bmgr.makeTrue() : getSMTCycleVar(e1, e2, fmgr);
                     enc.add(bmgr.implication(cond, bmgr.not(getSMTCycleVar(e2, e1, fmgr))));
                 }
             }
         }
+    }
 
-        return enc;
+    private static VertexElimination newVertexElimination(EventGraph toBeEncoded, Map<Event, Integer> ids) {
+        final VertexElimination elimination = new VertexElimination(ids.size());
+        toBeEncoded.apply((e1, e2) -> {
+            if (!Tuple.isLoop(e1, e2)) {
+                elimination.addEdge(ids.get(e1), ids.get(e2));
+            }
+        });
+        return elimination;
     }
 
     private BooleanFormula cycleVar(Event event, FormulaManager m) {
@@ -0,0 +1,64 @@
+package com.dat3m.dartagnan.wmm.utils;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.event.core.Event;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/*
+    Maps the global ids of the events of a fully processed program back to the events.
+    Event graphs that are created with a domain store their rows as compact id sets (see EventIdSet).
+    NOTE: The domain must be created after the final id reassignment and becomes invalid
+    as soon as the program gets modified.
+ */
+public final class EventDomain {
+
+    private final Event[] events;
+
+    private EventDomain(Event[] events) {
+        this.events = events;
+    }
+
+    public static EventDomain fromProgram(Program program) {
+        return fromEvents(program.getThreadEvents());
+    }
+
+    public static EventDomain fromEvents(Collection<? extends Event> domainEvents) {
+        int maxId = -1;
+        for (Event e : domainEvents) {
+            checkArgument(e.getGlobalId() >= 0, "Event %s has no global id.", e);
+            maxId = Math.max(maxId, e.getGlobalId());
+        }
+        Event[] events = new Event[maxId + 1];
+        for (Event e : domainEvents) {
+            checkArgument(events[e.getGlobalId()] == null, "Global id %s is not unique.", e.getGlobalId());
+            events[e.getGlobalId()] = e;
+        }
+        return new EventDomain(events);
+    }
+
+    public int size() {
+        return events.length;
+    }
+
+    public boolean contains(Object o) {
+        if (!(o instanceof Event e)) {
+            return false;
+        }
+        int id = e.getGlobalId();
+        return id >= 0 && id < events.length && events[id] == e;
+    }
+
+    public int getId(Event e) {
+        if (!contains(e)) {
+            throw new IllegalArgumentException(String.format("Event %s is not part of the domain.", e));
+        }
+        return e.getGlobalId();
+    }
+
+    public Event getEvent(int id) {
+        return events[id];
+    }
+}
@@ -10,18 +10,53 @@ import java.util.stream.Collectors;
 public class EventGraph {
 
     private final Map<Event, Set<Event>> data;
+    // If present, rows are compact id sets over this domain.
+    private final EventDomain domain;
 
     public EventGraph() {
+        this((EventDomain) null);
+    }
+
+    /**
+     * Creates an empty graph over the events of {@code domain}.
+     * Its rows, as well as the rows of graphs derived from it, are stored as compact id sets.
+     *
+     * @param domain Events that may be related by the graph, or {@code null} for hash-based rows.
+     */
+    public EventGraph(EventDomain domain) {
         this.data = new HashMap<>();
+        this.domain = domain;
     }
 
     public EventGraph(EventGraph other) {
         this.data = new HashMap<>();
-        other.data.forEach((k, v) -> this.data.put(k, new HashSet<>(v)));
+        this.domain = other.domain;
+        other.data.forEach((k, v) -> this.data.put(k, copyRow(v)));
     }
 
     protected EventGraph(Map<Event, Set<Event>> data) {
         this.data = data;
+        this.domain = null;
+    }
+
+    /**
+     * @return Domain of the compact representation, or {@code null} if the rows are hash-based.
+     */
+    public EventDomain getEventDomain() {
+        return domain;
+    }
+
+    private Set<Event> newRow() {
+        return domain == null ? new HashSet<>() : new EventIdSet(domain);
+    }
+
+    private Set<Event> copyRow(Set<Event> row) {
+        if (row instanceof EventIdSet idSet && domain == idSet.getEventDomain()) {
+            return new EventIdSet(idSet);
+        }
+        Set<Event> copy = newRow();
+        copy.addAll(row);
+        return copy;
     }
 
     public boolean isEmpty() {
@@ -43,7 +78,7 @@ public class EventGraph {
     }
 
     public boolean add(Event e1, Event e2) {
-        return data.computeIfAbsent(e1, e -> new HashSet<>()).add(e2);
+        return data.computeIfAbsent(e1, e -> newRow()).add(e2);
     }
 
     public boolean remove(Event e1, Event e2) {
@@ -60,7 +95,7 @@ public class EventGraph {
     public boolean addAll(EventGraph other) {
         boolean modified = false;
         for (Map.Entry<Event, Set<Event>> otherEntry : other.data.entrySet()) {
-            modified |= data.computeIfAbsent(otherEntry.getKey(), x -> new HashSet<>()).addAll(otherEntry.getValue());
+            modified |= data.computeIfAbsent(otherEntry.getKey(), x -> newRow()).addAll(otherEntry.getValue());
         }
         return modified;
     }
@@ -102,19 +137,19 @@ public class EventGraph {
     }
 
     public EventGraph inverse() {
-        EventGraph inverse = new EventGraph();
+        EventGraph inverse = new EventGraph(domain);
         data.forEach((e1, value)
                 -> value.forEach(e2
-                -> inverse.data.computeIfAbsent(e2, x -> new HashSet<>()).add(e1)));
+                -> inverse.data.computeIfAbsent(e2, x -> inverse.newRow()).add(e1)));
         return inverse;
     }
 
     public EventGraph filter(BiPredicate<Event, Event> f) {
-        EventGraph filtered = new EventGraph();
+        EventGraph filtered = new EventGraph(domain);
         data.forEach((e1, v) -> {
             Set<Event> set = v.stream()
                     .filter(e2 -> f.test(e1, e2))
-                    .collect(Collectors.toCollection(HashSet::new));
+                    .collect(Collectors.toCollection(filtered::newRow));
             if (!set.isEmpty()) {
                 filtered.data.put(e1, set);
             }
@@ -146,7 +181,7 @@ public class EventGraph {
 
     public boolean addRange(Event e, Set<Event> range) {
         if (!range.isEmpty()) {
-            return data.computeIfAbsent(e, x -> new HashSet<>()).addAll(range);
+            return data.computeIfAbsent(e, x -> newRow()).addAll(range);
         }
         return false;
     }
@@ -171,23 +206,24 @@ public class EventGraph {
     }
 
     public static EventGraph union(EventGraph first, EventGraph second) {
-        EventGraph result = new EventGraph();
-        first.data.forEach((e1, set) -> result.data.put(e1, new HashSet<>(set)));
-        second.data.forEach((e1, set) -> result.data.computeIfAbsent(e1, x -> new HashSet<>()).addAll(set));
+        EventGraph result = new EventGraph(first.domain);
+        first.data.forEach((e1, set) -> result.data.put(e1, result.copyRow(set)));
+        second.data.forEach((e1, set) -> result.data.computeIfAbsent(e1, x -> result.newRow()).addAll(set));
         return result;
     }
 
     public static EventGraph intersection(EventGraph first, EventGraph second) {
-        EventGraph result = new EventGraph();
+        EventGraph result = new EventGraph(first.domain);
         first.data.forEach((e1, firstSet) -> {
             Set<Event> secondSet = second.data.get(e1);
             if (secondSet != null) {
-                Set<Event> resultSet = new HashSet<>();
-                if (firstSet.size() > secondSet.size()) {
-                    resultSet.addAll(firstSet);
+                Set<Event> resultSet;
+                // Compact rows may only contain events of their domain.
+                if (result.domain != null || firstSet.size() > secondSet.size()) {
+                    resultSet = result.copyRow(firstSet);
                     resultSet.retainAll(secondSet);
                 } else {
-                    resultSet.addAll(secondSet);
+                    resultSet = result.copyRow(secondSet);
                     resultSet.retainAll(firstSet);
                 }
                 if (!resultSet.isEmpty()) {
@@ -199,9 +235,9 @@ public class EventGraph {
     }
 
     public static EventGraph difference(EventGraph first, EventGraph second) {
-        EventGraph result = new EventGraph();
+        EventGraph result = new EventGraph(first.domain);
         first.data.forEach((e1, firstSet) -> {
-            Set<Event> resultSet = new HashSet<>(firstSet);
+            Set<Event> resultSet = result.copyRow(firstSet);
             Set<Event> secondSet = second.data.get(e1);
             if (secondSet != null) {
                 resultSet.removeAll(secondSet);
@@ -0,0 +1,347 @@
+package com.dat3m.dartagnan.wmm.utils;
+
+import com.dat3m.dartagnan.program.event.core.Event;
+
+import java.util.*;
+
+/*
+    Set of events of an EventDomain, represented by their global ids.
+    Small sets store the ids in a sorted array, and switch to a bitset over the domain
+    once that becomes the smaller representation.
+    Bulk operations between sets of the same domain work directly on the ids (word-parallel for bitsets).
+    NOTE: Modifying the set while iterating over it is only supported via the iterator itself.
+ */
+final class EventIdSet extends AbstractSet<Event> {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final EventDomain domain;
+    // Sorted ids in ids[0..size), or null if the set is dense.
+    private int[] ids;
+    // Bitset over the ids of the domain, or null if the set is sparse.
+    private long[] words;
+    private int size;
+
+    EventIdSet(EventDomain domain) {
+        this.domain = domain;
+        this.ids = NO_IDS;
+    }
+
+    EventIdSet(EventIdSet other) {
+        this.domain = other.domain;
+        this.ids = other.ids == null ? null : Arrays.copyOf(other.ids, other.size);
+        this.words = other.words == null ? null : other.words.clone();
+        this.size = other.size;
+    }
+
+    EventDomain getEventDomain() {
+        return domain;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return domain.contains(o) && containsId(((Event) o).getGlobalId());
+    }
+
+    @Override
+    public boolean add(Event e) {
+        return addId(domain.getId(e));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return domain.contains(o) && removeId(((Event) o).getGlobalId());
+    }
+
+    @Override
+    public void clear() {
+        ids = NO_IDS;
+        words = null;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Event> iterator() {
+        return words != null ? new DenseIterator() : new SparseIterator();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Event> c) {
+        if (!(c instanceof EventIdSet other) || other.domain != domain) {
+            return super.addAll(c);
+        }
+        if (other.size == 0 || other == this) {
+            return false;
+        }
+        if (words == null && (other.words != null || size + other.size > denseThreshold())) {
+            toDense();
+        }
+        int oldSize = size;
+        if (words == null) {
+            mergeSparse(other);
+        } else if (other.words != null) {
+            for (int i = 0; i < words.length; i++) {
+                words[i] |= other.words[i];
+            }
+            size = countWords();
+        } else {
+            for (int i = 0; i < other.size; i++) {
+                setBit(other.ids[i]);
+            }
+        }
+        return size != oldSize;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (!(c instanceof EventIdSet other) || other.domain != domain) {
+            return super.retainAll(c);
+        }
+        int oldSize = size;
+        if (words == null) {
+            filterSparse(other, true);
+        } else if (other.words != null) {
+            for (int i = 0; i < words.length; i++) {
+                words[i] &= other.words[i];
+            }
+            size = countWords();
+        } else {
+            long[] retained = new long[words.length];
+            for (int i = 0; i < other.size; i++) {
+                int id = other.ids[i];
+                retained[id >>> 6] |= words[id >>> 6] & (1L << id);
+            }
+            words = retained;
+            size = countWords();
+        }
+        return size != oldSize;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (!(c instanceof EventIdSet other) || other.domain != domain) {
+            return super.removeAll(c);
+        }
+        int oldSize = size;
+        if (words == null) {
+            filterSparse(other, false);
+        } else if (other.words != null) {
+            for (int i = 0; i < words.length; i++) {
+                words[i] &= ~other.words[i];
+            }
+            size = countWords();
+        } else {
+            for (int i = 0; i < other.size; i++) {
+                clearBit(other.ids[i]);
+            }
+        }
+        return size != oldSize;
+    }
+
+    // ============================== Internals ==============================
+
+    // A sorted int array of this length occupies as much memory as a bitset over the domain.
+    private int denseThreshold() {
+        return (domain.size() >>> 5) + 1;
+    }
+
+    private boolean containsId(int id) {
+        if (words != null) {
+            return (words[id >>> 6] & (1L << id)) != 0;
+        }
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    private boolean addId(int id) {
+        if (words != null) {
+            return setBit(id);
+        }
+        // Fast path for ascending insertion order.
+        int pos = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return false;
+        }
+        if (size == denseThreshold()) {
+            toDense();
+            return setBit(id);
+        }
+        int insert = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.min(Math.max(4, 2 * size), denseThreshold()));
+        }
+        System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+        ids[insert] = id;
+        size++;
+        return true;
+    }
+
+    private boolean removeId(int id) {
+        if (words != null) {
+            return clearBit(id);
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    private boolean setBit(int id) {
+        long mask = 1L << id;
+        if ((words[id >>> 6] & mask) != 0) {
+            return false;
+        }
+        words[id >>> 6] |= mask;
+        size++;
+        return true;
+    }
+
+    private boolean clearBit(int id) {
+        long mask = 1L << id;
+        if ((words[id >>> 6] & mask) == 0) {
+            return false;
+        }
+        words[id >>> 6] &= ~mask;
+        size--;
+        return true;
+    }
+
+    private int countWords() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private int nextSetBit(int from) {
+        int index = from >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private void toDense() {
+        long[] bits = new long[(domain.size() + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            bits[ids[i] >>> 6] |= 1L << ids[i];
+        }
+        words = bits;
+        ids = null;
+    }
+
+    private void mergeSparse(EventIdSet other) {
+        int[] merged = new int[size + other.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.size) {
+            int a = ids[i];
+            int b = other.ids[j];
+            if (a <= b) {
+                i++;
+                j += a == b ? 1 : 0;
+                merged[k++] = a;
+            } else {
+                j++;
+                merged[k++] = b;
+            }
+        }
+        while (i < size) {
+            merged[k++] = ids[i++];
+        }
+        while (j < other.size) {
+            merged[k++] = other.ids[j++];
+        }
+        ids = merged;
+        size = k;
+    }
+
+    private void filterSparse(EventIdSet other, boolean keepContained) {
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            if (other.containsId(ids[i]) == keepContained) {
+                ids[k++] = ids[i];
+            }
+        }
+        size = k;
+    }
+
+    private final class SparseIterator implements Iterator<Event> {
+        private int cursor = 0;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Event next() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            last = ids[cursor++];
+            return domain.getEvent(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeId(last);
+            cursor--;
+            last = -1;
+        }
+    }
+
+    private final class DenseIterator implements Iterator<Event> {
+        private int next = nextSetBit(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Event next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = nextSetBit(next + 1);
+            return domain.getEvent(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            clearBit(last);
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.dat3m.dartagnan.wmm.utils;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/*
+    Computes a vertex elimination ordering of a directed graph over the nodes 0, ..., size-1.
+    Eliminating a node x removes it from the graph and connects each remaining predecessor a of x
+    to each remaining successor b of x (unless the filter forbids the edge), which yields the triangle (a, x, b).
+    The original edges together with the added fill edges form the vertex elimination graph.
+
+    Remaining nodes are kept in an indexed binary heap keyed by the heuristic, so that each step
+    only rescores the nodes affected by the elimination instead of rescanning all remaining nodes.
+    Ties are broken by the product of the current degrees and finally by the smaller node id,
+    which makes the ordering deterministic.
+ */
+public final class VertexElimination {
+
+    public enum Heuristic {
+        // Number of pairs of a predecessor and a successor in the vertex elimination graph built so far,
+        // i.e., including eliminated neighbours.
+        MIN_PRODUCT,
+        // Number of predecessors and successors.
+        MIN_DEGREE,
+        // Number of edges the elimination would add to the graph.
+        // Rescoring a node costs O(#predecessors * #successors) filter checks, so this is opt-in.
+        MIN_FILL;
+
+        public static Heuristic getDefault() {
+            return MIN_PRODUCT;
+        }
+    }
+
+    @FunctionalInterface
+    public interface EdgeFilter {
+        boolean allows(int from, int to);
+    }
+
+    private final int size;
+    private final IntSet[] predecessors;
+    private final IntSet[] successors;
+    private final IntSet[] eliminationSuccessors;
+    private final int[] eliminationPredecessorCounts;
+    private final int[] positions;
+    private int[] triangles = new int[48];
+    private int triangleCount = 0;
+    private int fillEdgeCount = 0;
+    private boolean eliminated = false;
+
+    // Indexed min-heap over the remaining nodes
+    private final int[] heap;
+    private final int[] heapIndex;
+    private final long[] primaryKey;
+    private final long[] secondaryKey;
+    private int heapSize = 0;
+
+    // Nodes whose score needs to be updated after an elimination step
+    private final int[] dirtyStamps;
+    private int[] dirty = new int[16];
+    private int dirtyCount = 0;
+    private int stamp = 0;
+
+    public VertexElimination(int size) {
+        this.size = size;
+        predecessors = new IntSet[size];
+        successors = new IntSet[size];
+        eliminationSuccessors = new IntSet[size];
+        for (int i = 0; i < size; i++) {
+            predecessors[i] = new IntSet();
+            successors[i] = new IntSet();
+            eliminationSuccessors[i] = new IntSet();
+        }
+        eliminationPredecessorCounts = new int[size];
+        positions = new int[size];
+        Arrays.fill(positions, -1);
+        heap = new int[size];
+        heapIndex = new int[size];
+        primaryKey = new long[size];
+        secondaryKey = new long[size];
+        dirtyStamps = new int[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addEdge(int from, int to) {
+        checkState(!eliminated, "Edges cannot be added after the elimination.");
+        checkArgument(from != to, "Self-loops are not supported.");
+        if (successors[from].add(to)) {
+            predecessors[to].add(from);
+            eliminationSuccessors[from].add(to);
+            eliminationPredecessorCounts[to]++;
+        }
+    }
+
+    // Eliminates all nodes, in the order determined by the heuristic.
+    // Edges rejected by the filter are neither added to the graph nor reported as triangles.
+    public void eliminate(Heuristic heuristic, EdgeFilter filter) {
+        checkState(!eliminated, "The graph was already eliminated.");
+        eliminated = true;
+        for (int x = 0; x < size; x++) {
+            computeKey(x, heuristic, filter);
+            heap[heapSize] = x;
+            heapIndex[x] = heapSize++;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        for (int position = 0; heapSize > 0; position++) {
+            final int x = poll();
+            positions[x] = position;
+            final int[] in = predecessors[x].toArray();
+            final int[] out = successors[x].toArray();
+            predecessors[x] = null;
+            successors[x] = null;
+            stamp++;
+            dirtyCount = 0;
+            for (int a : in) {
+                successors[a].remove(x);
+                markDirty(a);
+            }
+            for (int b : out) {
+                predecessors[b].remove(x);
+                markDirty(b);
+            }
+            for (int a : in) {
+                for (int b : out) {
+                    if (a == b || !filter.allows(a, b)) {
+                        continue;
+                    }
+                    addTriangle(a, x, b);
+                    if (successors[a].add(b)) {
+                        predecessors[b].add(a);
+                        eliminationSuccessors[a].add(b);
+                        eliminationPredecessorCounts[b]++;
+                        fillEdgeCount++;
+                        if (heuristic == Heuristic.MIN_FILL) {
+                            // The new edge reduces the fill of all nodes it skips over.
+                            markCommonNeighbours(a, b);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < dirtyCount; i++) {
+                final int node = dirty[i];
+                computeKey(node, heuristic, filter);
+                siftUp(heapIndex[node]);
+                siftDown(heapIndex[node]);
+            }
+        }
+    }
+
+    // Position of the node within the elimination ordering.
+    public int getPosition(int node) {
+        return positions[node];
+    }
+
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    public int getFillEdgeCount() {
+        return fillEdgeCount;
+    }
+
+    // Returns the triangles as consecutive triples (a, x, b), where x was eliminated and a -> b is implied by a -> x -> b.
+    public int[] getTriangles() {
+        return Arrays.copyOf(triangles, 3 * triangleCount);
+    }
+
+    // Successors of the node in the vertex elimination graph.
+    public int[] getEliminationSuccessors(int node) {
+        return eliminationSuccessors[node].toArray();
+    }
+
+    // ================================================================================================
+    // Scores
+
+    private void computeKey(int x, Heuristic heuristic, EdgeFilter filter) {
+        final long in = predecessors[x].size();
+        final long out = successors[x].size();
+        switch (heuristic) {
+            case MIN_PRODUCT -> {
+                // Edges of the vertex elimination graph are never removed, so the score never decreases.
+                primaryKey[x] = (long) eliminationPredecessorCounts[x] * eliminationSuccessors[x].size();
+                secondaryKey[x] = in * out;
+            }
+            case MIN_DEGREE -> {
+                primaryKey[x] = in + out;
+                secondaryKey[x] = in * out;
+            }
+            case MIN_FILL -> {
+                primaryKey[x] = computeFill(x, filter);
+                secondaryKey[x] = in * out;
+            }
+        }
+    }
+
+    private long computeFill(int x, EdgeFilter filter) {
+        final int[] out = successors[x].toArray();
+        long fill = 0;
+        for (int a : predecessors[x].toArray()) {
+            final IntSet aSuccessors = successors[a];
+            for (int b : out) {
+                if (a != b && !aSuccessors.contains(b) && filter.allows(a, b)) {
+                    fill++;
+                }
+            }
+        }
+        return fill;
+    }
+
+    private void markCommonNeighbours(int a, int b) {
+        final IntSet aSuccessors = successors[a];
+        final IntSet bPredecessors = predecessors[b];
+        final boolean iterateSuccessors = aSuccessors.size() <= bPredecessors.size();
+        for (int c : (iterateSuccessors ? aSuccessors : bPredecessors).toArray()) {
+            if ((iterateSuccessors ? bPredecessors : aSuccessors).contains(c)) {
+                markDirty(c);
+            }
+        }
+    }
+
+    private void markDirty(int node) {
+        if (dirtyStamps[node] != stamp) {
+            dirtyStamps[node] = stamp;
+            if (dirtyCount == dirty.length) {
+                dirty = Arrays.copyOf(dirty, 2 * dirtyCount);
+            }
+            dirty[dirtyCount++] = node;
+        }
+    }
+
+    private void addTriangle(int a, int x, int b) {
+        if (3 * triangleCount + 3 > triangles.length) {
+            triangles = Arrays.copyOf(triangles, 2 * triangles.length);
+        }
+        triangles[3 * triangleCount] = a;
+        triangles[3 * triangleCount + 1] = x;
+        triangles[3 * triangleCount + 2] = b;
+        triangleCount++;
+    }
+
+    // ================================================================================================
+    // Heap
+
+    private boolean less(int x, int y) {
+        if (primaryKey[x] != primaryKey[y]) {
+            return primaryKey[x] < primaryKey[y];
+        }
+        if (secondaryKey[x] != secondaryKey[y]) {
+            return secondaryKey[x] < secondaryKey[y];
+        }
+        return x < y;
+    }
+
+    private int poll() {
+        final int top = heap[0];
+        heapIndex[top] = -1;
+        if (--heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        final int node = heap[i];
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (!less(node, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heapIndex[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+
+    private void siftDown(int i) {
+        final int node = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], node)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        heapIndex[node] = i;
+    }
+
+    // ================================================================================================
+    // Adjacency sets
+
+    // Open-addressing hash set of non-negative integers with linear probing.
+    private static final class IntSet {
+
+        private static final int EMPTY = -1;
+
+        private int[] table = new int[4];
+        private int size = 0;
+
+        private IntSet() {
+            Arrays.fill(table, EMPTY);
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int value) {
+            final int mask = table.length - 1;
+            for (int i = hash(value) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean add(int value) {
+            if (2 * (size + 1) > table.length) {
+                rehash(2 * table.length);
+            }
+            final int mask = table.length - 1;
+            int i = hash(value) & mask;
+            for (; table[i] != EMPTY; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return false;
+                }
+            }
+            table[i] = value;
+            size++;
+            return true;
+        }
+
+        boolean remove(int value) {
+            final int mask = table.length - 1;
+            int i = hash(value) & mask;
+            for (; table[i] != value; i = (i + 1) & mask) {
+                if (table[i] == EMPTY) {
+                    return false;
+                }
+            }
+            // Backward-shift deletion keeps probe sequences intact without tombstones.
+            int hole = i;
+            for (int j = (hole + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+                final int home = hash(table[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    table[hole] = table[j];
+                    hole = j;
+                }
+            }
+            table[hole] = EMPTY;
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            final int[] result = new int[size];
+            int k = 0;
+            for (int value : table) {
+                if (value != EMPTY) {
+                    result[k++] = value;
+                }
+            }
+            return result;
+        }
+
+        private void rehash(int capacity) {
+            final int[] old = table;
+            table = new int[capacity];
+            Arrays.fill(table, EMPTY);
+            size = 0;
+            for (int value : old) {
+                if (value != EMPTY) {
+                    add(value);
+                }
+            }
+        }
+
+        private static int hash(int value) {
+            final int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
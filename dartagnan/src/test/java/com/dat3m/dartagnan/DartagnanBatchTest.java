@@ -0,0 +1,77 @@
+package com.dat3m.dartagnan;
+
+import com.dat3m.dartagnan.configuration.Method;
+import com.dat3m.dartagnan.utils.Result;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.BATCH_THREADS;
+import static com.dat3m.dartagnan.configuration.OptionNames.METHOD;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getExpectedResults;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.assertEquals;
+
+public class DartagnanBatchTest {
+
+    private static final List<String> TESTS = List.of(
+            "2+2W.litmus", "2+2W+mfence-po+rfi-po.litmus", "2+2W+po-rmws.litmus", "2+2W+rfi-pos.litmus",
+            "LB.litmus", "MP.litmus", "R.litmus", "S.litmus", "SB.litmus", "WRC.litmus", "x86-2+2W.litmus");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void caatOnSeveralThreads() throws Exception {
+        verifyAll(Method.CAAT);
+    }
+
+    @Test
+    public void assumeOnSeveralThreads() throws Exception {
+        verifyAll(Method.ASSUME);
+    }
+
+    private void verifyAll(Method method) throws Exception {
+        // given
+        File directory = folder.newFolder("X86");
+        for (String test : TESTS) {
+            Files.copy(Path.of(getRootPath("litmus/X86/" + test)), directory.toPath().resolve(test));
+        }
+        ImmutableMap<String, Result> expected = getExpectedResults("TSO", "");
+        Configuration config = Configuration.builder()
+                .setOption(BATCH_THREADS, "4")
+                .setOption(METHOD, method.asStringOption())
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (PrintStream stream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            DartagnanBatch.run(config, new File(getRootPath("cat/tso.cat")), List.of(directory), stream);
+        }
+
+        // then
+        // Results are printed in the order they are found, so they are compared by test.
+        Map<String, String> actual = new HashMap<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+            String[] columns = line.split(",", 2);
+            actual.put(new File(columns[0]).getName(), columns[1]);
+        }
+        assertEquals(TESTS.size(), actual.size());
+        for (String test : TESTS) {
+            Result result = expected.get(getRootPath("litmus/X86/" + test));
+            assertEquals(test, result == Result.PASS ? "1" : "0", actual.get(test));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.dat3m.dartagnan.encoding;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.CONSTRAINT_CHUNK_SIZE;
+import static com.dat3m.dartagnan.configuration.OptionNames.TARGET;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+import static org.junit.Assert.*;
+
+public class ConstraintStreamTest {
+
+    private SolverContext ctx;
+    private BooleanFormulaManager bmgr;
+
+    @Before
+    public void setUp() throws Exception {
+        ctx = TestHelper.createContext();
+        bmgr = ctx.getFormulaManager().getBooleanFormulaManager();
+    }
+
+    @After
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Test
+    public void testConstraintsAreForwardedInChunks() throws Exception {
+        // given
+        List<BooleanFormula> chunks = new ArrayList<>();
+        ConstraintStream stream = new ConstraintStream(chunks::add, bmgr, 3);
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            stream.add(variable(i));
+        }
+
+        // then
+        // The last constraint stays buffered until the stream is flushed.
+        assertEquals(List.of(bmgr.and(variable(0), variable(1), variable(2)),
+                bmgr.and(variable(3), variable(4), variable(5))), chunks);
+        assertEquals(7, stream.getConstraintCount());
+        assertEquals(2, stream.getChunkCount());
+
+        // when
+        stream.flush();
+
+        // then
+        // A single buffered constraint is forwarded as is.
+        assertEquals(3, chunks.size());
+        assertEquals(variable(6), chunks.get(2));
+        assertEquals(3, stream.getChunkCount());
+
+        // when
+        stream.flush();
+
+        // then
+        assertEquals(3, chunks.size());
+    }
+
+    @Test
+    public void testChunkSizeIsConfigured() throws Exception {
+        // given
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, Arch.TSO.toString())
+                .setOption(CONSTRAINT_CHUNK_SIZE, "3")
+                .build();
+        VerificationTask task = createTask("litmus/X86/SB.litmus", "cat/tso.cat", Arch.TSO, config);
+        EncodingContext context = EncodingContext.of(task, analyse(task, config), ctx.getFormulaManager());
+
+        try (ProverEnvironment prover = ctx.newProverEnvironment()) {
+            ConstraintStream stream = ConstraintStream.toProver(prover, context);
+
+            // when
+            for (int i = 0; i < 7; i++) {
+                stream.add(variable(i));
+            }
+            stream.flush();
+
+            // then
+            assertEquals(7, stream.getConstraintCount());
+            assertEquals(3, stream.getChunkCount());
+            // Every constraint reached the prover.
+            for (int i = 0; i < 7; i++) {
+                prover.push(bmgr.not(variable(i)));
+                assertTrue(prover.isUnsat());
+                prover.pop();
+            }
+        }
+    }
+
+    @Test
+    public void testInterruptionIsReportedByFlush() throws Exception {
+        // given
+        InterruptedException interruption = new InterruptedException();
+        List<BooleanFormula> forwarded = new ArrayList<>();
+        ConstraintStream stream = new ConstraintStream(constraint -> {
+            if (!forwarded.isEmpty()) {
+                throw interruption;
+            }
+            forwarded.add(constraint);
+        }, bmgr, 2);
+
+        // when
+        // The second chunk is interrupted, but adding constraints cannot report it.
+        for (int i = 0; i < 6; i++) {
+            stream.add(variable(i));
+        }
+
+        // then
+        assertEquals(List.of(bmgr.and(variable(0), variable(1))), forwarded);
+        // Constraints added after the interruption are dropped.
+        assertEquals(4, stream.getConstraintCount());
+        assertEquals(1, stream.getChunkCount());
+        try {
+            stream.flush();
+            fail("The interruption was not reported.");
+        } catch (InterruptedException e) {
+            assertSame(interruption, e);
+        }
+    }
+
+    @Test
+    public void testStreamedEncodingHasSameVerdicts() throws Exception {
+        checkStreamedEncoding("litmus/X86/SB.litmus", "cat/tso.cat", Arch.TSO);
+        checkStreamedEncoding("litmus/X86/MP.litmus", "cat/tso.cat", Arch.TSO);
+        checkStreamedEncoding("litmus/X86/2+2W+mfence-rmws.litmus", "cat/tso.cat", Arch.TSO);
+        checkStreamedEncoding("litmus/AARCH64/CO/WRC+dmb.syss.litmus", "cat/aarch64.cat", Arch.ARM8);
+        checkStreamedEncoding("litmus/AARCH64/CO/RWC+poss.litmus", "cat/aarch64.cat", Arch.ARM8);
+    }
+
+    // Small chunks make sure that the constraints of several encoders end up in a common conjunction.
+    private void checkStreamedEncoding(String programPath, String modelPath, Arch arch) throws Exception {
+        // given
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, arch.toString())
+                .setOption(CONSTRAINT_CHUNK_SIZE, "7")
+                .build();
+        VerificationTask task = createTask(programPath, modelPath, arch, config);
+        EncodingContext context = EncodingContext.of(task, analyse(task, config), ctx.getFormulaManager());
+        ProgramEncoder programEncoder = ProgramEncoder.withContext(context);
+        PropertyEncoder propertyEncoder = PropertyEncoder.withContext(context);
+        WmmEncoder wmmEncoder = WmmEncoder.withContext(context);
+
+        try (ProverEnvironment full = ctx.newProverEnvironment();
+             ProverEnvironment streamed = ctx.newProverEnvironment()) {
+            full.addConstraint(programEncoder.encodeFullProgram());
+            full.addConstraint(wmmEncoder.encodeFullMemoryModel());
+            BooleanFormula property = propertyEncoder.encodeProperties(task.getProperty());
+            full.addConstraint(property);
+
+            // when
+            ConstraintStream constraints = ConstraintStream.toProver(streamed, context);
+            programEncoder.encodeFullProgram(constraints);
+            wmmEncoder.encodeFullMemoryModel(constraints);
+            streamed.addConstraint(property);
+
+            // then
+            assertTrue(programPath, constraints.getChunkCount() > 1);
+            assertEquals(programPath, full.isUnsat(), streamed.isUnsat());
+        }
+    }
+
+    private static VerificationTask createTask(String programPath, String modelPath, Arch arch, Configuration config)
+            throws Exception {
+        Wmm memoryModel = new ParserCat().parse(new File(getRootPath(modelPath)));
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(arch)
+                .withBound(1)
+                .build(new ProgramParser().parse(new File(getRootPath(programPath))), memoryModel,
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task);
+        memoryModel.configureAll(config);
+        return task;
+    }
+
+    private static Context analyse(VerificationTask task, Configuration config) throws Exception {
+        Context analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        performStaticWmmAnalyses(task, analysisContext, config);
+        return analysisContext;
+    }
+
+    private BooleanFormula variable(int index) {
+        return bmgr.makeVariable("c" + index);
+    }
+}
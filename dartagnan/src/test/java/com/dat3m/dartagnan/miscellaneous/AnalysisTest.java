@@ -14,6 +14,9 @@ import com.dat3m.dartagnan.program.analysis.BranchEquivalence;
 import com.dat3m.dartagnan.program.analysis.Dependency;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.AndersenAliasAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.FieldSensitiveAndersen;
+import com.dat3m.dartagnan.program.analysis.alias.FieldSensitiveBitsetAndersen;
 import com.dat3m.dartagnan.program.event.EventFactory;
 import com.dat3m.dartagnan.program.event.core.*;
 import com.dat3m.dartagnan.program.event.metadata.OriginalId;
@@ -26,10 +29,13 @@ import org.junit.Test;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import static com.dat3m.dartagnan.configuration.Alias.FIELD_INSENSITIVE;
 import static com.dat3m.dartagnan.configuration.Alias.FIELD_SENSITIVE;
+import static com.dat3m.dartagnan.configuration.Alias.FIELD_SENSITIVE_BITSET;
 import static com.dat3m.dartagnan.configuration.OptionNames.ALIAS_METHOD;
 import static com.dat3m.dartagnan.program.event.EventFactory.*;
 import static org.junit.Assert.*;
@@ -105,6 +111,11 @@ public class AnalysisTest {
         program0(FIELD_SENSITIVE, MAY, MAY, NONE, NONE, NONE, NONE);
     }
 
+    @Test
+    public void fieldsensitivebitset0() throws InvalidConfigurationException {
+        program0(FIELD_SENSITIVE_BITSET, MAY, MAY, NONE, NONE, NONE, NONE);
+    }
+
     @Test
     public void fieldinsensitive0() throws InvalidConfigurationException {
         program0(FIELD_INSENSITIVE, MAY, NONE, MAY, NONE, MAY, NONE);
@@ -153,6 +164,11 @@ public class AnalysisTest {
         program1(FIELD_SENSITIVE, NONE, NONE, MUST, MUST, NONE, NONE);
     }
 
+    @Test
+    public void fieldsensitivebitset1() throws InvalidConfigurationException {
+        program1(FIELD_SENSITIVE_BITSET, NONE, NONE, MUST, MUST, NONE, NONE);
+    }
+
     @Test
     public void fieldinsensitive1() throws InvalidConfigurationException {
         program1(FIELD_INSENSITIVE, NONE, NONE, MUST, MAY, MAY, MAY);
@@ -197,6 +213,11 @@ public class AnalysisTest {
         program2(FIELD_SENSITIVE, NONE, NONE, NONE, MAY, NONE, MAY);
     }
 
+    @Test
+    public void fieldsensitivebitset2() throws InvalidConfigurationException {
+        program2(FIELD_SENSITIVE_BITSET, NONE, NONE, NONE, MAY, NONE, MAY);
+    }
+
     @Test
     public void fieldinsensitive2() throws InvalidConfigurationException {
         program2(FIELD_INSENSITIVE, NONE, NONE, NONE, MAY, MAY, MAY);
@@ -251,6 +272,11 @@ public class AnalysisTest {
         program3(FIELD_SENSITIVE, MUST, NONE, NONE, MAY, MAY, MAY);
     }
 
+    @Test
+    public void fieldsensitivebitset3() throws InvalidConfigurationException {
+        program3(FIELD_SENSITIVE_BITSET, MUST, NONE, NONE, MAY, MAY, MAY);
+    }
+
     @Test
     public void fieldinsensitive3() throws InvalidConfigurationException {
         program3(FIELD_INSENSITIVE, MUST, NONE, NONE, MAY, MAY, MAY);
@@ -295,6 +321,11 @@ public class AnalysisTest {
         program4(FIELD_SENSITIVE, MAY, MAY, NONE, NONE, NONE, NONE);
     }
 
+    @Test
+    public void fieldsensitivebitset4() throws InvalidConfigurationException {
+        program4(FIELD_SENSITIVE_BITSET, MAY, MAY, NONE, NONE, NONE, NONE);
+    }
+
     @Test
     public void fieldinsensitive4() throws InvalidConfigurationException {
         program4(FIELD_INSENSITIVE, NONE, MUST, NONE, NONE, NONE, NONE);
@@ -339,6 +370,11 @@ public class AnalysisTest {
         program5(FIELD_SENSITIVE, MAY, MAY, NONE, NONE, NONE, NONE);
     }
 
+    @Test
+    public void fieldsensitivebitset5() throws InvalidConfigurationException {
+        program5(FIELD_SENSITIVE_BITSET, MAY, MAY, NONE, NONE, NONE, NONE);
+    }
+
     @Test
     public void fieldinsensitive5() throws InvalidConfigurationException {
         program5(FIELD_INSENSITIVE, MUST, NONE, NONE, NONE, NONE, NONE);
@@ -378,6 +414,139 @@ public class AnalysisTest {
         assertAlias(expect[5], a, me2, me3);
     }
 
+    @Test
+    public void fieldsensitive6() throws InvalidConfigurationException {
+        program6(FIELD_SENSITIVE, MAY, MAY, MAY, MAY, MAY, NONE);
+    }
+
+    @Test
+    public void fieldsensitivebitset6() throws InvalidConfigurationException {
+        program6(FIELD_SENSITIVE_BITSET, MAY, MAY, MAY, MAY, MAY, NONE);
+    }
+
+    // The copies between r0, r1 and r2 form a cycle, which the bitset analysis collapses into one variable.
+    private void program6(Alias method, Result... expect) throws InvalidConfigurationException {
+        ProgramBuilder b = ProgramBuilder.forLanguage(SourceLanguage.LITMUS);
+        MemoryObject x = b.newMemoryObject("x", 1);
+        MemoryObject y = b.newMemoryObject("y", 1);
+
+        b.newThread(0);
+        Register r0 = b.getOrNewRegister(0, "r0");
+        Register r1 = b.getOrNewRegister(0, "r1");
+        Register r2 = b.getOrNewRegister(0, "r2");
+        b.addChild(0, newLocal(r0, x));
+        b.addChild(0, newLocal(r1, r0));
+        b.addChild(0, newLocal(r2, r1));
+        b.addChild(0, newLocal(r0, r2));
+        b.addChild(0, newLocal(r1, y));
+        Store e0 = newStore(r0);
+        b.addChild(0, e0);
+        Store e1 = newStore(r2);
+        b.addChild(0, e1);
+        Store e2 = newStore(x);
+        b.addChild(0, e2);
+        Store e3 = newStore(y);
+        b.addChild(0, e3);
+
+        Program program = b.build();
+        AliasAnalysis a = analyze(program, method);
+        MemoryCoreEvent me0 = (MemoryCoreEvent) findMatchingEventAfterProcessing(program, e0);
+        MemoryCoreEvent me1 = (MemoryCoreEvent) findMatchingEventAfterProcessing(program, e1);
+        MemoryCoreEvent me2 = (MemoryCoreEvent) findMatchingEventAfterProcessing(program, e2);
+        MemoryCoreEvent me3 = (MemoryCoreEvent) findMatchingEventAfterProcessing(program, e3);
+
+        assertAlias(expect[0], a, me0, me1);
+        assertAlias(expect[1], a, me0, me2);
+        assertAlias(expect[2], a, me0, me3);
+        assertAlias(expect[3], a, me1, me2);
+        assertAlias(expect[4], a, me1, me3);
+        assertAlias(expect[5], a, me2, me3);
+    }
+
+    @Test
+    public void fieldsensitiveMayAliasPairs() throws InvalidConfigurationException {
+        mayAliasPairs(FIELD_SENSITIVE);
+    }
+
+    @Test
+    public void fieldsensitivebitsetMayAliasPairs() throws InvalidConfigurationException {
+        mayAliasPairs(FIELD_SENSITIVE_BITSET);
+    }
+
+    @Test
+    public void fieldinsensitiveMayAliasPairs() throws InvalidConfigurationException {
+        mayAliasPairs(FIELD_INSENSITIVE);
+    }
+
+    /*
+        Checks that the join over shared locations yields exactly the pairs accepted by mayAlias.
+        The program contains events whose address set is empty for the field-sensitive analyses
+        and the full set of locations for the field-insensitive one.
+     */
+    private void mayAliasPairs(Alias method) throws InvalidConfigurationException {
+        ProgramBuilder b = ProgramBuilder.forLanguage(SourceLanguage.LITMUS);
+        MemoryObject x = b.newMemoryObject("x", 3);
+        MemoryObject y = b.newMemoryObject("y", 1);
+        MemoryObject z = b.newMemoryObject("z", 1);
+        z.setInitialValue(0, x);
+
+        b.newThread(0);
+        Register r0 = b.getOrNewRegister(0, "r0");
+        Register r1 = b.getOrNewRegister(0, "r1");
+        b.addChild(0, newStore(x));
+        b.addChild(0, newStore(plus(x, 1)));
+        b.addChild(0, newStore(mult(x, 1)));
+        b.addChild(0, newLoad(r0, y));
+        Store empty = newStore(r0);
+        b.addChild(0, empty);
+        b.addChild(0, newLoad(r1, z));
+        b.addChild(0, newStore(plus(r1, 2), r1));
+        b.newThread(1);
+        Register r2 = b.getOrNewRegister(1, "r2");
+        b.addChild(1, newLoad(r2, plus(x, 2)));
+        b.addChild(1, newStore(y, r2));
+        b.addChild(1, newStore(z));
+
+        Program program = b.build();
+        Compilation.newInstance().run(program);
+        LoopUnrolling.newInstance().run(program);
+        MemoryAllocation.newInstance().run(program);
+        Configuration config = Configuration.builder().setOption(ALIAS_METHOD, method.asStringOption()).build();
+        AliasAnalysis analysis = switch (method) {
+            case FIELD_SENSITIVE -> FieldSensitiveAndersen.fromConfig(program, config);
+            case FIELD_SENSITIVE_BITSET -> FieldSensitiveBitsetAndersen.fromConfig(program, config);
+            case FIELD_INSENSITIVE -> AndersenAliasAnalysis.fromConfig(program, config);
+        };
+        AliasAnalysis combined = AliasAnalysis.fromConfig(program, config);
+        MemoryCoreEvent me = (MemoryCoreEvent) findMatchingEventAfterProcessing(program, empty);
+        assertEquals(method != FIELD_INSENSITIVE, !analysis.mayAlias(me, me));
+
+        List<MemoryCoreEvent> events = program.getThreadEvents(MemoryCoreEvent.class);
+        List<Store> stores = program.getThreadEvents(Store.class);
+        for (AliasAnalysis a : List.of(analysis, combined)) {
+            assertMayAliasPairs(a, events, events);
+            assertMayAliasPairs(a, stores, events);
+            assertMayAliasPairs(a, events, stores);
+        }
+    }
+
+    private <X extends MemoryCoreEvent, Y extends MemoryCoreEvent> void assertMayAliasPairs(
+            AliasAnalysis a, List<X> xs, List<Y> ys) {
+        List<List<MemoryCoreEvent>> expected = new ArrayList<>();
+        for (X x : xs) {
+            for (Y y : ys) {
+                if (a.mayAlias(x, y)) {
+                    expected.add(List.of(x, y));
+                }
+            }
+        }
+        List<List<MemoryCoreEvent>> actual = new ArrayList<>();
+        a.forEachMayAliasPair(xs, ys, (x, y) -> actual.add(List.of(x, y)));
+        // Each pair is visited exactly once.
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
     private Load newLoad(Register value, Expression address) {
         return EventFactory.newLoad(value, address);
     }
@@ -42,6 +42,13 @@ public class ApplicationTest {
                 Solvers.Z3.toString()));
     }
 
+    @Test
+    public void Portfolio() throws Exception {
+        Dartagnan.main(createAndFillOptions(PROGRAM_SPEC.asStringOption(),
+                PORTFOLIO.asStringOption(),
+                Solvers.Z3.toString()));
+    }
+
     @Test
     public void Races() throws Exception {
         Dartagnan.main(createAndFillOptions(DATARACEFREEDOM.asStringOption(),
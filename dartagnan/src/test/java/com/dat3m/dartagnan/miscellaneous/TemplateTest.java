@@ -0,0 +1,74 @@
+package com.dat3m.dartagnan.miscellaneous;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Method;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class TemplateTest {
+
+    private static final String PROGRAM = getTestResourcePath("locks/ttas.ll");
+    private static final String MODEL = getRootPath("cat/svcomp.cat");
+
+    @Test
+    public void templatesBuildFreshInstances() throws Exception {
+        Supplier<Program> program = new ProgramParser().parseTemplate(new File(PROGRAM));
+        Supplier<Wmm> model = new ParserCat().parseTemplate(new File(MODEL));
+
+        Program first = program.get();
+        Program second = program.get();
+        assertNotSame(first, second);
+        assertEquals("ttas.ll", first.getName());
+        assertEquals(first.getFunctions().size(), second.getFunctions().size());
+        assertNotSame(model.get(), model.get());
+    }
+
+    @Test
+    public void increasingBoundsOnSharedContext() throws Exception {
+        Supplier<Program> program = new ProgramParser().parseTemplate(new File(PROGRAM));
+        Supplier<Wmm> model = new ParserCat().parseTemplate(new File(MODEL));
+        Configuration config = Configuration.defaultConfiguration();
+        try (SolverContext ctx = SolverContextFactory.createSolverContext(config, BasicLogManager.create(config),
+                ShutdownManager.create().getNotifier(), SolverContextFactory.Solvers.Z3)) {
+            for (int bound = 1; bound <= 2; bound++) {
+                Result fromTemplate = verify(ctx, program.get(), model.get(), bound);
+                Result fromParser = verify(ctx, new ProgramParser().parse(new File(PROGRAM)),
+                        new ParserCat().parse(new File(MODEL)), bound);
+                assertEquals(fromParser, fromTemplate);
+            }
+        }
+    }
+
+    private static Result verify(SolverContext ctx, Program program, Wmm wmm, int bound) throws Exception {
+        VerificationTask task = VerificationTask.builder()
+                .withTarget(Arch.C11)
+                .withBound(bound)
+                .build(program, wmm, EnumSet.of(Property.PROGRAM_SPEC));
+        try (ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+            return ModelChecker.runWithMethod(ctx, prover, task, Method.ASSUME).getResult();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.dat3m.dartagnan.program.analysis.alias;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SparseBitSetTest {
+
+    @Test
+    public void testAddAcrossBlocks() {
+        // given
+        SparseBitSet set = new SparseBitSet();
+
+        // when
+        // Inserted out of order, so that new blocks are added before, between and after existing ones.
+        assertTrue(set.add(200));
+        assertTrue(set.add(63));
+        assertTrue(set.add(1000));
+        assertTrue(set.add(64));
+        assertTrue(set.add(0));
+        assertFalse(set.add(64));
+
+        // then
+        assertArrayEquals(new int[] {0, 63, 64, 200, 1000}, set.toArray());
+        assertTrue(set.contains(63));
+        assertTrue(set.contains(64));
+        assertFalse(set.contains(65));
+        assertFalse(set.contains(127));
+        assertFalse(set.contains(2000));
+    }
+
+    @Test
+    public void testAddAllReturnsDifference() {
+        // given
+        SparseBitSet set = of(1, 63, 64, 200);
+        SparseBitSet other = of(63, 64, 65, 127, 128, 1000);
+
+        // when
+        SparseBitSet added = set.addAll(other);
+
+        // then
+        // The difference covers a shared block (64..127), new blocks (128, 1000) and leaves out the shared bits.
+        assertArrayEquals(new int[] {65, 127, 128, 1000}, added.toArray());
+        assertArrayEquals(new int[] {1, 63, 64, 65, 127, 128, 200, 1000}, set.toArray());
+        assertArrayEquals(new int[] {63, 64, 65, 127, 128, 1000}, other.toArray());
+    }
+
+    @Test
+    public void testAddAllWithoutNewElements() {
+        // given
+        SparseBitSet set = of(1, 64, 200);
+
+        // when
+        SparseBitSet addedSubset = set.addAll(of(64, 200));
+        SparseBitSet addedEmpty = set.addAll(new SparseBitSet());
+
+        // then
+        assertNull(addedSubset);
+        assertNull(addedEmpty);
+        assertEquals(of(1, 64, 200), set);
+    }
+
+    @Test
+    public void testEqualityDoesNotDependOnHistory() {
+        // given
+        SparseBitSet grown = of(5, 70);
+        grown.addAll(of(64, 300));
+        SparseBitSet direct = of(300, 70, 64, 5);
+
+        // when
+        SparseBitSet copy = direct.copy();
+        copy.add(6);
+
+        // then
+        assertEquals(direct, grown);
+        assertEquals(direct.hashCode(), grown.hashCode());
+        // The copy does not share its blocks with the original.
+        assertNotEquals(direct, copy);
+        assertFalse(direct.contains(6));
+    }
+
+    private static SparseBitSet of(int... bits) {
+        SparseBitSet set = new SparseBitSet();
+        for (int bit : bits) {
+            set.add(bit);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dat3m.dartagnan.program.processing;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.expression.INonDet;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.Thread;
+import com.dat3m.dartagnan.program.event.core.Event;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static org.junit.Assert.assertEquals;
+
+public class ProcessingManagerTest {
+
+    @Test
+    public void processingDoesNotDependOnThreads() throws Exception {
+        checkSameProcessing("miscellaneous/thread_inlining_complex.ll");
+        checkSameProcessing("miscellaneous/pthread.ll");
+        checkSameProcessing("miscellaneous/recursion.ll");
+        checkSameProcessing("miscellaneous/nondet_loop.ll");
+        checkSameProcessing("miscellaneous/idd_dynamic.ll");
+    }
+
+    private static void checkSameProcessing(String programPath) throws Exception {
+        // given
+        Program sequential = new ProgramParser().parse(new File(getTestResourcePath(programPath)));
+        Program parallel = new ProgramParser().parse(new File(getTestResourcePath(programPath)));
+
+        // when
+        ProcessingManager.fromConfig(configWithThreads(1)).run(sequential);
+        ProcessingManager.fromConfig(configWithThreads(4)).run(parallel);
+
+        // then
+        assertEquals(programPath, describe(sequential), describe(parallel));
+    }
+
+    private static Configuration configWithThreads(int threads) throws Exception {
+        return Configuration.builder()
+                .setOption(TARGET, Arch.IMM.toString())
+                .setOption(BOUND, "2")
+                .setOption(PROCESSING_THREADS, String.valueOf(threads))
+                .build();
+    }
+
+    // Lists the events with their ids, followed by the constants with their bounds.
+    private static List<String> describe(Program program) {
+        final List<String> lines = new ArrayList<>();
+        for (Thread thread : program.getThreads()) {
+            lines.add("thread " + thread.getId() + " " + thread.getName());
+            for (Event e : thread.getEvents()) {
+                lines.add(e.getGlobalId() + " " + e.getClass().getSimpleName() + " " + e);
+            }
+        }
+        for (INonDet constant : program.getConstants()) {
+            lines.add(constant.getName() + " " + constant.isSigned() + " " + constant.getMin() + " " + constant.getMax());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,164 @@
+package com.dat3m.dartagnan.program.processing;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static org.junit.Assert.*;
+
+public class ProcessingStatisticsTest {
+
+    private static final String CSV_HEADER =
+            "pass,level,runs,timeNs,allocatedBytes,eventsBefore,eventsAfter,registersBefore,registersAfter";
+    private static final Pattern JSON_ROW = Pattern.compile("^ {2}\\{\"pass\": \"(.*)\", \"level\": \"(\\w+)\", \"runs\": (\\d+),.*},?$");
+
+    // The passes registered by the ProcessingManager with the default options, in pipeline order.
+    // Each stage of function passes is followed by its function passes.
+    private static final List<String> DEFAULT_PASSES = List.of(
+            "MarkIntrinsics program",
+            "GEPToAddition program",
+            "NaiveDevirtualisation program",
+            "Inlining program",
+            "EarlyIntrinsics program",
+            "EarlyIntrinsics function",
+            "UnreachableCodeElimination + ComplexBlockSplitting + BranchReordering + Simplifier program",
+            "UnreachableCodeElimination function",
+            "ComplexBlockSplitting function",
+            "BranchReordering function",
+            "Simplifier function",
+            "RegisterDecomposition program",
+            "RemoveDeadFunctions program",
+            "LoopFormVerification program",
+            "Compilation program",
+            "MemToReg program",
+            "MemToReg function",
+            "SimpleSpinLoopDetection program",
+            "SimpleSpinLoopDetection function",
+            "SparseConditionalConstantPropagation program",
+            "SparseConditionalConstantPropagation function",
+            "LoopUnrolling program",
+            "DynamicPureLoopCutting program",
+            "ResolveLLVMObjectSizeCalls + SparseConditionalConstantPropagation + DeadAssignmentElimination" +
+                    " + RemoveDeadCondJumps program",
+            "ResolveLLVMObjectSizeCalls function",
+            "SparseConditionalConstantPropagation function",
+            "DeadAssignmentElimination function",
+            "RemoveDeadCondJumps function",
+            "ThreadCreation program",
+            "LateIntrinsics program",
+            "RemoveUnusedMemory program",
+            "MemToReg program",
+            "MemToReg function",
+            "MemoryAllocation program",
+            "IdReassignment program",
+            "CoreCodeVerification program",
+            "CoreCodeVerification function",
+            "LogThreadStatistics program");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void csvHasOneRowPerPass() throws Exception {
+        // given
+        Path file = folder.getRoot().toPath().resolve("statistics.csv");
+
+        // when
+        process(file);
+
+        // then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(CSV_HEADER, lines.get(0));
+        List<String> passes = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            // None of the pass names contains a comma or a quote.
+            String[] columns = line.split(",");
+            assertEquals(line, 9, columns.length);
+            assertTrue(line, columns[0].startsWith("\"") && columns[0].endsWith("\""));
+            passes.add(columns[0].substring(1, columns[0].length() - 1) + " " + columns[1]);
+            if (columns[1].equals("program")) {
+                assertEquals(line, "1", columns[2]);
+            }
+        }
+        assertEquals(DEFAULT_PASSES, passes);
+    }
+
+    @Test
+    public void jsonHasOneObjectPerPass() throws Exception {
+        // given
+        Path file = folder.getRoot().toPath().resolve("statistics.json");
+
+        // when
+        process(file);
+
+        // then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("[", lines.get(0));
+        assertEquals("]", lines.get(lines.size() - 1));
+        List<String> passes = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            Matcher matcher = JSON_ROW.matcher(line);
+            assertTrue(line, matcher.matches());
+            // Objects are separated by commas.
+            assertEquals(line, passes.size() + 1 < lines.size() - 2, line.endsWith(","));
+            passes.add(matcher.group(1) + " " + matcher.group(2));
+            if (matcher.group(2).equals("program")) {
+                assertEquals(line, "1", matcher.group(3));
+            }
+        }
+        assertEquals(DEFAULT_PASSES, passes);
+    }
+
+    @Test
+    public void namesAreEscaped() throws Exception {
+        // given
+        ProcessingStatistics statistics = new ProcessingStatistics();
+        ProgramProcessor quoted = statistics.measure("Pass \"quoted\", with comma", program -> {});
+        ProgramProcessor backslash = statistics.measure("Pass \\ with backslash", program -> {});
+        Program program = parse();
+        quoted.run(program);
+        backslash.run(program);
+        Path csv = folder.getRoot().toPath().resolve("statistics.csv");
+        Path json = folder.getRoot().toPath().resolve("statistics.json");
+
+        // when
+        statistics.write(csv);
+        statistics.write(json);
+
+        // then
+        List<String> csvLines = Files.readAllLines(csv);
+        assertEquals(3, csvLines.size());
+        assertTrue(csvLines.get(1), csvLines.get(1).startsWith("\"Pass \"\"quoted\"\", with comma\",program,1,"));
+        assertTrue(csvLines.get(2), csvLines.get(2).startsWith("\"Pass \\ with backslash\",program,1,"));
+        List<String> jsonLines = Files.readAllLines(json);
+        assertEquals(4, jsonLines.size());
+        assertTrue(jsonLines.get(1), jsonLines.get(1).startsWith("  {\"pass\": \"Pass \\\"quoted\\\", with comma\","));
+        assertTrue(jsonLines.get(2), jsonLines.get(2).startsWith("  {\"pass\": \"Pass \\\\ with backslash\","));
+    }
+
+    private static void process(Path statisticsFile) throws Exception {
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, Arch.IMM.toString())
+                .setOption(PROCESSING_STATISTICS_FILE, statisticsFile.toString())
+                .build();
+        ProcessingManager.fromConfig(config).run(parse());
+    }
+
+    private static Program parse() throws Exception {
+        return new ProgramParser().parse(new File(getTestResourcePath("miscellaneous/pthread.ll")));
+    }
+}
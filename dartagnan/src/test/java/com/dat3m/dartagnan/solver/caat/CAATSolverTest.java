@@ -0,0 +1,91 @@
+package com.dat3m.dartagnan.solver.caat;
+
+import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
+import com.dat3m.dartagnan.solver.caat.domain.GenericDomain;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.SimpleGraph;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.CompositionGraph;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.UnionGraph;
+import com.dat3m.dartagnan.solver.caat.reasoning.CAATLiteral;
+import com.dat3m.dartagnan.utils.logic.Conjunction;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class CAATSolverTest {
+
+    private static final int SIZE = 12;
+
+    @Test
+    public void testReasonsDoNotDependOnThreads() {
+        Random random = new Random(0);
+        try (CAATSolver sequential = CAATSolver.create(1); CAATSolver parallel = CAATSolver.create(3)) {
+            // The parallel solver is reused across rounds, so its worker threads outlive each call.
+            for (int round = 0; round < 20; round++) {
+                // given
+                List<Edge> first = randomEdges(random);
+                List<Edge> second = randomEdges(random);
+
+                // when
+                CAATSolver.Result expected = check(sequential, first, second);
+                CAATSolver.Result actual = check(parallel, first, second);
+
+                // then
+                assertEquals(expected.getStatus(), actual.getStatus());
+                if (expected.getStatus() == CAATSolver.Status.INCONSISTENT) {
+                    assertFalse(expected.getBaseReasons().isFalse());
+                    assertEquals(cubes(expected), cubes(actual));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSolverIsUsableAfterClose() {
+        // given a cycle 0 -> 1 -> 2 -> 0 of the first graph
+        List<Edge> first = List.of(new Edge(0, 1), new Edge(1, 2), new Edge(2, 0));
+        CAATSolver solver = CAATSolver.create(2);
+
+        // when
+        CAATSolver.Result before = check(solver, first, List.of());
+        solver.close();
+        CAATSolver.Result after = check(solver, first, List.of());
+        solver.close();
+
+        // then
+        assertEquals(CAATSolver.Status.INCONSISTENT, before.getStatus());
+        assertEquals(cubes(before), cubes(after));
+    }
+
+    // Checks the acyclicity of first | (second; second).
+    private static CAATSolver.Result check(CAATSolver solver, List<Edge> firstEdges, List<Edge> secondEdges) {
+        SimpleGraph first = new SimpleGraph();
+        first.setName("first");
+        SimpleGraph second = new SimpleGraph();
+        second.setName("second");
+        CompositionGraph composition = new CompositionGraph(second, second);
+        composition.setName("second;second");
+        UnionGraph union = new UnionGraph(first, composition);
+        union.setName("first|second;second");
+        CAATModel model = CAATModel.fromConstraints(List.of(new AcyclicityConstraint(union, 0)));
+        model.initializeToDomain(new GenericDomain<>(IntStream.range(0, SIZE).boxed().toList()));
+        first.addAll(firstEdges);
+        second.addAll(secondEdges);
+        return solver.check(model);
+    }
+
+    private static List<Edge> randomEdges(Random random) {
+        List<Edge> edges = new ArrayList<>();
+        for (int i = random.nextInt(2 * SIZE); i > 0; i--) {
+            edges.add(new Edge(random.nextInt(SIZE), random.nextInt(SIZE)));
+        }
+        return edges;
+    }
+
+    private static Set<Conjunction<CAATLiteral>> cubes(CAATSolver.Result result) {
+        return new HashSet<>(result.getBaseReasons().getCubes());
+    }
+}
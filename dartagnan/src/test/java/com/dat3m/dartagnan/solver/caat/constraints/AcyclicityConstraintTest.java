@@ -0,0 +1,139 @@
+package com.dat3m.dartagnan.solver.caat.constraints;
+
+import com.dat3m.dartagnan.solver.caat.domain.GenericDomain;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.SimpleGraph;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class AcyclicityConstraintTest {
+
+    @Test
+    public void testAcyclic() {
+        // given
+        AcyclicityConstraint constraint = createConstraint(3, 0, edge(0, 1), edge(1, 2), edge(0, 2));
+
+        // then
+        assertFalse(constraint.checkForViolations());
+        assertTrue(constraint.getViolations().isEmpty());
+    }
+
+    @Test
+    public void testSelfLoop() {
+        // given
+        AcyclicityConstraint constraint = createConstraint(2, 0, edge(0, 1), edge(1, 1));
+
+        // then
+        assertTrue(constraint.checkForViolations());
+        assertEquals(List.of(List.of(edge(1, 1))), constraint.getViolations());
+    }
+
+    @Test
+    public void testChordIsShortcut() {
+        // given the cycle 0 -> 1 -> 2 -> 3 -> 0 with the chord 0 -> 2
+        AcyclicityConstraint constraint = createConstraint(4, 0,
+                edge(0, 1), edge(1, 2), edge(2, 3), edge(3, 0), edge(0, 2));
+
+        // then
+        // The cycle through 1 is shortcut along the chord, which yields the same chordless cycle as for 0.
+        assertTrue(constraint.checkForViolations());
+        assertEquals(List.of(List.of(edge(0, 2), edge(2, 3), edge(3, 0))), constraint.getViolations());
+    }
+
+    @Test
+    public void testCyclesAreNormalized() {
+        // given the cycle 2 -> 3 -> 1 -> 2, with the chord 3 -> 2 closing a shorter cycle
+        AcyclicityConstraint constraint = createConstraint(4, 0,
+                edge(2, 3), edge(3, 1), edge(1, 2), edge(3, 2));
+
+        // then
+        // Each cycle starts with the edge leaving its smallest node.
+        assertTrue(constraint.checkForViolations());
+        Set<List<Edge>> cycles = new HashSet<>(constraint.getViolations());
+        for (List<Edge> cycle : cycles) {
+            int min = cycle.stream().mapToInt(Edge::getFirst).min().orElseThrow();
+            assertEquals(min, cycle.get(0).getFirst());
+            assertChordless(cycle, Set.of(edge(2, 3), edge(3, 1), edge(1, 2), edge(3, 2)));
+        }
+        assertTrue(cycles.contains(List.of(edge(2, 3), edge(3, 2))));
+    }
+
+    @Test
+    public void testCyclesPerSccAreBounded() {
+        // given a center 0 that forms a cycle of length two with each of the nodes 1, ..., 5
+        Edge[] edges = IntStream.rangeClosed(1, 5)
+                .boxed()
+                .flatMap(i -> List.of(edge(0, i), edge(i, 0)).stream())
+                .toArray(Edge[]::new);
+
+        // when
+        List<List<Edge>> all = createConstraint(6, 0, edges).getViolations();
+        List<List<Edge>> bounded = createConstraint(6, 2, edges).getViolations();
+
+        // then
+        // Each cycle removes the center and one outer node from the search, so all five cycles are found.
+        assertEquals(5, all.size());
+        all.forEach(cycle -> assertEquals(2, cycle.size()));
+        assertEquals(2, bounded.size());
+        assertTrue(all.containsAll(bounded));
+    }
+
+    @Test
+    public void testCycleSurvivesBacktracking() {
+        // given the cycles 0 -> 1 -> 0 and 2 -> 3 -> 2, where the edge 3 -> 2 was added later
+        SimpleGraph graph = new SimpleGraph();
+        AcyclicityConstraint constraint = createConstraint(graph, 4, 0,
+                edge(0, 1), edge(1, 0), edge(2, 3), new Edge(3, 2, 1, 0));
+        assertEquals(2, constraint.getViolations().size());
+
+        // when
+        graph.backtrackTo(0);
+        constraint.onBacktrack(graph, 0);
+
+        // then
+        assertTrue(constraint.checkForViolations());
+        assertEquals(List.of(List.of(edge(0, 1), edge(1, 0))), constraint.getViolations());
+
+        // when
+        graph.backtrackTo(-1);
+        constraint.onBacktrack(graph, -1);
+
+        // then
+        assertFalse(constraint.checkForViolations());
+        assertTrue(constraint.getViolations().isEmpty());
+    }
+
+    private static Edge edge(int from, int to) {
+        return new Edge(from, to);
+    }
+
+    private static AcyclicityConstraint createConstraint(int size, int maxCyclesPerScc, Edge... edges) {
+        return createConstraint(new SimpleGraph(), size, maxCyclesPerScc, edges);
+    }
+
+    private static AcyclicityConstraint createConstraint(SimpleGraph graph, int size, int maxCyclesPerScc,
+                                                         Edge... edges) {
+        GenericDomain<Integer> domain = new GenericDomain<>(IntStream.range(0, size).boxed().toList());
+        graph.initializeToDomain(domain);
+        graph.addAll(Arrays.asList(edges));
+        AcyclicityConstraint constraint = new AcyclicityConstraint(graph, maxCyclesPerScc);
+        constraint.onDomainInit(graph, domain);
+        constraint.onPopulation(graph);
+        constraint.checkForViolations();
+        return constraint;
+    }
+
+    private static void assertChordless(List<Edge> cycle, Set<Edge> graph) {
+        Set<Integer> nodes = new HashSet<>();
+        cycle.forEach(e -> nodes.add(e.getFirst()));
+        for (Edge e : graph) {
+            if (nodes.contains(e.getFirst()) && nodes.contains(e.getSecond())) {
+                assertTrue("Chord " + e + " of cycle " + cycle, cycle.contains(e));
+            }
+        }
+    }
+}
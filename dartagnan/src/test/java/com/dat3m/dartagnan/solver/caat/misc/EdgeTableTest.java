@@ -0,0 +1,148 @@
+package com.dat3m.dartagnan.solver.caat.misc;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class EdgeTableTest {
+
+    // The capacity of a table that is created for a single edge.
+    private static final int CAPACITY = 16;
+
+    @Test
+    public void testAddAndFind() {
+        // given
+        EdgeTable table = new EdgeTable(4);
+
+        // when
+        assertTrue(table.add(1, 2, 3, 4));
+        assertFalse(table.add(1, 2, 5, 6));
+
+        // then
+        // The first insertion wins, and the edge is directed.
+        int slot = table.find(1, 2);
+        assertTrue(slot >= 0);
+        assertEquals(3, table.getTime(slot));
+        assertEquals(4, table.getDerivationLength(slot));
+        assertFalse(table.contains(2, 1));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testDeleteAndReinsertAcrossWrapAround() {
+        // given
+        // Four edges whose home is the last slot of the smallest table, and two edges whose home is the first slot.
+        // Inserted in this order, they occupy a probe run that wraps around the end of the table.
+        List<int[]> edges = new ArrayList<>();
+        edges.addAll(edgesWithHome(CAPACITY - 1, 4));
+        edges.addAll(edgesWithHome(0, 2));
+        EdgeTable table = new EdgeTable(1);
+        for (int[] e : edges) {
+            assertTrue(table.add(e[0], e[1], e[0], 0));
+        }
+        assertEquals(CAPACITY - 1, table.find(edges.get(0)[0], edges.get(0)[1]));
+        assertEquals(0, table.find(edges.get(1)[0], edges.get(1)[1]));
+
+        for (int round = 0; round < 3; round++) {
+            for (int k = 0; k < edges.size(); k++) {
+                // when
+                // Removing an edge shifts the later entries of the run backwards across the end of the table.
+                int[] e = edges.get(k);
+                assertTrue(table.remove(e[0], e[1]));
+                assertFalse(table.remove(e[0], e[1]));
+
+                // then
+                assertFalse(table.contains(e[0], e[1]));
+                assertAllPresentExcept(table, edges, k);
+                assertTrue(table.add(e[0], e[1], e[0], round));
+                assertAllPresentExcept(table, edges, -1);
+            }
+        }
+        assertEquals(edges.size(), table.size());
+    }
+
+    @Test
+    public void testCollidingKeysWrapAround() {
+        // given
+        // Random keys on a table with 16 slots produce long probe sequences that wrap around its end.
+        Random random = new Random(0);
+        for (int round = 0; round < 200; round++) {
+            EdgeTable table = new EdgeTable(1);
+            Map<Long, Integer> expected = new HashMap<>();
+            while (expected.size() < 8) {
+                int first = random.nextInt(100);
+                int second = random.nextInt(100);
+                if (expected.putIfAbsent(((long) first << 32) | second, expected.size()) == null) {
+                    table.add(first, second, expected.get(((long) first << 32) | second), 0);
+                }
+            }
+
+            // when
+            List<Long> keys = new ArrayList<>(expected.keySet());
+            Collections.shuffle(keys, random);
+            for (Long key : keys.subList(0, 4)) {
+                assertTrue(table.remove((int) (key >>> 32), key.intValue()));
+                expected.remove(key);
+            }
+
+            // then
+            assertEquals(expected.size(), table.size());
+            expected.forEach((key, time) -> {
+                int slot = table.find((int) (key >>> 32), key.intValue());
+                assertTrue("Lost edge " + key, slot >= 0);
+                assertEquals((int) time, table.getTime(slot));
+            });
+            for (Long key : keys.subList(0, 4)) {
+                assertFalse(table.contains((int) (key >>> 32), key.intValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testGrowAndClear() {
+        // given
+        EdgeTable table = new EdgeTable(1);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            table.add(i, 1000 - i, i, 2 * i);
+        }
+
+        // then
+        assertEquals(1000, table.size());
+        for (int i = 0; i < 1000; i++) {
+            int slot = table.find(i, 1000 - i);
+            assertEquals(i, table.getTime(slot));
+            assertEquals(2 * i, table.getDerivationLength(slot));
+        }
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(0, 1000));
+    }
+
+    // Finds edges whose probe sequence starts at the given slot, by placing them into an empty table.
+    private static List<int[]> edgesWithHome(int home, int count) {
+        List<int[]> edges = new ArrayList<>();
+        for (int first = 0; edges.size() < count; first++) {
+            EdgeTable table = new EdgeTable(1);
+            table.add(first, 0, 0, 0);
+            if (table.find(first, 0) == home) {
+                edges.add(new int[] { first, 0 });
+            }
+        }
+        return edges;
+    }
+
+    private static void assertAllPresentExcept(EdgeTable table, List<int[]> edges, int skipped) {
+        for (int i = 0; i < edges.size(); i++) {
+            if (i != skipped) {
+                int[] e = edges.get(i);
+                int slot = table.find(e[0], e[1]);
+                assertTrue("Lost edge " + Arrays.toString(e), slot >= 0);
+                assertEquals(e[0], table.getTime(slot));
+            }
+        }
+    }
+}
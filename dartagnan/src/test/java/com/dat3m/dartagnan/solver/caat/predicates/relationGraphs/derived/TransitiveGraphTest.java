@@ -0,0 +1,84 @@
+package com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived;
+
+import com.dat3m.dartagnan.solver.caat.domain.GenericDomain;
+import com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.SimpleGraph;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class TransitiveGraphTest {
+
+    private static final int TIME = 3;
+
+    @Test
+    public void testChainAndCycle() {
+        // given 0 -> 1 -> 2 -> 0, 2 -> 3 and the isolated loop 4 -> 4
+        List<Edge> edges = List.of(edge(0, 1, 0), edge(1, 2, 2), edge(2, 0, 0), edge(2, 3, 1), edge(4, 4, 0));
+
+        // then
+        TransitiveGraph bulk = compareBulkWithIncremental(5, edges);
+        for (int a = 0; a < 3; a++) {
+            for (int b = 0; b < 4; b++) {
+                assertTrue(bulk.containsById(a, b));
+            }
+        }
+        assertFalse(bulk.containsById(3, 0));
+        assertTrue(bulk.containsById(4, 4));
+        assertEquals(13, bulk.size());
+        // Direct edges keep the derivation length of the inner edge plus one.
+        assertEquals(3, bulk.get(edge(1, 2, 0)).getDerivationLength());
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(0);
+        for (int round = 0; round < 50; round++) {
+            // given
+            int size = 2 + random.nextInt(30);
+            int numEdges = random.nextInt(3 * size);
+            Set<Edge> edges = new LinkedHashSet<>();
+            for (int i = 0; i < numEdges; i++) {
+                edges.add(edge(random.nextInt(size), random.nextInt(size), random.nextInt(4)));
+            }
+
+            // then
+            compareBulkWithIncremental(size, new ArrayList<>(edges));
+        }
+    }
+
+    // Checks that the bulk closure contains the same edges as the incremental one, that all its edges get the time
+    // of the inner edges, and that each edge can be derived from inner edges with smaller derivation lengths.
+    private static TransitiveGraph compareBulkWithIncremental(int size, List<Edge> innerEdges) {
+        GenericDomain<Integer> domain = new GenericDomain<>(IntStream.range(0, size).boxed().toList());
+        SimpleGraph inner = new SimpleGraph();
+        inner.initializeToDomain(domain);
+        inner.addAll(innerEdges);
+
+        TransitiveGraph bulk = new TransitiveGraph(inner);
+        bulk.initializeToDomain(domain);
+        bulk.repopulate();
+
+        TransitiveGraph incremental = new TransitiveGraph(inner);
+        incremental.initializeToDomain(domain);
+        incremental.forwardPropagate(inner, innerEdges);
+
+        assertEquals(new HashSet<>(incremental.setView()), new HashSet<>(bulk.setView()));
+        PathAlgorithm pathAlgorithm = new PathAlgorithm();
+        for (Edge e : bulk.edges()) {
+            assertEquals(TIME, e.getTime());
+            List<Edge> path = pathAlgorithm.findShortestPath(inner, e.getFirst(), e.getSecond(),
+                    e.getDerivationLength() - 1);
+            assertFalse("No derivation for " + e, path.isEmpty());
+        }
+        return bulk;
+    }
+
+    private static Edge edge(int from, int to, int derivationLength) {
+        return new Edge(from, to, TIME, derivationLength);
+    }
+}
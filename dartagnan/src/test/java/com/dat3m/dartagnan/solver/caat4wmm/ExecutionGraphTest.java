@@ -0,0 +1,136 @@
+package com.dat3m.dartagnan.solver.caat4wmm;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.*;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.TARGET;
+import static com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint.DEFAULT_MAX_CYCLES_PER_SCC;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+import static com.dat3m.dartagnan.wmm.relation.RelationNameRepository.RF;
+import static org.junit.Assert.*;
+import static org.sosy_lab.java_smt.api.SolverContext.ProverOptions.GENERATE_MODELS;
+
+public class ExecutionGraphTest {
+
+    @Test
+    public void incrementalUpdatesMatchFreshPopulationTSO() throws Exception {
+        checkIncrementalUpdates("litmus/X86/MP+po-rmw+rmw-mfence.litmus", "cat/tso.cat", Arch.TSO);
+        checkIncrementalUpdates("litmus/X86/2+2W+mfence-rmws.litmus", "cat/tso.cat", Arch.TSO);
+        checkIncrementalUpdates("litmus/X86/IRWIW.litmus", "cat/tso.cat", Arch.TSO);
+    }
+
+    @Test
+    public void incrementalUpdatesMatchFreshPopulationARM8() throws Exception {
+        checkIncrementalUpdates("litmus/AARCH64/CO/WRR+2W+poss.litmus", "cat/aarch64.cat", Arch.ARM8);
+        checkIncrementalUpdates("litmus/AARCH64/CO/RWC+poss.litmus", "cat/aarch64.cat", Arch.ARM8);
+        checkIncrementalUpdates("litmus/AARCH64/CO/WRC+dmb.syss.litmus", "cat/aarch64.cat", Arch.ARM8);
+    }
+
+    /*
+        Runs a refinement loop on <programPath> and checks every model with an incremental and a fresh WMMSolver.
+        Each iteration adds the refinement clauses of the previous one, so consecutive models differ in a few edges.
+     */
+    private static void checkIncrementalUpdates(String programPath, String modelPath, Arch arch) throws Exception {
+        // given
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, arch.toString())
+                .build();
+        Program program = new ProgramParser().parse(new File(getRootPath(programPath)));
+        Wmm memoryModel = new ParserCat().parse(new File(getRootPath(modelPath)));
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(arch)
+                .withBound(1)
+                .build(program, memoryModel, EnumSet.of(Property.PROGRAM_SPEC));
+        Wmm baselineModel = new Wmm();
+        baselineModel.getRelation(RF);
+        VerificationTask baselineTask = VerificationTask.builder()
+                .withConfig(config)
+                .build(program, baselineModel, task.getProperty());
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task);
+        memoryModel.configureAll(config);
+        baselineModel.configureAll(config);
+        Context analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        Context baselineContext = Context.createCopyFrom(analysisContext);
+        performStaticWmmAnalyses(task, analysisContext, config);
+        performStaticWmmAnalyses(baselineTask, baselineContext, config);
+
+        try (SolverContext ctx = TestHelper.createContext();
+             ProverEnvironment prover = ctx.newProverEnvironment(GENERATE_MODELS)) {
+            EncodingContext context = EncodingContext.of(baselineTask, baselineContext, ctx.getFormulaManager());
+            ProgramEncoder programEncoder = ProgramEncoder.withContext(context);
+            PropertyEncoder propertyEncoder = PropertyEncoder.withContext(context);
+            WmmEncoder wmmEncoder = WmmEncoder.withContext(context);
+            try (WMMSolver incremental = WMMSolver.withContext(context, Set.of(), task, analysisContext, true, 1,
+                         DEFAULT_MAX_CYCLES_PER_SCC);
+                 WMMSolver fresh = WMMSolver.withContext(context, Set.of(), task, analysisContext, false, 1,
+                         DEFAULT_MAX_CYCLES_PER_SCC)) {
+                assertTrue(incremental.getExecutionGraph().isIncremental());
+                ConstraintStream constraints = ConstraintStream.toProver(prover, context);
+                programEncoder.encodeFullProgram(constraints);
+                wmmEncoder.encodeFullMemoryModel(constraints);
+                prover.addConstraint(propertyEncoder.encodeProperties(task.getProperty()));
+                Refiner refiner = new Refiner();
+                int inconsistentModels = 0;
+
+                while (!prover.isUnsat()) {
+                    // when
+                    WMMSolver.Result expected;
+                    WMMSolver.Result actual;
+                    try (Model model = prover.getModel()) {
+                        expected = fresh.check(model);
+                        actual = incremental.check(model);
+                    }
+
+                    // then
+                    assertEquals(expected.getStatus(), actual.getStatus());
+                    assertEquals(new HashSet<>(expected.getCoreReasons().getCubes()),
+                            new HashSet<>(actual.getCoreReasons().getCubes()));
+                    assertSameGraphs(fresh.getExecutionGraph(), incremental.getExecutionGraph());
+                    if (expected.getStatus() != CAATSolver.Status.INCONSISTENT) {
+                        break;
+                    }
+                    inconsistentModels++;
+                    prover.addConstraint(context.getBooleanFormulaManager()
+                            .and(refiner.refineClauses(expected.getCoreReasons(), context)));
+                }
+                assertTrue(programPath, inconsistentModels > 1);
+            }
+        }
+    }
+
+    private static void assertSameGraphs(ExecutionGraph expected, ExecutionGraph actual) {
+        for (Map.Entry<Relation, RelationGraph> entry : expected.getRelationGraphMap().entrySet()) {
+            RelationGraph actualGraph = actual.getRelationGraph(entry.getKey());
+            assertNotNull(actualGraph);
+            Set<Edge> expectedEdges = new HashSet<>(entry.getValue().setView());
+            assertEquals(entry.getKey().getNameOrTerm(), expectedEdges, new HashSet<>(actualGraph.setView()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dat3m.dartagnan.utils.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        // given
+        LongMap<String> map = new LongMap<>();
+
+        // when
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(-1, "b"));
+        assertEquals("a", map.put(1, "c"));
+
+        // then
+        assertEquals(2, map.size());
+        assertEquals("c", map.get(1));
+        assertEquals("b", map.get(-1));
+        assertNull(map.get(0));
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    public void testZeroKey() {
+        // given
+        LongMap<String> map = new LongMap<>();
+
+        // when
+        map.put(0, "zero");
+
+        // then
+        // Empty slots are marked by their values, so the default key 0 is an ordinary key.
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testCollisionsAndResize() {
+        // given
+        LongMap<Long> map = new LongMap<>(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        // when
+        // Keys that only differ in their high bits, and random keys, inserted far beyond the initial capacity.
+        for (long i = 0; i < 1000; i++) {
+            long key = i << 40;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextLong();
+            map.put(key, key);
+            expected.put(key, key);
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertNull(map.get(1L << 20));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        // given
+        LongMap<String> map = new LongMap<>();
+        map.put(5, "five");
+
+        // when
+        String present = map.computeIfAbsent(5, k -> {
+            throw new AssertionError("Mapping function called for present key");
+        });
+        String absent = map.computeIfAbsent(6, k -> "six " + k);
+
+        // then
+        assertEquals("five", present);
+        assertEquals("six 6", absent);
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testComputeIfAbsentWithResizingMappingFunction() {
+        // given
+        LongMap<Long> map = new LongMap<>();
+
+        // when
+        // The mapping function grows the map beyond its capacity, which invalidates the slot found for the key.
+        Long value = map.computeIfAbsent(-1, k -> {
+            for (long i = 0; i < 100; i++) {
+                map.put(i, i);
+            }
+            return k;
+        });
+
+        // then
+        assertEquals(Long.valueOf(-1), value);
+        assertEquals(101, map.size());
+        assertEquals(Long.valueOf(-1), map.get(-1));
+        for (long i = 0; i < 100; i++) {
+            assertEquals(Long.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        // given
+        LongMap<String> map = new LongMap<>();
+        map.put(1, "a");
+
+        // when
+        map.clear();
+
+        // then
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testPair() {
+        // then
+        assertEquals((3L << 32) | 7, LongMap.pair(3, 7));
+        assertNotEquals(LongMap.pair(0, 1), LongMap.pair(1, 0));
+
+        // Both components can be recovered, and the second one does not leak into the first.
+        long key = LongMap.pair(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, key >>> 32);
+        assertEquals(Integer.MAX_VALUE, (int) key);
+        assertEquals(0xFFFFFFFFL, LongMap.pair(0, -1));
+    }
+}
@@ -0,0 +1,128 @@
+package com.dat3m.dartagnan.utils.logic;
+
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.reasoning.CAATLiteral;
+import com.dat3m.dartagnan.solver.caat.reasoning.EdgeLiteral;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DNFTest {
+
+    private static final CAATLiteral A = literal("a", false);
+    private static final CAATLiteral B = literal("b", false);
+    private static final CAATLiteral C = literal("c", false);
+
+    @Test
+    public void testTrueAbsorbsAllCubes() {
+        // when
+        DNF<CAATLiteral> dnf = new DNF<>(List.of(cube(A), Conjunction.TRUE(), cube(A, B)));
+
+        // then
+        assertTrue(dnf.isTriviallyTrue());
+        assertEquals(DNF.TRUE(), dnf);
+        assertTrue(new DNF<>(cube(A)).or(DNF.TRUE()).isTriviallyTrue());
+        assertTrue(DNF.<CAATLiteral>TRUE().or(new DNF<>(cube(B))).isTriviallyTrue());
+    }
+
+    @Test
+    public void testFalseIsDropped() {
+        // when
+        // A contradictory conjunction reduces to FALSE.
+        DNF<CAATLiteral> dnf = new DNF<>(List.of(cube(A, A.negated()), cube(B), Conjunction.FALSE()));
+
+        // then
+        assertEquals(Set.of(cube(B)), dnf.getCubes());
+        assertTrue(new DNF<CAATLiteral>(List.of(Conjunction.FALSE())).isFalse());
+        assertEquals(dnf, dnf.or(DNF.FALSE()));
+        assertEquals(dnf, DNF.<CAATLiteral>FALSE().or(dnf));
+    }
+
+    @Test
+    public void testEqualCubesAreKeptOnce() {
+        // when
+        DNF<CAATLiteral> dnf = new DNF<>(List.of(cube(A, B), cube(B, A), cube(C)));
+        DNF<CAATLiteral> union = dnf.or(new DNF<>(cube(A, B)));
+
+        // then
+        assertEquals(Set.of(cube(A, B), cube(C)), dnf.getCubes());
+        assertEquals(dnf, union);
+    }
+
+    @Test
+    public void testSubsumedCubesAreRemoved() {
+        // when
+        DNF<CAATLiteral> dnf = new DNF<>(List.of(cube(A, B, C), cube(A, B), cube(B, C), cube(C, A.negated())));
+        DNF<CAATLiteral> union = dnf.or(new DNF<>(cube(B)));
+
+        // then
+        assertEquals(Set.of(cube(A, B), cube(B, C), cube(C, A.negated())), dnf.getCubes());
+        // The new cube removes the cubes it subsumes from the other operand.
+        assertEquals(Set.of(cube(B), cube(C, A.negated())), union.getCubes());
+        // A cube that is subsumed by the other operand leaves it unchanged.
+        assertSame(union, union.or(new DNF<>(cube(A, B, C))));
+    }
+
+    @Test
+    public void testRandomCubesMatchPairwiseReduction() {
+        Random random = new Random(0);
+        for (int round = 0; round < 500; round++) {
+            // given
+            List<Conjunction<CAATLiteral>> first = randomCubes(random);
+            List<Conjunction<CAATLiteral>> second = randomCubes(random);
+
+            // when
+            DNF<CAATLiteral> dnf1 = new DNF<>(first);
+            DNF<CAATLiteral> dnf2 = new DNF<>(second);
+            List<Conjunction<CAATLiteral>> both = new ArrayList<>(first);
+            both.addAll(second);
+
+            // then
+            assertEquals(pairwiseReduction(first), dnf1.getCubes());
+            assertEquals(pairwiseReduction(second), dnf2.getCubes());
+            Set<Conjunction<CAATLiteral>> expected = dnf1.isTriviallyTrue() || dnf2.isTriviallyTrue() ?
+                    Set.of(Conjunction.TRUE()) : pairwiseReduction(both);
+            assertEquals(expected, dnf1.or(dnf2).getCubes());
+            assertEquals(expected, dnf2.or(dnf1).getCubes());
+        }
+    }
+
+    // The reduction used before the subsumption index: drops FALSE and every cube that
+    // is a proper superset of some other cube.
+    private static Set<Conjunction<CAATLiteral>> pairwiseReduction(Collection<Conjunction<CAATLiteral>> cubes) {
+        Set<Conjunction<CAATLiteral>> reasons = new HashSet<>(cubes);
+        reasons.removeIf(Conjunction::isFalse);
+        Set<Conjunction<CAATLiteral>> result = new HashSet<>();
+        for (Conjunction<CAATLiteral> cube : reasons) {
+            if (reasons.stream().noneMatch(other -> cube.compareToPartial(other) == OrderResult.GT)) {
+                result.add(cube);
+            }
+        }
+        return result;
+    }
+
+    private static List<Conjunction<CAATLiteral>> randomCubes(Random random) {
+        List<Conjunction<CAATLiteral>> cubes = new ArrayList<>();
+        for (int i = random.nextInt(8); i > 0; i--) {
+            List<CAATLiteral> literals = new ArrayList<>();
+            // Rarely empty, which yields TRUE, and sometimes contradictory, which yields FALSE.
+            int size = random.nextInt(20) == 0 ? 0 : 1 + random.nextInt(3);
+            for (int j = 0; j < size; j++) {
+                literals.add(literal(String.valueOf((char) ('a' + random.nextInt(5))), random.nextInt(6) == 0));
+            }
+            cubes.add(new Conjunction<>(literals));
+        }
+        return cubes;
+    }
+
+    @SafeVarargs
+    private static <T extends Literal<T>> Conjunction<T> cube(T... literals) {
+        return new Conjunction<>(literals);
+    }
+
+    private static CAATLiteral literal(String name, boolean isNegative) {
+        return new EdgeLiteral(name, new Edge(0, 1), isNegative);
+    }
+}
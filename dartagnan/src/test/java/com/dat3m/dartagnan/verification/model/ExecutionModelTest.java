@@ -0,0 +1,115 @@
+package com.dat3m.dartagnan.verification.model;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.encoding.ProgramEncoder;
+import com.dat3m.dartagnan.encoding.PropertyEncoder;
+import com.dat3m.dartagnan.encoding.WmmEncoder;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.TARGET;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+import static org.junit.Assert.*;
+
+public class ExecutionModelTest {
+
+    private SolverContext ctx;
+
+    @Before
+    public void setUp() throws Exception {
+        ctx = TestHelper.createContext();
+    }
+
+    @After
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Test
+    public void testStoreBufferingModel() throws Exception {
+        // given
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, Arch.TSO.toString())
+                .build();
+        Wmm memoryModel = new ParserCat().parse(new File(getRootPath("cat/tso.cat")));
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.TSO)
+                .withBound(1)
+                .build(new ProgramParser().parse(new File(getRootPath("litmus/X86/SB.litmus"))), memoryModel,
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task);
+        memoryModel.configureAll(config);
+        Context analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        performStaticWmmAnalyses(task, analysisContext, config);
+        EncodingContext context = EncodingContext.of(task, analysisContext, ctx.getFormulaManager());
+
+        try (ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+            prover.addConstraint(ProgramEncoder.withContext(context).encodeFullProgram());
+            prover.addConstraint(WmmEncoder.withContext(context).encodeFullMemoryModel());
+            // Both loads read 0, which TSO allows.
+            prover.addConstraint(PropertyEncoder.withContext(context).encodeProperties(task.getProperty()));
+            assertFalse(prover.isUnsat());
+
+            try (Model model = prover.getModel()) {
+                // when
+                ExecutionModel executionModel = ExecutionModel.withContext(context);
+                executionModel.initialize(model);
+
+                // then
+                assertEquals(2, executionModel.getLocationCount());
+                assertNotEquals(executionModel.getAddress(0), executionModel.getAddress(1));
+                for (int location = 0; location < 2; location++) {
+                    BigInteger address = executionModel.getAddress(location);
+                    for (EventData access : executionModel.getAccesses(location)) {
+                        assertEquals(location, access.getLocation());
+                        assertEquals(address, access.getAccessedAddress());
+                    }
+
+                    EventData init = executionModel.getInitWrite(location).orElseThrow();
+                    assertEquals(BigInteger.ZERO, init.getValue());
+                    List<EventData> writes = executionModel.getWrites(location);
+                    assertEquals(2, writes.size());
+                    EventData store = writes.get(0) == init ? writes.get(1) : writes.get(0);
+                    assertFalse(store.isInit());
+                    assertEquals(BigInteger.ONE, store.getValue());
+                    assertEquals(List.of(init, store), executionModel.getCoherence(location));
+
+                    List<EventData> reads = executionModel.getReads(location);
+                    assertEquals(1, reads.size());
+                    EventData load = reads.get(0);
+                    assertEquals(BigInteger.ZERO, load.getValue());
+                    assertSame(init, load.getReadFrom());
+                    assertSame(init, executionModel.getReadWriteMap().get(load));
+                    assertEquals(Set.of(load), executionModel.getWriteReadsMap().get(init));
+                    assertEquals(Set.of(), executionModel.getWriteReadsMap().get(store));
+                    // Each location is written by one thread and read by the other.
+                    assertNotEquals(store.getThread(), load.getThread());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import com.dat3m.dartagnan.utils.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.BooleanFormulaManager;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RefinementClauseDatabaseTest {
+
+    private SolverContext ctx;
+    private ProverEnvironment prover;
+    private BooleanFormulaManager bmgr;
+
+    @Before
+    public void setUp() throws Exception {
+        ctx = TestHelper.createContext();
+        prover = ctx.newProverEnvironment();
+        bmgr = ctx.getFormulaManager().getBooleanFormulaManager();
+    }
+
+    @After
+    public void tearDown() {
+        prover.close();
+        ctx.close();
+    }
+
+    @Test
+    public void testOldestClausesAreRetired() throws Exception {
+        // given
+        RefinementClauseDatabase database = new RefinementClauseDatabase(bmgr, 2);
+
+        // when
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y"), not("z")));
+
+        // then
+        assertEquals(3, database.getNumberOfClauses());
+        assertEquals(2, database.getNumberOfActiveClauses());
+        assertEquals(1, database.getNumberOfRetiredClauses());
+        // Only the oldest clause "not x" no longer holds.
+        assertFalse(isUnsatWith(database, "x"));
+        assertTrue(isUnsatWith(database, "y"));
+        assertTrue(isUnsatWith(database, "z"));
+    }
+
+    @Test
+    public void testRelearnedClausesAreRetiredLast() throws Exception {
+        // given
+        RefinementClauseDatabase database = new RefinementClauseDatabase(bmgr, 2);
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y"), not("z")));
+
+        // when
+        // "not x" is relearned, which retires the oldest clause that was not relearned, "not y".
+        database.addClauses(prover, List.of(not("x")));
+
+        // then
+        assertEquals(1, database.getNumberOfReactivatedClauses());
+        assertEquals(2, database.getNumberOfRetiredClauses());
+        assertTrue(isUnsatWith(database, "x"));
+        assertFalse(isUnsatWith(database, "y"));
+
+        // when
+        // The relearned clause is ranked higher, so it is kept even though it is the oldest active one.
+        database.addClauses(prover, List.of(not("u"), not("v")));
+
+        // then
+        assertEquals(4, database.getNumberOfRetiredClauses());
+        assertEquals(2, database.getNumberOfActiveClauses());
+        assertTrue(isUnsatWith(database, "x"));
+        assertTrue(isUnsatWith(database, "v"));
+        assertFalse(isUnsatWith(database, "u"));
+        assertFalse(isUnsatWith(database, "z"));
+    }
+
+    @Test
+    public void testClausesRelearnedTwiceArePinned() throws Exception {
+        // given
+        RefinementClauseDatabase database = new RefinementClauseDatabase(bmgr, 1);
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y")));
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y")));
+
+        // when
+        // Both clauses are relearned a second time, so neither can be retired anymore.
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y")));
+
+        // then
+        assertEquals(4, database.getNumberOfReactivatedClauses());
+        assertEquals(4, database.getNumberOfRetiredClauses());
+        assertEquals(2, database.getNumberOfActiveClauses());
+        assertTrue(isUnsatWith(database, "x"));
+        assertTrue(isUnsatWith(database, "y"));
+    }
+
+    @Test
+    public void testReassertOnlyAddsActiveClauses() throws Exception {
+        // given
+        RefinementClauseDatabase database = new RefinementClauseDatabase(bmgr, 1);
+        prover.push();
+        database.addClauses(prover, List.of(not("x")));
+        database.addClauses(prover, List.of(not("y")));
+
+        // when
+        prover.pop();
+        database.reassert(prover);
+
+        // then
+        assertFalse(isUnsatWith(database, "x"));
+        assertTrue(isUnsatWith(database, "y"));
+
+        // when
+        // Reactivating a retired clause asserts it again.
+        database.addClauses(prover, List.of(not("x")));
+
+        // then
+        assertTrue(isUnsatWith(database, "x"));
+    }
+
+    @Test
+    public void testWithoutLimit() throws Exception {
+        // given
+        RefinementClauseDatabase database = new RefinementClauseDatabase(bmgr, 0);
+
+        // when
+        database.addClauses(prover, List.of(not("x"), not("y")));
+        database.addClauses(prover, List.of(not("z")));
+
+        // then
+        assertEquals(3, database.getNumberOfActiveClauses());
+        assertEquals(0, database.getNumberOfRetiredClauses());
+        assertTrue(isUnsatWith(database, "x"));
+        assertTrue(isUnsatWith(database, "z"));
+    }
+
+    private boolean isUnsatWith(RefinementClauseDatabase database, String variable) throws Exception {
+        prover.push(bmgr.makeVariable(variable));
+        try {
+            return database.isUnsat(prover);
+        } finally {
+            prover.pop();
+        }
+    }
+
+    private BooleanFormula not(String variable) {
+        return bmgr.not(bmgr.makeVariable(variable));
+    }
+}
@@ -0,0 +1,137 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static org.junit.Assert.*;
+
+public class RefinementReasonCacheTest {
+
+    // Unknown with bound 1 and safe with bound 2.
+    private static final String RECURSION = getTestResourcePath("miscellaneous/recursion.ll");
+    private static final String SB = getTestResourcePath("miscellaneous/SB-RMW.ll");
+    private static final String MODEL = getRootPath("cat/imm.cat");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reasonsAreNotReusedAcrossBounds() throws Exception {
+        // given
+        Path cache = folder.getRoot().toPath().resolve("reasons");
+        Result low = verify(RECURSION, 1, cache);
+        String lowHeader = header(cache);
+
+        // when
+        // Events of the unrolled program cannot be matched between bounds, so the stored reasons are discarded.
+        Result high = verify(RECURSION, 2, cache);
+
+        // then
+        assertEquals(verify(RECURSION, 1, null), low);
+        assertEquals(verify(RECURSION, 2, null), high);
+        assertEquals(Result.UNKNOWN, low);
+        assertEquals(Result.PASS, high);
+        assertNotEquals(lowHeader, header(cache));
+    }
+
+    @Test
+    public void reasonsAreNotReusedAcrossPrograms() throws Exception {
+        // given
+        Path cache = folder.getRoot().toPath().resolve("reasons");
+
+        // when
+        Result first = verify(SB, 1, cache);
+        Result second = verify(RECURSION, 2, cache);
+
+        // then
+        assertEquals(verify(SB, 1, null), first);
+        assertEquals(verify(RECURSION, 2, null), second);
+    }
+
+    @Test
+    public void reasonsAreNotReusedAcrossEditedPrograms() throws Exception {
+        // given
+        Path cache = folder.getRoot().toPath().resolve("reasons");
+        Path program = folder.getRoot().toPath().resolve("program.ll");
+        Files.copy(Path.of(SB), program);
+        Result first = verify(program.toString(), 1, cache);
+        String firstHeader = header(cache);
+
+        // when
+        // The program keeps its name, but not its content.
+        Files.copy(Path.of(RECURSION), program, StandardCopyOption.REPLACE_EXISTING);
+        Result second = verify(program.toString(), 2, cache);
+
+        // then
+        assertEquals(verify(SB, 1, null), first);
+        assertEquals(verify(RECURSION, 2, null), second);
+        assertNotEquals(firstHeader, header(cache));
+    }
+
+    @Test
+    public void reasonsAreReusedForTheSameTask() throws Exception {
+        // given
+        Path cache = folder.getRoot().toPath().resolve("reasons");
+        Result expected = verify(RECURSION, 2, cache);
+        List<String> stored = Files.readAllLines(cache);
+        assertTrue(stored.size() > 1);
+
+        // when
+        Result actual = verify(RECURSION, 2, cache);
+
+        // then
+        // The second run starts with the stored reasons, so it learns nothing new.
+        assertEquals(expected, actual);
+        assertEquals(stored, Files.readAllLines(cache));
+        // The file is written via a temporary file that is moved into place.
+        assertArrayEquals(new String[] {"reasons"}, folder.getRoot().list());
+    }
+
+    private static String header(Path cache) throws Exception {
+        return Files.readAllLines(cache).get(0);
+    }
+
+    private static Result verify(String programPath, int bound, Path cache) throws Exception {
+        ConfigurationBuilder builder = Configuration.builder()
+                .setOption(USE_INTEGERS, "true")
+                .setOption(RECURSION_BOUND, String.valueOf(bound));
+        if (cache != null) {
+            builder.setOption(REASON_CACHE, cache.toString());
+        }
+        Configuration config = builder.build();
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.IMM)
+                .withBound(bound)
+                .build(new ProgramParser().parse(new File(programPath)),
+                        new ParserCat().parse(new File(MODEL)),
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        try (SolverContext ctx = TestHelper.createContext();
+             ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+            return RefinementSolver.run(ctx, prover, task).getResult();
+        }
+    }
+}
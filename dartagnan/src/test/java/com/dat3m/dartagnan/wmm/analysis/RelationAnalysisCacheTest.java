@@ -0,0 +1,124 @@
+package com.dat3m.dartagnan.wmm.analysis;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.utils.EventGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RelationAnalysisCacheTest {
+
+    private static final String PROGRAM = "litmus/AARCH64/ATOM/2+2W+poxxs.litmus";
+    private static final String OTHER_PROGRAM = "litmus/AARCH64/ATOM/LB+poxxs.litmus";
+    private static final String MODEL = "cat/aarch64.cat";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cachedAnalysisMatchesComputedAnalysis() throws Exception {
+        String cache = folder.getRoot().getPath();
+        List<String> uncached = analyze(PROGRAM, null, "1");
+        List<String> computed = analyze(PROGRAM, cache, "1");
+        File[] entries = cacheEntries();
+        assertEquals(1, entries.length);
+        // Loaded entries are not written again.
+        assertTrue(entries[0].setLastModified(0));
+        // The number of analysis threads is not part of the key.
+        List<String> loaded = analyze(PROGRAM, cache, "2");
+        assertArrayEquals(entries, cacheEntries());
+        assertEquals(0, entries[0].lastModified());
+        assertEquals(uncached, computed);
+        assertEquals(uncached, loaded);
+    }
+
+    @Test
+    public void differentProgramsUseDifferentEntries() throws Exception {
+        String cache = folder.getRoot().getPath();
+        analyze(PROGRAM, cache, "1");
+        List<String> other = analyze(OTHER_PROGRAM, cache, "1");
+        assertEquals(2, cacheEntries().length);
+        assertEquals(analyze(OTHER_PROGRAM, null, "1"), other);
+    }
+
+    @Test
+    public void corruptEntryIsRecomputed() throws Exception {
+        String cache = folder.getRoot().getPath();
+        List<String> expected = analyze(PROGRAM, cache, "1");
+        File[] entries = cacheEntries();
+        assertEquals(1, entries.length);
+        Files.write(entries[0].toPath(), new byte[]{1, 2, 3});
+        assertEquals(expected, analyze(PROGRAM, cache, "1"));
+        assertArrayEquals(entries, cacheEntries());
+    }
+
+    private File[] cacheEntries() {
+        File[] entries = folder.getRoot().listFiles((dir, name) -> name.endsWith(".ra"));
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    private static List<String> analyze(String programPath, String cache, String threads) throws Exception {
+        ConfigurationBuilder builder = Configuration.builder()
+                .setOption(TARGET, Arch.ARM8.toString())
+                .setOption(INITIALIZE_REGISTERS, "true")
+                .setOption(USE_INTEGERS, "true")
+                .setOption(RELATION_ANALYSIS_THREADS, threads);
+        if (cache != null) {
+            builder.setOption(RELATION_ANALYSIS_CACHE, cache);
+        }
+        Configuration config = builder.build();
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.ARM8)
+                .withBound(1)
+                .build(new ProgramParser().parse(new File(getRootPath(programPath))),
+                        new ParserCat().parse(new File(getRootPath(MODEL))),
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        ModelChecker.preprocessProgram(task, config);
+        ModelChecker.preprocessMemoryModel(task);
+        Context context = Context.create();
+        ModelChecker.performStaticProgramAnalyses(task, context, config);
+        ModelChecker.performStaticWmmAnalyses(task, context, config);
+        RelationAnalysis ra = context.requires(RelationAnalysis.class);
+
+        List<String> result = new ArrayList<>();
+        for (Relation r : task.getMemoryModel().getRelations()) {
+            RelationAnalysis.Knowledge k = ra.getKnowledge(r);
+            result.add(r.getNameOrTerm() + ": may" + toSortedIds(k.getMaySet()) + " must" + toSortedIds(k.getMustSet()));
+        }
+        Collections.sort(result);
+        result.add("mutex: " + toSortedIds(ra.getMutuallyExclusiveEdges()));
+        return result;
+    }
+
+    private static List<String> toSortedIds(EventGraph graph) {
+        List<String> edges = new ArrayList<>();
+        graph.apply((e1, e2) -> edges.add(e1.getGlobalId() + "->" + e2.getGlobalId()));
+        Collections.sort(edges);
+        return edges;
+    }
+}
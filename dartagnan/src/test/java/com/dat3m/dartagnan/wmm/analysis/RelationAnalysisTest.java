@@ -0,0 +1,97 @@
+package com.dat3m.dartagnan.wmm.analysis;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.utils.EventGraph;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class RelationAnalysisTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return List.of(
+                new Object[]{"litmus/LKMM/lkml/RCU+sync+read.litmus", "cat/linux-kernel.cat", Arch.LKMM},
+                new Object[]{"litmus/LKMM/manual/atomic/C-atomic-00.litmus", "cat/linux-kernel.cat", Arch.LKMM},
+                new Object[]{"litmus/AARCH64/ATOM/2+2W+poxxs.litmus", "cat/aarch64.cat", Arch.ARM8},
+                new Object[]{"litmus/VULKAN/Kronos-Group/asmo.litmus", "cat/spirv.cat", Arch.VULKAN},
+                // Updates to a composition must only be propagated once both of its operands are complete.
+                new Object[]{"litmus/X86/MP.litmus", "dartagnan/src/test/resources/wmm/same-wave-composition.cat", Arch.TSO});
+    }
+
+    private final String programPath;
+    private final String modelPath;
+    private final Arch arch;
+
+    public RelationAnalysisTest(String programPath, String modelPath, Arch arch) {
+        this.programPath = programPath;
+        this.modelPath = modelPath;
+        this.arch = arch;
+    }
+
+    @Test
+    public void parallelAnalysisMatchesSequentialAnalysis() throws Exception {
+        List<String> sequential = analyze(1);
+        List<String> parallel = analyze(4);
+        assertEquals(sequential, parallel);
+    }
+
+    private List<String> analyze(int threads) throws Exception {
+        Configuration config = Configuration.builder()
+                .setOption(TARGET, arch.toString())
+                .setOption(INITIALIZE_REGISTERS, "true")
+                .setOption(USE_INTEGERS, "true")
+                .setOption(RELATION_ANALYSIS_THREADS, String.valueOf(threads))
+                .build();
+        VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(arch)
+                .withBound(1)
+                .build(new ProgramParser().parse(new File(getRootPath(programPath))),
+                        new ParserCat().parse(new File(getRootPath(modelPath))),
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        ModelChecker.preprocessProgram(task, config);
+        ModelChecker.preprocessMemoryModel(task);
+        Context context = Context.create();
+        ModelChecker.performStaticProgramAnalyses(task, context, config);
+        ModelChecker.performStaticWmmAnalyses(task, context, config);
+        RelationAnalysis ra = context.requires(RelationAnalysis.class);
+
+        List<String> result = new ArrayList<>();
+        for (Relation r : task.getMemoryModel().getRelations()) {
+            RelationAnalysis.Knowledge k = ra.getKnowledge(r);
+            result.add(r.getNameOrTerm() + ": may" + toSortedIds(k.getMaySet()) + " must" + toSortedIds(k.getMustSet()));
+        }
+        // Relations of separately parsed models need not be enumerated in the same order.
+        Collections.sort(result);
+        result.add("mutex: " + toSortedIds(ra.getMutuallyExclusiveEdges()));
+        return result;
+    }
+
+    // Programs are parsed separately for each run, so edges are compared via global ids.
+    private static List<String> toSortedIds(EventGraph graph) {
+        List<String> edges = new ArrayList<>();
+        graph.apply((e1, e2) -> edges.add(e1.getGlobalId() + "->" + e2.getGlobalId()));
+        Collections.sort(edges);
+        return edges;
+    }
+}
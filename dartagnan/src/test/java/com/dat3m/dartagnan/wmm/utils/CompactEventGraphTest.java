@@ -0,0 +1,181 @@
+package com.dat3m.dartagnan.wmm.utils;
+
+import com.dat3m.dartagnan.program.event.core.Event;
+import com.dat3m.dartagnan.program.event.core.Skip;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompactEventGraphTest {
+
+    private static final int DOMAIN_SIZE = 200;
+
+    private List<Event> events;
+    private EventDomain domain;
+
+    @Before
+    public void setUp() {
+        events = new ArrayList<>();
+        for (int i = 0; i < DOMAIN_SIZE; i++) {
+            Event e = new Skip();
+            e.setGlobalId(i);
+            events.add(e);
+        }
+        domain = EventDomain.fromEvents(events);
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        // given
+        EventGraph eventGraph = new EventGraph(domain);
+
+        // when
+        eventGraph.add(events.get(0), events.get(5));
+        eventGraph.add(events.get(0), events.get(3));
+        eventGraph.add(events.get(0), events.get(5));
+
+        // then
+        assertEquals(2, eventGraph.size());
+        assertTrue(eventGraph.contains(events.get(0), events.get(3)));
+        assertFalse(eventGraph.contains(events.get(3), events.get(0)));
+        assertEquals(List.of(events.get(3), events.get(5)), List.copyOf(eventGraph.getRange(events.get(0))));
+
+        // when
+        eventGraph.remove(events.get(0), events.get(3));
+        eventGraph.remove(events.get(0), events.get(5));
+
+        // then
+        assertTrue(eventGraph.isEmpty());
+    }
+
+    @Test
+    public void testDenseRow() {
+        // given
+        EventGraph eventGraph = new EventGraph(domain);
+        Event e1 = events.get(0);
+
+        // when
+        for (int i = DOMAIN_SIZE - 1; i >= 0; i -= 2) {
+            eventGraph.add(e1, events.get(i));
+        }
+
+        // then
+        assertEquals(DOMAIN_SIZE / 2, eventGraph.size());
+        List<Event> range = List.copyOf(eventGraph.getRange(e1));
+        for (int i = 0; i < range.size(); i++) {
+            assertSame(events.get(2 * i + 1), range.get(i));
+        }
+
+        // when
+        eventGraph.removeIf((x, y) -> y.getGlobalId() % 4 == 1);
+
+        // then
+        assertEquals(DOMAIN_SIZE / 4, eventGraph.size());
+        assertTrue(eventGraph.contains(e1, events.get(3)));
+        assertFalse(eventGraph.contains(e1, events.get(5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddForeignEvent() {
+        // given
+        EventGraph eventGraph = new EventGraph(domain);
+
+        // when
+        eventGraph.add(events.get(0), new Skip());
+    }
+
+    @Test
+    public void testForeignEventNotContained() {
+        // given
+        EventGraph eventGraph = new EventGraph(domain);
+        Event foreign = new Skip();
+        foreign.setGlobalId(1);
+        eventGraph.add(events.get(0), events.get(1));
+
+        // then
+        assertFalse(eventGraph.contains(events.get(0), foreign));
+        assertFalse(eventGraph.remove(events.get(0), foreign));
+    }
+
+    @Test
+    public void testDerivedGraphsKeepDomain() {
+        // given
+        EventGraph first = new EventGraph(domain);
+        EventGraph second = new EventGraph(domain);
+        first.add(events.get(0), events.get(1));
+        second.add(events.get(1), events.get(0));
+
+        // then
+        assertSame(domain, new EventGraph(first).getEventDomain());
+        assertSame(domain, first.inverse().getEventDomain());
+        assertSame(domain, first.filter((x, y) -> true).getEventDomain());
+        assertSame(domain, EventGraph.union(first, second).getEventDomain());
+        assertSame(domain, EventGraph.intersection(first, second).getEventDomain());
+        assertSame(domain, EventGraph.difference(first, second).getEventDomain());
+        assertNull(new EventGraph().getEventDomain());
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashBasedGraph() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            // given
+            int density = 1 + random.nextInt(DOMAIN_SIZE);
+            EventGraph compact1 = new EventGraph(domain);
+            EventGraph compact2 = new EventGraph(domain);
+            EventGraph hash1 = new EventGraph();
+            EventGraph hash2 = new EventGraph();
+            fill(random, density, compact1, hash1);
+            fill(random, density, compact2, hash2);
+
+            // then
+            assertEquals(hash1.toString(), compact1.toString());
+            assertEquals(hash1.size(), compact1.size());
+            assertEquals(hash1.inverse().toString(), compact1.inverse().toString());
+            assertEquals(EventGraph.union(hash1, hash2).toString(), EventGraph.union(compact1, compact2).toString());
+            assertEquals(EventGraph.intersection(hash1, hash2).toString(), EventGraph.intersection(compact1, compact2).toString());
+            assertEquals(EventGraph.difference(hash1, hash2).toString(), EventGraph.difference(compact1, compact2).toString());
+            assertEquals(EventGraph.union(hash1, hash2).toString(), EventGraph.union(compact1, hash2).toString());
+
+            // when
+            EventGraph hashCopy = new EventGraph(hash1);
+            EventGraph compactCopy = new EventGraph(compact1);
+            assertEquals(hashCopy.addAll(hash2), compactCopy.addAll(compact2));
+            // then
+            assertEquals(hashCopy.toString(), compactCopy.toString());
+            assertEquals(hashCopy.size(), compactCopy.size());
+
+            // when
+            hashCopy = new EventGraph(hash1);
+            compactCopy = new EventGraph(compact1);
+            assertEquals(hashCopy.retainAll(hash2), compactCopy.retainAll(compact2));
+            // then
+            assertEquals(hashCopy.toString(), compactCopy.toString());
+            assertEquals(hashCopy.size(), compactCopy.size());
+
+            // when
+            hashCopy = new EventGraph(hash1);
+            compactCopy = new EventGraph(compact1);
+            assertEquals(hashCopy.removeAll(hash2), compactCopy.removeAll(compact2));
+            // then
+            assertEquals(hashCopy.toString(), compactCopy.toString());
+            assertEquals(hashCopy.size(), compactCopy.size());
+        }
+    }
+
+    private void fill(Random random, int density, EventGraph compact, EventGraph hash) {
+        for (int i = 0; i < 10; i++) {
+            Event e1 = events.get(random.nextInt(DOMAIN_SIZE));
+            int count = random.nextInt(density);
+            for (int j = 0; j < count; j++) {
+                Event e2 = events.get(random.nextInt(DOMAIN_SIZE));
+                assertEquals(hash.add(e1, e2), compact.add(e1, e2));
+            }
+        }
+    }
+}
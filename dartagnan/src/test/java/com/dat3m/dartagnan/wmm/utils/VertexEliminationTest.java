@@ -0,0 +1,189 @@
+package com.dat3m.dartagnan.wmm.utils;
+
+import com.dat3m.dartagnan.wmm.utils.VertexElimination.Heuristic;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class VertexEliminationTest {
+
+    @Test
+    public void testCycle() {
+        // given
+        VertexElimination elimination = new VertexElimination(3);
+        elimination.addEdge(0, 1);
+        elimination.addEdge(1, 2);
+        elimination.addEdge(2, 0);
+
+        // when
+        elimination.eliminate(Heuristic.MIN_FILL, (a, b) -> true);
+
+        // then
+        // All nodes have the same score, so the smallest id is eliminated first.
+        assertEquals(0, elimination.getPosition(0));
+        assertArrayEquals(new int[]{2, 0, 1}, elimination.getTriangles());
+        assertEquals(1, elimination.getFillEdgeCount());
+        int[] successors = elimination.getEliminationSuccessors(2);
+        Arrays.sort(successors);
+        assertArrayEquals(new int[]{0, 1}, successors);
+    }
+
+    @Test
+    public void testFilter() {
+        // given
+        VertexElimination elimination = new VertexElimination(3);
+        elimination.addEdge(0, 1);
+        elimination.addEdge(1, 2);
+
+        // when
+        elimination.eliminate(Heuristic.MIN_PRODUCT, (a, b) -> false);
+
+        // then
+        assertEquals(0, elimination.getTriangleCount());
+        assertEquals(0, elimination.getFillEdgeCount());
+    }
+
+    @Test
+    public void testMinFillPrefersExistingShortcuts() {
+        // given a center with two predecessors and two successors, where both predecessors already reach both
+        // successors, and where each outer node closes a cycle through the center
+        VertexElimination minFill = createShortcutGraph();
+        VertexElimination minProduct = createShortcutGraph();
+
+        // when
+        minFill.eliminate(Heuristic.MIN_FILL, (a, b) -> true);
+        minProduct.eliminate(Heuristic.MIN_PRODUCT, (a, b) -> true);
+
+        // then
+        // Eliminating the center adds no edges, but it has the most predecessor-successor pairs.
+        assertEquals(0, minFill.getPosition(0));
+        assertNotEquals(0, minProduct.getPosition(0));
+    }
+
+    @Test
+    public void testMinProductCountsEliminatedNeighbours() {
+        // given
+        VertexElimination elimination = new VertexElimination(5);
+        elimination.addEdge(1, 0);
+        elimination.addEdge(2, 0);
+        elimination.addEdge(0, 3);
+        elimination.addEdge(3, 4);
+
+        // when
+        elimination.eliminate(Heuristic.MIN_PRODUCT, (a, b) -> true);
+
+        // then
+        // Once 1, 2 and 4 are eliminated, both 0 and 3 have no remaining predecessor-successor pairs,
+        // but in the vertex elimination graph 0 has two such pairs and 3 only one.
+        assertEquals(3, elimination.getPosition(3));
+        assertEquals(4, elimination.getPosition(0));
+    }
+
+    private static VertexElimination createShortcutGraph() {
+        VertexElimination elimination = new VertexElimination(5);
+        for (int a : new int[]{1, 2}) {
+            elimination.addEdge(a, 0);
+            for (int b : new int[]{3, 4}) {
+                elimination.addEdge(0, b);
+                elimination.addEdge(a, b);
+            }
+        }
+        elimination.addEdge(3, 1);
+        elimination.addEdge(4, 2);
+        return elimination;
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        Random random = new Random(0);
+        for (int round = 0; round < 50; round++) {
+            int size = 1 + random.nextInt(30);
+            List<int[]> edges = new ArrayList<>();
+            for (int i = 0; i < 2 * size; i++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size);
+                if (a != b) {
+                    edges.add(new int[]{a, b});
+                }
+            }
+            for (Heuristic heuristic : Heuristic.values()) {
+                // given
+                VertexElimination elimination = new VertexElimination(size);
+                edges.forEach(e -> elimination.addEdge(e[0], e[1]));
+
+                // when
+                elimination.eliminate(heuristic, (a, b) -> (a + b) % 7 != 0);
+
+                // then
+                checkElimination(size, edges, elimination, (a, b) -> (a + b) % 7 != 0);
+            }
+        }
+    }
+
+    // Replays the elimination in the computed order and compares it with the reported results.
+    private static void checkElimination(int size, List<int[]> edges, VertexElimination elimination,
+                                         VertexElimination.EdgeFilter filter) {
+        int[] order = new int[size];
+        Set<Integer> positions = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            int position = elimination.getPosition(i);
+            assertTrue(positions.add(position));
+            order[position] = i;
+        }
+
+        List<Set<Integer>> out = new ArrayList<>();
+        List<Set<Integer>> in = new ArrayList<>();
+        List<Set<Integer>> all = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            out.add(new HashSet<>());
+            in.add(new HashSet<>());
+            all.add(new HashSet<>());
+        }
+        for (int[] e : edges) {
+            out.get(e[0]).add(e[1]);
+            in.get(e[1]).add(e[0]);
+            all.get(e[0]).add(e[1]);
+        }
+        Set<List<Integer>> triangles = new HashSet<>();
+        int fill = 0;
+        for (int x : order) {
+            for (int a : in.get(x)) {
+                out.get(a).remove(x);
+            }
+            for (int b : out.get(x)) {
+                in.get(b).remove(x);
+            }
+            for (int a : in.get(x)) {
+                for (int b : out.get(x)) {
+                    if (a != b && filter.allows(a, b)) {
+                        triangles.add(List.of(a, x, b));
+                        if (out.get(a).add(b)) {
+                            in.get(b).add(a);
+                            all.get(a).add(b);
+                            fill++;
+                        }
+                    }
+                }
+            }
+            in.get(x).clear();
+            out.get(x).clear();
+        }
+
+        Set<List<Integer>> reported = new HashSet<>();
+        int[] flat = elimination.getTriangles();
+        for (int i = 0; i < flat.length; i += 3) {
+            assertTrue(reported.add(List.of(flat[i], flat[i + 1], flat[i + 2])));
+        }
+        assertEquals(triangles, reported);
+        assertEquals(fill, elimination.getFillEdgeCount());
+        for (int i = 0; i < size; i++) {
+            Set<Integer> successors = new HashSet<>();
+            for (int j : elimination.getEliminationSuccessors(i)) {
+                successors.add(j);
+            }
+            assertEquals(all.get(i), successors);
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.dat3m.svcomp;
 
+import com.dat3m.dartagnan.Dartagnan;
+import com.dat3m.dartagnan.GlobalSettings;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
 import com.dat3m.dartagnan.parsers.witness.ParserWitness;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.Result;
 import com.dat3m.dartagnan.utils.options.BaseOptions;
 import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
 import com.dat3m.dartagnan.witness.WitnessGraph;
+import com.dat3m.dartagnan.wmm.Wmm;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Files;
+import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -16,8 +31,14 @@ import java.io.InputStreamReader;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -65,6 +86,12 @@ public class SVCOMPRunner extends BaseOptions {
         description="Step size for the increasing unrolling bound <integer>.")
     private int step = 1;
 
+    @Option(
+        name=IN_PROCESS,
+        description="Increases the unrolling bound within this process, reusing the parsed program and memory model " +
+                "as well as the solver context, instead of starting a new Dartagnan process for each bound.")
+    private boolean inProcess = false;
+
     @Option(
         name=VALIDATE,
         description="Run Dartagnan as a violation witness validator. Argument is the path to the witness file.")
@@ -113,14 +140,18 @@ public class SVCOMPRunner extends BaseOptions {
 
         int bound = witness.hasAttributed(UNROLLBOUND.toString()) ? parseInt(witness.getAttributed(UNROLLBOUND.toString())) : r.umin;
 
-        File file;
+        // The compiled program does not depend on the bound, thus we compile it only once.
+        File file = compileWithClang(fileProgram, "");
+        file = applyLlvmPasses(file);
+
+        if(r.inProcess) {
+            r.runInProcess(config, file, fileModel, programPath, witness, bound);
+            return;
+        }
+
+        String llvmName = System.getenv().get("DAT3M_HOME") + "/output/" + Files.getNameWithoutExtension(programPath) + "-opt.ll";
         String output = "UNKNOWN";
         while(output.equals("UNKNOWN")) {
-            file = compileWithClang(fileProgram, "");
-            file = applyLlvmPasses(file);    
-
-            String llvmName = System.getenv().get("DAT3M_HOME") + "/output/" + Files.getNameWithoutExtension(programPath) + "-opt.ll";
-	        
             ArrayList<String> cmd = new ArrayList<>();
             cmd.add("java");
             cmd.add("-Dlog4j.configurationFile=" + System.getenv().get("DAT3M_HOME") + "/dartagnan/src/main/resources/log4j2.xml");
@@ -168,10 +199,81 @@ public class SVCOMPRunner extends BaseOptions {
         }
     }
     
+    /*
+        Iterative deepening within this process: the program and the memory model are parsed only once,
+        and every bound verifies fresh copies of them (the verification modifies both) on the same solver context.
+     */
+    private void runInProcess(Configuration config, File llvmFile, File fileModel, String programPath,
+            WitnessGraph witness, int bound) throws Exception {
+        GlobalSettings.configure(config);
+        Supplier<Program> program = new ProgramParser().parseTemplate(llvmFile);
+        Supplier<Wmm> model = new ParserCat().parseTemplate(fileModel);
+        Configuration dartagnanConfig = Configuration.builder()
+            .copyFrom(config)
+            .setOption(WITNESS_ORIGINAL_PROGRAM_PATH, programPath)
+            .build();
+        Configuration solverConfig = Configuration.builder()
+            .setOption(PHANTOM_REFERENCES, String.valueOf(usePhantomReferences()))
+            .build();
+
+        ShutdownManager sdm = ShutdownManager.create();
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try (SolverContext ctx = SolverContextFactory.createSolverContext(
+                solverConfig,
+                BasicLogManager.create(solverConfig),
+                sdm.getNotifier(),
+                getSolver())) {
+            while(true) {
+                VerificationTask task = VerificationTask.builder()
+                    .withConfig(dartagnanConfig)
+                    .withWitness(witness)
+                    .withBound(bound)
+                    .build(program.get(), model.get(), EnumSet.of(property));
+                // As for separate processes, the timeout applies to each bound.
+                ScheduledFuture<?> timeout = hasTimeout()
+                    ? timer.schedule(() -> sdm.requestShutdown("Shutdown Request"), getTimeout(), TimeUnit.SECONDS)
+                    : null;
+                Result result;
+                try (ProverEnvironment prover = ctx.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+                    ModelChecker modelChecker = ModelChecker.runWithMethod(ctx, prover, task, getMethod());
+                    String summary = Dartagnan.generateResultSummary(task, prover, modelChecker);
+                    System.out.print(summary);
+                    if(witnessPath == null) {
+                        Dartagnan.generateWitnessIfAble(task, prover, modelChecker, summary);
+                    }
+                    result = modelChecker.getResult();
+                } catch(InterruptedException e) {
+                    logger.warn("Timeout elapsed. The SMT solver was stopped");
+                    System.out.println("TIMEOUT");
+                    return;
+                } catch(Exception e) {
+                    logger.error(e.getMessage(), e);
+                    System.out.println("ERROR");
+                    return;
+                } finally {
+                    if(timeout != null) {
+                        timeout.cancel(false);
+                    }
+                }
+                if(result != Result.UNKNOWN) {
+                    return;
+                }
+                if(bound > umax) {
+                    System.out.println("PASS");
+                    return;
+                }
+                // We always do iterations 1 and 2 and then use the step
+                bound = bound == 1 ? 2 : bound + step;
+            }
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
     private static List<String> filterOptions(Configuration config) {
     	
         // BOUND is computed based on umin and the information from the witness
-        List<String> skip = Arrays.asList(PROPERTYPATH, UMIN, UMAX, STEP, BOUND);
+        List<String> skip = Arrays.asList(PROPERTYPATH, UMIN, UMAX, STEP, IN_PROCESS, BOUND);
     	
         return Arrays.stream(config.asPropertiesString().split("\n")).
             filter(p -> skip.stream().noneMatch(s -> s.equals(p.split(" = ")[0]))).